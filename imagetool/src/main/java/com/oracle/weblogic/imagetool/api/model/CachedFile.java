@@ -1,4 +1,4 @@
-// Copyright (c) 2019, 2024, Oracle and/or its affiliates.
+// Copyright (c) 2019, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.api.model;
@@ -14,10 +14,12 @@ import java.util.List;
 import java.util.Objects;
 
 import com.oracle.weblogic.imagetool.cachestore.CacheStore;
+import com.oracle.weblogic.imagetool.cachestore.VerifyMode;
 import com.oracle.weblogic.imagetool.installer.InstallerType;
 import com.oracle.weblogic.imagetool.logging.LoggingFacade;
 import com.oracle.weblogic.imagetool.logging.LoggingFactory;
 import com.oracle.weblogic.imagetool.util.Architecture;
+import com.oracle.weblogic.imagetool.util.StagingMode;
 import com.oracle.weblogic.imagetool.util.Utils;
 
 /**
@@ -132,14 +134,17 @@ public class CachedFile {
      * for an entry listing without the architecture in the key (generic architecture entry).  If the user
      * did not specify an architecture, check the cache for an entry listing using the local architecture
      * in case the user added the cache entry with the architecture.
+     * The file found is checked for changes since it was added to the cache, based on WLSIMG_CACHE_VERIFY.
      * @param cacheStore the cache store to search
      * @return the Path of the file, if found
-     * @throws IOException throws FileNotFoundException, if this cached file (key) could not be located in the cache
+     * @throws IOException throws FileNotFoundException, if this cached file (key) could not be located in the cache,
+     *                     or if the file failed the integrity check
      */
     public String resolve(CacheStore cacheStore) throws IOException {
         // check entry exists in cache
         logger.entering();
         String filePath = null;
+        String foundKey = null;
         List<String> keySearchOrder = new ArrayList<>();
         if (getArchitecture() == null) {
             // architecture was not specified, search for cache key with no arch first, then look for local arch
@@ -155,6 +160,7 @@ public class CachedFile {
             filePath = cacheStore.getValueFromCache(key);
             if (filePath != null) {
                 logger.finer("Found cache key {0}", key);
+                foundKey = key;
                 break;
             }
         }
@@ -163,6 +169,13 @@ public class CachedFile {
             throw new FileNotFoundException(Utils.getMessage("IMG-0011", getKey()));
         }
 
+        if (!cacheStore.verify(foundKey, VerifyMode.fromEnvironment())) {
+            String msg = Utils.getMessage("IMG-0132", foundKey, filePath);
+            logger.warning(msg);
+            throw new FileNotFoundException(msg);
+        }
+        cacheStore.recordAccess(foundKey);
+
         logger.exiting(filePath);
         return filePath;
     }
@@ -174,13 +187,24 @@ public class CachedFile {
      * @return the path of the file copied to the Docker build context directory
      */
     public Path copyFile(CacheStore cacheStore, String buildContextDir) throws IOException {
-        logger.entering(id, version, architecture, buildContextDir);
+        return copyFile(cacheStore, buildContextDir, StagingMode.COPY);
+    }
+
+    /**
+     * Place file from cacheStore into the Docker build context directory.
+     * @param cacheStore cache to copy file from
+     * @param buildContextDir directory to place the file in
+     * @param stagingMode how the file is placed into the directory, like a hard link or a copy
+     * @return the path of the file in the Docker build context directory
+     */
+    public Path copyFile(CacheStore cacheStore, String buildContextDir, StagingMode stagingMode) throws IOException {
+        logger.entering(id, version, architecture, buildContextDir, stagingMode);
         Path result;
         String sourceFile = resolve(cacheStore);
         logger.info("IMG-0043", sourceFile);
         String targetFilename = new File(sourceFile).getName();
         try {
-            result = Files.copy(Paths.get(sourceFile), Paths.get(buildContextDir, targetFilename));
+            result = stagingMode.stage(Paths.get(sourceFile), Paths.get(buildContextDir, targetFilename));
         } catch (Exception ee) {
             String msg = Utils.getMessage("IMG-0064", sourceFile, buildContextDir);
             logger.severe(msg);
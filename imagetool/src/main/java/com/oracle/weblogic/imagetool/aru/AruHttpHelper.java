@@ -1,4 +1,4 @@
-// Copyright (c) 2019, 2022, Oracle and/or its affiliates.
+// Copyright (c) 2019, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.aru;
@@ -7,7 +7,6 @@ import java.io.IOException;
 import javax.xml.xpath.XPathExpressionException;
 
 import com.oracle.weblogic.imagetool.util.HttpUtil;
-import com.oracle.weblogic.imagetool.util.XPathUtil;
 import org.w3c.dom.Document;
 import org.w3c.dom.NodeList;
 
@@ -93,7 +92,7 @@ public class AruHttpHelper {
     private void searchResult(Document result) throws IOException {
         success = true;
         try {
-            NodeList nodeList = XPathUtil.nodelist(result, "/results/error");
+            NodeList nodeList = AruUtil.XPATH_ERROR.nodelist(result);
             if (nodeList.getLength() > 0) {
                 success = false;
             }
@@ -0,0 +1,328 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.aru;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import javax.xml.xpath.XPathExpressionException;
+
+import com.oracle.weblogic.imagetool.logging.LoggingFacade;
+import com.oracle.weblogic.imagetool.logging.LoggingFactory;
+import com.oracle.weblogic.imagetool.util.HttpStatusException;
+import com.oracle.weblogic.imagetool.util.HttpUtil;
+import com.oracle.weblogic.imagetool.util.Utils;
+import org.apache.hc.client5.http.HttpResponseException;
+import org.apache.hc.client5.http.fluent.Request;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.util.Timeout;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+/**
+ * Disk cache for ARU metadata documents, like the list of all releases and the recommended patches for a release.
+ * Documents younger than the time-to-live are used without contacting ARU.  Older documents are revalidated with
+ * a conditional request using the ETag and Last-Modified values that ARU returned with the document, so that an
+ * unchanged document is not downloaded again.
+ */
+public class AruMetadataCache {
+    private static final LoggingFacade logger = LoggingFactory.getLogger(AruMetadataCache.class);
+    private static final Timeout REQUEST_TIMEOUT = Timeout.ofSeconds(30);
+
+    public static final String TTL_ENV = "WLSIMG_ARU_CACHE_TTL";
+    private static final int DEFAULT_TTL_MINUTES = 60;
+
+    private static final String URL = "url";
+    private static final String ETAG = "etag";
+    private static final String LAST_MODIFIED = "lastModified";
+    private static final String FETCHED = "fetched";
+
+    private final Path directory;
+    private final long ttlMillis;
+    private boolean forceRefresh = false;
+
+    /**
+     * Verify the content of a document before it is stored in the cache, like checking for an ARU error response.
+     */
+    interface DocumentVerifier {
+        void verify(Document document) throws AruException, XPathExpressionException;
+    }
+
+    /**
+     * Read the content of a document, like parsing the patches in an ARU search result.
+     * The reader is applied to documents from ARU before they are stored in the cache, and should throw an
+     * exception for content that must not be cached, like an ARU error response.
+     */
+    interface ContentReader<T> {
+        T read(InputStream content) throws IOException, AruException, XPathExpressionException;
+    }
+
+    /**
+     * Create a metadata cache with the time-to-live set by WLSIMG_ARU_CACHE_TTL.
+     * @param directory folder for the cached documents
+     */
+    public AruMetadataCache(Path directory) {
+        this(directory, TimeUnit.MINUTES.toMillis(Utils.getEnvironmentProperty(TTL_ENV, DEFAULT_TTL_MINUTES, 0)));
+    }
+
+    AruMetadataCache(Path directory, long ttlMillis) {
+        this.directory = directory;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Ignore cached documents and download every document again from ARU.
+     * Downloaded documents still replace the cached documents.
+     * @param value true to always download documents from ARU
+     */
+    public void forceRefresh(boolean value) {
+        forceRefresh = value;
+    }
+
+    /**
+     * Get the XML document for the URL, from the cache if it is still valid, otherwise from ARU.
+     * @param url ARU REST URL
+     * @param userId Oracle support credential
+     * @param password Oracle support credential
+     * @param verifier check applied to documents from ARU before they are stored in the cache
+     * @return the parsed XML document
+     * @throws IOException if the document could not be retrieved from ARU
+     * @throws AruException if the verifier rejects the document
+     * @throws XPathExpressionException if the verifier could not read the document
+     */
+    Document get(String url, String userId, String password, DocumentVerifier verifier)
+        throws IOException, AruException, XPathExpressionException {
+        return read(url, userId, password, in -> {
+            Document document = HttpUtil.parseXml(new InputSource(in));
+            verifier.verify(document);
+            return document;
+        });
+    }
+
+    /**
+     * Read the document for the URL, from the cache if it is still valid, otherwise from ARU.
+     * The reader is given the content of the document, so that the caller can parse the content without
+     * building a DOM document.
+     * @param url ARU REST URL
+     * @param userId Oracle support credential
+     * @param password Oracle support credential
+     * @param reader parser for the content of the document
+     * @return the result of the reader
+     * @throws IOException if the document could not be retrieved from ARU, or could not be read
+     * @throws AruException if the reader rejects the document
+     * @throws XPathExpressionException if the reader could not read the document
+     */
+    <T> T read(String url, String userId, String password, ContentReader<T> reader)
+        throws IOException, AruException, XPathExpressionException {
+        logger.entering(url);
+        String key = cacheKey(url);
+        Path contentFile = directory.resolve(key + ".xml");
+        Path infoFile = directory.resolve(key + ".properties");
+        Properties info = readInfo(infoFile, url);
+        boolean cached = info != null && Files.isRegularFile(contentFile);
+
+        if (cached && !forceRefresh) {
+            long age = System.currentTimeMillis() - fetchedTime(info);
+            if (age >= 0 && age < ttlMillis) {
+                logger.fine("Using cached ARU metadata {0} for {1}, age {2} ms", contentFile, url, age);
+                logger.exiting();
+                return readFile(contentFile, reader);
+            }
+        }
+
+        Request request = Request.get(url).connectTimeout(REQUEST_TIMEOUT).responseTimeout(REQUEST_TIMEOUT);
+        if (cached && !forceRefresh) {
+            if (info.getProperty(ETAG) != null) {
+                request.setHeader(HttpHeaders.IF_NONE_MATCH, info.getProperty(ETAG));
+            }
+            if (info.getProperty(LAST_MODIFIED) != null) {
+                request.setHeader(HttpHeaders.IF_MODIFIED_SINCE, info.getProperty(LAST_MODIFIED));
+            }
+        }
+
+        Properties newInfo = new Properties();
+        newInfo.setProperty(URL, url);
+        byte[] content = HttpUtil.getHttpExecutor(userId, password).execute(request).handleResponse(response -> {
+            copyHeader(response.getFirstHeader(HttpHeaders.ETAG), ETAG, newInfo);
+            copyHeader(response.getFirstHeader(HttpHeaders.LAST_MODIFIED), LAST_MODIFIED, newInfo);
+            if (response.getCode() == HttpStatus.SC_NOT_MODIFIED) {
+                EntityUtils.consume(response.getEntity());
+                return null;
+            }
+            if (response.getCode() >= HttpStatus.SC_REDIRECTION) {
+                EntityUtils.consume(response.getEntity());
+                throw HttpStatusException.of(response);
+            }
+            return response.getEntity() == null ? new byte[0] : EntityUtils.toByteArray(response.getEntity());
+        });
+
+        T result;
+        if (content == null && cached) {
+            logger.fine("ARU metadata for {0} has not changed", url);
+            // keep the validators from the original response if the server did not repeat them
+            copyProperty(info, newInfo, ETAG);
+            copyProperty(info, newInfo, LAST_MODIFIED);
+            result = readFile(contentFile, reader);
+        } else {
+            if (content == null) {
+                throw new HttpResponseException(HttpStatus.SC_NOT_MODIFIED, "Not Modified");
+            }
+            logger.finest(new String(content, StandardCharsets.UTF_8));
+            result = reader.read(new ByteArrayInputStream(content));
+            if (!writeAtomically(contentFile, content)) {
+                logger.exiting();
+                return result;
+            }
+        }
+        newInfo.setProperty(FETCHED, Long.toString(System.currentTimeMillis()));
+        writeInfo(infoFile, newInfo);
+        logger.exiting();
+        return result;
+    }
+
+    private static <T> T readFile(Path file, ContentReader<T> reader)
+        throws IOException, AruException, XPathExpressionException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            return reader.read(in);
+        }
+    }
+
+    /**
+     * Get a result saved with {@link #putResult(String, List)}, if it is younger than the time-to-live.
+     * Used for ARU responses that cannot be revalidated, like the result of a conflict check.
+     * @param key unique name of the result, safe to use as a file name
+     * @return the lines of the saved result, or null if there is no valid result saved
+     */
+    List<String> getResult(String key) {
+        Path resultFile = directory.resolve(key + ".txt");
+        if (forceRefresh || !Files.isRegularFile(resultFile)) {
+            return null;
+        }
+        try {
+            long age = System.currentTimeMillis() - Files.getLastModifiedTime(resultFile).toMillis();
+            if (age < 0 || age >= ttlMillis) {
+                return null;
+            }
+            logger.fine("Using cached ARU result {0}, age {1} ms", resultFile, age);
+            return Files.readAllLines(resultFile, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.fine("Ignoring unreadable ARU result {0}: {1}", resultFile, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Save a result for later use with {@link #getResult(String)}.
+     * @param key unique name of the result, safe to use as a file name
+     * @param lines the result to save
+     */
+    void putResult(String key, List<String> lines) {
+        if (ttlMillis <= 0) {
+            // the result would never be used
+            return;
+        }
+        StringBuilder content = new StringBuilder();
+        for (String line : lines) {
+            content.append(line).append('\n');
+        }
+        writeAtomically(directory.resolve(key + ".txt"), content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String cacheKey(String url) {
+        MessageDigest digest = Utils.sha256Digest();
+        return Utils.toHex(digest.digest(url.getBytes(StandardCharsets.UTF_8))).substring(0, 32);
+    }
+
+    private static long fetchedTime(Properties info) {
+        try {
+            return Long.parseLong(info.getProperty(FETCHED, "0"));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static void copyHeader(Header header, String key, Properties target) {
+        if (header != null && !Utils.isEmptyString(header.getValue())) {
+            target.setProperty(key, header.getValue());
+        }
+    }
+
+    private static void copyProperty(Properties source, Properties target, String key) {
+        if (target.getProperty(key) == null && source.getProperty(key) != null) {
+            target.setProperty(key, source.getProperty(key));
+        }
+    }
+
+    private static Properties readInfo(Path infoFile, String url) {
+        if (!Files.isRegularFile(infoFile)) {
+            return null;
+        }
+        Properties info = new Properties();
+        try (InputStream in = Files.newInputStream(infoFile)) {
+            info.load(in);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.fine("Ignoring unreadable ARU metadata cache entry {0}: {1}", infoFile, e.getMessage());
+            return null;
+        }
+        // guard against hash collisions and entries written for a different URL
+        return url.equals(info.getProperty(URL)) ? info : null;
+    }
+
+    private void writeInfo(Path infoFile, Properties info) {
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, infoFile.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    info.store(out, "ARU metadata cache entry");
+                }
+                moveIntoPlace(temp, infoFile);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            // the cache is an optimization, failing to update it should not fail the build
+            logger.fine("Unable to update ARU metadata cache {0}: {1}", infoFile, e.getMessage());
+        }
+    }
+
+    private boolean writeAtomically(Path file, byte[] content) {
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temp, content);
+                moveIntoPlace(temp, file);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            return true;
+        } catch (IOException e) {
+            logger.fine("Unable to update ARU metadata cache {0}: {1}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
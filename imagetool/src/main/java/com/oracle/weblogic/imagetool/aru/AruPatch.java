@@ -3,10 +3,16 @@
 
 package com.oracle.weblogic.imagetool.aru;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.xpath.XPathExpressionException;
 
 import com.oracle.weblogic.imagetool.logging.LoggingFacade;
@@ -23,6 +29,25 @@ import org.w3c.dom.NodeList;
  */
 public class AruPatch {
     private static final LoggingFacade logger = LoggingFactory.getLogger(AruPatch.class);
+    private static XMLInputFactory inputFactory = null;
+
+    private static final XPathUtil.Expression XPATH_PATCHES =
+        XPathUtil.expression("/results/patch[./platform[@id='2000' or @id='226' or @id='541']]");
+    private static final XPathUtil.Expression XPATH_NAME = XPathUtil.expression("./name");
+    private static final XPathUtil.Expression XPATH_RELEASE_NAME = XPathUtil.expression("./release/@name");
+    private static final XPathUtil.Expression XPATH_RELEASE_ID = XPathUtil.expression("./release/@id");
+    private static final XPathUtil.Expression XPATH_RELEASE_TEXT = XPathUtil.expression("./release/text()");
+    private static final XPathUtil.Expression XPATH_ABSTRACT = XPathUtil.expression("./bug/abstract");
+    private static final XPathUtil.Expression XPATH_PRODUCT_ID = XPathUtil.expression("./product/@id");
+    private static final XPathUtil.Expression XPATH_PSU_BUNDLE = XPathUtil.expression("./psu_bundle");
+    private static final XPathUtil.Expression XPATH_ACCESS = XPathUtil.expression("./access");
+    private static final XPathUtil.Expression XPATH_DOWNLOAD_HOST =
+        XPathUtil.expression("./files/file/download_url/@host");
+    private static final XPathUtil.Expression XPATH_DOWNLOAD_PATH =
+        XPathUtil.expression("./files/file/download_url/text()");
+    private static final XPathUtil.Expression XPATH_PLATFORM_ID = XPathUtil.expression("./platform/@id");
+    private static final XPathUtil.Expression XPATH_SHA256 =
+        XPathUtil.expression("./files/file/digest[@type='SHA-256']");
 
     private String patchId;
     private String version;
@@ -36,6 +61,7 @@ public class AruPatch {
     private String downloadPath;
     private String fileName;
     private String access;
+    private String sha256;
 
     public String patchId() {
         return patchId;
@@ -158,6 +184,19 @@ public class AruPatch {
         return access;
     }
 
+    /**
+     * The SHA-256 checksum of the patch file, as published by ARU.
+     * @return hex string of the checksum, or null if ARU did not provide one
+     */
+    public String sha256() {
+        return sha256;
+    }
+
+    public AruPatch sha256(String value) {
+        sha256 = Utils.isEmptyString(value) ? null : value;
+        return this;
+    }
+
     public boolean isOpenAccess() {
         return "Open access".equals(access);
     }
@@ -194,47 +233,251 @@ public class AruPatch {
      */
     public static Stream<AruPatch> getPatches(Document patchList) throws XPathExpressionException {
         // create list of all patches that apply (platforms 2000=generic, 226=amd64, 541=arm64)
-        NodeList nodeList = XPathUtil.nodelist(patchList,
-            "/results/patch[./platform[@id='2000' or @id='226' or @id='541']]");
+        NodeList nodeList = XPATH_PATCHES.nodelist(patchList);
         Stream.Builder<AruPatch> result = Stream.builder();
         for (int i = 0; i < nodeList.getLength(); i++) {
-            if (nodeList.item(i).getNodeType() == Node.ELEMENT_NODE) {
+            Node node = nodeList.item(i);
+            if (node.getNodeType() == Node.ELEMENT_NODE) {
                 AruPatch patch = new AruPatch()
-                    .patchId(XPathUtil.string(nodeList.item(i), "./name"))
-                    .version(XPathUtil.string(nodeList.item(i), "./release/@name"))
-                    .release(XPathUtil.string(nodeList.item(i), "./release/@id"))
-                    .releaseName(XPathUtil.string(nodeList.item(i), "./release/text()"))
-                    .description(XPathUtil.string(nodeList.item(i), "./bug/abstract"))
-                    .product(XPathUtil.string(nodeList.item(i), "./product/@id"))
-                    .psuBundle(XPathUtil.string(nodeList.item(i), "./psu_bundle"))
-                    .access(XPathUtil.string(nodeList.item(i), "./access"))
-                    .downloadHost(XPathUtil.string(nodeList.item(i), "./files/file/download_url/@host"))
-                    .downloadPath(XPathUtil.string(nodeList.item(i), "./files/file/download_url/text()"))
-                    .platform(XPathUtil.string(nodeList.item(i), "./platform/@id"));
-
-                int index = patch.downloadPath().indexOf("patch_file=");
-                if (index < 0) {
-                    logger.fine("Unusable patch data from ARU for id:" + patch.patchId()
-                        + "  ver:" + patch.version() + "  url:" + patch.downloadUrl());
-                } else {
-                    patch.fileName(patch.downloadPath().substring(index + "patch_file=".length()));
-
-                    logger.fine("AruPatch created id:" + patch.patchId()
-                        + "  ver:" + patch.version()
-                        + "  desc:" + patch.description()
-                        + "  rel:" + patch.release()
-                        + "  product:" + patch.product()
-                        + "  platform:" + patch.platform()
-                        + "  relName:" + patch.releaseName()
-                        + "  psu:" + patch.psuBundle()
-                        + "  url:" + patch.downloadUrl());
-                    result.add(patch);
+                    .patchId(XPATH_NAME.string(node))
+                    .version(XPATH_RELEASE_NAME.string(node))
+                    .release(XPATH_RELEASE_ID.string(node))
+                    .releaseName(XPATH_RELEASE_TEXT.string(node))
+                    .description(XPATH_ABSTRACT.string(node))
+                    .product(XPATH_PRODUCT_ID.string(node))
+                    .psuBundle(XPATH_PSU_BUNDLE.string(node))
+                    .access(XPATH_ACCESS.string(node))
+                    .downloadHost(XPATH_DOWNLOAD_HOST.string(node))
+                    .downloadPath(XPATH_DOWNLOAD_PATH.string(node))
+                    .platform(XPATH_PLATFORM_ID.string(node))
+                    .sha256(XPATH_SHA256.string(node));
+                addPatch(patch, result);
+            }
+        }
+        return result.build();
+    }
+
+    /**
+     * Read a list of patches from an ARU search result without building a DOM document.
+     * Produces the same patches as {@link #getPatches(Document)}, in the same order, and reports ARU error
+     * responses the same way as a request to ARU that returns an error.
+     * @param patchList the XML content of an ARU search result
+     * @return a list of AruPatch
+     * @throws NoPatchesFoundException if ARU returned an error that no patches were found
+     * @throws AruException if ARU returned any other error
+     * @throws IOException if the content could not be read or is not well formed XML
+     */
+    public static Stream<AruPatch> getPatches(InputStream patchList) throws IOException, AruException {
+        Stream.Builder<AruPatch> result = Stream.builder();
+        XMLStreamReader reader = null;
+        try {
+            reader = xmlInputFactory().createXMLStreamReader(patchList);
+            // element names from the root element down to the current element, deeper elements are not needed
+            String[] path = new String[5];
+            int depth = 0;
+            PatchReader patch = null;
+            String errorId = null;
+            String errorMessage = null;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                    if (depth == 1 && patch != null) {
+                        patch.finish(result);
+                        patch = null;
+                    } else if (depth == 1 && errorId != null) {
+                        throw AruUtil.errorResponse(errorId, errorMessage);
+                    }
+                    continue;
+                }
+                if (event != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                String name = reader.getLocalName();
+                if (depth < path.length) {
+                    path[depth] = name;
+                }
+                depth++;
+
+                if (depth == 2) {
+                    if ("patch".equals(name)) {
+                        patch = new PatchReader();
+                    } else if ("error".equals(name)) {
+                        errorId = "";
+                        errorMessage = "";
+                    }
+                } else if (patch != null && patch.read(reader, depth, path)) {
+                    // reading the element text moves the reader to the end of the element
+                    depth--;
+                } else if (depth == 3 && errorId != null && ("id".equals(name) || "message".equals(name))) {
+                    if ("id".equals(name)) {
+                        errorId = reader.getElementText().trim();
+                    } else {
+                        errorMessage = reader.getElementText().trim();
+                    }
+                    depth--;
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed XML document", e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    logger.finest("Unable to close XML reader: {0}", e.getMessage());
                 }
             }
         }
         return result.build();
     }
 
+    private static synchronized XMLInputFactory xmlInputFactory() {
+        if (inputFactory == null) {
+            inputFactory = XMLInputFactory.newInstance();
+            // Prevent XXE attacks
+            inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        }
+        return inputFactory;
+    }
+
+    /**
+     * Collects the fields of one patch element while it is streamed.
+     * Like the XPath expressions in getPatches(Document), the first matching element provides the value,
+     * and a missing element or attribute results in an empty string.
+     */
+    private static class PatchReader {
+        private String patchId;
+        private String version;
+        private String release;
+        private String releaseName;
+        private String description;
+        private String product;
+        private String psuBundle;
+        private String access;
+        private String downloadHost;
+        private String downloadPath;
+        private String platform;
+        private String sha256;
+        private boolean supportedPlatform = false;
+
+        /**
+         * Read the current element if it is a patch field.
+         * @return true if the element text was read, and the reader is positioned at the end of the element
+         */
+        boolean read(XMLStreamReader reader, int depth, String[] path) throws XMLStreamException {
+            if (depth > path.length) {
+                return false;
+            }
+            String name = path[depth - 1];
+            if (depth == 3) {
+                switch (name) {
+                    case "name":
+                        patchId = first(patchId, reader);
+                        return true;
+                    case "psu_bundle":
+                        psuBundle = first(psuBundle, reader);
+                        return true;
+                    case "access":
+                        access = first(access, reader);
+                        return true;
+                    case "product":
+                        if (product == null) {
+                            product = attribute(reader, "id");
+                        }
+                        return false;
+                    case "release":
+                        if (release == null) {
+                            version = attribute(reader, "name");
+                            release = attribute(reader, "id");
+                            releaseName = reader.getElementText();
+                            return true;
+                        }
+                        return false;
+                    case "platform":
+                        String id = attribute(reader, "id");
+                        if (platform == null) {
+                            platform = id;
+                        }
+                        // platforms 2000=generic, 226=amd64, 541=arm64
+                        supportedPlatform |= "2000".equals(id) || "226".equals(id) || "541".equals(id);
+                        return false;
+                    default:
+                        return false;
+                }
+            } else if (depth == 4 && "bug".equals(path[2]) && "abstract".equals(name)) {
+                description = first(description, reader);
+                return true;
+            } else if (depth == 5 && "files".equals(path[2]) && "file".equals(path[3])) {
+                if ("download_url".equals(name) && downloadHost == null) {
+                    downloadHost = attribute(reader, "host");
+                    downloadPath = reader.getElementText();
+                    return true;
+                } else if ("digest".equals(name) && sha256 == null && "SHA-256".equals(attribute(reader, "type"))) {
+                    sha256 = reader.getElementText();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static String first(String current, XMLStreamReader reader) throws XMLStreamException {
+            String text = reader.getElementText();
+            return current == null ? text : current;
+        }
+
+        private static String attribute(XMLStreamReader reader, String name) {
+            String value = reader.getAttributeValue(null, name);
+            return value == null ? "" : value;
+        }
+
+        private static String value(String field) {
+            return field == null ? "" : field;
+        }
+
+        void finish(Stream.Builder<AruPatch> result) {
+            if (!supportedPlatform) {
+                return;
+            }
+            AruPatch patch = new AruPatch()
+                .patchId(value(patchId))
+                .version(value(version))
+                .release(value(release))
+                .releaseName(value(releaseName))
+                .description(value(description))
+                .product(value(product))
+                .psuBundle(value(psuBundle))
+                .access(value(access))
+                .downloadHost(value(downloadHost))
+                .downloadPath(value(downloadPath))
+                .platform(platform)
+                .sha256(value(sha256));
+            addPatch(patch, result);
+        }
+    }
+
+    private static void addPatch(AruPatch patch, Stream.Builder<AruPatch> result) {
+        int index = patch.downloadPath().indexOf("patch_file=");
+        if (index < 0) {
+            logger.fine("Unusable patch data from ARU for id:" + patch.patchId()
+                + "  ver:" + patch.version() + "  url:" + patch.downloadUrl());
+        } else {
+            patch.fileName(patch.downloadPath().substring(index + "patch_file=".length()));
+
+            logger.fine("AruPatch created id:" + patch.patchId()
+                + "  ver:" + patch.version()
+                + "  desc:" + patch.description()
+                + "  rel:" + patch.release()
+                + "  product:" + patch.product()
+                + "  platform:" + patch.platform()
+                + "  relName:" + patch.releaseName()
+                + "  psu:" + patch.psuBundle()
+                + "  url:" + patch.downloadUrl());
+            result.add(patch);
+        }
+    }
+
     /**
      * Select an ARU patch from the list based on a version number.
      * Version preference is: provided version, PSU version, and then installer version.
@@ -6,12 +6,23 @@ package com.oracle.weblogic.imagetool.aru;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.StringWriter;
 import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -25,14 +36,19 @@ import com.oracle.weblogic.imagetool.installer.FmwInstallerType;
 import com.oracle.weblogic.imagetool.logging.LoggingFacade;
 import com.oracle.weblogic.imagetool.logging.LoggingFactory;
 import com.oracle.weblogic.imagetool.util.Architecture;
+import com.oracle.weblogic.imagetool.util.HttpStatusException;
 import com.oracle.weblogic.imagetool.util.HttpUtil;
+import com.oracle.weblogic.imagetool.util.ParallelTasks;
+import com.oracle.weblogic.imagetool.util.ResumableDownload;
+import com.oracle.weblogic.imagetool.util.RetryPolicy;
 import com.oracle.weblogic.imagetool.util.Utils;
 import com.oracle.weblogic.imagetool.util.XPathUtil;
 import org.apache.hc.client5.http.HttpResponseException;
-import org.apache.hc.client5.http.fluent.Request;
 import org.apache.hc.core5.http.HttpStatus;
 import org.apache.hc.core5.util.Timeout;
 import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
 import static com.oracle.weblogic.imagetool.util.Constants.ARU_LANG_URL;
@@ -51,8 +67,18 @@ public class AruUtil {
 
     private static final String BUG_SEARCH_URL = ARU_REST_URL + "/search?bug=%s";
 
-    private int restRetries = 10;
-    private int restInterval = 500;
+    static final XPathUtil.Expression XPATH_ERROR = XPathUtil.expression("/results/error");
+    static final XPathUtil.Expression XPATH_ERROR_ID = XPathUtil.expression("/results/error/id");
+    static final XPathUtil.Expression XPATH_ERROR_MESSAGE = XPathUtil.expression("/results/error/message");
+    private static final XPathUtil.Expression XPATH_CONFLICT_SETS =
+        XPathUtil.expression("/conflict_check/conflict_sets/set");
+    private static final XPathUtil.Expression XPATH_CONFLICT_BUGS =
+        XPathUtil.expression("merge_patches/patch/bug/number/text()");
+
+    private final int downloadSegments;
+    private final int queryParallelism;
+    private AruMetadataCache metadataCache;
+    private boolean forceMetadataRefresh = false;
 
     /**
      * Get ARU HTTP helper instance.
@@ -66,35 +92,32 @@ public class AruUtil {
     }
 
     protected AruUtil() {
-        final String retriesEnvVar = "WLSIMG_REST_RETRY_MAX";
-        final String retriesString = System.getenv(retriesEnvVar);
-        try {
-            if (retriesString != null) {
-                restRetries = Integer.parseInt(retriesString);
-                if (restRetries < 1) {
-                    restRetries = 10;
-                    logger.severe("IMG-0109", retriesEnvVar, retriesString, 1, restRetries);
-                }
-                logger.fine("Retry max set to {0}", restRetries);
-            }
-        } catch (NumberFormatException nfe) {
-            logger.warning("IMG-0108", retriesEnvVar, retriesString);
+        downloadSegments = Utils.getEnvironmentProperty("WLSIMG_DOWNLOAD_SEGMENTS", 1, 1);
+        queryParallelism = Utils.getEnvironmentProperty("WLSIMG_PARALLEL_ARU_QUERIES", 4, 1);
+    }
+
+    /**
+     * Ignore ARU metadata in the local metadata cache and get all metadata from ARU again.
+     * @param value true to refresh the cached ARU metadata
+     */
+    public synchronized void forceMetadataRefresh(boolean value) {
+        forceMetadataRefresh = value;
+        if (metadataCache != null) {
+            metadataCache.forceRefresh(value);
         }
+    }
 
-        final String waitEnvVar = "WLSIMG_REST_RETRY_INTERVAL";
-        final String waitString = System.getenv(waitEnvVar);
-        try {
-            if (waitString != null) {
-                restInterval = Integer.parseInt(waitString);
-                if (restInterval < 0) {
-                    restInterval = 500;
-                    logger.severe("IMG-0109", waitEnvVar, waitString, 0, restInterval);
-                }
-                logger.fine("Retry interval set to {0}", restInterval);
-            }
-        } catch (NumberFormatException nfe) {
-            logger.warning("IMG-0108", waitEnvVar, waitString);
+    /**
+     * The disk cache for ARU metadata documents, in the "aru" folder of the cache directory.
+     * @return the metadata cache
+     * @throws CacheStoreException if the cache directory is not available
+     */
+    synchronized AruMetadataCache metadataCache() throws CacheStoreException {
+        if (metadataCache == null) {
+            metadataCache = new AruMetadataCache(Paths.get(CacheStoreFactory.cache().getCacheDir(), "aru"));
+            metadataCache.forceRefresh(forceMetadataRefresh);
         }
+        return metadataCache;
     }
 
     /**
@@ -111,12 +134,12 @@ public class AruUtil {
                                        String userId, String password)
         throws AruException {
         List<AruPatch> result = new ArrayList<>();
-        for (AruProduct product : type.products()) {
-            if (product == AruProduct.OWSM && ("14.1.1.0.0".equals(version) || "15.1.1.0.0".equals(version))) {
-                // OWSM is included with WLS installs, but OWSM did not have a release in 14.1.1 and 15.1.1
-                continue;
-            }
-            List<AruPatch> psuList = getLatestPsu(product, version, architecture, userId, password);
+        List<AruProduct> products = getProducts(type, version);
+        List<List<AruPatch>> lookups = lookupProducts(products, userId, password,
+            product -> getLatestPsu(product, version, architecture, userId, password));
+        for (int i = 0; i < products.size(); i++) {
+            AruProduct product = products.get(i);
+            List<AruPatch> psuList = lookups.get(i);
             if (!psuList.isEmpty()) {
                 for (AruPatch psu: psuList) {
                     String patchAndVersion = psu.patchId() + "_" + psu.version();
@@ -133,6 +156,83 @@ public class AruUtil {
         return result;
     }
 
+    private static List<AruProduct> getProducts(FmwInstallerType type, String version) {
+        List<AruProduct> products = new ArrayList<>();
+        for (AruProduct product : type.products()) {
+            if (product == AruProduct.OWSM && ("14.1.1.0.0".equals(version) || "15.1.1.0.0".equals(version))) {
+                // OWSM is included with WLS installs, but OWSM did not have a release in 14.1.1 and 15.1.1
+                continue;
+            }
+            products.add(product);
+        }
+        return products;
+    }
+
+    /**
+     * Similar to java.util.function.Function, for a lookup of patches for a single product.
+     */
+    private interface ProductLookup {
+        List<AruPatch> lookup(AruProduct product) throws AruException;
+    }
+
+    /**
+     * Run the lookup for each product, concurrently if there is more than one product.
+     * Messages logged by each lookup, at every level, are held until the lookups for all previous products have been
+     * reported, so that the output is the same as running the lookups one at a time.
+     * The number of concurrent lookups can be set with the environment variable WLSIMG_PARALLEL_ARU_QUERIES.
+     *
+     * @param products the products to look up, in the order that the results should be reported
+     * @param lookup the lookup to run for each product
+     * @return the result of the lookup for each product, in the same order as the products
+     * @throws AruException if a lookup failed, after reporting the messages of the products before it
+     */
+    private List<List<AruPatch>> lookupProducts(List<AruProduct> products, String userId, String password,
+                                                ProductLookup lookup) throws AruException {
+        List<List<AruPatch>> results = new ArrayList<>();
+        if (products.size() < 2 || queryParallelism < 2) {
+            for (AruProduct product : products) {
+                results.add(lookup.lookup(product));
+            }
+            return results;
+        }
+
+        // every lookup needs the releases document, get it once before starting the lookups
+        getAllReleases(userId, password);
+        List<List<Runnable>> messages = new ArrayList<>();
+        List<Future<List<AruPatch>>> futures = new ArrayList<>();
+        try (ParallelTasks tasks = new ParallelTasks("aru-query", queryParallelism)) {
+            for (AruProduct product : products) {
+                List<Runnable> productMessages = new ArrayList<>();
+                messages.add(productMessages);
+                futures.add(tasks.submit(() -> {
+                    LoggingFacade.deferMessages(productMessages);
+                    try {
+                        return lookup.lookup(product);
+                    } finally {
+                        LoggingFacade.endDeferral();
+                    }
+                }));
+            }
+
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    List<AruPatch> result = futures.get(i).get();
+                    messages.get(i).forEach(Runnable::run);
+                    results.add(result);
+                } catch (ExecutionException e) {
+                    messages.get(i).forEach(Runnable::run);
+                    ParallelTasks.throwIfInstance(e.getCause(), AruException.class);
+                    ParallelTasks.throwIfInstance(e.getCause(), RuntimeException.class);
+                    throw new AruException(e.getCause().getMessage(), e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AruException(e.getMessage(), e);
+        }
+        return results;
+    }
+
     /**
      * Get list of PSU available for given product and version.
      *
@@ -152,13 +252,13 @@ public class AruUtil {
             String releaseNumber = getReleaseNumber(product, version, userId, password);
             if (Utils.isEmptyString(releaseNumber)) {
                 // ARU does not have a release number for the given product and version, return empty patch list
-                logger.info(Utils.getMessage("IMG-0082", version, product.description()));
+                logger.info("IMG-0082", version, product.description());
                 return Collections.emptyList();
             }
-            Document aruRecommendations = retry(
+            List<AruPatch> aruRecommendations = retry(
                 () -> getRecommendedPatchesMetadata(product, releaseNumber, userId, password));
             logger.exiting();
-            return AruPatch.getPatches(aruRecommendations)
+            return aruRecommendations.stream()
                 .filter(p -> p.isApplicableToTarget(architecture.getAruPlatform()))
                 .filter(AruPatch::isPsu)
                 .filter(not(AruPatch::isIrregularPatch))
@@ -166,7 +266,7 @@ public class AruUtil {
         } catch (NoPatchesFoundException ex) {
             logger.exiting();
             return Collections.emptyList();
-        } catch (RetryFailedException | XPathExpressionException e) {
+        } catch (RetryFailedException e) {
             throw logger.throwing(
                 new AruException(Utils.getMessage("IMG-0032", product.description(), version), e));
         }
@@ -183,12 +283,12 @@ public class AruUtil {
     public List<AruPatch> getRecommendedPatches(FmwInstallerType type, String version, Architecture architecture,
                                                 String userId, String password) throws AruException {
         List<AruPatch> result = new ArrayList<>();
-        for (AruProduct product : type.products()) {
-            if (product == AruProduct.OWSM && ("14.1.1.0.0".equals(version) || "15.1.1.0.0".equals(version))) {
-                // OWSM is included with WLS installs, but OWSM did not have a release in 14.1.1 and 15.1.1
-                continue;
-            }
-            List<AruPatch> patches = getRecommendedPatches(type, product, version, architecture, userId, password);
+        List<AruProduct> products = getProducts(type, version);
+        List<List<AruPatch>> lookups = lookupProducts(products, userId, password,
+            product -> getRecommendedPatches(type, product, version, architecture, userId, password));
+        for (int i = 0; i < products.size(); i++) {
+            AruProduct product = products.get(i);
+            List<AruPatch> patches = lookups.get(i);
 
             if (!patches.isEmpty()) {
                 patches.forEach(p -> logger.info("IMG-0068", product.description(), p.patchId(), p.description()));
@@ -220,7 +320,7 @@ public class AruUtil {
             String releaseNumber = getReleaseNumber(product, version, userId, password);
             if (Utils.isEmptyString(releaseNumber)) {
                 // ARU does not have a release number for the given product and version, return an empty patch list
-                logger.info(Utils.getMessage("IMG-0082", version, product.description()));
+                logger.info("IMG-0082", version, product.description());
             } else {
                 // Get a list of patches applicable to the given product and release number
                 patches = getReleaseRecommendations(product, releaseNumber, architecture, userId, password);
@@ -253,7 +353,7 @@ public class AruUtil {
             }
         } catch (NoPatchesFoundException npf) {
             logger.info("IMG-0069", product.description(), version);
-        } catch (RetryFailedException | XPathExpressionException e) {
+        } catch (RetryFailedException e) {
             throw new AruException(Utils.getMessage("IMG-0070", product.description(), version), e);
         }
         logger.exiting(patches);
@@ -276,12 +376,12 @@ public class AruUtil {
 
     List<AruPatch> getReleaseRecommendations(AruProduct product, String releaseNumber, Architecture architecture,
                                              String userId, String password)
-        throws AruException, XPathExpressionException, RetryFailedException {
+        throws AruException, RetryFailedException {
 
-        Document patchesDocument = retry(
+        List<AruPatch> releasePatches = retry(
             () -> getRecommendedPatchesMetadata(product, releaseNumber, userId, password));
 
-        return AruPatch.getPatches(patchesDocument)
+        return releasePatches.stream()
             .filter(p -> p.isApplicableToTarget(architecture.getAruPlatform()))
             .filter(not(AruPatch::isIrregularPatch)) // remove the Stack Patch Bundle patch, if returned
             // TODO: Need an option for the user to request the Coherence additional feature pack.
@@ -325,11 +425,16 @@ public class AruUtil {
             .compile("conflict-check.mustache")
             .execute(payload, new PatchLists(installedPatches, patches)).flush();
 
-        logger.fine("Posting to ARU conflict check: {0}", payload.toString());
         // Use ARU conflict_check API to check provided patches and previously installed patches for conflicts
         try {
-            Document conflictResults = retry(() -> patchConflictCheck(payload.toString(), userId, password));
-            List<List<String>> conflictSets = getPatchConflictSets(conflictResults);
+            String resultKey = conflictCheckKey(payload.toString());
+            List<List<String>> conflictSets = getCachedConflictSets(resultKey);
+            if (conflictSets == null) {
+                logger.fine("Posting to ARU conflict check: {0}", payload.toString());
+                Document conflictResults = retry(() -> patchConflictCheck(payload.toString(), userId, password));
+                conflictSets = getPatchConflictSets(conflictResults);
+                putCachedConflictSets(resultKey, conflictSets);
+            }
 
             if (conflictSets.isEmpty()) {
                 logger.info("IMG-0006");
@@ -343,11 +448,55 @@ public class AruUtil {
         }
     }
 
+    /**
+     * The conflict check result only depends on the installed and candidate patches, and not on their order.
+     * Sort the lines of the request so that the same patches always result in the same key.
+     */
+    static String conflictCheckKey(String payload) {
+        List<String> lines = Stream.of(payload.split("\n"))
+            .map(String::trim)
+            .filter(not(String::isEmpty))
+            .sorted()
+            .collect(Collectors.toList());
+        MessageDigest digest = Utils.sha256Digest();
+        digest.update(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+        return "conflicts-" + Utils.toHex(digest.digest()).substring(0, 32);
+    }
+
+    private List<List<String>> getCachedConflictSets(String resultKey) {
+        List<String> lines;
+        try {
+            lines = metadataCache().getResult(resultKey);
+        } catch (CacheStoreException e) {
+            logger.fine("Unable to read cached conflict check result: {0}", e.getMessage());
+            return null;
+        }
+        if (lines == null) {
+            return null;
+        }
+        logger.fine("Using cached conflict check result {0}", resultKey);
+        return lines.stream()
+            .filter(not(String::isEmpty))
+            .map(line -> Arrays.asList(line.split(",")))
+            .collect(Collectors.toList());
+    }
+
+    private void putCachedConflictSets(String resultKey, List<List<String>> conflictSets) {
+        try {
+            metadataCache().putResult(resultKey, conflictSets.stream()
+                .map(set -> String.join(",", set))
+                .collect(Collectors.toList()));
+        } catch (CacheStoreException e) {
+            logger.fine("Unable to save conflict check result: {0}", e.getMessage());
+        }
+    }
+
     Document patchConflictCheck(String payload, String userId, String password) throws IOException {
         return HttpUtil.postCheckConflictRequest(CONFLICTCHECKER_URL, payload, userId, password);
     }
 
     private Document allReleasesDocument = null;
+    private Map<String, String> releaseIndex = null;
 
     /**
      * Lookup all Oracle releases metadata from Oracle ARU.
@@ -358,7 +507,7 @@ public class AruUtil {
      * @return the XML document from ARU with releases metadata
      * @throws AruException when ARU could not be reached or returns an error
      */
-    Document getAllReleases(String userId, String password) throws AruException {
+    synchronized Document getAllReleases(String userId, String password) throws AruException {
         if (allReleasesDocument == null) {
             logger.fine("Getting all releases document from ARU...");
             try {
@@ -371,14 +520,15 @@ public class AruUtil {
     }
 
     // could be private, but leaving as protected for unit testing
-    Document getRecommendedPatchesMetadata(AruProduct product, String releaseNumber, String userId, String password)
+    List<AruPatch> getRecommendedPatchesMetadata(AruProduct product, String releaseNumber, String userId,
+                                                 String password)
         throws IOException, AruException, XPathExpressionException {
 
         logger.entering();
         String url = String.format(RECOMMENDED_PATCHES_URL, product.productId(), releaseNumber);
         logger.finer("getting recommended patches info from {0}", url);
-        Document response = HttpUtil.getXMLContent(url, userId, password);
-        verifyResponse(response);
+        List<AruPatch> response = metadataCache().read(url, userId, password,
+            in -> AruPatch.getPatches(in).collect(Collectors.toList()));
         logger.exiting();
         return response;
     }
@@ -393,25 +543,48 @@ public class AruUtil {
      * @return release number for the product and version provided
      * @throws AruException if the call to ARU fails, or the response from ARU had an error
      */
-    private String getReleaseNumber(AruProduct product, String version, String userId, String password)
+    private synchronized String getReleaseNumber(AruProduct product, String version, String userId,
+                                                 String password)
         throws AruException {
         logger.entering(product, version);
 
-        String result;
-        Document allReleases = getAllReleases(userId, password);
-
-        String expression = String.format("string(/results/release[starts-with(text(), '%s %s')]/@id)",
-            product.description(), version);
-        try {
-            result = XPathUtil.string(allReleases, expression);
-            logger.fine("Release number for {0} is {1}", product.description(), result);
-        } catch (XPathExpressionException xpe) {
-            throw new AruException("Could not extract release number with XPath", xpe);
+        if (releaseIndex == null) {
+            releaseIndex = indexReleases(getAllReleases(userId, password));
         }
+        String result = releaseIndex.getOrDefault(product.description() + " " + version, "");
+        logger.fine("Release number for {0} is {1}", product.description(), result);
         logger.exiting(result);
         return result;
     }
 
+    /**
+     * Index the releases document by release name, like "Oracle WebLogic Server 12.2.1.4.0", so that each
+     * release number lookup is a map lookup instead of an XPath scan over all releases.
+     * A release is also indexed by each leading part of its name that ends at a space, so that a release named
+     * "Oracle Coherence 12.2.1.4.0 Linux" is found by product description and version.
+     * If more than one release matches, the first release in the document is used.
+     *
+     * @param allReleases the XML document from ARU with all releases
+     * @return release number by release name
+     */
+    static Map<String, String> indexReleases(Document allReleases) {
+        Map<String, String> index = new HashMap<>();
+        for (Node node = allReleases.getDocumentElement().getFirstChild(); node != null;
+             node = node.getNextSibling()) {
+            if (node.getNodeType() != Node.ELEMENT_NODE || !"release".equals(node.getNodeName())) {
+                continue;
+            }
+            String name = node.getTextContent().trim();
+            String id = ((Element) node).getAttribute("id");
+            for (int i = name.indexOf(' '); i > 0; i = name.indexOf(' ', i + 1)) {
+                index.putIfAbsent(name.substring(0, i), id);
+            }
+            index.putIfAbsent(name, id);
+        }
+        logger.fine("Indexed {0} release names", index.size());
+        return index;
+    }
+
     /**
      * Validates whether the given username and password are valid MOS credentials.
      *
@@ -438,36 +611,41 @@ public class AruUtil {
 
     private Document getAndVerify(String url, String userId, String password)
         throws IOException, XPathExpressionException, AruException {
-        Document response = HttpUtil.getXMLContent(url, userId, password);
-        return verifyResponse(response);
+        return metadataCache().get(url, userId, password, this::verifyResponse);
     }
 
     private Document verifyResponse(Document response) throws AruException, XPathExpressionException {
-        NodeList nodeList = XPathUtil.nodelist(response, "/results/error");
+        NodeList nodeList = XPATH_ERROR.nodelist(response);
         if (nodeList.getLength() > 0) {
-            String errorMessage = XPathUtil.string(response, "/results/error/message");
-            logger.fine(errorMessage);
-            String errorId = XPathUtil.string(response, "/results/error/id");
-            AruException error;
-            if ("10-016".equals(errorId)) {
-                error = new NoPatchesFoundException(errorMessage);
-            } else {
-                error = new AruException(errorMessage);
-            }
-            logger.throwing(error);
-            throw error;
+            throw errorResponse(XPATH_ERROR_ID.string(response), XPATH_ERROR_MESSAGE.string(response));
         }
         return response;
     }
 
+    /**
+     * Create the exception for an error response from ARU.
+     * @param errorId the ARU error ID, like 10-016 when no patches were found
+     * @param errorMessage the ARU error message
+     * @return the exception to throw
+     */
+    static AruException errorResponse(String errorId, String errorMessage) {
+        logger.fine(errorMessage);
+        AruException error;
+        if ("10-016".equals(errorId)) {
+            error = new NoPatchesFoundException(errorMessage);
+        } else {
+            error = new AruException(errorMessage);
+        }
+        return logger.throwing(error);
+    }
+
     List<List<String>> getPatchConflictSets(Document conflictCheckResult) throws IOException {
         List<List<String>> result = new ArrayList<>();
         try {
-            NodeList conflictSets = XPathUtil.nodelist(conflictCheckResult,"/conflict_check/conflict_sets/set");
+            NodeList conflictSets = XPATH_CONFLICT_SETS.nodelist(conflictCheckResult);
             if (conflictSets.getLength() > 0) {
                 for (int i = 0; i < conflictSets.getLength(); i++) {
-                    NodeList bugNumbers =
-                        XPathUtil.nodelist(conflictSets.item(i), "merge_patches/patch/bug/number/text()");
+                    NodeList bugNumbers = XPATH_CONFLICT_BUGS.nodelist(conflictSets.item(i));
                     List<String> bugList = new ArrayList<>();
                     for (int j = 0; j < bugNumbers.getLength(); j++) {
                         bugList.add(bugNumbers.item(j).getNodeValue());
@@ -503,8 +681,9 @@ public class AruUtil {
         String url = String.format(BUG_SEARCH_URL, bugNumber);
         logger.info("IMG-0063", bugNumber);
         try {
-            Document response = retry(() -> getAndVerify(url, userId, password));
-            return AruPatch.getPatches(response);
+            List<AruPatch> response = retry(() -> metadataCache().read(url, userId, password,
+                in -> AruPatch.getPatches(in).collect(Collectors.toList())));
+            return response.stream();
         } catch (NoPatchesFoundException patchEx) {
             throw new NoPatchesFoundException(Utils.getMessage("IMG-0086", bugNumber), patchEx);
         } catch (RetryFailedException retryEx) {
@@ -512,6 +691,99 @@ public class AruUtil {
         }
     }
 
+    /**
+     * Start searching ARU for several bug numbers at the same time.
+     * Each bug number is a separate ARU search, and the searches run concurrently, up to the limit set with
+     * WLSIMG_PARALLEL_ARU_QUERIES.  The results are retrieved one bug number at a time from the returned
+     * search, so that the caller can process the bug numbers in order.
+     * @param bugNumbers the bug numbers to search for
+     * @param userId user credentials with access to OTN
+     * @param password password for the provided userId
+     * @return the running search, which must be closed by the caller
+     */
+    public PatchSearch searchPatches(List<String> bugNumbers, String userId, String password) {
+        return new PatchSearch(bugNumbers, userId, password);
+    }
+
+    /**
+     * ARU searches for a list of bug numbers, started by {@link #searchPatches(List, String, String)}.
+     */
+    public class PatchSearch implements AutoCloseable {
+        private final String userId;
+        private final String password;
+        private final Map<String, Future<List<AruPatch>>> searches = new HashMap<>();
+        private final Map<String, List<Runnable>> messages = new HashMap<>();
+        private final ParallelTasks tasks;
+
+        private PatchSearch(List<String> bugNumbers, String userId, String password) {
+            this.userId = userId;
+            this.password = password;
+            Set<String> distinct = new LinkedHashSet<>(bugNumbers);
+            if (userId == null || password == null || distinct.size() < 2 || queryParallelism < 2) {
+                // offline searches only read the cache, and a single search gains nothing from another thread
+                tasks = null;
+                return;
+            }
+            logger.fine("Searching ARU for {0} bug numbers using {1} threads", distinct.size(), queryParallelism);
+            tasks = new ParallelTasks("aru-search", queryParallelism);
+            for (String bugNumber : distinct) {
+                List<Runnable> bugMessages = new ArrayList<>();
+                messages.put(bugNumber, bugMessages);
+                searches.put(bugNumber, tasks.submit(() -> {
+                    LoggingFacade.deferMessages(bugMessages);
+                    try {
+                        return AruUtil.this.getPatches(bugNumber, userId, password).collect(Collectors.toList());
+                    } finally {
+                        LoggingFacade.endDeferral();
+                    }
+                }));
+            }
+        }
+
+        /**
+         * Get the result of the search for the bug number, waiting for the search to finish if needed.
+         * Messages logged by the search are reported when the result is retrieved, and a failed search throws
+         * the same exception as {@link AruUtil#getPatches(String, String, String)}.
+         * @param bugNumber the bug number to get the patches for
+         * @return the patches found for the bug number
+         * @throws AruException if the search failed
+         * @throws IOException if there is an error retrieving the XML from ARU
+         * @throws XPathExpressionException if AruPatch failed while extracting patch data from the XML
+         */
+        public Stream<AruPatch> getPatches(String bugNumber)
+            throws AruException, IOException, XPathExpressionException {
+            Future<List<AruPatch>> search = searches.remove(bugNumber);
+            if (search == null) {
+                return AruUtil.this.getPatches(bugNumber, userId, password);
+            }
+            try {
+                List<AruPatch> result = search.get();
+                messages.remove(bugNumber).forEach(Runnable::run);
+                return result.stream();
+            } catch (ExecutionException e) {
+                messages.remove(bugNumber).forEach(Runnable::run);
+                ParallelTasks.throwIfInstance(e.getCause(), AruException.class);
+                ParallelTasks.throwIfInstance(e.getCause(), IOException.class);
+                ParallelTasks.throwIfInstance(e.getCause(), XPathExpressionException.class);
+                ParallelTasks.throwIfInstance(e.getCause(), RuntimeException.class);
+                throw new AruException(e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AruException(e.getMessage(), e);
+            }
+        }
+
+        /**
+         * Stop the searches that have not finished.
+         */
+        @Override
+        public void close() {
+            if (tasks != null) {
+                tasks.close();
+            }
+        }
+    }
+
     private List<AruPatch> getPatchesOffline(String bugNumber) throws CacheStoreException {
         List<AruPatch> patchesInCache = new ArrayList<>();
         // Cache keys are in the form {bug number}_{version} or {bug number}_{version}_{architecture}
@@ -553,6 +825,10 @@ public class AruUtil {
         try {
             return retry(() -> downloadPatch(aruPatch, targetDir, username, password));
         } catch (AruException | RetryFailedException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                // the download was cancelled, not failed
+                throw new InterruptedIOException(e.getMessage());
+            }
             logger.severe("IMG-0120");
             throw logger.throwing(
                 new FileNotFoundException(Utils.getMessage("IMG-0037", aruPatch.patchId(), aruPatch.version())));
@@ -569,37 +845,31 @@ public class AruUtil {
         String filename = targetDir + File.separator + aruPatch.fileName();
         logger.info("IMG-0018", aruPatch.patchId());
         try {
-            HttpUtil.getHttpExecutor(username, password)
-                .execute(Request.get(aruPatch.downloadUrl()).connectTimeout(REQUEST_TIMEOUT)
-                    .responseTimeout(REQUEST_TIMEOUT))
-                .saveContent(new File(filename));
-        } catch (Exception ex) {
-            String message = Utils.getMessage("IMG-0107", filename, aruPatch.downloadUrl(), ex.getLocalizedMessage());
-            logger.severe(message);
-            throw new IOException(message, ex);
+            ResumableDownload download = new ResumableDownload(HttpUtil.getHttpExecutor(username, password),
+                aruPatch.downloadUrl(), Paths.get(filename))
+                .segments(downloadSegments)
+                .timeout(REQUEST_TIMEOUT)
+                .expectedSha256(aruPatch.sha256());
+            download.download();
+            aruPatch.sha256(download.sha256());
+        } catch (IOException ex) {
+            // rethrow unchanged so that retry() sees the HTTP status, the failure is reported when retries run out
+            logger.fine("IMG-0107", filename, aruPatch.downloadUrl(), ex.getLocalizedMessage());
+            throw ex;
         }
         logger.exiting(filename);
         return filename;
     }
 
     /**
-     * The maximum number of retries that will be attempted when trying to reach the ARU REST API method.
-     * This value can be set by using the environment variable WLSIMG_REST_RETRY_MAX.
+     * The retry policy for ARU REST calls.
+     * The policy can be changed using the environment variables WLSIMG_REST_RETRY_MAX, WLSIMG_REST_RETRY_INTERVAL,
+     * and WLSIMG_REST_RETRY_TIMEOUT.
      *
-     * @return The maximum number of retries to attempt.
+     * @return the retry policy for ARU REST calls
      */
-    public int getMaxRetries() {
-        return restRetries;
-    }
-
-    /**
-     * The time between each ARU REST retry.
-     * This value can be set by using the environment variable WLSIMG_REST_RETRY_INTERVAL.
-     *
-     * @return The time to wait between each ARU REST API attempt during the retry loop.
-     */
-    public int getRetryInterval() {
-        return restInterval;
+    RetryPolicy retryPolicy() {
+        return RetryPolicy.getDefault();
     }
 
     /**
@@ -610,27 +880,48 @@ public class AruUtil {
         T process() throws IOException, XPathExpressionException, AruException;
     }
 
-    // create an environment variable that can override the tries count (undocumented)
+    /**
+     * The wait requested by the server for the failed call, from the HTTP status in the cause chain of the failure.
+     */
+    private static long retryAfter(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpStatusException) {
+                return ((HttpStatusException) cause).getRetryAfter();
+            }
+        }
+        return 0;
+    }
+
     private static <T> T retry(MethodToRetry<T> call) throws AruException, RetryFailedException {
-        for (int i = 0; i < rest().getMaxRetries(); i++) {
+        RetryPolicy policy = rest().retryPolicy();
+        RetryPolicy.Attempts attempts = policy.start();
+        while (true) {
             try {
                 return call.process();
             } catch (UnknownHostException e) {
                 throw new AruException(e.getLocalizedMessage(), e);
             } catch (IOException | XPathExpressionException e) {
-                logger.info("IMG-0106", e.getMessage(), (i + 1), rest().getMaxRetries());
-            }
-            try {
-                if (rest().getRetryInterval() > 0) {
-                    logger.finer("Waiting {0} ms before retry...", rest().getRetryInterval());
-                    Thread.sleep(rest().getRetryInterval());
+                if (Thread.currentThread().isInterrupted()) {
+                    // the caller gave up on this call, like a download cancelled because of a patch conflict
+                    throw logger.throwing(new AruException(Utils.getMessage("IMG-0138"), e));
+                }
+                // the server may ask for a longer wait when it is busy, with a Retry-After header
+                long delay = attempts.failed(retryAfter(e));
+                logger.info("IMG-0106", e.getMessage(), attempts.getFailures(), policy.getMaxAttempts());
+                if (delay < 0) {
+                    // When all retries are exhausted, raise an ARU exception to exit the process (give up)
+                    throw logger.throwing(new RetryFailedException());
+                }
+                try {
+                    if (delay > 0) {
+                        logger.finer("Waiting {0} ms before retry...", delay);
+                        Thread.sleep(delay);
+                    }
+                } catch (InterruptedException wakeAndAbort) {
+                    Thread.currentThread().interrupt();
+                    throw logger.throwing(new AruException(Utils.getMessage("IMG-0138"), wakeAndAbort));
                 }
-            } catch (InterruptedException wakeAndAbort) {
-                logger.warning("Process interrupted!");
-                Thread.currentThread().interrupt();
             }
         }
-        // When all retries are exhausted, raise an ARU exception to exit the process (give up)
-        throw logger.throwing(new RetryFailedException());
     }
 }
@@ -1,13 +1,17 @@
-// Copyright (c) 2022, Oracle and/or its affiliates.
+// Copyright (c) 2022, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.aru;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Properties;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import com.oracle.weblogic.imagetool.inspect.InventoryPatch;
+import com.oracle.weblogic.imagetool.inspect.OracleInventory;
 import com.oracle.weblogic.imagetool.logging.LoggingFacade;
 import com.oracle.weblogic.imagetool.logging.LoggingFactory;
 import com.oracle.weblogic.imagetool.util.Utils;
@@ -55,6 +59,32 @@ public class InstalledPatch {
         return result;
     }
 
+    /**
+     * Get the installed patches from the image properties.
+     * The patches are read from the Oracle inventory XML when the image inspection found it, otherwise from the
+     * output of opatch lsinventory.
+     *
+     * @param imageProperties properties returned by the image inspection
+     * @return a simple list of InstalledPatch, or null if the inspection did not include the patches
+     * @throws IOException if the Oracle inventory XML cannot be read
+     */
+    public static List<InstalledPatch> getPatchList(Properties imageProperties) throws IOException {
+        if (imageProperties.getProperty(OracleInventory.INVENTORY_KEY) == null) {
+            String oraclePatches = imageProperties.getProperty(OracleInventory.PATCHES_KEY);
+            return oraclePatches == null ? null : getPatchList(oraclePatches);
+        }
+        List<InstalledPatch> result = new ArrayList<>();
+        for (InventoryPatch patch : OracleInventory.getPatches(imageProperties)) {
+            InstalledPatch found = new InstalledPatch();
+            found.bugNumber = patch.bug();
+            found.uniquePatchNumber = patch.uid();
+            found.patchDescription = patch.description();
+            result.add(found);
+        }
+        logger.fine("Installed patches from the Oracle inventory: {0}", result);
+        return result;
+    }
+
     /**
      * Parse the patch descriptions and return the PSU number if there is one installed.
      * @param installedPatches The opatch lsinventory patches.
@@ -1,8 +1,9 @@
-// Copyright (c) 2020, 2024, Oracle and/or its affiliates.
+// Copyright (c) 2020, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.builder;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
@@ -32,6 +33,7 @@ public class BuildCommand {
     private List<String> additionalOptions;
     private final String context;
     private boolean useBuildx = false;
+    private boolean streamContext = false;
 
     /**
      * Create a build command for creating an image.  At some point, it might
@@ -72,6 +74,17 @@ public class BuildCommand {
         return this;
     }
 
+    /**
+     * Send the build context to the build engine as a tar stream on standard input, instead of passing the
+     * context folder.  Symbolic links in the context folder are followed when the tar stream is written.
+     * @param value true to stream the build context
+     * @return this
+     */
+    public BuildCommand streamContext(boolean value) {
+        streamContext = value;
+        return this;
+    }
+
     /**
      * Add container build platform.  Pass the desired
      * build architecture to the build process.
@@ -202,12 +215,26 @@ public class BuildCommand {
         final Process process = processBuilder.start();
         logger.finer("Docker process started");
         writeFromInputToOutputStreams(process.getInputStream(), outputStreams);
+        if (streamContext) {
+            writeContext(process);
+        }
         logger.finer("Waiting for Docker to finish");
         if (process.waitFor() != 0) {
             Utils.processError(process);
         }
     }
 
+    private void writeContext(Process process) throws IOException, InterruptedException {
+        logger.finer("Streaming build context {0}", context);
+        try (OutputStream stdin = new BufferedOutputStream(process.getOutputStream(), 256 * 1024)) {
+            new ContextArchive(Paths.get(context)).writeTo(stdin);
+        } catch (IOException e) {
+            // closing stdin ends the build, wait for the build output that explains why the build engine stopped
+            process.waitFor();
+            throw e;
+        }
+    }
+
     /**
      * Create a file with the given path.
      *
@@ -281,7 +308,7 @@ public class BuildCommand {
         for (BuildArg arg : buildArgs) {
             result.addAll(arg.toList(showPasswords));
         }
-        result.add(context);
+        result.add(streamContext ? "-" : context);
         return result;
     }
 
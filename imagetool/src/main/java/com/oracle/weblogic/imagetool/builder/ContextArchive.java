@@ -0,0 +1,210 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.builder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.oracle.weblogic.imagetool.logging.LoggingFacade;
+import com.oracle.weblogic.imagetool.logging.LoggingFactory;
+import com.oracle.weblogic.imagetool.util.Utils;
+
+/**
+ * Write a build context directory as a tar stream that can be passed to "docker build -".
+ * Symbolic links in the context directory are followed, so that files staged as links to the cache are read
+ * directly from the cache instead of being copied into the build context first.
+ * Uses the POSIX ustar format, with PAX extended headers for long names and files larger than 8 GB.
+ */
+public class ContextArchive {
+    private static final LoggingFacade logger = LoggingFactory.getLogger(ContextArchive.class);
+
+    private static final int BLOCK_SIZE = 512;
+    private static final int NAME_LENGTH = 100;
+    private static final long MAX_USTAR_SIZE = 077777777777L;
+    private static final byte TYPE_FILE = '0';
+    private static final byte TYPE_DIRECTORY = '5';
+    private static final byte TYPE_PAX_HEADER = 'x';
+
+    private final Path contextDir;
+
+    public ContextArchive(Path contextDir) {
+        this.contextDir = contextDir;
+    }
+
+    /**
+     * Write the contents of the context directory to the output stream as a tar archive.
+     * The output stream is not closed.
+     * @param out the stream to write the archive to, like the standard input of the build process
+     * @throws IOException if a file cannot be read, or the stream cannot be written
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        logger.entering(contextDir);
+        Files.walkFileTree(contextDir, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE,
+            new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    if (!dir.equals(contextDir)) {
+                        writeHeader(out, entryName(dir) + "/", TYPE_DIRECTORY, 0, mode(dir, 0755), attrs);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    if (!attrs.isRegularFile()) {
+                        logger.fine("Skipping {0}, not a regular file", file);
+                        return FileVisitResult.CONTINUE;
+                    }
+                    writeHeader(out, entryName(file), TYPE_FILE, attrs.size(), mode(file, 0644), attrs);
+                    writeContent(out, file, attrs.size());
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
+                    // includes FileSystemLoopException for links that point back into the context
+                    throw exc;
+                }
+            });
+        // end of archive is marked by two empty blocks
+        out.write(new byte[BLOCK_SIZE * 2]);
+        out.flush();
+        logger.exiting();
+    }
+
+    private String entryName(Path path) {
+        return contextDir.relativize(path).toString().replace('\\', '/');
+    }
+
+    private static int mode(Path path, int defaultMode) {
+        try {
+            Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(path);
+            int mode = 0;
+            for (PosixFilePermission permission : permissions) {
+                // PosixFilePermission is declared in order OWNER_READ (0400) through OTHERS_EXECUTE (0001)
+                mode |= 0400 >> permission.ordinal();
+            }
+            return mode;
+        } catch (UnsupportedOperationException | IOException e) {
+            return defaultMode;
+        }
+    }
+
+    private static void writeHeader(OutputStream out, String name, byte type, long size, int mode,
+                                    BasicFileAttributes attrs) throws IOException {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        boolean longName = nameBytes.length > NAME_LENGTH;
+        boolean largeFile = size > MAX_USTAR_SIZE;
+        if (longName || largeFile) {
+            StringBuilder records = new StringBuilder();
+            if (longName) {
+                records.append(paxRecord("path", name));
+            }
+            if (largeFile) {
+                records.append(paxRecord("size", Long.toString(size)));
+            }
+            byte[] paxData = records.toString().getBytes(StandardCharsets.UTF_8);
+            writeUstarHeader(out, "PaxHeaders/" + lastSegment(name), TYPE_PAX_HEADER, paxData.length, 0644, 0);
+            out.write(paxData);
+            pad(out, paxData.length);
+        }
+        long mtime = attrs.lastModifiedTime().toMillis() / 1000;
+        writeUstarHeader(out, name, type, largeFile ? 0 : size, mode, mtime);
+    }
+
+    private static void writeUstarHeader(OutputStream out, String name, byte type, long size, int mode, long mtime)
+        throws IOException {
+        byte[] header = new byte[BLOCK_SIZE];
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(nameBytes, 0, header, 0, Math.min(nameBytes.length, NAME_LENGTH));
+        octal(header, 100, 8, mode);
+        octal(header, 108, 8, 0);
+        octal(header, 116, 8, 0);
+        octal(header, 124, 12, size);
+        octal(header, 136, 12, mtime);
+        header[156] = type;
+        ascii(header, 257, "ustar\0");
+        ascii(header, 263, "00");
+        // the checksum is calculated with the checksum field set to spaces
+        Arrays.fill(header, 148, 156, (byte) ' ');
+        long checksum = 0;
+        for (byte b : header) {
+            checksum += b & 0xff;
+        }
+        octal(header, 148, 7, checksum);
+        out.write(header);
+    }
+
+    private static void writeContent(OutputStream out, Path file, long size) throws IOException {
+        long written = 0;
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while (written < size && (read = in.read(buffer, 0, (int) Math.min(buffer.length, size - written))) > 0) {
+                out.write(buffer, 0, read);
+                written += read;
+            }
+        }
+        if (written != size) {
+            throw new IOException(Utils.getMessage("IMG-0137", file));
+        }
+        pad(out, size);
+    }
+
+    private static void pad(OutputStream out, long size) throws IOException {
+        int remainder = (int) (size % BLOCK_SIZE);
+        if (remainder > 0) {
+            out.write(new byte[BLOCK_SIZE - remainder]);
+        }
+    }
+
+    /**
+     * Format a PAX record, "length key=value\n", where length includes the digits of the length itself.
+     */
+    static String paxRecord(String key, String value) {
+        int contentLength = key.getBytes(StandardCharsets.UTF_8).length
+            + value.getBytes(StandardCharsets.UTF_8).length + 3;
+        int length = contentLength + Integer.toString(contentLength).length();
+        if (Integer.toString(length).length() > Integer.toString(contentLength).length()) {
+            length++;
+        }
+        return length + " " + key + "=" + value + "\n";
+    }
+
+    private static String lastSegment(String name) {
+        String trimmed = name.endsWith("/") ? name.substring(0, name.length() - 1) : name;
+        String segment = trimmed.substring(trimmed.lastIndexOf('/') + 1);
+        return segment.length() > 80 ? segment.substring(0, 80) : segment;
+    }
+
+    private static void octal(byte[] header, int offset, int length, long value) {
+        // zero padded octal digits followed by a NUL terminator
+        String digits = Long.toOctalString(value);
+        int width = length - 1;
+        StringBuilder padded = new StringBuilder();
+        for (int i = digits.length(); i < width; i++) {
+            padded.append('0');
+        }
+        padded.append(digits);
+        ascii(header, offset, padded.toString());
+        header[offset + width] = 0;
+    }
+
+    private static void ascii(byte[] header, int offset, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(bytes, 0, header, offset, bytes.length);
+    }
+}
@@ -0,0 +1,106 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.cachestore;
+
+import com.oracle.weblogic.imagetool.util.Utils;
+
+/**
+ * How a cache entry is used, to decide which entries to remove when the cache is pruned.
+ * Records the last time the entry was used by a build, the size of the file, whether the user pinned the entry, and
+ * the ARU product and PSU version of the entry if the file is a PSU.
+ */
+public class CacheEntryUsage {
+    private final long lastAccess;
+    private final long size;
+    private final boolean pinned;
+    private final String psuProduct;
+    private final String psuVersion;
+
+    /**
+     * Create a new usage record.
+     * @param lastAccess the last time the entry was used, in milliseconds
+     * @param size the size of the file in bytes
+     * @param pinned true if the entry must never be removed by pruning
+     * @param psuProduct the ARU product ID if the file is a PSU, or null
+     */
+    public CacheEntryUsage(long lastAccess, long size, boolean pinned, String psuProduct) {
+        this(lastAccess, size, pinned, psuProduct, null);
+    }
+
+    /**
+     * Create a new usage record for a PSU.
+     * @param lastAccess the last time the entry was used, in milliseconds
+     * @param size the size of the file in bytes
+     * @param pinned true if the entry must never be removed by pruning
+     * @param psuProduct the ARU product ID if the file is a PSU, or null
+     * @param psuVersion the version of the PSU, like 12.2.1.4.240614, or null
+     */
+    public CacheEntryUsage(long lastAccess, long size, boolean pinned, String psuProduct, String psuVersion) {
+        this.lastAccess = lastAccess;
+        this.size = size;
+        this.pinned = pinned;
+        this.psuProduct = Utils.isEmptyString(psuProduct) ? null : psuProduct;
+        this.psuVersion = Utils.isEmptyString(psuVersion) ? null : psuVersion;
+    }
+
+    /**
+     * Parse a value written by toString().
+     * @param value the string to parse
+     * @return the record, or null if the value is not valid
+     */
+    public static CacheEntryUsage parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        String[] parts = value.split(",", -1);
+        // records written before the PSU version was saved have four fields
+        if (parts.length != 4 && parts.length != 5) {
+            return null;
+        }
+        try {
+            return new CacheEntryUsage(Long.parseLong(parts[0]), Long.parseLong(parts[1]),
+                Boolean.parseBoolean(parts[2]), parts[3], parts.length == 5 ? parts[4] : null);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public long lastAccess() {
+        return lastAccess;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public boolean pinned() {
+        return pinned;
+    }
+
+    public String psuProduct() {
+        return psuProduct;
+    }
+
+    public String psuVersion() {
+        return psuVersion;
+    }
+
+    public CacheEntryUsage accessed(long time, long fileSize) {
+        return new CacheEntryUsage(time, fileSize, pinned, psuProduct, psuVersion);
+    }
+
+    public CacheEntryUsage pinned(boolean value) {
+        return new CacheEntryUsage(lastAccess, size, value, psuProduct, psuVersion);
+    }
+
+    public CacheEntryUsage psu(String product, String version) {
+        return new CacheEntryUsage(lastAccess, size, pinned, product, version);
+    }
+
+    @Override
+    public String toString() {
+        return lastAccess + "," + size + "," + pinned + "," + (psuProduct == null ? "" : psuProduct)
+            + "," + (psuVersion == null ? "" : psuVersion);
+    }
+}
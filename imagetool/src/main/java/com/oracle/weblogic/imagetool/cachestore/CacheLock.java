@@ -0,0 +1,109 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.cachestore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.FileLockInterruptionException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.oracle.weblogic.imagetool.logging.LoggingFacade;
+import com.oracle.weblogic.imagetool.logging.LoggingFactory;
+
+/**
+ * An advisory lock on a file in the cache directory, held by one process at a time.
+ * A file lock belongs to the whole process, so threads in this process also wait for each other before they lock
+ * the file. The lock cannot be acquired again by a thread that already holds it.
+ * If the file system does not support locks, the lock only applies to this process.
+ */
+class CacheLock implements Closeable {
+    private static final LoggingFacade logger = LoggingFactory.getLogger(CacheLock.class);
+
+    private static final Map<Path, ReentrantLock> localLocks = new ConcurrentHashMap<>();
+
+    private final ReentrantLock localLock;
+    private final FileChannel channel;
+    private final FileLock fileLock;
+
+    private CacheLock(ReentrantLock localLock, FileChannel channel, FileLock fileLock) {
+        this.localLock = localLock;
+        this.channel = channel;
+        this.fileLock = fileLock;
+    }
+
+    /**
+     * Lock a file, waiting until other processes and threads release it.
+     * @param lockFile the file to lock, created if it does not exist
+     * @param name the name of the locked resource, reported if this process must wait, or null to not report waiting
+     * @return the lock, which must be closed to release it
+     * @throws InterruptedIOException if the thread was interrupted while it was waiting
+     */
+    static CacheLock acquire(Path lockFile, String name) throws InterruptedIOException {
+        ReentrantLock localLock = localLocks.computeIfAbsent(lockFile.toAbsolutePath().normalize(),
+            k -> new ReentrantLock());
+        try {
+            localLock.lockInterruptibly();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for lock on " + lockFile);
+        }
+        FileChannel channel = null;
+        try {
+            Files.createDirectories(lockFile.getParent());
+            channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock fileLock = channel.tryLock();
+            if (fileLock == null) {
+                if (name != null) {
+                    logger.info("IMG-0141", name);
+                } else {
+                    logger.fine("Waiting for lock on {0}", lockFile);
+                }
+                fileLock = channel.lock();
+            }
+            return new CacheLock(localLock, channel, fileLock);
+        } catch (ClosedByInterruptException | FileLockInterruptionException e) {
+            closeQuietly(channel);
+            localLock.unlock();
+            throw new InterruptedIOException("Interrupted while waiting for lock on " + lockFile);
+        } catch (IOException e) {
+            // like a network file system without lock support, or a read-only cache directory
+            logger.fine("Unable to lock {0}: {1}", lockFile, e.getMessage());
+            closeQuietly(channel);
+            return new CacheLock(localLock, null, null);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (fileLock != null) {
+                fileLock.release();
+            }
+        } catch (IOException e) {
+            logger.fine("Unable to release lock: {0}", e.getMessage());
+        } finally {
+            closeQuietly(channel);
+            localLock.unlock();
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.fine("Unable to close lock file: {0}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,291 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.cachestore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.oracle.weblogic.imagetool.logging.LoggingFacade;
+import com.oracle.weblogic.imagetool.logging.LoggingFactory;
+import com.oracle.weblogic.imagetool.util.Utils;
+
+/**
+ * Removes cache entries and their files to limit the disk space used by the cache directory.
+ * Only files in the cache directory, like downloaded patches, are removed. Entries for files outside the cache
+ * directory, like installers added by the user, and entries pinned by the user are never removed.
+ */
+public class CachePruner {
+    private static final LoggingFacade logger = LoggingFactory.getLogger(CachePruner.class);
+
+    public static final String MAX_SIZE_ENV = "WLSIMG_CACHE_MAX_SIZE";
+    public static final String MAX_AGE_ENV = "WLSIMG_CACHE_MAX_AGE";
+    public static final String KEEP_PSU_ENV = "WLSIMG_CACHE_KEEP_PSU";
+
+    // A build records the use of an entry when it resolves the file, at most once an hour, and then places the file
+    // in the build context.  Entries used within this time can still be needed by a build that is running.
+    private static final long RECENT_USE = TimeUnit.HOURS.toMillis(2);
+
+    private long maxSize = -1;
+    private int maxAge = -1;
+    private int keepLatestPsu = -1;
+    private boolean dryRun = false;
+    private long freedSpace = 0;
+
+    /**
+     * Remove the least recently used entries until the files in the cache directory use no more than this size.
+     * @param bytes the maximum size in bytes
+     * @return this
+     */
+    public CachePruner maxSize(long bytes) {
+        maxSize = bytes;
+        return this;
+    }
+
+    /**
+     * Remove entries that were not used by a build for more than this number of days.
+     * @param days the number of days
+     * @return this
+     */
+    public CachePruner maxAge(int days) {
+        maxAge = days;
+        return this;
+    }
+
+    /**
+     * Remove PSUs that are older than the latest PSUs for the same product.
+     * @param count the number of PSUs to keep for each product
+     * @return this
+     */
+    public CachePruner keepLatestPsu(int count) {
+        keepLatestPsu = count;
+        return this;
+    }
+
+    /**
+     * Only report the entries that would be removed.
+     * @param value true to not remove anything
+     * @return this
+     */
+    public CachePruner dryRun(boolean value) {
+        dryRun = value;
+        return this;
+    }
+
+    /**
+     * Returns true if at least one limit was set.
+     * @return true if pruning can remove entries
+     */
+    public boolean hasPolicy() {
+        return maxSize >= 0 || maxAge >= 0 || keepLatestPsu >= 0;
+    }
+
+    /**
+     * The disk space freed by the last prune, or that would be freed by a dry run.
+     * @return the size in bytes
+     */
+    public long freedSpace() {
+        return freedSpace;
+    }
+
+    /**
+     * Create a pruner with the limits set by WLSIMG_CACHE_MAX_SIZE, WLSIMG_CACHE_MAX_AGE, and WLSIMG_CACHE_KEEP_PSU.
+     * @return the pruner, which has no limits if none of the variables are set
+     */
+    public static CachePruner fromEnvironment() {
+        CachePruner result = new CachePruner()
+            .maxAge(Utils.getEnvironmentProperty(MAX_AGE_ENV, -1, 0))
+            .keepLatestPsu(Utils.getEnvironmentProperty(KEEP_PSU_ENV, -1, 1));
+        String size = Utils.getEnvironmentProperty(MAX_SIZE_ENV, () -> null);
+        if (size != null) {
+            try {
+                result.maxSize(parseSize(size));
+            } catch (IllegalArgumentException e) {
+                logger.warning("IMG-0144", MAX_SIZE_ENV, size);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Parse a size like 500M or 20G.
+     * The suffixes K, M, G, and T are powers of 1024. A value without a suffix is a number of bytes.
+     * @param value the size
+     * @return the size in bytes
+     * @throws IllegalArgumentException if the value is not a valid size
+     */
+    public static long parseSize(String value) {
+        String size = value.trim().toUpperCase(Locale.ENGLISH);
+        int shift = 0;
+        if (!size.isEmpty()) {
+            int unit = "KMGT".indexOf(size.charAt(size.length() - 1));
+            if (unit >= 0) {
+                shift = (unit + 1) * 10;
+                size = size.substring(0, size.length() - 1).trim();
+            }
+        }
+        long result = Long.parseLong(size);
+        if (result < 0 || result > (Long.MAX_VALUE >> shift)) {
+            throw new IllegalArgumentException("Invalid size " + value);
+        }
+        return result << shift;
+    }
+
+    /**
+     * Remove the entries selected by the limits, and delete their files.
+     * A file is deleted only when no other cache entry uses the file.
+     * @param cache the cache to prune
+     * @return the keys of the removed entries
+     * @throws IOException if an entry or file cannot be removed
+     */
+    public List<String> prune(CacheStore cache) throws IOException {
+        logger.entering(maxSize, maxAge, keepLatestPsu, dryRun);
+        freedSpace = 0;
+        Path cacheDir = Paths.get(cache.getCacheDir()).toAbsolutePath().normalize();
+        List<Entry> entries = new ArrayList<>();
+        for (Map.Entry<String, String> item : new TreeMap<>(cache.getCacheItems()).entrySet()) {
+            entries.add(new Entry(item.getKey(), item.getValue(), cacheDir, cache.getUsage(item.getKey())));
+        }
+        long recentUse = System.currentTimeMillis() - RECENT_USE;
+        List<Entry> candidates = entries.stream()
+            .filter(Entry::removable)
+            .filter(e -> e.lastAccess < recentUse)
+            .collect(Collectors.toList());
+
+        Set<Entry> selected = new LinkedHashSet<>();
+        if (maxAge >= 0) {
+            long cutoff = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(maxAge);
+            candidates.stream().filter(e -> e.lastAccess < cutoff).forEach(selected::add);
+        }
+        if (keepLatestPsu >= 0) {
+            selected.addAll(olderPsus(candidates));
+        }
+        if (maxSize >= 0) {
+            List<Entry> leastRecentlyUsed = candidates.stream()
+                .sorted(Comparator.comparingLong(e -> e.lastAccess))
+                .collect(Collectors.toList());
+            for (Entry entry : leastRecentlyUsed) {
+                if (usedSpace(entries, selected) <= maxSize) {
+                    break;
+                }
+                selected.add(entry);
+            }
+        }
+
+        Set<Entry> removedEntries = new LinkedHashSet<>();
+        for (Entry entry : selected) {
+            if (dryRun) {
+                logger.info("IMG-0145", entry.key, entry.value);
+                removedEntries.add(entry);
+            } else if (remove(cache, entry, recentUse)) {
+                logger.info("IMG-0146", entry.key, entry.value);
+                removedEntries.add(entry);
+            }
+        }
+        freedSpace = usedSpace(entries, new HashSet<>()) - usedSpace(entries, removedEntries);
+        List<String> removed = removedEntries.stream().map(e -> e.key).collect(Collectors.toList());
+        logger.exiting(removed.size());
+        return removed;
+    }
+
+    private List<Entry> olderPsus(List<Entry> candidates) {
+        Map<String, List<Entry>> byProduct = new HashMap<>();
+        for (Entry entry : candidates) {
+            if (entry.psuProduct != null && entry.version != null) {
+                byProduct.computeIfAbsent(entry.psuProduct + CacheStore.CACHE_KEY_SEPARATOR + entry.architecture,
+                    k -> new ArrayList<>()).add(entry);
+            }
+        }
+        List<Entry> result = new ArrayList<>();
+        for (List<Entry> psus : byProduct.values()) {
+            psus.sort((a, b) -> Utils.compareVersions(b.version, a.version));
+            result.addAll(psus.subList(Math.min(keepLatestPsu, psus.size()), psus.size()));
+        }
+        return result;
+    }
+
+    // the size of the files in the cache directory that are still used by an entry that is not removed
+    private static long usedSpace(List<Entry> entries, Set<Entry> removed) {
+        Map<Path, Long> files = new HashMap<>();
+        for (Entry entry : entries) {
+            if (entry.inCacheDir && !removed.contains(entry)) {
+                files.put(entry.file, entry.size);
+            }
+        }
+        return files.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private static boolean remove(CacheStore cache, Entry entry, long recentUse) throws IOException {
+        // wait for a build that is downloading the file for this entry
+        try (Closeable lock = cache.lock(entry.key)) {
+            // the usage is read again after the lock, a build may have started to use the entry during the prune
+            CacheEntryUsage usage = cache.getUsage(entry.key);
+            if (usage != null && usage.lastAccess() >= recentUse) {
+                logger.fine("Keeping cache entry {0}, it was used by a build during the prune", entry.key);
+                return false;
+            }
+            cache.deleteFromCache(entry.key);
+            boolean shared = cache.getCacheItems().values().stream()
+                .anyMatch(value -> entry.file.equals(Paths.get(value).toAbsolutePath().normalize()));
+            if (!shared) {
+                Files.deleteIfExists(entry.file);
+            }
+            return true;
+        }
+    }
+
+    private static class Entry {
+        private final String key;
+        private final String value;
+        private final Path file;
+        private final boolean inCacheDir;
+        private final boolean pinned;
+        private final long size;
+        private final long lastAccess;
+        private final String psuProduct;
+        private final String version;
+        private final String architecture;
+
+        Entry(String key, String value, Path cacheDir, CacheEntryUsage usage) throws IOException {
+            this.key = key;
+            this.value = value;
+            file = Paths.get(value).toAbsolutePath().normalize();
+            inCacheDir = file.startsWith(cacheDir) && !file.equals(cacheDir);
+            pinned = usage != null && usage.pinned();
+            boolean exists = Files.isRegularFile(file);
+            size = exists ? Files.size(file) : 0;
+            if (usage != null && usage.lastAccess() > 0) {
+                lastAccess = usage.lastAccess();
+            } else {
+                // entries added before usage was recorded
+                lastAccess = exists ? Files.getLastModifiedTime(file).toMillis() : 0;
+            }
+            psuProduct = usage == null ? null : usage.psuProduct();
+            // the version in the key is the release, like 12.2.1.4.0, which is the same for all PSUs of the release
+            String recorded = usage == null ? null : usage.psuVersion();
+            version = recorded != null && recorded.matches("\\d+(\\.\\d+)*") ? recorded : null;
+            // cache keys are of the form id_version_architecture
+            String[] parts = key.split(CacheStore.CACHE_KEY_SEPARATOR);
+            architecture = parts.length > 2 ? parts[2] : "";
+        }
+
+        boolean removable() {
+            return inCacheDir && !pinned;
+        }
+    }
+}
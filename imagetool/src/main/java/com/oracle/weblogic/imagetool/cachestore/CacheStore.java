@@ -1,10 +1,13 @@
-// Copyright (c) 2019, 2022, Oracle and/or its affiliates.
+// Copyright (c) 2019, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.cachestore;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.function.UnaryOperator;
 
 /**
  * This is the interface that helps keep track of application metadata like
@@ -68,4 +71,108 @@ public interface CacheStore {
     Map<String, String> getCacheItems();
 
     List<String> getKeysForType(String type);
+
+    /**
+     * Add an entry to the cache metadata file, and record the checksum of the file.
+     *
+     * @param key      artifact identifier
+     * @param value    a file path
+     * @param checksum size, last modified time, and SHA-256 checksum of the file
+     */
+    default void addToCache(String key, String value, FileChecksum checksum) throws CacheStoreException {
+        addToCache(key, value);
+    }
+
+    /**
+     * Returns the recorded checksum for the file of a cache entry.
+     *
+     * @param key artifact identifier
+     * @return the checksum recorded for the entry, or null if none was recorded
+     */
+    default FileChecksum getChecksum(String key) {
+        return null;
+    }
+
+    /**
+     * Check that the file for a cache entry has not changed since it was added to the cache.
+     * Entries without a recorded checksum are recorded during the check.
+     *
+     * @param key  artifact identifier
+     * @param mode how thoroughly to check the file
+     * @return true if the file is unchanged, or could not be compared
+     * @throws IOException if the file cannot be read
+     */
+    default boolean verify(String key, VerifyMode mode) throws IOException {
+        return true;
+    }
+
+    /**
+     * Lock a cache entry, so that only one process that shares the cache directory downloads the file for the entry.
+     * Entries added by other processes while this process was waiting are available after the lock is acquired.
+     *
+     * @param key artifact identifier
+     * @return the lock, which must be closed to release it
+     * @throws IOException if the thread was interrupted while it was waiting for the lock
+     */
+    default Closeable lock(String key) throws IOException {
+        return () -> { };
+    }
+
+    /**
+     * Returns how a cache entry is used, like the last time it was used by a build.
+     *
+     * @param key artifact identifier
+     * @return the usage recorded for the entry, or null if none was recorded
+     */
+    default CacheEntryUsage getUsage(String key) {
+        return null;
+    }
+
+    /**
+     * Change the usage recorded for a cache entry, like pinning the entry.
+     *
+     * @param key    artifact identifier
+     * @param update the change to make to the current usage, or to an empty usage if none was recorded
+     */
+    default void updateUsage(String key, UnaryOperator<CacheEntryUsage> update) throws CacheStoreException {
+        // usage is not recorded by default
+    }
+
+    /**
+     * Record that a build used the file of a cache entry, and the current size of the file.
+     * Failures are logged and ignored.
+     *
+     * @param key artifact identifier
+     */
+    default void recordAccess(String key) {
+        // usage is not recorded by default
+    }
+
+    /**
+     * Share the file of a cache entry that was downloaded by this build with other builds.
+     * Files are only shared when the cache is backed by a shared cache, and may be shared in the background.
+     *
+     * @param key artifact identifier
+     */
+    default void publish(String key) {
+        // files are not shared by default
+    }
+
+    /**
+     * Copy the file of a cache entry from a shared cache into this cache, when the entry is not in this cache.
+     * Callers should hold the lock of the entry, so that only one process copies the file.
+     *
+     * @param key artifact identifier
+     * @return the location of the copied file, or null if the entry is not in a shared cache
+     */
+    default String fetch(String key) {
+        return null;
+    }
+
+    /**
+     * Wait for changes that are made in the background, like files that are being shared with other builds.
+     */
+    default void flush() {
+        // nothing is done in the background by default
+    }
 }
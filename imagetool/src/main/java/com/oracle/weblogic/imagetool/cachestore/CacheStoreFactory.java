@@ -1,14 +1,17 @@
-// Copyright (c) 2019, 2021, Oracle and/or its affiliates.
+// Copyright (c) 2019, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.cachestore;
 
+import com.oracle.weblogic.imagetool.util.Utils;
+
 /**
  * Provides access to a Cache Store.
  */
 public class CacheStoreFactory {
 
-    private static CacheStore store;
+    // written only by cache(), volatile so that flush() sees the store created by another thread
+    private static volatile CacheStore store;
 
     private CacheStoreFactory() {
         // hidden constructor
@@ -16,13 +19,31 @@ public class CacheStoreFactory {
 
     /**
      * Get the cache store.
-     * @return the cached instance of the file cache store
+     * If WLSIMG_CACHE_REMOTE is set, the file cache store is used as the local tier of a shared cache at that URL.
+     * Synchronized, because the parallel patch downloads get the cache store from several threads.
+     * @return the cached instance of the cache store
      */
-    public static CacheStore cache() throws CacheStoreException {
+    public static synchronized CacheStore cache() throws CacheStoreException {
         if (store == null) {
-            store = new FileCacheStore();
+            FileCacheStore local = new FileCacheStore();
+            String remoteUrl = Utils.getEnvironmentProperty(RemoteCacheStore.REMOTE_CACHE_ENV, () -> null);
+            if (Utils.isEmptyString(remoteUrl)) {
+                store = local;
+            } else {
+                store = new RemoteCacheStore(local, remoteUrl);
+            }
         }
 
         return store;
     }
+
+    /**
+     * Wait for the cache store to complete work done in the background, if the cache store was used.
+     */
+    public static void flush() {
+        CacheStore current = store;
+        if (current != null) {
+            current.flush();
+        }
+    }
 }
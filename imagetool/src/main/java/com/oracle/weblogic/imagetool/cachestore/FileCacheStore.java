@@ -1,24 +1,21 @@
-// Copyright (c) 2019, 2024, Oracle and/or its affiliates.
+// Copyright (c) 2019, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.cachestore;
 
-import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.FileReader;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import com.oracle.weblogic.imagetool.logging.LoggingFacade;
 import com.oracle.weblogic.imagetool.logging.LoggingFactory;
@@ -30,21 +27,26 @@ public class FileCacheStore implements CacheStore {
     public static final String CACHE_DIR_ENV = "WLSIMG_CACHEDIR";
     private static final LoggingFacade logger = LoggingFactory.getLogger(FileCacheStore.class);
 
-    private final Properties properties = new Properties();
-    private final File metadataFile;
+    private static final String CHECKSUM_FILE = ".checksums";
+    private static final String USAGE_FILE = ".usage";
+    private static final String LOCK_DIR = ".locks";
+    // the last use of an entry only needs to be accurate to the hour, instead of a journal record for every use
+    private static final long ACCESS_RESOLUTION = TimeUnit.HOURS.toMillis(1);
+
+    private final JournaledProperties properties;
+    private final JournaledProperties checksums;
+    private final JournaledProperties usage;
     private final String cacheDir;
 
     FileCacheStore() throws CacheStoreException {
         try {
             cacheDir = initCacheDir();
-            metadataFile = Paths.get(cacheDir, Constants.DEFAULT_META_FILE).toFile();
-            if (metadataFile.exists() && metadataFile.isFile()) {
-                loadProperties(metadataFile);
-            } else {
-                if (!metadataFile.createNewFile()) {
-                    throw new IOException("Failed to create file cache metadata file " + metadataFile.getName());
-                }
-            }
+            properties = new JournaledProperties(Paths.get(cacheDir, Constants.DEFAULT_META_FILE));
+            checksums = new JournaledProperties(Paths.get(cacheDir, CHECKSUM_FILE));
+            usage = new JournaledProperties(Paths.get(cacheDir, USAGE_FILE));
+            usage.load();
+            checksums.load();
+            properties.load();
         } catch (IOException e) {
             CacheStoreException error =
                 new CacheStoreException("Failed to establish a cache store on the filesystem", e);
@@ -61,7 +63,7 @@ public class FileCacheStore implements CacheStore {
     @Override
     public String getValueFromCache(String key) {
         Objects.requireNonNull(key, Utils.getMessage("IMG-0066"));
-        return properties.getProperty(key.toLowerCase());
+        return properties.get(key.toLowerCase());
     }
 
     @Override
@@ -74,34 +76,138 @@ public class FileCacheStore implements CacheStore {
 
     @Override
     public void addToCache(String key, String value) throws CacheStoreException {
+        addToCache(key, value, null);
+    }
+
+    @Override
+    public void addToCache(String key, String value, FileChecksum checksum) throws CacheStoreException {
         Objects.requireNonNull(key, Utils.getMessage("IMG-0066"));
         Objects.requireNonNull(value, "Cache item value cannot be null");
-        properties.put(key.toLowerCase(), value);
-        persistToDisk();
+        String normalizedKey = key.toLowerCase();
+        String oldValue = properties.put(normalizedKey, value);
+        if (checksum != null) {
+            checksums.put(normalizedKey, checksum.toString());
+        } else if (!value.equals(oldValue)) {
+            // the recorded checksum was for a different file
+            checksums.remove(normalizedKey);
+        }
     }
 
     @Override
     public String deleteFromCache(String key) throws CacheStoreException {
         Objects.requireNonNull(key, Utils.getMessage("IMG-0066"));
-        String oldValue = (String) properties.remove(key.toLowerCase());
-        if (oldValue != null) {
-            persistToDisk();
-        }
-        return oldValue;
+        usage.remove(key.toLowerCase());
+        checksums.remove(key.toLowerCase());
+        return properties.remove(key.toLowerCase());
     }
 
     @Override
     public void clearCache() throws CacheStoreException {
+        usage.clear();
+        checksums.clear();
         properties.clear();
-        persistToDisk();
+    }
+
+    @Override
+    public FileChecksum getChecksum(String key) {
+        Objects.requireNonNull(key, Utils.getMessage("IMG-0066"));
+        return FileChecksum.parse(checksums.get(key.toLowerCase()));
+    }
+
+    @Override
+    public boolean verify(String key, VerifyMode mode) throws IOException {
+        String value = getValueFromCache(key);
+        if (value == null || mode == VerifyMode.NONE) {
+            return true;
+        }
+        Path file = Paths.get(value);
+        FileChecksum recorded = getChecksum(key);
+        if (mode == VerifyMode.FAST) {
+            if (recorded != null && recorded.matchesAttributes(file)) {
+                return true;
+            }
+            if (recorded == null || recorded.sha256() == null) {
+                // nothing to compare with, record the current size and time for the next check
+                logger.fine("Recording file attributes for cache entry {0}", key);
+                updateChecksum(key, FileChecksum.of(file, null));
+                return true;
+            }
+        }
+
+        logger.fine("Calculating checksum of {0} for cache entry {1}", file, key);
+        FileChecksum actual = FileChecksum.compute(file);
+        if (recorded != null && recorded.sha256() != null && !recorded.sha256().equals(actual.sha256())) {
+            logger.fine("Checksum mismatch for {0}, expected {1} but was {2}", key, recorded.sha256(),
+                actual.sha256());
+            return false;
+        }
+        if (!actual.equals(recorded)) {
+            updateChecksum(key, actual);
+        }
+        return true;
+    }
+
+    private void updateChecksum(String key, FileChecksum checksum) throws CacheStoreException {
+        checksums.put(key.toLowerCase(), checksum.toString());
+    }
+
+    @Override
+    public CacheEntryUsage getUsage(String key) {
+        Objects.requireNonNull(key, Utils.getMessage("IMG-0066"));
+        return CacheEntryUsage.parse(usage.get(key.toLowerCase()));
+    }
+
+    @Override
+    public synchronized void updateUsage(String key, UnaryOperator<CacheEntryUsage> update)
+        throws CacheStoreException {
+        Objects.requireNonNull(key, Utils.getMessage("IMG-0066"));
+        CacheEntryUsage current = getUsage(key);
+        if (current == null) {
+            current = new CacheEntryUsage(0, 0, false, null);
+        }
+        usage.put(key.toLowerCase(), update.apply(current).toString());
+    }
+
+    @Override
+    public void recordAccess(String key) {
+        String value = getValueFromCache(key);
+        if (value == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        try {
+            Path file = Paths.get(value);
+            long size = Files.isRegularFile(file) ? Files.size(file) : 0;
+            CacheEntryUsage current = getUsage(key);
+            if (current == null || current.size() != size || now - current.lastAccess() >= ACCESS_RESOLUTION) {
+                updateUsage(key, u -> u.accessed(now, size));
+            }
+        } catch (IOException e) {
+            // usage is only needed for pruning, failing to record it should not fail the build
+            logger.fine("Unable to record use of cache entry {0}: {1}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public Closeable lock(String key) throws IOException {
+        Objects.requireNonNull(key, Utils.getMessage("IMG-0066"));
+        String fileName = key.toLowerCase().replaceAll("[^a-z0-9._-]", "_") + ".lock";
+        CacheLock lock = CacheLock.acquire(Paths.get(cacheDir, LOCK_DIR, fileName), key);
+        try {
+            // another process may have added the entry while this process was waiting
+            usage.refresh();
+            checksums.refresh();
+            properties.refresh();
+        } catch (IOException e) {
+            lock.close();
+            throw e;
+        }
+        return lock;
     }
 
     @Override
     public Map<String, String> getCacheItems() {
-        Stream<Map.Entry<Object, Object>> stream = properties.entrySet().stream();
-        return stream.collect(Collectors.toMap(
-            e -> String.valueOf(e.getKey()),
-            e -> String.valueOf(e.getValue())));
+        return properties.entries();
     }
 
     /**
@@ -112,43 +218,11 @@ public class FileCacheStore implements CacheStore {
      */
     @Override
     public List<String> getKeysForType(String type) {
-        return properties.keySet().stream()
-            .map(Object::toString)
+        return properties.entries().keySet().stream()
             .filter(k -> k.startsWith(type))
             .collect(Collectors.toList());
     }
 
-    private void persistToDisk() throws CacheStoreException {
-        logger.entering();
-        synchronized (properties) {
-            try (FileOutputStream outputStream = new FileOutputStream(metadataFile)) {
-                properties.store(outputStream, "changed on:" + LocalDateTime.now());
-            } catch (IOException e) {
-                CacheStoreException error = new CacheStoreException("Could not persist cache file", e);
-                logger.throwing(error);
-                throw error;
-            }
-        }
-        logger.exiting();
-    }
-
-    private void loadProperties(File propsFile) {
-        logger.entering();
-        try (BufferedReader bufferedReader = new BufferedReader(new FileReader(propsFile))) {
-            if (properties.isEmpty()) {
-                properties.load(bufferedReader);
-            } else {
-                Properties tmpProperties = new Properties();
-                tmpProperties.load(bufferedReader);
-                tmpProperties.forEach((key, value) -> properties.put(((String) key).toLowerCase(), value));
-            }
-        } catch (IOException e) {
-            // it is okay to fail, the constructor will attempt to create a new one
-            logger.fine("Failed to load properties file", e);
-        }
-        logger.exiting();
-    }
-
     private static String defaultCacheDir() {
         return System.getProperty("user.home") + File.separator + "cache";
     }
@@ -0,0 +1,119 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.cachestore;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+import com.oracle.weblogic.imagetool.util.Utils;
+
+/**
+ * The size, last modified time, and SHA-256 checksum of a file in the cache.
+ * Size and last modified time allow a fast check that the file has not changed since it was recorded.
+ * The SHA-256 checksum allows a full check of the file contents.
+ */
+public class FileChecksum {
+    private final long size;
+    private final long lastModified;
+    private final String sha256;
+
+    /**
+     * Create a new record of a file.
+     * @param size file size in bytes
+     * @param lastModified last modified time of the file in milliseconds
+     * @param sha256 hex string of the SHA-256 checksum, or null if not known
+     */
+    public FileChecksum(long size, long lastModified, String sha256) {
+        this.size = size;
+        this.lastModified = lastModified;
+        this.sha256 = Utils.isEmptyString(sha256) ? null : sha256.toLowerCase();
+    }
+
+    /**
+     * Read the size and last modified time of a file, and calculate the SHA-256 checksum.
+     * @param file the file to read
+     * @return the new record for the file
+     * @throws IOException if the file cannot be read
+     */
+    public static FileChecksum compute(Path file) throws IOException {
+        return of(file, Utils.sha256(file));
+    }
+
+    /**
+     * Read the size and last modified time of a file, and use the provided SHA-256 checksum.
+     * @param file the file to read
+     * @param sha256 the known checksum of the file, or null if not known
+     * @return the new record for the file
+     * @throws IOException if the file attributes cannot be read
+     */
+    public static FileChecksum of(Path file, String sha256) throws IOException {
+        return new FileChecksum(Files.size(file), Files.getLastModifiedTime(file).toMillis(), sha256);
+    }
+
+    /**
+     * Parse a value written by toString().
+     * @param value the string to parse
+     * @return the record, or null if the value is not valid
+     */
+    public static FileChecksum parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        String[] parts = value.split(",", -1);
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            return new FileChecksum(Long.parseLong(parts[0]), Long.parseLong(parts[1]), parts[2]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public long lastModified() {
+        return lastModified;
+    }
+
+    public String sha256() {
+        return sha256;
+    }
+
+    /**
+     * Fast check that the file has the same size and last modified time as this record.
+     * @param file the file to check
+     * @return true if the size and last modified time are unchanged
+     * @throws IOException if the file attributes cannot be read
+     */
+    public boolean matchesAttributes(Path file) throws IOException {
+        return Files.size(file) == size && Files.getLastModifiedTime(file).toMillis() == lastModified;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        FileChecksum other = (FileChecksum) o;
+        return size == other.size && lastModified == other.lastModified && Objects.equals(sha256, other.sha256);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(size, lastModified, sha256);
+    }
+
+    @Override
+    public String toString() {
+        return size + "," + lastModified + "," + (sha256 == null ? "" : sha256);
+    }
+}
@@ -0,0 +1,315 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.cachestore;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import com.oracle.weblogic.imagetool.logging.LoggingFacade;
+import com.oracle.weblogic.imagetool.logging.LoggingFactory;
+
+/**
+ * Properties saved in a snapshot file, with each change appended to a journal file next to the snapshot.
+ * A change writes one line to the journal instead of rewriting every entry. When the journal has more records than
+ * the snapshot has entries, the journal is merged into a new snapshot that replaces the old one with a rename.
+ * The snapshot keeps the Properties file format.
+ * The files are read and written while holding a lock file, so that processes sharing the cache directory do not
+ * lose each other's changes.
+ */
+class JournaledProperties {
+    private static final LoggingFacade logger = LoggingFactory.getLogger(JournaledProperties.class);
+
+    private static final String JOURNAL_EXTENSION = ".journal";
+    private static final String LOCK_EXTENSION = ".lock";
+    private static final int MIN_COMPACT_RECORDS = 100;
+    private static final String PUT = "put";
+    private static final String REMOVE = "remove";
+
+    private final Properties values = new Properties();
+    private final Path snapshotFile;
+    private final Path journalFile;
+    private final Path lockFile;
+    private int journalRecords;
+
+    JournaledProperties(Path snapshotFile) {
+        this.snapshotFile = snapshotFile;
+        this.journalFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + JOURNAL_EXTENSION);
+        this.lockFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + LOCK_EXTENSION);
+    }
+
+    /**
+     * Read the snapshot and replay the journal.
+     * An empty snapshot is created if the snapshot does not exist.
+     * @throws IOException if the snapshot cannot be created, or the journal cannot be read
+     */
+    synchronized void load() throws IOException {
+        try (CacheLock lock = CacheLock.acquire(lockFile, null)) {
+            if (!Files.isRegularFile(snapshotFile)) {
+                Files.createFile(snapshotFile);
+            }
+            read();
+            if (shouldCompact()) {
+                writeSnapshot();
+            }
+        }
+    }
+
+    /**
+     * Read the snapshot and the journal again, to get the changes made by other processes.
+     * @throws IOException if the files cannot be read
+     */
+    synchronized void refresh() throws IOException {
+        try (CacheLock lock = CacheLock.acquire(lockFile, null)) {
+            read();
+        }
+    }
+
+    private void read() throws IOException {
+        values.clear();
+        if (Files.isRegularFile(snapshotFile)) {
+            loadSnapshot(values);
+        }
+        journalRecords = replay(journalFile, values);
+        if (journalRecords > 0) {
+            logger.fine("Replayed {0} changes from {1}", journalRecords, journalFile);
+        }
+    }
+
+    synchronized String get(String key) {
+        return values.getProperty(key);
+    }
+
+    synchronized boolean containsKey(String key) {
+        return values.containsKey(key);
+    }
+
+    /**
+     * A copy of the entries.
+     * @return the keys and values
+     */
+    synchronized Map<String, String> entries() {
+        Map<String, String> result = new HashMap<>();
+        values.forEach((key, value) -> result.put(String.valueOf(key), String.valueOf(value)));
+        return result;
+    }
+
+    /**
+     * Set the value for a key, and save the change.
+     * @param key the key
+     * @param value the new value
+     * @return the previous value, or null
+     * @throws CacheStoreException if the change cannot be saved
+     */
+    synchronized String put(String key, String value) throws CacheStoreException {
+        String oldValue = (String) values.put(key, value);
+        if (!value.equals(oldValue)) {
+            append(PUT + '\t' + escape(key) + '\t' + escape(value));
+        }
+        return oldValue;
+    }
+
+    /**
+     * Remove a key, and save the change.
+     * @param key the key
+     * @return the removed value, or null if the key was not found
+     * @throws CacheStoreException if the change cannot be saved
+     */
+    synchronized String remove(String key) throws CacheStoreException {
+        String oldValue = (String) values.remove(key);
+        if (oldValue != null) {
+            append(REMOVE + '\t' + escape(key));
+        }
+        return oldValue;
+    }
+
+    /**
+     * Remove all entries, and save an empty snapshot.
+     * @throws CacheStoreException if the change cannot be saved
+     */
+    synchronized void clear() throws CacheStoreException {
+        values.clear();
+        try (CacheLock lock = CacheLock.acquire(lockFile, null)) {
+            writeSnapshot();
+        } catch (IOException e) {
+            throw persistError(e);
+        }
+    }
+
+    /**
+     * Merge the journal into a new snapshot.
+     * The snapshot and the journal are read again, so that changes appended by other processes are kept.
+     * @throws CacheStoreException if the new snapshot cannot be saved
+     */
+    synchronized void compact() throws CacheStoreException {
+        try (CacheLock lock = CacheLock.acquire(lockFile, null)) {
+            read();
+            writeSnapshot();
+        } catch (IOException e) {
+            throw persistError(e);
+        }
+    }
+
+    private void writeSnapshot() throws IOException {
+        logger.entering(snapshotFile);
+        Path temp = Files.createTempFile(snapshotFile.getParent(), snapshotFile.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                values.store(out, "changed on:" + LocalDateTime.now());
+            }
+            moveIntoPlace(temp, snapshotFile);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        Files.deleteIfExists(journalFile);
+        journalRecords = 0;
+        logger.exiting();
+    }
+
+    private static CacheStoreException persistError(IOException cause) {
+        CacheStoreException error = new CacheStoreException("Could not persist cache file", cause);
+        logger.throwing(error);
+        return error;
+    }
+
+    private boolean shouldCompact() {
+        return journalRecords > Math.max(MIN_COMPACT_RECORDS, values.size());
+    }
+
+    private void append(String record) throws CacheStoreException {
+        try (CacheLock lock = CacheLock.acquire(lockFile, null)) {
+            // start a new line after a record that was not completely written by a process that stopped
+            String line = endsWithLineBreak(journalFile) ? record + '\n' : '\n' + record + '\n';
+            Files.write(journalFile, line.getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            journalRecords++;
+            if (shouldCompact()) {
+                // the new snapshot must include the changes of other processes, not only the entries in memory
+                read();
+                writeSnapshot();
+            }
+        } catch (IOException e) {
+            throw persistError(e);
+        }
+    }
+
+    private static boolean endsWithLineBreak(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return true;
+        }
+        try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+            if (channel.size() == 0) {
+                return true;
+            }
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.position(channel.size() - 1).read(last);
+            return last.get(0) == '\n';
+        }
+    }
+
+    private void loadSnapshot(Properties target) throws IOException {
+        try (InputStream in = Files.newInputStream(snapshotFile)) {
+            target.load(in);
+        }
+    }
+
+    /**
+     * Apply the records in a journal file.
+     * A line without a line ending was not completely written, and is ignored.
+     * @param file the journal file
+     * @param target the properties to update
+     * @return the number of records applied
+     */
+    private static int replay(Path file, Properties target) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return 0;
+        }
+        String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        int count = 0;
+        int start = 0;
+        for (int end = content.indexOf('\n'); end >= 0; end = content.indexOf('\n', start)) {
+            String[] fields = content.substring(start, end).split("\t", -1);
+            start = end + 1;
+            if (fields.length == 3 && PUT.equals(fields[0])) {
+                target.put(unescape(fields[1]), unescape(fields[2]));
+            } else if (fields.length == 2 && REMOVE.equals(fields[0])) {
+                target.remove(unescape(fields[1]));
+            } else {
+                logger.fine("Ignoring invalid record in {0}: {1}", file, String.join(" ", fields));
+                continue;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    static String escape(String value) {
+        StringBuilder result = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '\\':
+                    result.append("\\\\");
+                    break;
+                case '\t':
+                    result.append("\\t");
+                    break;
+                case '\n':
+                    result.append("\\n");
+                    break;
+                case '\r':
+                    result.append("\\r");
+                    break;
+                default:
+                    result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    static String unescape(String value) {
+        StringBuilder result = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                switch (next) {
+                    case 't':
+                        result.append('\t');
+                        break;
+                    case 'n':
+                        result.append('\n');
+                        break;
+                    case 'r':
+                        result.append('\r');
+                        break;
+                    default:
+                        result.append(next);
+                }
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+}
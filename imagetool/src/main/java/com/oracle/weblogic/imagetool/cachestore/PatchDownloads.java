@@ -0,0 +1,97 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.cachestore;
+
+import java.io.IOException;
+import java.util.concurrent.Future;
+
+import com.oracle.weblogic.imagetool.logging.LoggingFacade;
+import com.oracle.weblogic.imagetool.logging.LoggingFactory;
+import com.oracle.weblogic.imagetool.util.ParallelTasks;
+import com.oracle.weblogic.imagetool.util.Utils;
+
+/**
+ * Resolve patches from the cache, downloading the patches that are not in the cache.
+ * Patches are downloaded concurrently, up to the limit set with WLSIMG_PARALLEL_DOWNLOADS.
+ * Each patch that cannot be resolved is reported as it fails, so that every failure is reported.
+ */
+public class PatchDownloads implements AutoCloseable {
+    private static final LoggingFacade logger = LoggingFactory.getLogger(PatchDownloads.class);
+
+    private final CacheStore cacheStore;
+    private final ParallelTasks pool;
+
+    /**
+     * Work done with a patch in the download thread, as soon as the patch is in the cache.
+     */
+    public interface Resolved {
+        void accept(String patchLocation) throws IOException;
+    }
+
+    /**
+     * Create the download threads.
+     * @param cacheStore the cache for the patches
+     * @param patchCount the number of patches to be resolved, for logging
+     */
+    public PatchDownloads(CacheStore cacheStore, int patchCount) {
+        int parallelism = Utils.getEnvironmentProperty(PatchFile.PARALLEL_DOWNLOADS_ENV, 4, 1);
+        logger.fine("Resolving {0} patches using {1} download threads", patchCount, parallelism);
+        this.cacheStore = cacheStore;
+        pool = new ParallelTasks("patch-download", parallelism);
+    }
+
+    /**
+     * Resolve a patch from the cache, downloading it if needed.
+     * @param patchFile the patch to resolve
+     * @return the location of the patch in the cache
+     */
+    public Future<String> submit(PatchFile patchFile) {
+        return submit(patchFile, patchLocation -> { });
+    }
+
+    /**
+     * Resolve a patch from the cache, downloading it if needed.
+     * @param patchFile the patch to resolve
+     * @param then the work to do with the patch after it is in the cache
+     * @return the location of the patch in the cache
+     */
+    public Future<String> submit(PatchFile patchFile, Resolved then) {
+        return pool.submit(() -> {
+            String patchLocation;
+            try {
+                patchLocation = patchFile.resolve(cacheStore);
+            } catch (IOException | RuntimeException e) {
+                // a cancelled download is not a failure of the patch
+                if (!Thread.currentThread().isInterrupted()) {
+                    logger.severe("IMG-0124", patchFile.getKey(), e.getMessage());
+                }
+                throw e;
+            }
+            then.accept(patchLocation);
+            return patchLocation;
+        });
+    }
+
+    /**
+     * Cancel the downloads that have not finished, and interrupt the downloads that are running.
+     */
+    public void cancel() {
+        pool.cancel();
+    }
+
+    /**
+     * Wait for the downloads that are running to finish, after the downloads were cancelled.
+     * @param timeout the longest time to wait, in milliseconds
+     * @return true if all downloads finished, false if the timeout elapsed first
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    public boolean awaitTermination(long timeout) throws InterruptedException {
+        return pool.awaitTermination(timeout);
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+    }
+}
@@ -1,10 +1,14 @@
-// Copyright (c) 2019, 2021, Oracle and/or its affiliates.
+// Copyright (c) 2019, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.cachestore;
 
+import java.io.Closeable;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 import com.oracle.weblogic.imagetool.api.model.CachedFile;
 import com.oracle.weblogic.imagetool.aru.AruPatch;
@@ -12,12 +16,15 @@ import com.oracle.weblogic.imagetool.aru.AruUtil;
 import com.oracle.weblogic.imagetool.logging.LoggingFacade;
 import com.oracle.weblogic.imagetool.logging.LoggingFactory;
 import com.oracle.weblogic.imagetool.util.Architecture;
+import com.oracle.weblogic.imagetool.util.ResumableDownload;
 import com.oracle.weblogic.imagetool.util.Utils;
 
 public class PatchFile extends CachedFile {
 
     private static final LoggingFacade logger = LoggingFactory.getLogger(PatchFile.class);
 
+    public static final String PARALLEL_DOWNLOADS_ENV = "WLSIMG_PARALLEL_DOWNLOADS";
+
     private final AruPatch aruPatch;
     private final String userId;
     private final String password;
@@ -64,23 +71,68 @@ public class PatchFile extends CachedFile {
             logger.info("IMG-0017", key, filePath);
         } catch (FileNotFoundException fnfe) {
             logger.info("IMG-0061", key, aruPatch.patchId());
-            if (offlineMode()) {
-                throw new FileNotFoundException(Utils.getMessage("IMG-0056", key));
+            // only one build that shares the cache directory downloads the patch, the others wait and reuse it
+            try (Closeable lock = cacheStore.lock(key)) {
+                filePath = downloadIfMissing(cacheStore);
             }
-            filePath = downloadPatch(cacheStore);
         }
 
         logger.exiting(filePath);
         return filePath;
     }
 
+    private String downloadIfMissing(CacheStore cacheStore) throws IOException {
+        try {
+            String filePath = super.resolve(cacheStore);
+            // another build downloaded the patch while this build was waiting for the lock
+            logger.info("IMG-0017", getKey(), filePath);
+            return filePath;
+        } catch (FileNotFoundException notDownloaded) {
+            // another build may have shared the patch, which is faster than downloading it from Oracle
+            String filePath = cacheStore.fetch(getKey());
+            if (isFileOnDisk(filePath)) {
+                logger.info("IMG-0017", getKey(), filePath);
+                cacheStore.recordAccess(getKey());
+                return filePath;
+            }
+            if (offlineMode()) {
+                throw new FileNotFoundException(Utils.getMessage("IMG-0056", getKey()));
+            }
+            return downloadPatch(cacheStore);
+        }
+    }
+
     private String downloadPatch(CacheStore cacheStore) throws IOException {
-        String filename = AruUtil.rest().downloadAruPatch(aruPatch, cacheStore.getCacheDir(), userId, password);
+        String filename;
+        try {
+            filename = AruUtil.rest().downloadAruPatch(aruPatch, cacheStore.getCacheDir(), userId, password);
+        } catch (InterruptedIOException e) {
+            // a download is cancelled when the patches are not used, like after a patch conflict
+            if (aruPatch.fileName() != null) {
+                ResumableDownload.discard(Paths.get(cacheStore.getCacheDir(), aruPatch.fileName()));
+            }
+            throw e;
+        }
 
         // after downloading the file, update the cache metadata
         String patchKey = getKey();
         logger.info("IMG-0060", patchKey, filename);
-        cacheStore.addToCache(patchKey, filename);
+        if (isFileOnDisk(filename)) {
+            // record the checksum calculated during the download, so that it does not need to be calculated again
+            Path path = Paths.get(filename);
+            FileChecksum checksum = aruPatch.sha256() == null ? FileChecksum.compute(path)
+                : FileChecksum.of(path, aruPatch.sha256());
+            cacheStore.addToCache(patchKey, filename, checksum);
+        } else {
+            cacheStore.addToCache(patchKey, filename);
+        }
+        if (aruPatch.isPsu()) {
+            // pruning can keep the latest PSUs for each product, the key only has the release version
+            cacheStore.updateUsage(patchKey, usage -> usage.psu(aruPatch.product(), aruPatch.psuVersion()));
+        }
+        cacheStore.recordAccess(patchKey);
+        // other builds that share the cache can use this download instead of downloading the patch from Oracle
+        cacheStore.publish(patchKey);
         String filePath = cacheStore.getValueFromCache(patchKey);
 
         if (!isFileOnDisk(filePath)) {
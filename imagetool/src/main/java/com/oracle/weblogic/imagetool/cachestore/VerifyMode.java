@@ -0,0 +1,44 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.cachestore;
+
+import com.oracle.weblogic.imagetool.logging.LoggingFacade;
+import com.oracle.weblogic.imagetool.logging.LoggingFactory;
+import com.oracle.weblogic.imagetool.util.Utils;
+
+/**
+ * How cached files are checked for changes before they are used.
+ */
+public enum VerifyMode {
+    /**
+     * Only check that the file exists.
+     */
+    NONE,
+    /**
+     * Compare the size and last modified time with the values recorded when the file was added to the cache.
+     * The checksum is only calculated if the size or last modified time changed.
+     */
+    FAST,
+    /**
+     * Calculate the SHA-256 checksum of the file and compare it with the recorded checksum.
+     */
+    FULL;
+
+    public static final String VERIFY_ENV = "WLSIMG_CACHE_VERIFY";
+    private static final LoggingFacade logger = LoggingFactory.getLogger(VerifyMode.class);
+
+    /**
+     * Get the verify mode set with WLSIMG_CACHE_VERIFY.
+     * @return the selected mode, or FAST if not set or not valid.
+     */
+    public static VerifyMode fromEnvironment() {
+        String value = Utils.getEnvironmentProperty(VERIFY_ENV, () -> FAST.name());
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            logger.warning("IMG-0131", VERIFY_ENV, value, FAST);
+            return FAST;
+        }
+    }
+}
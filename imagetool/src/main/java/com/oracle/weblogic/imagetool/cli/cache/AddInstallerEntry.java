@@ -1,11 +1,12 @@
-// Copyright (c) 2019, 2024, Oracle and/or its affiliates.
+// Copyright (c) 2019, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.cli.cache;
 
+import java.io.IOException;
+
 import com.oracle.weblogic.imagetool.api.model.CommandResponse;
 import com.oracle.weblogic.imagetool.cachestore.CacheStore;
-import com.oracle.weblogic.imagetool.cachestore.CacheStoreException;
 import com.oracle.weblogic.imagetool.installer.InstallerType;
 import com.oracle.weblogic.imagetool.util.Architecture;
 import picocli.CommandLine.Command;
@@ -19,7 +20,7 @@ import picocli.CommandLine.Option;
 public class AddInstallerEntry extends CacheAddOperation {
 
     @Override
-    public CommandResponse call() throws CacheStoreException {
+    public CommandResponse call() throws IOException {
         if ("NONE".equalsIgnoreCase(version)) {
             throw new IllegalArgumentException("IMG-0105");
         }
@@ -1,13 +1,14 @@
-// Copyright (c) 2021, Oracle and/or its affiliates.
+// Copyright (c) 2021, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.cli.cache;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
 import com.oracle.weblogic.imagetool.api.model.CommandResponse;
-import com.oracle.weblogic.imagetool.cachestore.CacheStoreException;
+import com.oracle.weblogic.imagetool.cachestore.FileChecksum;
 import picocli.CommandLine.Option;
 
 import static com.oracle.weblogic.imagetool.cachestore.CacheStoreFactory.cache;
@@ -16,7 +17,7 @@ public abstract class CacheAddOperation extends CacheOperation {
 
     public abstract String getKey();
 
-    CommandResponse addToCache() throws CacheStoreException {
+    CommandResponse addToCache() throws IOException {
         // if file is invalid or does not exist, return an error
         if (filePath == null || !Files.isRegularFile(filePath)) {
             return CommandResponse.error("IMG-0049", filePath);
@@ -34,8 +35,8 @@ public abstract class CacheAddOperation extends CacheOperation {
             return CommandResponse.error("IMG-0048", key, existingValue);
         }
 
-        // input appears valid, add the entry to the cache and exit
-        cache().addToCache(key, absolutePath().toString());
+        // input appears valid, add the entry to the cache with its checksum and exit
+        cache().addToCache(key, absolutePath().toString(), FileChecksum.compute(absolutePath()));
         return CommandResponse.success("IMG-0050", key, cache().getValueFromCache(key));
     }
 
@@ -1,4 +1,4 @@
-// Copyright (c) 2019, 2021, Oracle and/or its affiliates.
+// Copyright (c) 2019, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.cli.cache;
@@ -16,7 +16,12 @@ import picocli.CommandLine.Command;
         AddInstallerEntry.class,
         AddPatchEntry.class,
         AddEntry.class,
-        DeleteEntry.class
+        DeleteEntry.class,
+        VerifyCacheItems.class,
+        PruneCache.class,
+        PinEntry.class,
+        UnpinEntry.class,
+        PrefetchPatches.class
     },
     sortOptions = false
 )
@@ -0,0 +1,34 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.cli.cache;
+
+import com.oracle.weblogic.imagetool.api.model.CommandResponse;
+import com.oracle.weblogic.imagetool.cachestore.CacheStoreException;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import static com.oracle.weblogic.imagetool.cachestore.CacheStoreFactory.cache;
+
+@Command(
+        name = "pinEntry",
+        description = "Pin a cache entry so that it is never removed by pruning"
+)
+public class PinEntry extends CacheOperation {
+
+    @Override
+    public CommandResponse call() throws CacheStoreException {
+        if (!cache().containsKey(key)) {
+            return CommandResponse.error("IMG-0045");
+        }
+        cache().updateUsage(key, usage -> usage.pinned(true));
+        return CommandResponse.success("IMG-0149", key);
+    }
+
+    @Option(
+            names = {"--key"},
+            description = "Key corresponding to the cache entry to pin",
+            required = true
+    )
+    private String key;
+}
@@ -0,0 +1,175 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.cli.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import com.oracle.weblogic.imagetool.api.model.CommandResponse;
+import com.oracle.weblogic.imagetool.aru.AruPatch;
+import com.oracle.weblogic.imagetool.aru.AruUtil;
+import com.oracle.weblogic.imagetool.cachestore.CacheStore;
+import com.oracle.weblogic.imagetool.cachestore.OPatchFile;
+import com.oracle.weblogic.imagetool.cachestore.PatchDownloads;
+import com.oracle.weblogic.imagetool.cachestore.PatchFile;
+import com.oracle.weblogic.imagetool.cli.menu.SupportCredentials;
+import com.oracle.weblogic.imagetool.installer.FmwInstallerType;
+import com.oracle.weblogic.imagetool.logging.LoggingFacade;
+import com.oracle.weblogic.imagetool.logging.LoggingFactory;
+import com.oracle.weblogic.imagetool.util.Architecture;
+import com.oracle.weblogic.imagetool.util.ParallelTasks;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Mixin;
+import picocli.CommandLine.Option;
+
+import static com.oracle.weblogic.imagetool.cachestore.CacheStoreFactory.cache;
+
+@Command(
+        name = "prefetch",
+        description = "Download the latest PSU or recommended patches into the cache before they are needed by a build",
+        sortOptions = false
+)
+public class PrefetchPatches extends CacheOperation {
+    private static final LoggingFacade logger = LoggingFactory.getLogger(PrefetchPatches.class);
+
+    @Override
+    public CommandResponse call() throws Exception {
+        String userId = credentials.getUserId();
+        String password = credentials.readPassword();
+        if (userId == null || password == null) {
+            return CommandResponse.error("IMG-0031");
+        }
+        if (!AruUtil.rest().checkCredentials(userId, password)) {
+            return CommandResponse.error("IMG-0022");
+        }
+
+        CacheStore cacheStore = cache();
+        // installer types that share a product, like WLS and FMW, return the same PSU
+        Map<String, PatchFile> patchFiles = new LinkedHashMap<>();
+        for (FmwInstallerType type : types) {
+            for (String version : versions) {
+                for (Architecture architecture : architectures()) {
+                    for (AruPatch patch : findPatches(type, version, architecture, userId, password)) {
+                        PatchFile patchFile = new PatchFile(patch, userId, password);
+                        patchFiles.putIfAbsent(patchFile.getKey(), patchFile);
+                    }
+                }
+            }
+        }
+        if (!skipOpatchUpdate) {
+            // the latest OPatch depends only on the installer version
+            for (String version : versions) {
+                PatchFile opatch = OPatchFile.getInstance(null, version, userId, password, cacheStore);
+                patchFiles.putIfAbsent(opatch.getKey(), opatch);
+            }
+        }
+
+        int failures = download(patchFiles.values(), cacheStore);
+        if (failures > 0) {
+            return CommandResponse.error("IMG-0125", failures, patchFiles.size());
+        }
+        return CommandResponse.success("IMG-0158", patchFiles.size());
+    }
+
+    private List<Architecture> architectures() {
+        if (platforms.isEmpty()) {
+            return Collections.singletonList(Architecture.getLocalArchitecture());
+        }
+        List<Architecture> result = new ArrayList<>();
+        for (String platform : platforms) {
+            Architecture architecture = Architecture.fromString(platform);
+            if (!result.contains(architecture)) {
+                result.add(architecture);
+            }
+        }
+        return result;
+    }
+
+    private List<AruPatch> findPatches(FmwInstallerType type, String version, Architecture architecture,
+                                       String userId, String password) throws Exception {
+        List<AruPatch> result;
+        if (latestPsu && !recommendedPatches) {
+            result = AruUtil.rest().getLatestPsu(type, version, architecture, userId, password);
+        } else {
+            // the recommended patches include the latest PSU
+            result = AruUtil.rest().getRecommendedPatches(type, version, architecture, userId, password);
+        }
+        if (result.isEmpty()) {
+            logger.info("IMG-0084", type + " " + version);
+        }
+        return result;
+    }
+
+    /**
+     * Resolve each patch from the cache, downloading the patches that are not in the cache.
+     * @return the number of patches that could not be downloaded
+     */
+    private int download(Collection<PatchFile> patchFiles, CacheStore cacheStore) throws InterruptedException {
+        List<Future<String>> downloads = new ArrayList<>(patchFiles.size());
+        try (PatchDownloads pool = new PatchDownloads(cacheStore, patchFiles.size())) {
+            for (PatchFile patchFile : patchFiles) {
+                downloads.add(pool.submit(patchFile));
+            }
+            try {
+                // keep downloading the other patches, every patch that failed was reported by the download
+                ParallelTasks.getAll(downloads);
+            } catch (ExecutionException e) {
+                return ParallelTasks.countFailed(downloads);
+            }
+            return 0;
+        }
+    }
+
+    @Option(
+        names = {"--type"},
+        split = ",",
+        paramLabel = "<type>",
+        description = "Comma separated installer types. Default: WLS. Supported values: ${COMPLETION-CANDIDATES}"
+    )
+    private List<FmwInstallerType> types = Collections.singletonList(FmwInstallerType.WLS);
+
+    @Option(
+        names = {"--version"},
+        split = ",",
+        required = true,
+        paramLabel = "<version>",
+        description = "Comma separated installer versions. Ex: 12.2.1.4.0,14.1.1.0.0"
+    )
+    private List<String> versions;
+
+    @Option(
+        names = {"--platform"},
+        split = ",",
+        paramLabel = "<target platform>",
+        description = "Comma separated target platforms. Default: the local platform. Ex: linux/amd64,linux/arm64"
+    )
+    private List<String> platforms = new ArrayList<>();
+
+    @Option(
+        names = {"--latestPSU"},
+        description = "Download only the latest PSU instead of all recommended patches."
+    )
+    private boolean latestPsu = false;
+
+    @Option(
+        names = {"--recommendedPatches"},
+        description = "Download the recommended patches, including the latest PSU. This is the default."
+    )
+    private boolean recommendedPatches = false;
+
+    @Option(
+        names = {"--skipOpatchUpdate"},
+        description = "Do not download the latest version of OPatch."
+    )
+    private boolean skipOpatchUpdate = false;
+
+    @Mixin
+    private SupportCredentials credentials = new SupportCredentials();
+}
@@ -0,0 +1,70 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.cli.cache;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.oracle.weblogic.imagetool.api.model.CommandResponse;
+import com.oracle.weblogic.imagetool.cachestore.CachePruner;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import static com.oracle.weblogic.imagetool.cachestore.CacheStoreFactory.cache;
+
+@Command(
+        name = "prune",
+        description = "Remove downloaded files from the cache to limit the disk space used by the cache"
+)
+public class PruneCache extends CacheOperation {
+
+    @Override
+    public CommandResponse call() throws IOException {
+        CachePruner pruner = new CachePruner().dryRun(dryRun);
+        if (maxSize != null) {
+            try {
+                pruner.maxSize(CachePruner.parseSize(maxSize));
+            } catch (IllegalArgumentException e) {
+                return CommandResponse.error("IMG-0143", "--maxSize", maxSize);
+            }
+        }
+        if (maxAge != null) {
+            pruner.maxAge(maxAge);
+        }
+        if (keepLatest != null) {
+            pruner.keepLatestPsu(keepLatest);
+        }
+        if (!pruner.hasPolicy()) {
+            return CommandResponse.error("IMG-0142");
+        }
+
+        List<String> removed = pruner.prune(cache());
+        long freedMegabytes = pruner.freedSpace() / (1024 * 1024);
+        return CommandResponse.success(dryRun ? "IMG-0148" : "IMG-0147", removed.size(), freedMegabytes);
+    }
+
+    @Option(
+        names = {"--maxSize"},
+        description = "Remove the least recently used entries until the cache uses no more than this size, like 20G"
+    )
+    private String maxSize;
+
+    @Option(
+        names = {"--maxAge"},
+        description = "Remove entries that have not been used by a build for more than this number of days"
+    )
+    private Integer maxAge;
+
+    @Option(
+        names = {"--keepLatest"},
+        description = "Remove PSUs that are older than the latest N PSUs downloaded for the same product"
+    )
+    private Integer keepLatest;
+
+    @Option(
+        names = {"--dryRun"},
+        description = "List the entries that would be removed, without removing them"
+    )
+    private boolean dryRun;
+}
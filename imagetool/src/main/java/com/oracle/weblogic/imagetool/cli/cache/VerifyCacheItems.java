@@ -0,0 +1,66 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.cli.cache;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import com.oracle.weblogic.imagetool.api.model.CachedFile;
+import com.oracle.weblogic.imagetool.api.model.CommandResponse;
+import com.oracle.weblogic.imagetool.cachestore.VerifyMode;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import static com.oracle.weblogic.imagetool.cachestore.CacheStoreFactory.cache;
+
+@Command(
+        name = "verify",
+        description = "Check that cached files have not changed since they were added to the cache"
+)
+public class VerifyCacheItems extends CacheOperation {
+
+    @Override
+    public CommandResponse call() throws IOException {
+        VerifyMode mode = full ? VerifyMode.FULL : VerifyMode.FAST;
+        Pattern pattern = Pattern.compile(key == null ? ".*" : key);
+        int checked = 0;
+        int failed = 0;
+        for (Map.Entry<String, String> entry : new TreeMap<>(cache().getCacheItems()).entrySet()) {
+            if (!pattern.matcher(entry.getKey()).matches()) {
+                continue;
+            }
+            checked++;
+            String status;
+            if (!CachedFile.isFileOnDisk(entry.getValue())) {
+                status = "MISSING";
+                failed++;
+            } else if (cache().verify(entry.getKey(), mode)) {
+                status = "OK";
+            } else {
+                status = "FAILED";
+                failed++;
+            }
+            System.out.println(entry.getKey() + "=" + entry.getValue() + " " + status);
+        }
+
+        if (failed > 0) {
+            return CommandResponse.error("IMG-0133", failed, checked);
+        }
+        return CommandResponse.success("IMG-0134", checked);
+    }
+
+    @Option(
+        names = {"--key"},
+        description = "verify only cached items where the key matches this regex"
+    )
+    private String key;
+
+    @Option(
+        names = {"--full"},
+        description = "Calculate the checksum of every file instead of comparing file size and modification time"
+    )
+    private boolean full;
+}
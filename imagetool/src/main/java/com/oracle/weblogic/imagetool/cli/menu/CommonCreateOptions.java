@@ -36,14 +36,14 @@ public class CommonCreateOptions extends CommonPatchingOptions {
 
         if (dockerfileOptions.installJava()) {
             CachedFile jdk = new CachedFile(InstallerType.JDK, jdkVersion, getTargetArchitecture());
-            Path installerPath = jdk.copyFile(cache(), buildDir());
+            Path installerPath = jdk.copyFile(cache(), buildDir(), stagingMode());
             dockerfileOptions.setJavaInstaller(installerPath.getFileName().toString());
         }
 
         if (dockerfileOptions.installMiddleware()) {
             MiddlewareInstall install = new MiddlewareInstall(getInstallerType(), installerVersion,
                 installerResponseFiles, getTargetArchitecture());
-            install.copyFiles(cache(), buildDir());
+            install.copyFiles(cache(), buildDir(), stagingMode());
             dockerfileOptions.setMiddlewareInstall(install);
             dockerfileOptions.includeBinaryOsPackages(getInstallerType().equals(FmwInstallerType.OHS));
         } else {
@@ -1,4 +1,4 @@
-// Copyright (c) 2019, 2024, Oracle and/or its affiliates.
+// Copyright (c) 2019, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.cli.menu;
@@ -12,6 +12,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -22,8 +23,11 @@ import java.util.regex.Pattern;
 import com.oracle.weblogic.imagetool.api.model.CommandResponse;
 import com.oracle.weblogic.imagetool.aru.InvalidCredentialException;
 import com.oracle.weblogic.imagetool.builder.BuildCommand;
+import com.oracle.weblogic.imagetool.cachestore.CachePruner;
 import com.oracle.weblogic.imagetool.cli.HelpVersionProvider;
+import com.oracle.weblogic.imagetool.inspect.ImageArchiveInspector;
 import com.oracle.weblogic.imagetool.inspect.OperatingSystemProperties;
+import com.oracle.weblogic.imagetool.inspect.ProbeTier;
 import com.oracle.weblogic.imagetool.logging.LoggingFacade;
 import com.oracle.weblogic.imagetool.logging.LoggingFactory;
 import com.oracle.weblogic.imagetool.util.AdditionalBuildCommands;
@@ -31,12 +35,14 @@ import com.oracle.weblogic.imagetool.util.Architecture;
 import com.oracle.weblogic.imagetool.util.Constants;
 import com.oracle.weblogic.imagetool.util.DockerfileOptions;
 import com.oracle.weblogic.imagetool.util.InvalidPatchIdFormatException;
+import com.oracle.weblogic.imagetool.util.StagingMode;
 import com.oracle.weblogic.imagetool.util.Utils;
 import picocli.CommandLine;
 import picocli.CommandLine.Option;
 import picocli.CommandLine.Parameters;
 import picocli.CommandLine.Spec;
 
+import static com.oracle.weblogic.imagetool.cachestore.CacheStoreFactory.cache;
 import static com.oracle.weblogic.imagetool.util.Constants.BUSYBOX_OS_IDS;
 
 public abstract class CommonOptions {
@@ -92,7 +98,9 @@ public abstract class CommonOptions {
                 }
                 Path targetFile = Paths.get(buildDir(), FILESFOLDER, additionalFile.getFileName().toString());
                 logger.info("IMG-0043", additionalFile);
-                if (Files.isDirectory(additionalFile)) {
+                if (streamContext) {
+                    StagingMode.SYMLINK.stage(additionalFile, targetFile);
+                } else if (Files.isDirectory(additionalFile)) {
                     Utils.copyLocalDirectory(additionalFile, targetFile);
                 } else {
                     Utils.copyLocalFile(additionalFile, targetFile);
@@ -125,6 +133,7 @@ public abstract class CommonOptions {
 
         cmdBuilder.tag(imageTag)
             .useBuildx(useBuildx)
+            .streamContext(streamContext)
             .platform(buildPlatform)
             .forceRm(!skipcleanup)
             .network(buildNetwork)
@@ -179,6 +188,14 @@ public abstract class CommonOptions {
         dockerfileOptions = new DockerfileOptions(buildId);
         dockerfileOptions.setBaseImage(fromImage);
 
+        if (stagingMode == StagingMode.SYMLINK && !streamContext) {
+            throw new IllegalArgumentException(Utils.getMessage("IMG-0136"));
+        }
+        if (streamContext && stagingMode != StagingMode.AUTO && stagingMode != StagingMode.SYMLINK) {
+            // a streamed build context always links the files, an explicit staging mode would be silently ignored
+            throw new IllegalArgumentException(Utils.getMessage("IMG-0171", stagingMode));
+        }
+
         handleProxyUrls();
         handleChown();
         handleAdditionalBuildCommands();
@@ -209,9 +226,13 @@ public abstract class CommonOptions {
                 logger.info("IMG-0123", fromImageProperties);
                 logger.finer(props);
             }
+        } else if (isOptionSet("--fromImageArchive")) {
+            logger.info("IMG-0164", fromImage, fromImageArchive);
+            props = new ImageArchiveInspector(fromImageArchive).platform(buildPlatform).inspect();
         } else {
+            // only the environment is used to create an image from the fromImage
             props = Utils.getBaseImageProperties(buildEngine, fromImage, buildPlatform,
-                "/probe-env/inspect-image.sh", buildDir());
+                EnumSet.of(ProbeTier.ENVIRONMENT), buildDir());
         }
         return props;
     }
@@ -315,11 +336,31 @@ public abstract class CommonOptions {
         if (dryRun) {
             return CommandResponse.success("IMG-0054");
         } else {
+            pruneCache();
             return CommandResponse.success("IMG-0053",
                 Duration.between(startTime, endTime).getSeconds(), imageTag);
         }
     }
 
+    /**
+     * Remove cache entries after a build, if a limit was set with WLSIMG_CACHE_MAX_SIZE, WLSIMG_CACHE_MAX_AGE,
+     * or WLSIMG_CACHE_KEEP_PSU.
+     */
+    private void pruneCache() {
+        CachePruner pruner = CachePruner.fromEnvironment();
+        if (pruner.hasPolicy()) {
+            try {
+                List<String> removed = pruner.prune(cache());
+                if (!removed.isEmpty()) {
+                    logger.info("IMG-0147", removed.size(), pruner.freedSpace() / (1024 * 1024));
+                }
+            } catch (IOException e) {
+                // the image was built, a cache that could not be pruned should not fail the build
+                logger.warning("IMG-0151", e.getMessage());
+            }
+        }
+    }
+
     public String imageTag() {
         return imageTag;
     }
@@ -336,6 +377,16 @@ public abstract class CommonOptions {
         return buildPlatform;
     }
 
+    /**
+     * How files are placed into the build context.
+     * When the build context is streamed, files are linked and the links are followed when the context is streamed.
+     * initializeOptions() rejects any other staging mode selected by the user with --streamContext.
+     * @return the staging mode selected by the user, or SYMLINK when streaming the build context.
+     */
+    public StagingMode stagingMode() {
+        return streamContext ? StagingMode.SYMLINK : stagingMode;
+    }
+
     /**
      * Given the provided --buildPlatform, derive the architecture from the provided string.
      * Docker/Podman refer to the target architecture as the build platform.
@@ -373,6 +424,14 @@ public abstract class CommonOptions {
     )
     private Path fromImageProperties;
 
+    @Option(
+        names = {"--fromImageArchive"},
+        paramLabel = "<image archive>",
+        description = "The --fromImage saved with docker save, or as an OCI image layout directory.  "
+        + "If provided, the --fromImage is inspected by reading the archive instead of using docker run."
+    )
+    private Path fromImageArchive;
+
     @Option(
         names = {"--httpProxyUrl"},
         paramLabel = "<HTTP proxy URL>",
@@ -486,6 +545,21 @@ public abstract class CommonOptions {
     )
     private boolean useBuildx;
 
+    @Option(
+        names = {"--stagingMode"},
+        paramLabel = "<mode>",
+        description = "How installers, patches, and WDT files are placed in the build context."
+            + "  Default: ${DEFAULT-VALUE}.  Supported values: ${COMPLETION-CANDIDATES}."
+    )
+    private StagingMode stagingMode = StagingMode.AUTO;
+
+    @Option(
+        names = {"--streamContext"},
+        description = "Stream the build context to the build engine as a tar archive, reading installers and patches"
+            + " directly from the cache instead of copying them to the build context folder."
+    )
+    private boolean streamContext;
+
     @Parameters(
         description = "Container build options.",
         hidden = true
@@ -12,6 +12,9 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.xml.xpath.XPathExpressionException;
 
@@ -23,18 +26,22 @@ import com.oracle.weblogic.imagetool.aru.InstalledPatch;
 import com.oracle.weblogic.imagetool.aru.InvalidCredentialException;
 import com.oracle.weblogic.imagetool.aru.InvalidPatchNumberException;
 import com.oracle.weblogic.imagetool.cachestore.OPatchFile;
+import com.oracle.weblogic.imagetool.cachestore.PatchDownloads;
 import com.oracle.weblogic.imagetool.cachestore.PatchFile;
 import com.oracle.weblogic.imagetool.installer.FmwInstallerType;
 import com.oracle.weblogic.imagetool.logging.LoggingFacade;
 import com.oracle.weblogic.imagetool.logging.LoggingFactory;
 import com.oracle.weblogic.imagetool.util.InvalidPatchIdFormatException;
+import com.oracle.weblogic.imagetool.util.ParallelTasks;
 import com.oracle.weblogic.imagetool.util.Utils;
+import picocli.CommandLine.Mixin;
 import picocli.CommandLine.Option;
 
 import static com.oracle.weblogic.imagetool.cachestore.CacheStoreFactory.cache;
 
 public abstract class CommonPatchingOptions extends CommonOptions {
     private static final LoggingFacade logger = LoggingFactory.getLogger(CommonPatchingOptions.class);
+    private static final long CANCEL_TIMEOUT = TimeUnit.SECONDS.toMillis(30);
 
     abstract String getInstallerVersion();
 
@@ -55,7 +62,12 @@ public abstract class CommonPatchingOptions extends CommonOptions {
     @Override
     void initializeOptions() throws IOException, InvalidCredentialException, InvalidPatchIdFormatException {
         super.initializeOptions();
-        password = Utils.getPasswordFromInputs(passwordStr, passwordFile, passwordEnv);
+        userId = credentials.getUserId();
+        password = credentials.readPassword();
+
+        if (refreshAruCache) {
+            AruUtil.rest().forceMetadataRefresh(true);
+        }
 
         if (applyingPatches()) {
             // if userid or password is provided, validate the pair of provided values
@@ -144,27 +156,10 @@ public abstract class CommonPatchingOptions extends CommonOptions {
         // add user-provided patch list to any patches that were found for latestPsu or recommendedPatches
         aruPatches.addAll(resolveUserRequestedPatches(psuVersion));
 
-        AruUtil.rest().validatePatches(installedPatches, aruPatches, userId, password);
-
-        String patchesFolderName = createPatchesTempDirectory().toAbsolutePath().toString();
-        // copy the patch JARs to the Docker build context directory from the local cache, downloading them if needed
-        for (AruPatch patch : aruPatches) {
-            PatchFile patchFile = new PatchFile(patch, userId, password);
-            String patchLocation = patchFile.resolve(cache());
-            if (patchLocation != null && !Utils.isEmptyString(patchLocation)) {
-                File cacheFile = new File(patchLocation);
-                try {
-                    if (patch.fileName() == null) {
-                        patch.fileName(cacheFile.getName());
-                    }
-                    Files.copy(Paths.get(patchLocation), Paths.get(patchesFolderName, cacheFile.getName()));
-                } catch (FileAlreadyExistsException ee) {
-                    logger.warning("IMG-0077", patchFile.getKey());
-                }
-            } else {
-                logger.severe("IMG-0024", patchFile.getKey());
-            }
-        }
+        Path patchesFolder = createPatchesTempDirectory().toAbsolutePath();
+        // the conflict check only needs the patch metadata, so run it while the patches are downloaded
+        downloadPatches(aruPatches, patchesFolder,
+            () -> AruUtil.rest().validatePatches(installedPatches, aruPatches, userId, password));
         if (!aruPatches.isEmpty()) {
             dockerfileOptions
                 .setPatchingEnabled()
@@ -174,6 +169,101 @@ public abstract class CommonPatchingOptions extends CommonOptions {
         logger.exiting();
     }
 
+    /**
+     * A check of the patch list that runs while the patches are downloaded, like the ARU conflict check.
+     */
+    interface PatchValidation {
+        void validate() throws IOException, AruException;
+    }
+
+    /**
+     * Resolve the patches from the local cache, downloading them if needed, and copy them to the build context.
+     * Patches are downloaded concurrently, up to the limit set with WLSIMG_PARALLEL_DOWNLOADS, and each patch is
+     * copied to the build context as soon as its download completes.  All patches are processed before
+     * reporting failures so that every patch that could not be obtained is reported.
+     * The validation runs at the same time as the downloads.  If the validation fails, the downloads that are
+     * still running are cancelled, and the validation failure is reported instead of the download results.
+     *
+     * @param aruPatches the patches to copy to the build context
+     * @param patchesFolder the build context folder for patches
+     * @param validation the check to run while the patches are downloaded
+     * @throws IOException if a transport error occurs trying to download or copy a patch.
+     * @throws AruException if the validation failed, like a conflict between patches.
+     */
+    void downloadPatches(List<AruPatch> aruPatches, Path patchesFolder, PatchValidation validation)
+        throws IOException, AruException {
+        List<Future<String>> downloads = new ArrayList<>(aruPatches.size());
+        try (PatchDownloads pool = new PatchDownloads(cache(), aruPatches.size());
+             ParallelTasks validator = new ParallelTasks("patch-validation", 1)) {
+            for (AruPatch patch : aruPatches) {
+                PatchFile patchFile = new PatchFile(patch, userId, password);
+                downloads.add(pool.submit(patchFile,
+                    patchLocation -> copyPatchToContext(patch, patchFile.getKey(), patchLocation, patchesFolder)));
+            }
+            Future<Void> validationResult = validator.submit(() -> {
+                try {
+                    validation.validate();
+                    return null;
+                } catch (IOException | AruException | RuntimeException e) {
+                    // there is no reason to finish downloading patches that will not be used
+                    pool.cancel();
+                    throw e;
+                }
+            });
+            try {
+                waitForValidation(validationResult);
+            } catch (AruException | IOException | RuntimeException e) {
+                // let the cancelled downloads remove their partial files before the build fails
+                if (!pool.awaitTermination(CANCEL_TIMEOUT)) {
+                    logger.fine("Cancelled patch downloads are still running");
+                }
+                throw e;
+            }
+            ParallelTasks.getAll(downloads);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            Throwable error = e.getCause();
+            int failed = ParallelTasks.countFailed(downloads);
+            if (failed > 1) {
+                logger.severe("IMG-0125", failed, aruPatches.size());
+            }
+            ParallelTasks.throwIfInstance(error, IOException.class);
+            ParallelTasks.throwIfInstance(error, RuntimeException.class);
+            throw new IOException(error);
+        }
+    }
+
+    private static void waitForValidation(Future<Void> validationResult) throws AruException, IOException,
+        InterruptedException {
+        try {
+            validationResult.get();
+        } catch (ExecutionException e) {
+            ParallelTasks.throwIfInstance(e.getCause(), AruException.class);
+            ParallelTasks.throwIfInstance(e.getCause(), IOException.class);
+            ParallelTasks.throwIfInstance(e.getCause(), RuntimeException.class);
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private void copyPatchToContext(AruPatch patch, String key, String patchLocation, Path patchesFolder)
+        throws IOException {
+        if (patchLocation != null && !Utils.isEmptyString(patchLocation)) {
+            File cacheFile = new File(patchLocation);
+            try {
+                if (patch.fileName() == null) {
+                    patch.fileName(cacheFile.getName());
+                }
+                stagingMode().stage(Paths.get(patchLocation), patchesFolder.resolve(cacheFile.getName()));
+            } catch (FileAlreadyExistsException ee) {
+                logger.warning("IMG-0077", key);
+            }
+        } else {
+            logger.severe("IMG-0024", key);
+        }
+    }
+
     String findPsuVersion(List<AruPatch> aruPatches, String defaultValue) {
         logger.entering(aruPatches, defaultValue);
         // when applying a new PSU, use that PSU version to find patches where user did not qualify the patch number
@@ -215,6 +305,8 @@ public abstract class CommonPatchingOptions extends CommonOptions {
         List<AruPatch> result = new ArrayList<>(patches.size());
         // if the user specified the PSU as a normal bug number in the list of --patches, use that
         String effectivePsuVersion = psuVersion;
+        List<String> bugNumbers = new ArrayList<>(patches.size());
+        List<String> providedVersions = new ArrayList<>(patches.size());
         for (String patchId : patches) {
             // if user mistakenly added the OPatch patch to the WLS patch list, skip it. WIT updates OPatch anyway
             if (OPatchFile.isOPatchPatch(patchId)) {
@@ -227,26 +319,35 @@ public abstract class CommonPatchingOptions extends CommonOptions {
                 providedVersion = patchId.substring(split + 1);
                 patchId = patchId.substring(0, split);
             }
-            List<AruPatch> patchVersions = AruUtil.rest().getPatches(patchId, userId, password)
-                .filter(p -> p.isApplicableToTarget(getTargetArchitecture().getAruPlatform()))
-                .collect(Collectors.toList());
-
-            // Stack Patch Bundle (SPB) is not a traditional patch.  Patches in SPB are duplicates of recommended.
-            if (patchVersions.stream().anyMatch(AruPatch::isStackPatchBundle)) {
-                // Do not continue if the user specified a patch number that cannot be applied.
-                throw logger.throwing(new InvalidPatchNumberException(Utils.getMessage("IMG-0098", patchId)));
-            }
+            bugNumbers.add(patchId);
+            providedVersions.add(providedVersion);
+        }
 
-            if (!patchVersions.isEmpty()) {
-                // if ARU found patches for the provided bug number, try to select the one the user needs by version
-                AruPatch selectedVersion = AruPatch.selectPatch(patchVersions, providedVersion, effectivePsuVersion,
-                    getInstallerVersion());
+        // search ARU for all the bug numbers at once, and then select the patch versions in the order provided
+        try (AruUtil.PatchSearch search = AruUtil.rest().searchPatches(bugNumbers, userId, password)) {
+            for (int i = 0; i < bugNumbers.size(); i++) {
+                String patchId = bugNumbers.get(i);
+                List<AruPatch> patchVersions = search.getPatches(patchId)
+                    .filter(p -> p.isApplicableToTarget(getTargetArchitecture().getAruPlatform()))
+                    .collect(Collectors.toList());
 
-                String psuVersionOfSelected = findPsuVersion(selectedVersion);
-                if (Utils.isEmptyString(psuVersion) && !Utils.isEmptyString(psuVersionOfSelected)) {
-                    effectivePsuVersion = psuVersionOfSelected;
+                // Stack Patch Bundle (SPB) is not a traditional patch.  Patches in SPB are duplicates of recommended.
+                if (patchVersions.stream().anyMatch(AruPatch::isStackPatchBundle)) {
+                    // Do not continue if the user specified a patch number that cannot be applied.
+                    throw logger.throwing(new InvalidPatchNumberException(Utils.getMessage("IMG-0098", patchId)));
+                }
+
+                if (!patchVersions.isEmpty()) {
+                    // if ARU found patches for the provided bug number, try to select the one the user needs
+                    AruPatch selectedVersion = AruPatch.selectPatch(patchVersions, providedVersions.get(i),
+                        effectivePsuVersion, getInstallerVersion());
+
+                    String psuVersionOfSelected = findPsuVersion(selectedVersion);
+                    if (Utils.isEmptyString(psuVersion) && !Utils.isEmptyString(psuVersionOfSelected)) {
+                        effectivePsuVersion = psuVersionOfSelected;
+                    }
+                    result.add(selectedVersion);
                 }
-                result.add(selectedVersion);
             }
         }
         logger.exiting(result);
@@ -316,7 +417,7 @@ public abstract class CommonPatchingOptions extends CommonOptions {
         String filePath =
             OPatchFile.getInstance(opatchBugNumber, installerVersion, userId, password, cache()).resolve(cache());
         String filename = new File(filePath).getName();
-        Files.copy(Paths.get(filePath), Paths.get(tmpDir, filename));
+        stagingMode().stage(Paths.get(filePath), Paths.get(tmpDir, filename));
         dockerfileOptions.setOPatchPatchingEnabled();
         dockerfileOptions.setOPatchFileName(filename);
         logger.exiting(filename);
@@ -331,38 +432,13 @@ public abstract class CommonPatchingOptions extends CommonOptions {
     }
 
 
-    @Option(
-        names = {"--user"},
-        paramLabel = "<support email>",
-        description = "Oracle Support email id"
-    )
+    @Mixin
+    private SupportCredentials credentials = new SupportCredentials();
+
     private String userId;
 
     private String password;
 
-    @Option(
-        names = {"--password"},
-        interactive = true,
-        arity = "0..1",
-        paramLabel = "<support password>",
-        description = "Enter password for Oracle Support userId on STDIN"
-    )
-    private String passwordStr;
-
-    @Option(
-        names = {"--passwordEnv"},
-        paramLabel = "<environment variable>",
-        description = "environment variable containing the support password"
-    )
-    private String passwordEnv;
-
-    @Option(
-        names = {"--passwordFile"},
-        paramLabel = "<password file>",
-        description = "path to file containing just the password"
-    )
-    private Path passwordFile;
-
     @Option(
         names = {"--latestPSU"},
         description = "Whether to apply patches from latest PSU."
@@ -375,6 +451,12 @@ public abstract class CommonPatchingOptions extends CommonOptions {
     )
     private boolean recommendedPatches = false;
 
+    @Option(
+        names = {"--refreshAruCache"},
+        description = "Ignore ARU metadata and conflict check results cached by previous builds."
+    )
+    private boolean refreshAruCache = false;
+
     @Option(
         names = {"--strictPatchOrdering"},
         description = "Use OPatch to apply patches one at a time."
@@ -1,4 +1,4 @@
-// Copyright (c) 2019, 2021, Oracle and/or its affiliates.
+// Copyright (c) 2019, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.cli.menu;
@@ -35,7 +35,7 @@ public class CreateImage extends CommonCreateOptions implements Callable<Command
             prepareNewImage();
 
             // build wdt args if user passes --wdtModelPath
-            wdtOptions.handleWdtArgs(dockerfileOptions, buildDir(), getTargetArchitecture());
+            wdtOptions.handleWdtArgs(dockerfileOptions, buildDir(), getTargetArchitecture(), stagingMode());
 
             // Create Dockerfile
             String dockerfile = Utils.writeDockerfile(buildDir() + File.separator + "Dockerfile",
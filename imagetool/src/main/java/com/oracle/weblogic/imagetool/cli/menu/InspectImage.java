@@ -1,17 +1,32 @@
-// Copyright (c) 2021, Oracle and/or its affiliates.
+// Copyright (c) 2021, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.cli.menu;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import com.oracle.weblogic.imagetool.api.model.CommandResponse;
+import com.oracle.weblogic.imagetool.inspect.ImageArchiveInspector;
 import com.oracle.weblogic.imagetool.inspect.InspectOutput;
+import com.oracle.weblogic.imagetool.inspect.JsonWriter;
+import com.oracle.weblogic.imagetool.inspect.ProbeTier;
+import com.oracle.weblogic.imagetool.logging.LoggingFacade;
+import com.oracle.weblogic.imagetool.logging.LoggingFactory;
 import com.oracle.weblogic.imagetool.util.Constants;
+import com.oracle.weblogic.imagetool.util.ParallelTasks;
 import com.oracle.weblogic.imagetool.util.Utils;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
@@ -23,33 +38,144 @@ import picocli.CommandLine.Option;
     abbreviateSynopsis = true
 )
 public class InspectImage implements Callable<CommandResponse> {
+    private static final LoggingFacade logger = LoggingFactory.getLogger(InspectImage.class);
+
+    /**
+     * Environment variable for the number of images that are inspected at the same time.
+     */
+    public static final String PARALLEL_INSPECTIONS_ENV = "WLSIMG_PARALLEL_INSPECTIONS";
+
     @Override
     public CommandResponse call() throws Exception {
-        Path tmpDir = Files.createTempDirectory(Paths.get(Utils.getBuildWorkingDir()), "wlsimgbuilder_temp");
-        String tempDirectory = tmpDir.toAbsolutePath().toString();
+        List<String> images = new ArrayList<>();
+        if (imageNames != null) {
+            images.addAll(imageNames);
+        }
+        if (imageFile != null) {
+            images.addAll(readImageList(imageFile));
+        }
+        boolean batch = imageFile != null || images.size() > 1;
+        if (imageArchive == null ? images.isEmpty() : batch || !images.isEmpty()) {
+            return CommandResponse.error("IMG-0165");
+        }
 
-        String scriptToRun = "/probe-env/inspect-image.sh";
-        // add additional formats here, the ENUM, and to the resources/inspect-responses folder
-        if (listPatches) {
-            scriptToRun = "/probe-env/inspect-image-long.sh";
+        if (imageArchive != null) {
+            // read the image layers instead of running a container
+            Properties archiveProperties = new ImageArchiveInspector(imageArchive).platform(imagePlatform)
+                .includePatches(listPatches).inspect();
+            System.out.println(new InspectOutput(archiveProperties));
+            return CommandResponse.success(null);
         }
 
-        Properties baseImageProperties =
-            Utils.getBaseImageProperties(buildEngine, imageName, imagePlatform, scriptToRun, tempDirectory);
+        if (batch) {
+            return inspectImages(images);
+        }
 
-        System.out.println(new InspectOutput(baseImageProperties));
+        System.out.println(new InspectOutput(probe(images.get(0))));
 
         return CommandResponse.success(null);
     }
 
+    /**
+     * Inspect the images concurrently, and print one JSON object per line as each inspection finishes.
+     * An image that cannot be inspected is reported with an error member, and does not stop the other inspections.
+     */
+    private CommandResponse inspectImages(List<String> images) throws InterruptedException {
+        int parallelism = Utils.getEnvironmentProperty(PARALLEL_INSPECTIONS_ENV, 4, 1);
+        logger.info("IMG-0166", images.size(), parallelism);
+        AtomicInteger failures = new AtomicInteger();
+        List<Future<Void>> results = new ArrayList<>(images.size());
+        try (ParallelTasks pool = new ParallelTasks("inspect", parallelism)) {
+            for (String image : images) {
+                results.add(pool.submit(() -> {
+                    String line = inspectLine(image, failures);
+                    // println is synchronized, so that lines from different images are not mixed
+                    System.out.println(line);
+                    return null;
+                }));
+            }
+            ParallelTasks.getAll(results);
+        } catch (ExecutionException e) {
+            ParallelTasks.throwIfInstance(e.getCause(), InterruptedException.class);
+            ParallelTasks.throwIfInstance(e.getCause(), RuntimeException.class);
+            throw new IllegalStateException(e.getCause());
+        }
+
+        if (failures.get() > 0) {
+            return CommandResponse.error("IMG-0167", failures.get(), images.size());
+        }
+        return CommandResponse.success(null);
+    }
+
+    private String inspectLine(String image, AtomicInteger failures) throws IOException, InterruptedException {
+        StringWriter line = new StringWriter();
+        JsonWriter json = new JsonWriter(line, false);
+        json.beginObject().member("image", image);
+        try {
+            InspectOutput output = new InspectOutput(probe(image));
+            json.name("result");
+            output.write(json);
+        } catch (IOException | RuntimeException e) {
+            logger.fine("Unable to inspect " + image, e);
+            failures.incrementAndGet();
+            json.member("error", e.getMessage() == null ? e.toString() : e.getMessage());
+        }
+        json.endObject();
+        return line.toString();
+    }
+
+    private Properties probe(String image) throws IOException, InterruptedException {
+        // each inspection writes its script to a separate folder, so that images can be inspected concurrently
+        Path tmpDir = Files.createTempDirectory(Paths.get(Utils.getBuildWorkingDir()), "wlsimgbuilder_temp");
+        try {
+            return Utils.getBaseImageProperties(buildEngine, image, imagePlatform,
+                ProbeTier.upTo(listPatches ? ProbeTier.PATCHES : ProbeTier.ORACLE_HOME),
+                tmpDir.toAbsolutePath().toString());
+        } finally {
+            Utils.deleteFilesRecursively(tmpDir.toAbsolutePath().toString());
+        }
+    }
+
+    /**
+     * Read a list of images from a file, one image per line.  Empty lines and lines starting with # are ignored.
+     * @param file the file with the image names
+     * @return the image names
+     * @throws IOException if the file cannot be read
+     */
+    static List<String> readImageList(Path file) throws IOException {
+        return Files.readAllLines(file, StandardCharsets.UTF_8).stream()
+            .map(String::trim)
+            .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+            .collect(Collectors.toList());
+    }
+
     @SuppressWarnings("unused")
     @Option(
         names = {"--image", "-i"},
-        required = true,
         paramLabel = "IMAGE:ID",
-        description = "Image ID or image name to be inspected"
+        split = ",",
+        description = "Image ID or image name to be inspected. Repeat the option, or separate the images with commas,"
+            + " to inspect more than one image."
+    )
+    private List<String> imageNames;
+
+    @SuppressWarnings("unused")
+    @Option(
+        names = {"--imageFile"},
+        paramLabel = "<file>",
+        description = "File with the images to inspect, one image per line. Each result is printed as a JSON object"
+            + " on a single line."
+    )
+    private Path imageFile;
+
+    @SuppressWarnings("unused")
+    @Option(
+        names = {"--archive"},
+        paramLabel = "<image archive>",
+        description = "Inspect an image saved with docker save, or an OCI image layout directory, without starting"
+            + " a container. Use instead of --image and --imageFile."
     )
-    private String imageName;
+    private Path imageArchive;
 
     @Option(
         names = {"--builder", "-b"},
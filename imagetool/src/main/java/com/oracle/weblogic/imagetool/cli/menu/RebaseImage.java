@@ -1,14 +1,16 @@
-// Copyright (c) 2019, 2022, Oracle and/or its affiliates.
+// Copyright (c) 2019, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.cli.menu;
 
 import java.io.File;
 import java.time.Instant;
+import java.util.EnumSet;
 import java.util.Properties;
 import java.util.concurrent.Callable;
 
 import com.oracle.weblogic.imagetool.api.model.CommandResponse;
+import com.oracle.weblogic.imagetool.inspect.ProbeTier;
 import com.oracle.weblogic.imagetool.logging.LoggingFacade;
 import com.oracle.weblogic.imagetool.logging.LoggingFactory;
 import com.oracle.weblogic.imagetool.util.Utils;
@@ -46,7 +48,7 @@ public class RebaseImage extends CommonCreateOptions implements Callable<Command
 
             logger.info("IMG-0091", sourceImage);
             Properties sourceImageProperties = Utils.getBaseImageProperties(buildEngine, sourceImage, buildPlatform(),
-                "/probe-env/inspect-image.sh", buildDir());
+                EnumSet.of(ProbeTier.ENVIRONMENT), buildDir());
 
             String oldOracleHome = sourceImageProperties.getProperty("oracleHome", null);
             String oldJavaHome = sourceImageProperties.getProperty("javaHome", null);
@@ -61,8 +63,9 @@ public class RebaseImage extends CommonCreateOptions implements Callable<Command
                 dockerfileOptions.setTargetImage(targetImage);
                 dockerfileOptions.setRebaseToTarget(true);
 
+                // the owner of the Oracle Home in the target image is used for the copied domain
                 Properties targetImageProperties = Utils.getBaseImageProperties(buildEngine, targetImage,
-                    buildPlatform(), "/probe-env/inspect-image.sh", buildDir());
+                    buildPlatform(), ProbeTier.upTo(ProbeTier.ORACLE_HOME), buildDir());
                 newOracleHome = targetImageProperties.getProperty("oracleHome", null);
                 newJavaHome = targetImageProperties.getProperty("javaHome", null);
                 useFileOwnerFromTarget(targetImageProperties);
@@ -0,0 +1,63 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.cli.menu;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import com.oracle.weblogic.imagetool.util.Utils;
+import picocli.CommandLine.Option;
+
+/**
+ * The Oracle Support credentials options, shared by the commands that download patches.
+ */
+public class SupportCredentials {
+
+    /**
+     * The Oracle Support user provided with --user.
+     * @return the user, or null if not provided
+     */
+    public String getUserId() {
+        return userId;
+    }
+
+    /**
+     * Read the Oracle Support password from the first of --password, --passwordFile, or --passwordEnv provided.
+     * @return the password, or null if none was provided
+     * @throws IOException if the password file cannot be read
+     */
+    public String readPassword() throws IOException {
+        return Utils.getPasswordFromInputs(passwordStr, passwordFile, passwordEnv);
+    }
+
+    @Option(
+        names = {"--user"},
+        paramLabel = "<support email>",
+        description = "Oracle Support email id"
+    )
+    private String userId;
+
+    @Option(
+        names = {"--password"},
+        interactive = true,
+        arity = "0..1",
+        paramLabel = "<support password>",
+        description = "Enter password for Oracle Support userId on STDIN"
+    )
+    private String passwordStr;
+
+    @Option(
+        names = {"--passwordEnv"},
+        paramLabel = "<environment variable>",
+        description = "environment variable containing the support password"
+    )
+    private String passwordEnv;
+
+    @Option(
+        names = {"--passwordFile"},
+        paramLabel = "<password file>",
+        description = "path to file containing just the password"
+    )
+    private Path passwordFile;
+}
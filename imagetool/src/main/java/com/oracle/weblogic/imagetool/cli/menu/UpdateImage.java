@@ -4,9 +4,7 @@
 package com.oracle.weblogic.imagetool.cli.menu;
 
 import java.io.File;
-import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.time.Duration;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
@@ -17,6 +15,7 @@ import com.oracle.weblogic.imagetool.api.model.CommandResponse;
 import com.oracle.weblogic.imagetool.aru.InstalledPatch;
 import com.oracle.weblogic.imagetool.builder.BuildCommand;
 import com.oracle.weblogic.imagetool.cachestore.OPatchFile;
+import com.oracle.weblogic.imagetool.inspect.ProbeTier;
 import com.oracle.weblogic.imagetool.installer.FmwInstallerType;
 import com.oracle.weblogic.imagetool.logging.LoggingFacade;
 import com.oracle.weblogic.imagetool.logging.LoggingFactory;
@@ -53,8 +52,9 @@ public class UpdateImage extends CommonPatchingOptions implements Callable<Comma
 
             dockerfileOptions.setBaseImage(fromImage()).setWdtBase(fromImage());
 
+            // OPatch is only started in the fromImage when patches are applied, not for WDT-only updates
             Properties baseImageProperties = Utils.getBaseImageProperties(buildEngine, fromImage(), buildPlatform(),
-                "/probe-env/inspect-image-long.sh", buildDir());
+                ProbeTier.upTo(applyingPatches() ? ProbeTier.PATCHES : ProbeTier.ORACLE_HOME), buildDir());
 
             dockerfileOptions.setJavaHome(baseImageProperties.getProperty("javaHome", null));
 
@@ -109,7 +109,7 @@ public class UpdateImage extends CommonPatchingOptions implements Callable<Comma
                     if (Utils.compareVersions(opatchVersion, opatchFile.getVersion()) < 0) {
                         logger.info("IMG-0008", opatchVersion, opatchFile.getVersion());
                         String filename = new File(opatchFilePath).getName();
-                        Files.copy(Paths.get(opatchFilePath), Paths.get(buildDir(), filename));
+                        stagingMode().stage(Paths.get(opatchFilePath), Paths.get(buildDir(), filename));
                         dockerfileOptions.setOPatchPatchingEnabled();
                         dockerfileOptions.setOPatchFileName(filename);
                     } else {
@@ -125,13 +125,12 @@ public class UpdateImage extends CommonPatchingOptions implements Callable<Comma
                     Utils.validatePatchIds(patches, true);
 
                     String oraclePatches = baseImageProperties.getProperty("oraclePatches", null);
-                    if (oraclePatches != null) {
-                        if (oraclePatches.contains("OPatch failed")) {
-                            logger.severe("patch inventory = " + oraclePatches);
-                            return CommandResponse.error("opatch lsinventory failed");
-                        }
-                        installedPatches = InstalledPatch.getPatchList(oraclePatches);
-                    } else {
+                    if (oraclePatches != null && oraclePatches.contains("OPatch failed")) {
+                        logger.severe("patch inventory = " + oraclePatches);
+                        return CommandResponse.error("opatch lsinventory failed");
+                    }
+                    installedPatches = InstalledPatch.getPatchList(baseImageProperties);
+                    if (installedPatches == null) {
                         return CommandResponse.error("lsinventory missing. required to check for conflicts");
                     }
                 }
@@ -140,7 +139,7 @@ public class UpdateImage extends CommonPatchingOptions implements Callable<Comma
             BuildCommand cmdBuilder = getInitialBuildCmd(buildDir());
 
             // build wdt args if user passes --wdtModelPath
-            wdtOptions.handleWdtArgs(dockerfileOptions, buildDir(), getTargetArchitecture());
+            wdtOptions.handleWdtArgs(dockerfileOptions, buildDir(), getTargetArchitecture(), stagingMode());
             dockerfileOptions.setWdtCommand(wdtOperation);
             if (dockerfileOptions.runRcu()
                 && (wdtOperation == WdtOperation.UPDATE || wdtOperation == WdtOperation.DEPLOY)) {
@@ -170,15 +169,8 @@ public class UpdateImage extends CommonPatchingOptions implements Callable<Comma
         } finally {
             cleanup();
         }
-        Instant endTime = Instant.now();
         logger.finer("Exiting UpdateImage.call ");
-
-        if (dryRun) {
-            return CommandResponse.success("IMG-0054");
-        } else {
-            return CommandResponse.success("IMG-0053",
-                Duration.between(startTime, endTime).getSeconds(), imageTag());
-        }
+        return successfulBuildResponse(startTime);
     }
 
     void setImageInstallerType(String value) {
@@ -1,4 +1,4 @@
-// Copyright (c) 2019, 2021, Oracle and/or its affiliates.
+// Copyright (c) 2019, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.cli.menu;
@@ -17,6 +17,7 @@ import com.oracle.weblogic.imagetool.logging.LoggingFacade;
 import com.oracle.weblogic.imagetool.logging.LoggingFactory;
 import com.oracle.weblogic.imagetool.util.Architecture;
 import com.oracle.weblogic.imagetool.util.DockerfileOptions;
+import com.oracle.weblogic.imagetool.util.StagingMode;
 import com.oracle.weblogic.imagetool.util.Utils;
 import picocli.CommandLine.Option;
 
@@ -56,10 +57,11 @@ public class WdtBaseOptions {
      * Add the provided WDT files and WDT installer to the Docker build context folder.
      *
      * @param tmpDir the tmp directory which is passed to docker as the build context directory
+     * @param stagingMode how the WDT files and installer are placed into the build context directory
      * @throws IOException in case of error
      */
-    public void handleWdtArgs(DockerfileOptions dockerfileOptions, String tmpDir, Architecture architecture)
-        throws IOException {
+    public void handleWdtArgs(DockerfileOptions dockerfileOptions, String tmpDir, Architecture architecture,
+                              StagingMode stagingMode) throws IOException {
         logger.entering(tmpDir);
 
         if (!userProvidedFiles() && skipWdtInstaller()) {
@@ -71,29 +73,30 @@ public class WdtBaseOptions {
         dockerfileOptions.setWdtHome(wdtHome).setWdtModelHome(wdtModelHome);
 
         if (wdtModelPath != null) {
-            List<String> modelList = addWdtFilesAsList(wdtModelPath, "model", tmpDir);
+            List<String> modelList = addWdtFilesAsList(wdtModelPath, "model", tmpDir, stagingMode);
             dockerfileOptions.setWdtModels(modelList);
         }
 
         if (wdtArchivePath != null) {
-            List<String> archiveList = addWdtFilesAsList(wdtArchivePath, "archive", tmpDir);
+            List<String> archiveList = addWdtFilesAsList(wdtArchivePath, "archive", tmpDir, stagingMode);
             dockerfileOptions.setWdtArchives(archiveList);
         }
 
         if (wdtVariablesPath != null) {
-            List<String> variablesList = addWdtFilesAsList(wdtVariablesPath, "variables", tmpDir);
+            List<String> variablesList = addWdtFilesAsList(wdtVariablesPath, "variables", tmpDir, stagingMode);
             dockerfileOptions.setWdtVariables(variablesList);
         }
 
         if (!skipWdtInstaller()) {
             CachedFile wdtInstaller = new CachedFile(InstallerType.WDT, wdtVersion, architecture);
-            Path wdtfile = wdtInstaller.copyFile(cache(), tmpDir);
+            Path wdtfile = wdtInstaller.copyFile(cache(), tmpDir, stagingMode);
             dockerfileOptions.setWdtInstallerFilename(wdtfile.getFileName().toString());
         }
         logger.exiting();
     }
 
-    private List<String> addWdtFilesAsList(Path fileArg, String type, String tmpDir) throws IOException {
+    private List<String> addWdtFilesAsList(Path fileArg, String type, String tmpDir, StagingMode stagingMode)
+        throws IOException {
         String[] listOfFiles = fileArg.toString().split(",");
         List<String> fileList = new ArrayList<>();
 
@@ -102,7 +105,7 @@ public class WdtBaseOptions {
             if (Files.isRegularFile(individualPath)) {
                 String modelFilename = individualPath.getFileName().toString();
                 logger.info("IMG-0043", individualPath);
-                Files.copy(individualPath, Paths.get(tmpDir, modelFilename));
+                stagingMode.stage(individualPath, Paths.get(tmpDir, modelFilename));
                 fileList.add(modelFilename);
             } else {
                 throw new FileNotFoundException(Utils.getMessage("IMG-0102",type, individualFile));
@@ -1,4 +1,4 @@
-// Copyright (c) 2019, 2021, Oracle and/or its affiliates.
+// Copyright (c) 2019, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.cli.menu;
@@ -13,6 +13,7 @@ import com.oracle.weblogic.imagetool.util.Architecture;
 import com.oracle.weblogic.imagetool.util.DockerfileOptions;
 import com.oracle.weblogic.imagetool.util.DomainHomeSourceType;
 import com.oracle.weblogic.imagetool.util.ResourceTemplateOptions;
+import com.oracle.weblogic.imagetool.util.StagingMode;
 import com.oracle.weblogic.imagetool.util.Utils;
 import picocli.CommandLine.Option;
 
@@ -34,11 +35,12 @@ public class WdtFullOptions extends WdtBaseOptions {
      * If so,  creates required file links to pass the model, archive, variables file to build process.
      *
      * @param tmpDir the tmp directory which is passed to docker as the build context directory
+     * @param stagingMode how the WDT files and installer are placed into the build context directory
      * @throws IOException in case of error
      */
     @Override
-    public void handleWdtArgs(DockerfileOptions dockerfileOptions, String tmpDir, Architecture architecture)
-        throws IOException {
+    public void handleWdtArgs(DockerfileOptions dockerfileOptions, String tmpDir, Architecture architecture,
+                              StagingMode stagingMode) throws IOException {
         logger.entering(tmpDir);
         if (!userProvidedFiles()) {
             // user did not provide any WDT files, nothing to do for WDT.
@@ -50,7 +52,7 @@ public class WdtFullOptions extends WdtBaseOptions {
             throw new IllegalArgumentException(Utils.getMessage("IMG-0103"));
         }
         // user provided WDT files and a WDT installer, so call WdtBaseOptions.handleWdtArgs
-        super.handleWdtArgs(dockerfileOptions, tmpDir, architecture);
+        super.handleWdtArgs(dockerfileOptions, tmpDir, architecture, stagingMode);
 
         String encryptionKey = Utils.getPasswordFromInputs(encryptionKeyStr, encryptionKeyFile, encryptionKeyEnv);
         if (encryptionKey != null) {
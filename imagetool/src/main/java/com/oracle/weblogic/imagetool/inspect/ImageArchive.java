@@ -0,0 +1,447 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.inspect;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import com.oracle.weblogic.imagetool.logging.LoggingFacade;
+import com.oracle.weblogic.imagetool.logging.LoggingFactory;
+import com.oracle.weblogic.imagetool.util.Utils;
+
+/**
+ * An image saved with docker save, or an OCI image layout directory.
+ * The archive file is indexed once, so that the manifest, configuration, and layers can be read in any order.
+ * A compressed archive can only be read in order, so the documents are kept in memory when the archive is indexed,
+ * and the layers are read in the order of the archive when they are applied.
+ */
+class ImageArchive implements Closeable {
+    private static final LoggingFacade logger = LoggingFactory.getLogger(ImageArchive.class);
+    private static final long MAX_DOCUMENT_SIZE = 4L * 1024 * 1024;
+    private static final String OCI_INDEX = "application/vnd.oci.image.index.v1+json";
+    private static final String DOCKER_MANIFEST_LIST = "application/vnd.docker.distribution.manifest.list.v2+json";
+
+    private final Path directory;
+    private final Path file;
+    private final boolean compressed;
+    private final Map<String, TarReader.Entry> entries = new HashMap<>();
+    // the manifests and configurations of a compressed archive
+    private final Map<String, byte[]> documents = new HashMap<>();
+    // the paths of the symbolic links in the layers of a compressed archive
+    private final Set<String> links = new HashSet<>();
+    private SeekableByteChannel channel;
+
+    private Object config;
+    private final List<String> layers = new ArrayList<>();
+
+    private ImageArchive(Path directory, Path file, boolean compressed) {
+        this.directory = directory;
+        this.file = file;
+        this.compressed = compressed;
+    }
+
+    /**
+     * Open an image archive, and find the image for the platform.
+     * @param path a tar file created by docker save, or an OCI image layout directory
+     * @param platform the platform of the image to select, or null to select the first image
+     * @return the archive
+     * @throws IOException if the archive cannot be read, or does not contain an image for the platform
+     */
+    static ImageArchive open(Path path, String platform) throws IOException {
+        ImageArchive result;
+        if (Files.isDirectory(path)) {
+            result = new ImageArchive(path, null, false);
+        } else {
+            result = new ImageArchive(null, path, isCompressed(path));
+        }
+        try {
+            result.index();
+            result.selectImage(path, platform);
+            return result;
+        } catch (IOException | RuntimeException e) {
+            result.close();
+            throw e;
+        }
+    }
+
+    /**
+     * A compressed archive, like the output of docker save piped to gzip, cannot be read in random order.
+     */
+    private static boolean isCompressed(Path path) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            return isGzip(in);
+        }
+    }
+
+    private static boolean isGzip(InputStream in) throws IOException {
+        in.mark(2);
+        boolean result = in.read() == 0x1f && in.read() == 0x8b;
+        in.reset();
+        return result;
+    }
+
+    private void index() throws IOException {
+        if (file == null) {
+            return;
+        }
+        Map<String, String> aliases = new HashMap<>();
+        try (InputStream in = archiveStream()) {
+            TarReader reader = new TarReader(in);
+            for (TarReader.Entry entry = reader.next(); entry != null; entry = reader.next()) {
+                String name = LayeredFilesystem.normalize(entry.name).substring(1);
+                if (entry.isFile()) {
+                    entries.put(name, entry);
+                    if (compressed) {
+                        scan(name, entry, reader);
+                    }
+                } else if (entry.isSymbolicLink() || entry.isHardLink()) {
+                    // docker save links layers that are used more than once
+                    String target = entry.isHardLink() ? entry.linkName
+                        : LayeredFilesystem.parent("/" + name) + "/" + entry.linkName;
+                    aliases.put(name, LayeredFilesystem.normalize(target).substring(1));
+                }
+            }
+        }
+        for (Map.Entry<String, String> alias : aliases.entrySet()) {
+            TarReader.Entry target = entries.get(alias.getValue());
+            if (target != null) {
+                entries.put(alias.getKey(), target);
+            }
+            if (documents.containsKey(alias.getValue())) {
+                documents.put(alias.getKey(), documents.get(alias.getValue()));
+            }
+        }
+        if (!compressed) {
+            channel = Files.newByteChannel(file);
+        }
+    }
+
+    private InputStream archiveStream() throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(file), 65536);
+        try {
+            return compressed ? new GZIPInputStream(in, 65536) : in;
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Keep a document of a compressed archive in memory, or find the symbolic links if the file is a layer.
+     * The layers are read later, when the image configuration tells which files to select, so the links must be
+     * known before then to find the links that are replaced by a file in a higher layer.
+     */
+    private void scan(String name, TarReader.Entry entry, TarReader reader) throws IOException {
+        InputStream content = reader.content();
+        if (entry.size <= MAX_DOCUMENT_SIZE) {
+            byte[] bytes = reader.readContent(MAX_DOCUMENT_SIZE);
+            if (isJson(bytes)) {
+                documents.put(name, bytes);
+                return;
+            }
+            content = new ByteArrayInputStream(bytes);
+        }
+        try (InputStream layer = decompress(new BufferedInputStream(content, 65536))) {
+            TarReader layerReader = new TarReader(layer);
+            for (TarReader.Entry layerEntry = layerReader.next(); layerEntry != null;
+                 layerEntry = layerReader.next()) {
+                if (layerEntry.isSymbolicLink()) {
+                    links.add(LayeredFilesystem.normalize(layerEntry.name));
+                }
+            }
+        } catch (IOException e) {
+            // not a layer, like the VERSION files of docker save
+            logger.finest("Skipping {0}: {1}", name, e.getMessage());
+        }
+    }
+
+    private static boolean isJson(byte[] content) {
+        for (byte b : content) {
+            if (!Character.isWhitespace(b)) {
+                return b == '{' || b == '[';
+            }
+        }
+        return false;
+    }
+
+    private boolean exists(String name) {
+        return directory == null ? entries.containsKey(name) : Files.isRegularFile(directory.resolve(name));
+    }
+
+    /**
+     * Open a file in the archive.  Only one file in an archive file can be read at a time.
+     * @param name relative path of the file in the archive
+     * @return the content of the file
+     * @throws IOException if the file does not exist in the archive
+     */
+    private InputStream open(String name) throws IOException {
+        if (directory != null) {
+            return Files.newInputStream(directory.resolve(name));
+        }
+        TarReader.Entry entry = entries.get(name);
+        if (entry == null) {
+            throw new IOException(Utils.getMessage("IMG-0161", file, name));
+        }
+        channel.position(entry.offset);
+        return new FilterInputStream(new BufferedInputStream(Channels.newInputStream(channel), 65536)) {
+            private long remaining = entry.size;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int result = super.read();
+                if (result >= 0) {
+                    remaining--;
+                }
+                return result;
+            }
+
+            @Override
+            public int read(byte[] buffer, int off, int len) throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int result = super.read(buffer, off, (int) Math.min(len, remaining));
+                if (result > 0) {
+                    remaining -= result;
+                }
+                return result;
+            }
+
+            @Override
+            public long skip(long count) throws IOException {
+                long skipped = super.skip(Math.min(count, remaining));
+                remaining -= skipped;
+                return skipped;
+            }
+
+            @Override
+            public int available() throws IOException {
+                return (int) Math.min(super.available(), remaining);
+            }
+
+            @Override
+            public boolean markSupported() {
+                return false;
+            }
+
+            @Override
+            public void close() {
+                // the channel is closed with the archive
+            }
+        };
+    }
+
+    private Object readJson(String name) throws IOException {
+        byte[] document = compressed ? documents.get(name) : readDocument(name);
+        if (document == null) {
+            // a file that is too large for a document is not kept in memory
+            throw new IOException(entries.containsKey(name) ? Utils.getMessage("IMG-0160", file)
+                : Utils.getMessage("IMG-0161", file, name));
+        }
+        return JsonParser.parse(new String(document, StandardCharsets.UTF_8));
+    }
+
+    private byte[] readDocument(String name) throws IOException {
+        try (InputStream in = open(name)) {
+            TarReader.Entry entry = entries.get(name);
+            if (entry != null && entry.size > MAX_DOCUMENT_SIZE) {
+                throw new IOException(Utils.getMessage("IMG-0160", file));
+            }
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                content.write(buffer, 0, read);
+                if (content.size() > MAX_DOCUMENT_SIZE) {
+                    throw new IOException(Utils.getMessage("IMG-0160", directory == null ? file : directory));
+                }
+            }
+            return content.toByteArray();
+        }
+    }
+
+    private static String blobPath(String digest) throws IOException {
+        if (digest == null || !digest.matches("[a-z0-9]+:[a-zA-Z0-9=_-]+")) {
+            throw new IOException("Invalid digest: " + digest);
+        }
+        return "blobs/" + digest.replace(':', '/');
+    }
+
+    private void selectImage(Path path, String platform) throws IOException {
+        if (exists("manifest.json")) {
+            // docker save
+            List<?> images = JsonParser.getList(readJson("manifest.json"));
+            for (Object image : images) {
+                Object imageConfig = readJson(JsonParser.getString(image, "Config"));
+                if (matches(platform, imageConfig)) {
+                    config = imageConfig;
+                    for (Object layer : JsonParser.getList(image, "Layers")) {
+                        layers.add((String) layer);
+                    }
+                    logger.fine("Selected image {0} from {1}", JsonParser.get(image, "RepoTags"), path);
+                    return;
+                }
+            }
+        } else if (exists("index.json")) {
+            // OCI image layout
+            if (selectFromIndex(readJson("index.json"), platform)) {
+                return;
+            }
+        } else {
+            throw new IOException(Utils.getMessage("IMG-0160", path));
+        }
+        throw new IOException(Utils.getMessage("IMG-0162", path, platform));
+    }
+
+    private boolean selectFromIndex(Object index, String platform) throws IOException {
+        for (Object descriptor : JsonParser.getList(index, "manifests")) {
+            String os = JsonParser.getString(descriptor, "platform", "os");
+            if ("unknown".equals(os)) {
+                // attestation manifests added by buildx
+                continue;
+            }
+            String architecture = JsonParser.getString(descriptor, "platform", "architecture");
+            if (os != null && architecture != null && !ImageProbeCache.platformMatches(platform,
+                os + "/" + architecture)) {
+                continue;
+            }
+            String mediaType = JsonParser.getString(descriptor, "mediaType");
+            Object document = readJson(blobPath(JsonParser.getString(descriptor, "digest")));
+            if (OCI_INDEX.equals(mediaType) || DOCKER_MANIFEST_LIST.equals(mediaType)) {
+                if (selectFromIndex(document, platform)) {
+                    return true;
+                }
+                continue;
+            }
+            Object imageConfig = readJson(blobPath(JsonParser.getString(document, "config", "digest")));
+            if (matches(platform, imageConfig)) {
+                config = imageConfig;
+                for (Object layer : JsonParser.getList(document, "layers")) {
+                    layers.add(blobPath(JsonParser.getString(layer, "digest")));
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(String platform, Object imageConfig) {
+        String os = JsonParser.getString(imageConfig, "os");
+        String architecture = JsonParser.getString(imageConfig, "architecture");
+        return os == null || architecture == null || ImageProbeCache.platformMatches(platform, os + "/" + architecture);
+    }
+
+    /**
+     * The image configuration, with the environment and the platform of the image.
+     * @return the parsed configuration document
+     */
+    Object config() {
+        return config;
+    }
+
+    /**
+     * Apply the layers of the image to the filesystem, from the lowest layer to the top layer.
+     * @param filesystem the filesystem to update
+     * @throws IOException if a layer cannot be read
+     */
+    void readLayers(LayeredFilesystem filesystem) throws IOException {
+        BitSet all = new BitSet();
+        all.set(0, layers.size());
+        readLayers(filesystem, all);
+    }
+
+    /**
+     * Apply some of the layers of the image to the filesystem, from the lowest layer to the top layer.
+     * @param filesystem the filesystem to update
+     * @param selected the indexes of the layers to apply, from 0 for the lowest layer
+     * @throws IOException if a layer cannot be read
+     */
+    void readLayers(LayeredFilesystem filesystem, BitSet selected) throws IOException {
+        if (compressed) {
+            streamLayers(filesystem, selected);
+            return;
+        }
+        for (int i = selected.nextSetBit(0); i >= 0 && i < layers.size(); i = selected.nextSetBit(i + 1)) {
+            String layer = layers.get(i);
+            logger.finer("Reading layer {0}", layer);
+            try (InputStream in = decompress(new BufferedInputStream(open(layer), 65536))) {
+                filesystem.addLayer(in);
+            }
+        }
+    }
+
+    /**
+     * Read the selected layers of a compressed archive in one pass, in the order of the archive, and apply them
+     * in the order of the image.
+     */
+    private void streamLayers(LayeredFilesystem filesystem, BitSet selected) throws IOException {
+        // the entries of the index are the same for the links of docker save to layers that are used more than once
+        Set<TarReader.Entry> wanted = new HashSet<>();
+        for (int i = selected.nextSetBit(0); i >= 0 && i < layers.size(); i = selected.nextSetBit(i + 1)) {
+            wanted.add(entries.get(layers.get(i)));
+        }
+        Map<TarReader.Entry, LayeredFilesystem.Layer> read = new HashMap<>();
+        try (InputStream in = archiveStream()) {
+            TarReader reader = new TarReader(in);
+            for (TarReader.Entry entry = reader.next(); entry != null; entry = reader.next()) {
+                TarReader.Entry indexed = entries.get(LayeredFilesystem.normalize(entry.name).substring(1));
+                if (entry.isFile() && wanted.contains(indexed) && !read.containsKey(indexed)) {
+                    logger.finer("Reading layer {0}", entry.name);
+                    try (InputStream layer = decompress(new BufferedInputStream(reader.content(), 65536))) {
+                        read.put(indexed, filesystem.read(layer, links::contains));
+                    }
+                }
+            }
+        }
+        for (int i = selected.nextSetBit(0); i >= 0 && i < layers.size(); i = selected.nextSetBit(i + 1)) {
+            LayeredFilesystem.Layer layer = read.get(entries.get(layers.get(i)));
+            if (layer == null) {
+                throw new IOException(Utils.getMessage("IMG-0161", file, layers.get(i)));
+            }
+            filesystem.apply(layer);
+        }
+    }
+
+    private InputStream decompress(InputStream in) throws IOException {
+        if (isGzip(in)) {
+            return new GZIPInputStream(in, 65536);
+        }
+        in.mark(4);
+        byte[] magic = new byte[4];
+        int read = in.read(magic);
+        in.reset();
+        if (read == 4 && (magic[0] & 0xff) == 0x28 && (magic[1] & 0xff) == 0xb5 && (magic[2] & 0xff) == 0x2f
+            && (magic[3] & 0xff) == 0xfd) {
+            throw new IOException(Utils.getMessage("IMG-0163", directory == null ? file : directory));
+        }
+        return in;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,390 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.inspect;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.oracle.weblogic.imagetool.logging.LoggingFacade;
+import com.oracle.weblogic.imagetool.logging.LoggingFactory;
+import com.oracle.weblogic.imagetool.util.HttpUtil;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+/**
+ * Inspect an image without starting a container, by reading the image configuration and layers from an image saved
+ * with docker save, or from an OCI image layout directory.
+ * The result has the same properties as the probe-env scripts that run in a container of the image.
+ */
+public class ImageArchiveInspector {
+    private static final LoggingFacade logger = LoggingFactory.getLogger(ImageArchiveInspector.class);
+
+    private static final String DEFAULT_PATH = "/usr/local/sbin:/usr/local/bin:/usr/sbin:/usr/bin:/sbin:/bin";
+    private static final String DEFAULT_WDT_HOME = "/u01/wdt";
+    private static final String WDT_VERSION_FILE = "/weblogic-deploy/VERSION.txt";
+    private static final String OS_PREFIX = "__OS__";
+    private static final String COMPS_XML = "/inventory/ContentsXML/comps.xml";
+    private static final Pattern VERSION = Pattern.compile("[\\d.]+\\d");
+    private static final Pattern BUSYBOX_VERSION = Pattern.compile("BusyBox (v[\\d.]+)");
+
+    // the same order as the probe-env scripts
+    private static final Map<String, String> PACKAGE_MANAGERS = new LinkedHashMap<>();
+
+    static {
+        PACKAGE_MANAGERS.put("dnf", "DNF");
+        PACKAGE_MANAGERS.put("yum", "YUM");
+        PACKAGE_MANAGERS.put("microdnf", "MICRODNF");
+        PACKAGE_MANAGERS.put("apt-get", "APTGET");
+        PACKAGE_MANAGERS.put("apk", "APK");
+        PACKAGE_MANAGERS.put("zypper", "ZYPPER");
+    }
+
+    private final Path archive;
+    private String platform;
+    private boolean includePatches = false;
+
+    /**
+     * Create an inspector for an image archive.
+     * @param archive a tar file created by docker save, optionally compressed with gzip, or an OCI image layout
+     */
+    public ImageArchiveInspector(Path archive) {
+        this.archive = archive;
+    }
+
+    /**
+     * Select the image for a platform, when the archive contains images for more than one platform.
+     * @param value the platform, like linux/amd64, or null to use the first image in the archive
+     * @return this
+     */
+    public ImageArchiveInspector platform(String value) {
+        platform = value;
+        return this;
+    }
+
+    /**
+     * Include the OPatch version and the patches in the Oracle inventory, like the patches probe tier.
+     * @param value true to include OPatch information
+     * @return this
+     */
+    public ImageArchiveInspector includePatches(boolean value) {
+        includePatches = value;
+        return this;
+    }
+
+    /**
+     * Read the image archive and return the properties of the image.
+     * @return the same properties as the probe-env scripts
+     * @throws IOException if the archive cannot be read
+     */
+    public Properties inspect() throws IOException {
+        logger.entering(archive, platform);
+        try (ImageArchive image = ImageArchive.open(archive, platform)) {
+            Object config = image.config();
+            Map<String, String> env = environment(config);
+            LayeredFilesystem.Selection selection = select(env);
+            LayeredFilesystem filesystem = new LayeredFilesystem(selection);
+            image.readLayers(filesystem);
+            LayeredFilesystem.Selection targets = selection.resolved(filesystem);
+            if (!targets.isEmpty()) {
+                // some of the paths are symbolic links, read the layers with the targets of the links again
+                BitSet layers = filesystem.layersContaining(targets);
+                logger.fine("Reading {0} layers of {1} again for the targets of symbolic links",
+                    layers.cardinality(), archive);
+                LayeredFilesystem linked = new LayeredFilesystem(targets);
+                image.readLayers(linked, layers);
+                filesystem.addAll(linked);
+            }
+            Properties result = properties(config, env, filesystem);
+            logger.exiting(result);
+            return result;
+        }
+    }
+
+    private static Map<String, String> environment(Object config) {
+        Map<String, String> result = new HashMap<>();
+        for (Object variable : JsonParser.getList(config, "config", "Env")) {
+            String value = variable.toString();
+            int index = value.indexOf('=');
+            if (index > 0) {
+                result.put(value.substring(0, index), value.substring(index + 1));
+            }
+        }
+        return result;
+    }
+
+    private static List<String> searchPath(Map<String, String> env) {
+        List<String> result = new ArrayList<>();
+        for (String directory : env.getOrDefault("PATH", DEFAULT_PATH).split(":")) {
+            if (directory.startsWith("/")) {
+                result.add(LayeredFilesystem.normalize(directory));
+            }
+        }
+        return result;
+    }
+
+    private LayeredFilesystem.Selection select(Map<String, String> env) {
+        LayeredFilesystem.Selection selection = new LayeredFilesystem.Selection();
+        for (String directory : searchPath(env)) {
+            for (String command : PACKAGE_MANAGERS.keySet()) {
+                selection.paths.add(directory + "/" + command);
+            }
+            selection.files.add(directory + "/busybox");
+        }
+        selection.files.add("/etc/os-release");
+        // the target of /etc/os-release on most distributions, so that the layers are not read again for it
+        selection.files.add("/usr/lib/os-release");
+        selection.files.add("/etc/passwd");
+        selection.files.add("/etc/group");
+        addFile(selection, env.get("JAVA_HOME"), "/release");
+        addFile(selection, env.getOrDefault("WDT_HOME", DEFAULT_WDT_HOME), WDT_VERSION_FILE);
+        String domainHome = env.get("DOMAIN_HOME");
+        if (domainHome != null) {
+            selection.paths.add(LayeredFilesystem.normalize(domainHome));
+            selection.listings.add(LayeredFilesystem.normalize(domainHome));
+        }
+        String oracleHome = env.get("ORACLE_HOME");
+        if (oracleHome != null) {
+            selection.paths.add(LayeredFilesystem.normalize(oracleHome));
+            addFile(selection, oracleHome, "/inventory/registry.xml");
+            if (includePatches) {
+                addFile(selection, oracleHome, "/OPatch/version.txt");
+                addFile(selection, oracleHome, COMPS_XML);
+            }
+        }
+        return selection;
+    }
+
+    private static void addFile(LayeredFilesystem.Selection selection, String directory, String file) {
+        if (directory != null) {
+            selection.files.add(LayeredFilesystem.normalize(directory + file));
+        }
+    }
+
+    private Properties properties(Object config, Map<String, String> env, LayeredFilesystem filesystem) {
+        Properties result = new Properties();
+        result.setProperty("packageManager", packageManager(env, filesystem));
+
+        String javaHome = env.get("JAVA_HOME");
+        if (javaHome != null) {
+            result.setProperty("javaHome", javaHome);
+            String javaVersion = releaseValue(filesystem.content(javaHome + "/release"), "JAVA_VERSION");
+            if (javaVersion != null) {
+                result.setProperty("javaVersion", javaVersion);
+            }
+        }
+
+        String domainHome = env.get("DOMAIN_HOME");
+        if (domainHome != null) {
+            result.setProperty("domainHome", domainHome);
+            if (!filesystem.exists(domainHome) || filesystem.children(domainHome).isEmpty()) {
+                result.setProperty("wdtModelOnly", "true");
+            }
+        }
+        if (env.containsKey("WDT_MODEL_HOME")) {
+            result.setProperty("wdtModelHome", env.get("WDT_MODEL_HOME"));
+        }
+        String wdtHome = env.get("WDT_HOME");
+        byte[] wdtVersion = filesystem.content(env.getOrDefault("WDT_HOME", DEFAULT_WDT_HOME) + WDT_VERSION_FILE);
+        if (wdtHome != null || wdtVersion != null) {
+            result.setProperty("wdtHome", wdtHome == null ? DEFAULT_WDT_HOME : wdtHome);
+            result.setProperty("wdtVersion", wdtVersion(wdtVersion));
+        }
+
+        String oracleHome = env.get("ORACLE_HOME");
+        if (oracleHome != null) {
+            addOracleHomeProperties(oracleHome, filesystem, result);
+        }
+
+        addOperatingSystemProperties(config, searchPath(env), filesystem, result);
+        return result;
+    }
+
+    private static String packageManager(Map<String, String> env, LayeredFilesystem filesystem) {
+        List<String> searchPath = searchPath(env);
+        for (Map.Entry<String, String> packageManager : PACKAGE_MANAGERS.entrySet()) {
+            for (String directory : searchPath) {
+                LayeredFilesystem.Node node = filesystem.get(directory + "/" + packageManager.getKey());
+                if (node != null && !node.isDirectory()) {
+                    return packageManager.getValue();
+                }
+            }
+        }
+        return "NONE";
+    }
+
+    private void addOracleHomeProperties(String oracleHome, LayeredFilesystem filesystem, Properties result) {
+        result.setProperty("oracleHome", oracleHome);
+
+        Document registry = parseXml(filesystem.content(oracleHome + "/inventory/registry.xml"));
+        String wlsVersion = null;
+        List<String> products = new ArrayList<>();
+        if (registry != null) {
+            NodeList distributions = registry.getElementsByTagName("distribution");
+            for (int i = 0; i < distributions.getLength(); i++) {
+                Element distribution = (Element) distributions.item(i);
+                products.add(distribution.getAttribute("name"));
+                if ("WebLogic Server".equals(distribution.getAttribute("name")) || wlsVersion == null) {
+                    wlsVersion = distribution.getAttribute("version");
+                }
+            }
+        }
+        if (wlsVersion != null && !wlsVersion.isEmpty()) {
+            result.setProperty("wlsVersion", wlsVersion);
+        }
+
+        LayeredFilesystem.Node home = filesystem.get(oracleHome);
+        if (home != null) {
+            result.setProperty("oracleHomeUser",
+                ownerName(filesystem.content("/etc/passwd"), home.uid, home.uname));
+            result.setProperty("oracleHomeGroup",
+                ownerName(filesystem.content("/etc/group"), home.gid, home.gname));
+        }
+
+        if (includePatches) {
+            String opatchVersion = firstMatch(VERSION, filesystem.content(oracleHome + "/OPatch/version.txt"));
+            result.setProperty("opatchVersion", opatchVersion == null ? "" : opatchVersion);
+            byte[] compsXml = filesystem.content(oracleHome + COMPS_XML);
+            String patchList = compsXml == null ? null
+                : OracleInventory.extractPatchList(new String(compsXml, StandardCharsets.UTF_8));
+            if (patchList != null) {
+                result.setProperty(OracleInventory.INVENTORY_KEY,
+                    Base64.getEncoder().encodeToString(patchList.getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+        result.setProperty("oracleInstalledProducts", String.join(",", products));
+    }
+
+    private static void addOperatingSystemProperties(Object config, List<String> searchPath,
+                                                     LayeredFilesystem filesystem, Properties result) {
+        result.setProperty(OS_PREFIX + "arch", machine(JsonParser.getString(config, "architecture")));
+        byte[] osRelease = filesystem.content("/etc/os-release");
+        if (osRelease != null) {
+            for (String line : lines(osRelease)) {
+                int index = line.indexOf('=');
+                if (index > 0) {
+                    result.setProperty(OS_PREFIX + line.substring(0, index).trim(), line.substring(index + 1));
+                }
+            }
+            return;
+        }
+        for (String directory : searchPath) {
+            byte[] busybox = filesystem.content(directory + "/busybox");
+            if (busybox != null) {
+                result.setProperty(OS_PREFIX + "ID", "bb");
+                result.setProperty(OS_PREFIX + "NAME", "BusyBox");
+                Matcher matcher = BUSYBOX_VERSION.matcher(new String(busybox, StandardCharsets.ISO_8859_1));
+                if (matcher.find()) {
+                    result.setProperty(OS_PREFIX + "VERSION", matcher.group(1));
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Convert the architecture of the image to the name that uname -m prints in a container.
+     */
+    private static String machine(String architecture) {
+        if (architecture == null) {
+            return "";
+        }
+        switch (architecture) {
+            case "amd64":
+                return "x86_64";
+            case "arm64":
+                return "aarch64";
+            case "386":
+                return "i686";
+            case "arm":
+                return "armv7l";
+            default:
+                return architecture;
+        }
+    }
+
+    /**
+     * Get a value from a file with KEY="value" lines, like the release file in a JDK.
+     */
+    static String releaseValue(byte[] content, String key) {
+        if (content == null) {
+            return null;
+        }
+        for (String line : lines(content)) {
+            if (line.startsWith(key + "=")) {
+                return line.substring(key.length() + 1).replace("\"", "").trim();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The WDT version is the last word on the first line of VERSION.txt.
+     */
+    static String wdtVersion(byte[] content) {
+        if (content == null) {
+            return "";
+        }
+        for (String line : lines(content)) {
+            if (!line.trim().isEmpty()) {
+                return line.substring(line.lastIndexOf(' ') + 1);
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Find the name for a user or group ID in the passwd or group file of the image, like stat does.
+     */
+    static String ownerName(byte[] names, int id, String archiveName) {
+        if (names != null) {
+            for (String line : lines(names)) {
+                String[] fields = line.split(":");
+                if (fields.length > 2 && fields[2].equals(Integer.toString(id))) {
+                    return fields[0];
+                }
+            }
+        }
+        if (archiveName != null && !archiveName.isEmpty()) {
+            return archiveName;
+        }
+        return "UNKNOWN";
+    }
+
+    private static String firstMatch(Pattern pattern, byte[] content) {
+        if (content == null) {
+            return null;
+        }
+        Matcher matcher = pattern.matcher(new String(content, StandardCharsets.UTF_8));
+        return matcher.find() ? matcher.group() : null;
+    }
+
+    private static List<String> lines(byte[] content) {
+        return Arrays.asList(new String(content, StandardCharsets.UTF_8).split("\\R"));
+    }
+
+    private Document parseXml(byte[] content) {
+        if (content == null) {
+            return null;
+        }
+        try {
+            return HttpUtil.parseXml(content);
+        } catch (IOException e) {
+            logger.fine("Unable to parse the inventory of {0}: {1}", archive, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.inspect;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+import com.oracle.weblogic.imagetool.cachestore.CacheStoreException;
+import com.oracle.weblogic.imagetool.cachestore.CacheStoreFactory;
+import com.oracle.weblogic.imagetool.logging.LoggingFacade;
+import com.oracle.weblogic.imagetool.logging.LoggingFactory;
+import com.oracle.weblogic.imagetool.util.Utils;
+
+/**
+ * Disk cache for the properties returned by the inspection scripts that run in a container of the base image.
+ * Entries are keyed by the image ID, which is a digest of the image content, so a saved result stays valid
+ * for as long as the image exists, even if the tag is moved to a different image.
+ */
+public class ImageProbeCache {
+    private static final LoggingFacade logger = LoggingFactory.getLogger(ImageProbeCache.class);
+
+    private final Path directory;
+
+    /**
+     * Create a probe cache.
+     * @param directory folder for the saved results, or null to disable the cache
+     */
+    public ImageProbeCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * The probe cache in the "probes" folder of the cache directory.
+     * If the cache directory is not available, the returned cache does not save any results.
+     * @return the probe cache
+     */
+    public static ImageProbeCache open() {
+        try {
+            return new ImageProbeCache(Paths.get(CacheStoreFactory.cache().getCacheDir(), "probes"));
+        } catch (CacheStoreException e) {
+            logger.fine("Image inspection results will not be saved: {0}", e.getMessage());
+            return new ImageProbeCache(null);
+        }
+    }
+
+    /**
+     * Get the key for the result of running the script in the image.
+     * The image must be available locally, because the image ID is read from the local image store.
+     * @param builder  docker/podman executable
+     * @param image    image name and tag
+     * @param platform the platform requested for the container, or null for the default platform
+     * @param script   the script that is run in the container
+     * @return the key, or null if the image ID is not known or the image is not for the requested platform
+     * @throws InterruptedException when the image inspect command is interrupted
+     */
+    public String key(String builder, String image, String platform, Path script) throws InterruptedException {
+        if (directory == null) {
+            return null;
+        }
+        String[] identity = identify(builder, image);
+        if (identity == null) {
+            return null;
+        }
+        if (!platformMatches(platform, identity[1])) {
+            // the local image store has a different platform of a multi-arch image
+            logger.fine("Image {0} is {1}, not {2}", image, identity[1], platform);
+            return null;
+        }
+        try {
+            MessageDigest digest = Utils.sha256Digest();
+            digest.update(identity[0].getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(identity[1].getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            // the content of the script, so that a new version of the script does not use old results
+            digest.update(Files.readAllBytes(script));
+            return Utils.toHex(digest.digest());
+        } catch (IOException e) {
+            logger.fine("Unable to read {0}: {1}", script, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Get the saved result for the key.
+     * @param key key returned by {@link #key(String, String, String, Path)}, may be null
+     * @return the saved properties, or null if there is no saved result
+     */
+    public Properties get(String key) {
+        if (key == null) {
+            return null;
+        }
+        Path file = directory.resolve(key + ".properties");
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        Properties result = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            result.load(in);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.fine("Ignoring unreadable image inspection result {0}: {1}", file, e.getMessage());
+            return null;
+        }
+        logger.fine("Using saved image inspection result {0}", file);
+        return result;
+    }
+
+    /**
+     * Save the result for the key.
+     * @param key key returned by {@link #key(String, String, String, Path)}, may be null
+     * @param result the properties returned by the inspection script
+     */
+    public void put(String key, Properties result) {
+        if (key == null) {
+            return;
+        }
+        Path file = directory.resolve(key + ".properties");
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    result.store(out, "Image inspection result");
+                }
+                try {
+                    Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            // the cache is an optimization, failing to update it should not fail the build
+            logger.fine("Unable to save image inspection result {0}: {1}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Read the ID and platform of an image from the local image store.
+     * @return the image ID and os/architecture, or null if the image is not available locally
+     */
+    private static String[] identify(String builder, String image) throws InterruptedException {
+        ProcessBuilder processBuilder = new ProcessBuilder(builder, "image", "inspect", "--format",
+            "{{.Id}} {{.Os}}/{{.Architecture}}", image);
+        processBuilder.redirectErrorStream(true);
+        try {
+            Process process = processBuilder.start();
+            String output;
+            try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                output = reader.lines().collect(Collectors.joining(System.lineSeparator()));
+            }
+            if (process.waitFor() != 0) {
+                logger.fine("Image {0} is not available locally: {1}", image, output);
+                return null;
+            }
+            // skip warnings written by the builder
+            for (String line : output.split("\\R")) {
+                String[] identity = parseIdentity(line);
+                if (identity != null) {
+                    return identity;
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            logger.fine("Unable to inspect image {0}: {1}", image, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Parse the output of the image inspect command.
+     * @param output the image ID and the os/architecture, separated by a space
+     * @return the image ID and os/architecture, or null if the output is not valid
+     */
+    static String[] parseIdentity(String output) {
+        if (output == null) {
+            return null;
+        }
+        String[] result = output.trim().split("\\s+");
+        if (result.length != 2 || result[0].isEmpty() || !result[1].contains("/")) {
+            return null;
+        }
+        return result;
+    }
+
+    /**
+     * Check that the image in the local image store is for the requested platform.
+     * @param requested the platform requested for the container, like linux/arm64, or null for any platform
+     * @param actual the os/architecture of the image
+     * @return true if the image is for the requested platform
+     */
+    static boolean platformMatches(String requested, String actual) {
+        if (Utils.isEmptyString(requested)) {
+            return true;
+        }
+        String[] parts = requested.trim().toLowerCase().split("/");
+        if (parts.length == 1) {
+            // only the architecture was provided
+            return actual.endsWith("/" + parts[0]);
+        }
+        // ignore the variant, like v8 in linux/arm64/v8
+        return actual.equals(parts[0] + "/" + parts[1]);
+    }
+}
@@ -1,11 +1,11 @@
-// Copyright (c) 2021, Oracle and/or its affiliates.
+// Copyright (c) 2021, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.inspect;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.AbstractMap;
-import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -14,10 +14,9 @@ import java.util.stream.Collectors;
 
 /**
  * Convert image properties to JSON.
- * This class should be replaced if/when a full JSON parser is added to the project.
  */
 public class InspectOutput {
-    private static final String PATCHES_KEY = "oraclePatches";
+    private static final String PATCHES_KEY = OracleInventory.PATCHES_KEY;
     Map<String,String> attributes;
     List<InventoryPatch> patches;
     OperatingSystemProperties os;
@@ -25,21 +24,21 @@ public class InspectOutput {
     /**
      * Convert image properties to JSON output.
      * @param imageProperties Properties from the image.
+     * @throws IOException if the Oracle inventory in the properties cannot be read
      */
-    public InspectOutput(Properties imageProperties) {
+    public InspectOutput(Properties imageProperties) throws IOException {
         // convert Properties to TreeMap (to sort attributes alphabetically)
         Map<String,String> sorted = imageProperties.entrySet().stream()
             .map(InspectOutput::convertToStringEntry)
             .filter(e -> !e.getKey().equals(PATCHES_KEY)) // do not store patches entry as a normal attribute
+            .filter(e -> !e.getKey().equals(OracleInventory.INVENTORY_KEY))
             .filter(e -> !e.getKey().startsWith("__OS__")) // do not store OS entries as a normal attribute
             .collect(Collectors.toMap(
                 Map.Entry::getKey, Map.Entry::getValue,
                 (v1, v2) -> v1, // discard duplicates, but there shouldn't be any dupes
                 TreeMap::new)); // use a sorted map
 
-        if (imageProperties.containsKey(PATCHES_KEY)) {
-            patches = InventoryPatch.parseInventoryPatches(imageProperties.get(PATCHES_KEY).toString());
-        }
+        patches = OracleInventory.getPatches(imageProperties);
 
         attributes = sorted;
         os = OperatingSystemProperties.getOperatingSystemProperties(imageProperties);
@@ -49,60 +48,49 @@ public class InspectOutput {
         return new AbstractMap.SimpleEntry<>(entry.getKey().toString(), entry.getValue().toString());
     }
 
-    @Override
-    public String toString() {
-        StringBuilder result = new StringBuilder().append("{\n");
+    /**
+     * Write the image properties as a JSON object.
+     * @param json the writer for the object
+     * @throws IOException if the JSON cannot be written
+     */
+    public void write(JsonWriter json) throws IOException {
+        json.beginObject();
         if (patches != null) {
-            result.append(pad(1)).append('\"').append(PATCHES_KEY).append('\"').append(" : [\n");
-            Iterator<InventoryPatch> patchesIter = patches.iterator();
-            while (patchesIter.hasNext()) {
-                InventoryPatch patch = patchesIter.next();
-                result.append(pad(2)).append('{').append('\n');
-                result.append(jsonKeyValuePair(3, "patch", patch.bug())).append(",\n");
-                result.append(jsonKeyValuePair(3, "description", patch.description())).append('\n');
-                result.append(pad(2)).append('}');
-                if (patchesIter.hasNext()) {
-                    result.append(',');
-                }
-                result.append('\n');
+            json.name(PATCHES_KEY).beginArray();
+            for (InventoryPatch patch : patches) {
+                json.beginObject()
+                    .member("patch", patch.bug())
+                    .member("description", patch.description())
+                    .endObject();
             }
-            result.append(pad(1)).append("],\n");
+            json.endArray();
         }
         if (os != null) {
-            result.append(pad(1)).append('\"').append("os").append('\"').append(" : {\n");
-            result.append(jsonKeyValuePair(2, "id", os.id())).append(",\n");
-            result.append(jsonKeyValuePair(2, "name", os.name())).append(",\n");
-            result.append(jsonKeyValuePair(2, "version", os.version())).append(",\n");
-            result.append(jsonKeyValuePair(2, "architecture", os.architecture()));
+            json.name("os").beginObject()
+                .member("id", os.id())
+                .member("name", os.name())
+                .member("version", os.version())
+                .member("architecture", os.architecture());
             if (os.releasePackage() != null) {
-                result.append(",\n");
-                result.append(jsonKeyValuePair(2, "releasePackage", os.releasePackage())).append("\n");
-            } else {
-                result.append("\n");
+                json.member("releasePackage", os.releasePackage());
             }
-            result.append(pad(1)).append("},");
-            result.append('\n');
+            json.endObject();
         }
-        Iterator<Map.Entry<String,String>> attributeIter = attributes.entrySet().iterator();
-        while (attributeIter.hasNext()) {
-            Map.Entry<String,String> entry = attributeIter.next();
-            result.append(jsonKeyValuePair(1, entry.getKey(), entry.getValue()));
-            if (attributeIter.hasNext()) {
-                result.append(',');
-            }
-            result.append('\n');
+        for (Map.Entry<String,String> entry : attributes.entrySet()) {
+            json.member(entry.getKey(), entry.getValue());
         }
-        result.append(pad(0)).append('}');
-        return result.toString();
+        json.endObject();
     }
 
-    private String jsonKeyValuePair(int indent, String key, String value) {
-        return new String(pad(indent)) + String.format("\"%s\" : \"%s\"", key, value);
-    }
-
-    private char[] pad(int size) {
-        char[] result = new char[size * 2];
-        Arrays.fill(result, ' ');
-        return result;
+    @Override
+    public String toString() {
+        StringWriter result = new StringWriter();
+        try {
+            write(new JsonWriter(result, true));
+        } catch (IOException e) {
+            // a StringWriter does not throw IOException
+            throw new IllegalStateException(e);
+        }
+        return result.toString();
     }
 }
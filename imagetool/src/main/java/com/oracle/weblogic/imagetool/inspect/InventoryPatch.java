@@ -1,4 +1,4 @@
-// Copyright (c) 2021, Oracle and/or its affiliates.
+// Copyright (c) 2021, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.inspect;
@@ -13,6 +13,16 @@ public class InventoryPatch {
     private String uid;
     private String description;
 
+    private InventoryPatch() {
+        // created by the parsers
+    }
+
+    InventoryPatch(String bug, String uid, String description) {
+        this.bug = bug;
+        this.uid = uid;
+        this.description = description;
+    }
+
     public String bug() {
         return bug;
     }
@@ -0,0 +1,243 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.inspect;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON parser for the image manifests and configuration in image archives.
+ * Objects are returned as a Map, arrays as a List, numbers as a Double, and literals as Boolean or null.
+ */
+class JsonParser {
+    private final String text;
+    private int index = 0;
+
+    private JsonParser(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Parse a JSON document.
+     * @param text the JSON document
+     * @return the value in the document
+     * @throws IOException if the document is not valid JSON
+     */
+    static Object parse(String text) throws IOException {
+        JsonParser parser = new JsonParser(text);
+        Object result = parser.value();
+        parser.skipWhitespace();
+        if (parser.index < text.length()) {
+            throw parser.error("Unexpected content");
+        }
+        return result;
+    }
+
+    /**
+     * Get a value from nested objects.
+     * @param value the parsed document
+     * @param names the names of the nested members
+     * @return the value, or null if the value or one of the objects that contains it does not exist
+     */
+    static Object get(Object value, String... names) {
+        Object result = value;
+        for (String name : names) {
+            if (!(result instanceof Map)) {
+                return null;
+            }
+            result = ((Map<?, ?>) result).get(name);
+        }
+        return result;
+    }
+
+    /**
+     * Get a string value from nested objects.
+     * @param value the parsed document
+     * @param names the names of the nested members
+     * @return the string, or null if the value does not exist or is not a string
+     */
+    static String getString(Object value, String... names) {
+        Object result = get(value, names);
+        return result instanceof String ? (String) result : null;
+    }
+
+    /**
+     * Get an array from nested objects.
+     * @param value the parsed document
+     * @param names the names of the nested members
+     * @return the elements of the array, or an empty list if the value does not exist or is not an array
+     */
+    static List<?> getList(Object value, String... names) {
+        Object result = get(value, names);
+        return result instanceof List ? (List<?>) result : new ArrayList<>();
+    }
+
+    private Object value() throws IOException {
+        skipWhitespace();
+        if (index >= text.length()) {
+            throw error("Unexpected end of document");
+        }
+        char c = text.charAt(index);
+        switch (c) {
+            case '{':
+                return object();
+            case '[':
+                return array();
+            case '"':
+                return string();
+            case 't':
+                return literal("true", Boolean.TRUE);
+            case 'f':
+                return literal("false", Boolean.FALSE);
+            case 'n':
+                return literal("null", null);
+            default:
+                return number();
+        }
+    }
+
+    private Map<String, Object> object() throws IOException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        index++;
+        skipWhitespace();
+        if (peek() == '}') {
+            index++;
+            return result;
+        }
+        while (true) {
+            skipWhitespace();
+            if (peek() != '"') {
+                throw error("Expected a member name");
+            }
+            String name = string();
+            skipWhitespace();
+            expect(':');
+            result.put(name, value());
+            skipWhitespace();
+            if (peek() == ',') {
+                index++;
+            } else {
+                expect('}');
+                return result;
+            }
+        }
+    }
+
+    private List<Object> array() throws IOException {
+        List<Object> result = new ArrayList<>();
+        index++;
+        skipWhitespace();
+        if (peek() == ']') {
+            index++;
+            return result;
+        }
+        while (true) {
+            result.add(value());
+            skipWhitespace();
+            if (peek() == ',') {
+                index++;
+            } else {
+                expect(']');
+                return result;
+            }
+        }
+    }
+
+    private String string() throws IOException {
+        StringBuilder result = new StringBuilder();
+        index++;
+        while (index < text.length()) {
+            char c = text.charAt(index++);
+            if (c == '"') {
+                return result.toString();
+            }
+            if (c != '\\') {
+                result.append(c);
+                continue;
+            }
+            if (index >= text.length()) {
+                break;
+            }
+            char escaped = text.charAt(index++);
+            switch (escaped) {
+                case 'b':
+                    result.append('\b');
+                    break;
+                case 'f':
+                    result.append('\f');
+                    break;
+                case 'n':
+                    result.append('\n');
+                    break;
+                case 'r':
+                    result.append('\r');
+                    break;
+                case 't':
+                    result.append('\t');
+                    break;
+                case 'u':
+                    if (index + 4 > text.length()) {
+                        throw error("Invalid unicode escape");
+                    }
+                    try {
+                        result.append((char) Integer.parseInt(text.substring(index, index + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("Invalid unicode escape");
+                    }
+                    index += 4;
+                    break;
+                default:
+                    result.append(escaped);
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    private Object literal(String word, Object value) throws IOException {
+        if (!text.startsWith(word, index)) {
+            throw error("Unexpected value");
+        }
+        index += word.length();
+        return value;
+    }
+
+    private Double number() throws IOException {
+        int start = index;
+        while (index < text.length() && "+-0123456789.eE".indexOf(text.charAt(index)) >= 0) {
+            index++;
+        }
+        try {
+            return Double.valueOf(text.substring(start, index));
+        } catch (NumberFormatException e) {
+            throw error("Unexpected value");
+        }
+    }
+
+    private char peek() throws IOException {
+        if (index >= text.length()) {
+            throw error("Unexpected end of document");
+        }
+        return text.charAt(index);
+    }
+
+    private void expect(char c) throws IOException {
+        if (peek() != c) {
+            throw error("Expected '" + c + "'");
+        }
+        index++;
+    }
+
+    private void skipWhitespace() {
+        while (index < text.length() && Character.isWhitespace(text.charAt(index))) {
+            index++;
+        }
+    }
+
+    private IOException error(String message) {
+        return new IOException("Invalid JSON: " + message + " at offset " + index);
+    }
+}
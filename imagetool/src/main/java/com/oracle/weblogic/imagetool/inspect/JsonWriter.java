@@ -0,0 +1,206 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.inspect;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Write a JSON document to a character stream, one token at a time.
+ * The compact form has no whitespace, so that each document can be written on a single line (JSON Lines).
+ * The pretty form uses the layout of the inspect command, two spaces per level and a space on both sides of the colon.
+ */
+public class JsonWriter implements Flushable {
+    private final Writer out;
+    private final boolean pretty;
+    private final Deque<Scope> scopes = new ArrayDeque<>();
+    private boolean afterName;
+
+    private static class Scope {
+        final boolean object;
+        boolean empty = true;
+
+        Scope(boolean object) {
+            this.object = object;
+        }
+    }
+
+    /**
+     * Create a JSON writer.
+     * @param out the stream to write to
+     * @param pretty true to write one value per line with indentation, false to write without whitespace
+     */
+    public JsonWriter(Writer out, boolean pretty) {
+        this.out = out;
+        this.pretty = pretty;
+    }
+
+    /**
+     * Start an object.
+     * @return this writer
+     * @throws IOException if the stream cannot be written
+     */
+    public JsonWriter beginObject() throws IOException {
+        beforeValue();
+        out.write('{');
+        scopes.push(new Scope(true));
+        return this;
+    }
+
+    /**
+     * End the current object.
+     * @return this writer
+     * @throws IOException if the stream cannot be written
+     */
+    public JsonWriter endObject() throws IOException {
+        return end(true, '}');
+    }
+
+    /**
+     * Start an array.
+     * @return this writer
+     * @throws IOException if the stream cannot be written
+     */
+    public JsonWriter beginArray() throws IOException {
+        beforeValue();
+        out.write('[');
+        scopes.push(new Scope(false));
+        return this;
+    }
+
+    /**
+     * End the current array.
+     * @return this writer
+     * @throws IOException if the stream cannot be written
+     */
+    public JsonWriter endArray() throws IOException {
+        return end(false, ']');
+    }
+
+    /**
+     * Write the name of the next member of the current object.
+     * @param name the member name
+     * @return this writer
+     * @throws IOException if the stream cannot be written
+     */
+    public JsonWriter name(String name) throws IOException {
+        Scope scope = scopes.peek();
+        if (scope == null || !scope.object || afterName) {
+            throw new IllegalStateException("A member name is only allowed in an object");
+        }
+        separator(scope);
+        string(name);
+        out.write(pretty ? " : " : ":");
+        afterName = true;
+        return this;
+    }
+
+    /**
+     * Write a string value, or null.
+     * @param value the value
+     * @return this writer
+     * @throws IOException if the stream cannot be written
+     */
+    public JsonWriter value(String value) throws IOException {
+        beforeValue();
+        if (value == null) {
+            out.write("null");
+        } else {
+            string(value);
+        }
+        return this;
+    }
+
+    /**
+     * Write a member with a string value.
+     * @param name the member name
+     * @param value the value, or null
+     * @return this writer
+     * @throws IOException if the stream cannot be written
+     */
+    public JsonWriter member(String name, String value) throws IOException {
+        return name(name).value(value);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void beforeValue() throws IOException {
+        Scope scope = scopes.peek();
+        if (afterName) {
+            afterName = false;
+        } else if (scope != null) {
+            if (scope.object) {
+                throw new IllegalStateException("A value in an object must have a member name");
+            }
+            separator(scope);
+        }
+    }
+
+    private void separator(Scope scope) throws IOException {
+        if (!scope.empty) {
+            out.write(',');
+        }
+        scope.empty = false;
+        newline(scopes.size());
+    }
+
+    private JsonWriter end(boolean object, char close) throws IOException {
+        Scope scope = scopes.peek();
+        if (scope == null || scope.object != object || afterName) {
+            throw new IllegalStateException("Nothing to close with " + close);
+        }
+        scopes.pop();
+        // the inspect output closes empty arrays on a separate line too
+        newline(scopes.size());
+        out.write(close);
+        return this;
+    }
+
+    private void newline(int depth) throws IOException {
+        if (pretty) {
+            out.write('\n');
+            for (int i = 0; i < depth; i++) {
+                out.write("  ");
+            }
+        }
+    }
+
+    private void string(String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.write("\\\"");
+                    break;
+                case '\\':
+                    out.write("\\\\");
+                    break;
+                case '\n':
+                    out.write("\\n");
+                    break;
+                case '\r':
+                    out.write("\\r");
+                    break;
+                case '\t':
+                    out.write("\\t");
+                    break;
+                default:
+                    // line separators are valid in JSON strings, but not in JavaScript
+                    if (c < 0x20 || c == 0x2028 || c == 0x2029) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+}
@@ -0,0 +1,396 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.inspect;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * The files selected from the layers of an image, with the layers applied in order like an overlay filesystem.
+ * Only the selected files are kept, so that images with a large Oracle Home can be read without extracting them.
+ * Symbolic links are kept for all paths, so that selected paths can be resolved after all layers are applied.
+ */
+class LayeredFilesystem {
+    private static final long MAX_CONTENT_SIZE = 16L * 1024 * 1024;
+    private static final String WHITEOUT = ".wh.";
+    private static final String OPAQUE_WHITEOUT = ".wh..wh..opq";
+
+    private final Selection selection;
+    private final Map<String, Node> nodes = new HashMap<>();
+    private final Map<String, String> symlinks = new HashMap<>();
+    private final List<LayerPaths> layers = new ArrayList<>();
+
+    /**
+     * The paths to keep from the layers.
+     */
+    static class Selection {
+        // regular files that are read into memory
+        final Set<String> files = new HashSet<>();
+        // paths where only the type and owner are kept
+        final Set<String> paths = new HashSet<>();
+        // directories where the type and owner of the direct children are kept
+        final Set<String> listings = new HashSet<>();
+
+        boolean readContent(String path) {
+            return files.contains(path);
+        }
+
+        boolean contains(String path) {
+            return files.contains(path) || paths.contains(path) || listings.contains(parent(path));
+        }
+
+        boolean isEmpty() {
+            return files.isEmpty() && paths.isEmpty() && listings.isEmpty();
+        }
+
+        /**
+         * Find the targets of symbolic links in the selected paths.
+         * @param filesystem the filesystem with the symbolic links of the image
+         * @return the targets that are not selected yet
+         */
+        Selection resolved(LayeredFilesystem filesystem) {
+            Selection result = new Selection();
+            resolved(files, filesystem, result.files);
+            resolved(paths, filesystem, result.paths);
+            resolved(listings, filesystem, result.listings);
+            return result;
+        }
+
+        private static void resolved(Set<String> set, LayeredFilesystem filesystem, Set<String> result) {
+            for (String path : set) {
+                String target = filesystem.resolve(path);
+                if (!set.contains(target)) {
+                    result.add(target);
+                }
+            }
+        }
+    }
+
+    /**
+     * The paths in a layer, to find the layers that must be read again for paths that were not selected.
+     * Only two bits for the hash of each path are kept, so a layer may be found for a path that it does not contain.
+     */
+    private static class LayerPaths {
+        private static final int SIZE = 1 << 21;
+
+        private final BitSet hashes = new BitSet(SIZE);
+        // whiteouts and opaque directories hide the paths below them in the lower layers
+        private final List<String> removed = new ArrayList<>();
+
+        void add(String path) {
+            int hash = path.hashCode();
+            hashes.set(hash & (SIZE - 1));
+            hashes.set((hash * 0x9e3779b9) >>> 11);
+        }
+
+        boolean mayContain(String path) {
+            int hash = path.hashCode();
+            if (hashes.get(hash & (SIZE - 1)) && hashes.get((hash * 0x9e3779b9) >>> 11)) {
+                return true;
+            }
+            for (String directory : removed) {
+                if (path.equals(directory) || path.startsWith(directory.equals("/") ? "/" : directory + "/")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A selected file, directory or link.
+     */
+    static class Node {
+        char type;
+        int uid;
+        int gid;
+        String uname;
+        String gname;
+        byte[] content;
+
+        boolean isDirectory() {
+            return type == '5';
+        }
+    }
+
+    LayeredFilesystem(Selection selection) {
+        this.selection = selection;
+    }
+
+    /**
+     * The changes of a layer to the selected paths and the symbolic links, so that a layer can be read before the
+     * lower layers are applied.
+     */
+    static class Layer {
+        private final Map<String, Node> added = new HashMap<>();
+        // hard links to files that are not in the layer, resolved when the layer is applied
+        private final Map<String, String> hardLinks = new HashMap<>();
+        private final Map<String, String> links = new HashMap<>();
+        private final Set<String> replacedLinks = new HashSet<>();
+        private final List<String> whiteouts = new ArrayList<>();
+        private final List<String> opaqueDirectories = new ArrayList<>();
+        private final LayerPaths paths = new LayerPaths();
+    }
+
+    /**
+     * Apply a layer to the filesystem.
+     * @param layer the uncompressed content of the layer
+     * @throws IOException if the layer cannot be read
+     */
+    void addLayer(InputStream layer) throws IOException {
+        apply(read(layer, symlinks::containsKey));
+    }
+
+    /**
+     * Read the selected paths and the symbolic links of a layer, without applying the layer.
+     * @param layer the uncompressed content of the layer
+     * @param lowerLinks the paths that may be symbolic links in the lower layers
+     * @return the changes of the layer
+     * @throws IOException if the layer cannot be read
+     */
+    Layer read(InputStream layer, Predicate<String> lowerLinks) throws IOException {
+        TarReader reader = new TarReader(layer);
+        Layer result = new Layer();
+        String lastParent = null;
+
+        for (TarReader.Entry entry = reader.next(); entry != null; entry = reader.next()) {
+            String path = normalize(entry.name);
+            if (path.equals("/")) {
+                continue;
+            }
+            String name = path.substring(path.lastIndexOf('/') + 1);
+            if (name.equals(OPAQUE_WHITEOUT)) {
+                result.opaqueDirectories.add(parent(path));
+                continue;
+            }
+            if (name.startsWith(WHITEOUT)) {
+                result.whiteouts.add(child(parent(path), name.substring(WHITEOUT.length())));
+                continue;
+            }
+            // the parent is kept for the listings, the entries of a directory are usually next to each other
+            result.paths.add(path);
+            if (!parent(path).equals(lastParent)) {
+                lastParent = parent(path);
+                result.paths.add(lastParent);
+            }
+
+            if (entry.isSymbolicLink()) {
+                result.links.put(path, entry.linkName);
+            } else if (lowerLinks.test(path) || result.links.containsKey(path)) {
+                result.links.remove(path);
+                result.replacedLinks.add(path);
+            }
+
+            if (selection.contains(path)) {
+                Node node = new Node();
+                node.type = entry.type;
+                node.uid = entry.uid;
+                node.gid = entry.gid;
+                node.uname = entry.uname;
+                node.gname = entry.gname;
+                if (entry.isHardLink()) {
+                    // a hard link to a file that is earlier in the same layer, or in a lower layer
+                    String target = normalize(entry.linkName);
+                    Node linked = result.added.get(target);
+                    if (linked != null) {
+                        node.type = linked.type;
+                        node.content = linked.content;
+                    } else {
+                        result.hardLinks.put(path, target);
+                    }
+                } else if (entry.isFile() && selection.readContent(path)) {
+                    node.content = reader.readContent(MAX_CONTENT_SIZE);
+                }
+                result.added.put(path, node);
+            }
+        }
+        result.paths.removed.addAll(result.whiteouts);
+        result.paths.removed.addAll(result.opaqueDirectories);
+        return result;
+    }
+
+    /**
+     * Apply a layer that was read with {@link #read}, on top of the layers that were applied before.
+     * The same layer may be applied more than once.
+     * @param layer the changes of the layer
+     */
+    void apply(Layer layer) {
+        Map<String, Node> added = new HashMap<>(layer.added);
+        for (Map.Entry<String, String> hardLink : layer.hardLinks.entrySet()) {
+            Node linked = nodes.get(hardLink.getValue());
+            if (linked != null) {
+                Node node = layer.added.get(hardLink.getKey());
+                Node copy = new Node();
+                copy.type = linked.type;
+                copy.uid = node.uid;
+                copy.gid = node.gid;
+                copy.uname = node.uname;
+                copy.gname = node.gname;
+                copy.content = linked.content;
+                added.put(hardLink.getKey(), copy);
+            }
+        }
+
+        // whiteouts hide the files in the lower layers
+        for (String path : layer.whiteouts) {
+            removeTree(path, true);
+        }
+        for (String path : layer.opaqueDirectories) {
+            removeTree(path, false);
+        }
+        symlinks.keySet().removeAll(layer.replacedLinks);
+        nodes.putAll(added);
+        symlinks.putAll(layer.links);
+        layers.add(layer.paths);
+    }
+
+    /**
+     * Find the layers that must be read to get the selected paths, in the order the layers were applied.
+     * @param selection paths that were not selected when the layers were applied
+     * @return the indexes of the layers that may contain the paths, or hide them in the lower layers
+     */
+    BitSet layersContaining(Selection selection) {
+        BitSet result = new BitSet();
+        for (int i = 0; i < layers.size(); i++) {
+            for (Set<String> set : Arrays.asList(selection.files, selection.paths, selection.listings)) {
+                for (String path : set) {
+                    if (layers.get(i).mayContain(path)) {
+                        result.set(i);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Add the selected files of another filesystem, read with a selection of the link targets of this filesystem.
+     * @param other the filesystem with the targets of the symbolic links
+     */
+    void addAll(LayeredFilesystem other) {
+        nodes.putAll(other.nodes);
+    }
+
+    private void removeTree(String path, boolean includeRoot) {
+        String prefix = path.equals("/") ? "/" : path + "/";
+        nodes.keySet().removeIf(p -> (includeRoot && p.equals(path)) || p.startsWith(prefix));
+        symlinks.keySet().removeIf(p -> (includeRoot && p.equals(path)) || p.startsWith(prefix));
+    }
+
+    /**
+     * Follow the symbolic links in the path.
+     * @param path absolute path
+     * @return the path without symbolic links
+     */
+    String resolve(String path) {
+        String result = normalize(path);
+        // the same limit as Linux, to stop at symbolic link loops
+        for (int i = 0; i < 40; i++) {
+            String next = resolveFirstLink(result);
+            if (next.equals(result)) {
+                return result;
+            }
+            result = next;
+        }
+        return result;
+    }
+
+    private String resolveFirstLink(String path) {
+        int index = 0;
+        while (index < path.length()) {
+            int end = path.indexOf('/', index + 1);
+            if (end < 0) {
+                end = path.length();
+            }
+            String prefix = path.substring(0, end);
+            String target = symlinks.get(prefix);
+            if (target != null) {
+                String resolved = target.startsWith("/") ? target : parent(prefix) + "/" + target;
+                return normalize(resolved + path.substring(end));
+            }
+            index = end;
+        }
+        return path;
+    }
+
+    /**
+     * Get the selected node for the path, following symbolic links.
+     * @param path absolute path
+     * @return the node, or null if the path does not exist or was not selected
+     */
+    Node get(String path) {
+        return nodes.get(resolve(path));
+    }
+
+    /**
+     * Get the content of a selected file, following symbolic links.
+     * @param path absolute path
+     * @return the content, or null if the file does not exist or was not selected
+     */
+    byte[] content(String path) {
+        Node node = get(path);
+        return node == null ? null : node.content;
+    }
+
+    boolean exists(String path) {
+        return get(path) != null;
+    }
+
+    /**
+     * List the direct children of a directory selected with {@link Selection#listings}.
+     * @param directory absolute path
+     * @return the names of the children
+     */
+    List<String> children(String directory) {
+        String resolved = resolve(directory);
+        List<String> result = new ArrayList<>();
+        for (String path : nodes.keySet()) {
+            if (Objects.equals(parent(path), resolved)) {
+                result.add(path.substring(path.lastIndexOf('/') + 1));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Convert a path in a tar archive, like ./u01/oracle/, to an absolute path without . and .. segments.
+     * @param path the path
+     * @return the absolute path, or / for the root
+     */
+    static String normalize(String path) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty() || segment.equals(".")) {
+                continue;
+            }
+            if (segment.equals("..")) {
+                if (!segments.isEmpty()) {
+                    segments.remove(segments.size() - 1);
+                }
+            } else {
+                segments.add(segment);
+            }
+        }
+        return "/" + String.join("/", segments);
+    }
+
+    static String parent(String path) {
+        int index = path.lastIndexOf('/');
+        return index <= 0 ? "/" : path.substring(0, index);
+    }
+
+    private static String child(String directory, String name) {
+        return directory.equals("/") ? "/" + name : directory + "/" + name;
+    }
+}
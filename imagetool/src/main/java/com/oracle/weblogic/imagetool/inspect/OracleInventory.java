@@ -0,0 +1,140 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.inspect;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Properties;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.oracle.weblogic.imagetool.logging.LoggingFacade;
+import com.oracle.weblogic.imagetool.logging.LoggingFactory;
+
+/**
+ * Reader for the patches recorded in the Oracle Home inventory, ORACLE_HOME/inventory/ContentsXML/comps.xml.
+ * Each installed patch is a ONEOFF element in the ONEOFF_LIST, with the same patch number, unique patch ID, and
+ * description that opatch lsinventory prints.
+ */
+public class OracleInventory {
+    private static final LoggingFacade logger = LoggingFactory.getLogger(OracleInventory.class);
+
+    /**
+     * Image property with the ONEOFF_LIST element of comps.xml, encoded with Base64.
+     */
+    public static final String INVENTORY_KEY = "oracleInventory";
+
+    /**
+     * Image property with the patches from opatch lsinventory, separated by semicolons.
+     */
+    public static final String PATCHES_KEY = "oraclePatches";
+
+    private static final String PATCH_LIST = "ONEOFF_LIST";
+    private static final String PATCH = "ONEOFF";
+    private static final String DESCRIPTION = "DESC";
+
+    private OracleInventory() {
+        // static methods only
+    }
+
+    /**
+     * Read the patches from comps.xml, or from the ONEOFF_LIST element of comps.xml.
+     * @param xml the inventory XML
+     * @return the installed patches, in the order of the inventory
+     * @throws IOException if the XML cannot be parsed
+     */
+    public static List<InventoryPatch> readPatches(InputStream xml) throws IOException {
+        List<InventoryPatch> result = new ArrayList<>();
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        try {
+            XMLStreamReader reader = factory.createXMLStreamReader(xml);
+            try {
+                String bug = null;
+                String uid = null;
+                String description = null;
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        String name = reader.getLocalName();
+                        if (PATCH.equals(name)) {
+                            bug = reader.getAttributeValue(null, "REF_ID");
+                            uid = reader.getAttributeValue(null, "UNIQ_ID");
+                            description = null;
+                        } else if (DESCRIPTION.equals(name) && bug != null && description == null) {
+                            description = reader.getElementText().trim();
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT && PATCH.equals(reader.getLocalName())) {
+                        // opatch lsinventory prints None for patches without a description
+                        result.add(new InventoryPatch(bug, uid,
+                            description == null || description.isEmpty() ? "None" : description));
+                        bug = null;
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Unable to read the Oracle inventory: " + e.getMessage(), e);
+        }
+        logger.fine("Found {0} patches in the Oracle inventory", result.size());
+        return result;
+    }
+
+    /**
+     * Get the ONEOFF_LIST element from the content of comps.xml, to be saved in the image properties.
+     * @param compsXml the content of comps.xml
+     * @return the ONEOFF_LIST element, or null if the inventory does not have a patch list
+     */
+    public static String extractPatchList(String compsXml) {
+        int start = compsXml.indexOf("<" + PATCH_LIST);
+        if (start < 0) {
+            return null;
+        }
+        int close = compsXml.indexOf('>', start);
+        if (close > 0 && compsXml.charAt(close - 1) == '/') {
+            // an empty patch list
+            return compsXml.substring(start, close + 1);
+        }
+        String endTag = "</" + PATCH_LIST + ">";
+        int end = compsXml.indexOf(endTag, start);
+        return end < 0 ? null : compsXml.substring(start, end + endTag.length());
+    }
+
+    /**
+     * Get the installed patches from the image properties.
+     * The patches are read from the inventory XML when the inspection found it, and from the output of
+     * opatch lsinventory otherwise.
+     * @param imageProperties the properties returned by the image inspection
+     * @return the installed patches, or null if the inspection did not include the patches
+     * @throws IOException if the inventory XML cannot be parsed
+     */
+    public static List<InventoryPatch> getPatches(Properties imageProperties) throws IOException {
+        String inventory = imageProperties.getProperty(INVENTORY_KEY);
+        if (inventory != null) {
+            byte[] xml;
+            try {
+                xml = Base64.getMimeDecoder().decode(inventory);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Unable to read the Oracle inventory: " + e.getMessage(), e);
+            }
+            if (xml.length == 0) {
+                return new ArrayList<>();
+            }
+            return readPatches(new ByteArrayInputStream(xml));
+        }
+        String oraclePatches = imageProperties.getProperty(PATCHES_KEY);
+        if (oraclePatches != null) {
+            return InventoryPatch.parseInventoryPatches(oraclePatches);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,69 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.inspect;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The parts of the script that runs in a container of an image to collect the image properties.
+ * The tiers are ordered by cost, so that a command only pays for the information that it uses.
+ */
+public enum ProbeTier {
+    /**
+     * Package manager, operating system, and the Java, Oracle Home, domain, and WDT locations from the environment.
+     */
+    ENVIRONMENT("/probe-env/probe-environment.sh"),
+    /**
+     * WebLogic version, owner, and installed products of the Oracle Home.  Starts a JVM.
+     */
+    ORACLE_HOME("/probe-env/probe-oracle-home.sh"),
+    /**
+     * OPatch version and installed patches.  Starts OPatch.
+     */
+    PATCHES("/probe-env/probe-patches.sh");
+
+    private final String resource;
+
+    ProbeTier(String resource) {
+        this.resource = resource;
+    }
+
+    /**
+     * The tiers up to and including the given tier.
+     * @param tier the most expensive tier that is needed
+     * @return the tiers
+     */
+    public static Set<ProbeTier> upTo(ProbeTier tier) {
+        return EnumSet.range(ENVIRONMENT, tier);
+    }
+
+    /**
+     * Build the inspection script for the requested tiers.  The environment tier is always included.
+     * @param tiers the requested tiers
+     * @return the content of the script
+     * @throws IOException if a script resource cannot be read
+     */
+    public static String script(Set<ProbeTier> tiers) throws IOException {
+        Set<ProbeTier> included = EnumSet.of(ENVIRONMENT);
+        included.addAll(tiers);
+        StringBuilder result = new StringBuilder();
+        for (ProbeTier tier : included) {
+            try (InputStream in = ProbeTier.class.getResourceAsStream(tier.resource)) {
+                if (in == null) {
+                    throw new IOException("Missing script resource " + tier.resource);
+                }
+                BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+                result.append(reader.lines().collect(Collectors.joining("\n"))).append('\n');
+            }
+        }
+        return result.toString();
+    }
+}
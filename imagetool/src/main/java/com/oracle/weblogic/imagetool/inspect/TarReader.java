@@ -0,0 +1,334 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.inspect;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sequential reader for tar archives, like the image layers and the output of docker save.
+ * Supports the ustar format with the GNU long name and PAX extended header extensions.
+ */
+class TarReader {
+    private static final int BLOCK = 512;
+    // GNU long names and PAX extended headers are read into memory, real archives need only a few kilobytes
+    private static final long MAX_EXTENDED_HEADER = 1024 * 1024;
+
+    private final InputStream in;
+    private long position = 0;
+    private long remaining = 0;
+    private long padding = 0;
+
+    /**
+     * A file, directory or link in the archive.
+     */
+    static class Entry {
+        String name;
+        char type;
+        long size;
+        long offset;
+        int uid;
+        int gid;
+        String uname;
+        String gname;
+        String linkName;
+
+        boolean isDirectory() {
+            return type == '5';
+        }
+
+        boolean isSymbolicLink() {
+            return type == '2';
+        }
+
+        boolean isHardLink() {
+            return type == '1';
+        }
+
+        boolean isFile() {
+            return type == '0' || type == '\0' || type == '7';
+        }
+    }
+
+    TarReader(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Move to the next entry in the archive, skipping the content of the current entry.
+     * @return the next entry, or null at the end of the archive
+     * @throws IOException if the archive cannot be read
+     */
+    Entry next() throws IOException {
+        skip(remaining + padding);
+        remaining = 0;
+        padding = 0;
+
+        String longName = null;
+        String longLinkName = null;
+        Map<String, String> pax = new HashMap<>();
+        while (true) {
+            byte[] header = new byte[BLOCK];
+            if (!readBlock(header) || isZero(header)) {
+                return null;
+            }
+            Entry entry = parseHeader(header);
+            entry.offset = position;
+            remaining = entry.size;
+            padding = (BLOCK - entry.size % BLOCK) % BLOCK;
+
+            if (entry.type == 'L' || entry.type == 'K' || entry.type == 'x' || entry.type == 'g') {
+                byte[] value = readContent(MAX_EXTENDED_HEADER);
+                skip(padding);
+                remaining = 0;
+                padding = 0;
+                if (entry.type == 'L') {
+                    longName = trimNull(new String(value, StandardCharsets.UTF_8));
+                } else if (entry.type == 'K') {
+                    longLinkName = trimNull(new String(value, StandardCharsets.UTF_8));
+                } else if (entry.type == 'x') {
+                    pax.putAll(paxRecords(value));
+                }
+                continue;
+            }
+            if (longName != null) {
+                entry.name = longName;
+            }
+            if (longLinkName != null) {
+                entry.linkName = longLinkName;
+            }
+            applyPax(entry, pax);
+            return entry;
+        }
+    }
+
+    /**
+     * The content of the current entry.  The stream ends at the end of the entry, and closing the stream does not
+     * close the archive.
+     * @return the content of the current entry
+     */
+    InputStream content() {
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int result = super.read();
+                if (result >= 0) {
+                    remaining--;
+                    position++;
+                }
+                return result;
+            }
+
+            @Override
+            public int read(byte[] buffer, int off, int len) throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int result = super.read(buffer, off, (int) Math.min(len, remaining));
+                if (result > 0) {
+                    remaining -= result;
+                    position += result;
+                }
+                return result;
+            }
+
+            @Override
+            public long skip(long count) throws IOException {
+                long skipped = super.skip(Math.min(count, remaining));
+                remaining -= skipped;
+                position += skipped;
+                return skipped;
+            }
+
+            @Override
+            public int available() throws IOException {
+                return (int) Math.min(super.available(), remaining);
+            }
+
+            @Override
+            public boolean markSupported() {
+                return false;
+            }
+
+            @Override
+            public void close() {
+                // the archive stream is closed by the owner of the reader
+            }
+        };
+    }
+
+    /**
+     * Read the content of the current entry into memory.
+     * @param limit the maximum size of the content
+     * @return the content
+     * @throws IOException if the entry is larger than the limit, or cannot be read
+     */
+    byte[] readContent(long limit) throws IOException {
+        if (remaining > limit) {
+            throw new IOException("Archive entry is larger than " + limit + " bytes");
+        }
+        ByteArrayOutputStream result = new ByteArrayOutputStream((int) remaining);
+        InputStream content = content();
+        byte[] buffer = new byte[8192];
+        for (int read = content.read(buffer); read >= 0; read = content.read(buffer)) {
+            result.write(buffer, 0, read);
+        }
+        if (remaining > 0) {
+            throw new EOFException("Unexpected end of archive");
+        }
+        return result.toByteArray();
+    }
+
+    private boolean readBlock(byte[] block) throws IOException {
+        int total = 0;
+        while (total < block.length) {
+            int read = in.read(block, total, block.length - total);
+            if (read < 0) {
+                if (total == 0) {
+                    return false;
+                }
+                throw new EOFException("Unexpected end of archive");
+            }
+            total += read;
+        }
+        position += total;
+        return true;
+    }
+
+    private void skip(long count) throws IOException {
+        long left = count;
+        while (left > 0) {
+            long skipped = in.skip(left);
+            if (skipped <= 0) {
+                if (in.read() < 0) {
+                    throw new EOFException("Unexpected end of archive");
+                }
+                skipped = 1;
+            }
+            left -= skipped;
+        }
+        position += count;
+    }
+
+    private static Entry parseHeader(byte[] header) throws IOException {
+        Entry entry = new Entry();
+        entry.name = string(header, 0, 100);
+        entry.uid = (int) number(header, 108, 8);
+        entry.gid = (int) number(header, 116, 8);
+        entry.size = number(header, 124, 12);
+        entry.type = (char) header[156];
+        entry.linkName = string(header, 157, 100);
+        if ("ustar".equals(string(header, 257, 6).trim())) {
+            entry.uname = string(header, 265, 32);
+            entry.gname = string(header, 297, 32);
+            String prefix = string(header, 345, 155);
+            if (!prefix.isEmpty()) {
+                entry.name = prefix + "/" + entry.name;
+            }
+        }
+        return entry;
+    }
+
+    private static String string(byte[] header, int offset, int length) {
+        int end = offset;
+        while (end < offset + length && header[end] != 0) {
+            end++;
+        }
+        return new String(header, offset, end - offset, StandardCharsets.UTF_8);
+    }
+
+    private static long number(byte[] header, int offset, int length) throws IOException {
+        if ((header[offset] & 0x80) != 0) {
+            // GNU base-256 encoding for large values
+            long result = header[offset] & 0x7f;
+            for (int i = offset + 1; i < offset + length; i++) {
+                result = (result << 8) | (header[i] & 0xff);
+            }
+            return result;
+        }
+        String value = string(header, offset, length).trim();
+        if (value.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(value, 8);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid tar header: " + value, e);
+        }
+    }
+
+    private static boolean isZero(byte[] block) {
+        for (byte b : block) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String trimNull(String value) {
+        int end = value.indexOf('\0');
+        return end < 0 ? value : value.substring(0, end);
+    }
+
+    private void applyPax(Entry entry, Map<String, String> pax) throws IOException {
+        if (pax.containsKey("path")) {
+            entry.name = pax.get("path");
+        }
+        if (pax.containsKey("linkpath")) {
+            entry.linkName = pax.get("linkpath");
+        }
+        if (pax.containsKey("size")) {
+            // the size field of the header is limited to 8 GiB, larger entries have the size in the PAX header
+            try {
+                entry.size = Long.parseLong(pax.get("size"));
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid PAX size: " + pax.get("size"), e);
+            }
+            remaining = entry.size;
+            padding = (BLOCK - entry.size % BLOCK) % BLOCK;
+        }
+    }
+
+    /**
+     * Parse PAX extended header records, formatted as "length key=value\n".  The length is the number of bytes in
+     * the record, including the length itself and the newline, so values may contain newlines.
+     */
+    static Map<String, String> paxRecords(byte[] content) throws IOException {
+        Map<String, String> result = new HashMap<>();
+        int start = 0;
+        while (start < content.length && content[start] != 0) {
+            int space = start;
+            while (space < content.length && content[space] != ' ') {
+                space++;
+            }
+            int end;
+            try {
+                end = start + Integer.parseInt(new String(content, start, space - start, StandardCharsets.US_ASCII));
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid PAX extended header record at byte " + start, e);
+            }
+            if (end <= space || end > content.length || content[end - 1] != '\n') {
+                throw new IOException("Invalid PAX extended header record at byte " + start);
+            }
+            String record = new String(content, space + 1, end - space - 2, StandardCharsets.UTF_8);
+            int equals = record.indexOf('=');
+            if (equals <= 0) {
+                throw new IOException("Invalid PAX extended header record at byte " + start);
+            }
+            result.put(record.substring(0, equals), record.substring(equals + 1));
+            start = end;
+        }
+        return result;
+    }
+}
@@ -1,4 +1,4 @@
-// Copyright (c) 2019, 2024, Oracle and/or its affiliates.
+// Copyright (c) 2019, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.installer;
@@ -19,6 +19,7 @@ import com.oracle.weblogic.imagetool.cachestore.CacheStore;
 import com.oracle.weblogic.imagetool.logging.LoggingFacade;
 import com.oracle.weblogic.imagetool.logging.LoggingFactory;
 import com.oracle.weblogic.imagetool.util.Architecture;
+import com.oracle.weblogic.imagetool.util.StagingMode;
 import com.oracle.weblogic.imagetool.util.Utils;
 
 public class MiddlewareInstall {
@@ -80,9 +81,20 @@ public class MiddlewareInstall {
      * @throws IOException if any of the copy commands fails.
      */
     public void copyFiles(CacheStore cacheStore, String buildContextDir) throws IOException {
-        logger.entering();
+        copyFiles(cacheStore, buildContextDir, StagingMode.COPY);
+    }
+
+    /**
+     * Place all necessary installers into the build context directory.
+     * @param cacheStore cache where the installers are defined.
+     * @param buildContextDir the directory where the installers should be placed.
+     * @param stagingMode how the installers are placed into the directory, like a hard link or a copy.
+     * @throws IOException if any of the installers could not be placed into the directory.
+     */
+    public void copyFiles(CacheStore cacheStore, String buildContextDir, StagingMode stagingMode) throws IOException {
+        logger.entering(stagingMode);
         for (MiddlewareInstallPackage installPackage: installerFiles) {
-            Path filePath = installPackage.installer.copyFile(cacheStore, buildContextDir);
+            Path filePath = installPackage.installer.copyFile(cacheStore, buildContextDir, stagingMode);
             installPackage.installerFilename = filePath.getFileName().toString();
             installPackage.jarName = getJarNameFromInstaller(filePath);
             installPackage.isZip = installPackage.installerFilename.endsWith(".zip");
@@ -1,8 +1,9 @@
-// Copyright (c) 2019, 2021, Oracle and/or its affiliates.
+// Copyright (c) 2019, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.logging;
 
+import java.util.List;
 import java.util.Map;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.FileHandler;
@@ -17,6 +18,8 @@ import org.w3c.dom.Document;
 public class LoggingFacade {
 
     private static final String CLASS = LoggingFacade.class.getName();
+    // the messages of a thread that are held back, so that they are not mixed with the messages of other threads
+    private static final ThreadLocal<List<Runnable>> deferredMessages = new ThreadLocal<>();
     private final Logger logger;
 
     /**
@@ -39,6 +42,31 @@ public class LoggingFacade {
         }
     }
 
+    /**
+     * Hold the messages logged by the current thread, at every level, instead of logging them.
+     * Concurrent tasks use this to report their messages together, in a predictable order, after the task ends.
+     * @param messages the list that receives the held messages, run each entry to log the message
+     */
+    public static void deferMessages(List<Runnable> messages) {
+        deferredMessages.set(messages);
+    }
+
+    /**
+     * Stop holding the messages logged by the current thread.
+     */
+    public static void endDeferral() {
+        deferredMessages.remove();
+    }
+
+    private static void publish(Runnable message) {
+        List<Runnable> deferred = deferredMessages.get();
+        if (deferred == null) {
+            message.run();
+        } else {
+            deferred.add(message);
+        }
+    }
+
     /**
      * Logs a message at the CONFIG level.
      *
@@ -47,7 +75,7 @@ public class LoggingFacade {
     public void config(String msg) {
         if (isConfigEnabled()) {
             CallerDetails details = inferCaller();
-            logger.logp(Level.CONFIG, details.clazz, details.method, msg);
+            publish(() -> logger.logp(Level.CONFIG, details.clazz, details.method, msg));
         }
     }
 
@@ -60,7 +88,7 @@ public class LoggingFacade {
     public void config(String msg, Object... params) {
         if (isConfigEnabled()) {
             CallerDetails details = inferCaller();
-            logger.logp(Level.CONFIG, details.clazz, details.method, msg, params);
+            publish(() -> logger.logp(Level.CONFIG, details.clazz, details.method, msg, params));
         }
     }
 
@@ -73,7 +101,7 @@ public class LoggingFacade {
     public void config(String msg, Throwable thrown) {
         if (isConfigEnabled()) {
             CallerDetails details = inferCaller();
-            logger.logp(Level.CONFIG, details.clazz, details.method, msg, thrown);
+            publish(() -> logger.logp(Level.CONFIG, details.clazz, details.method, msg, thrown));
         }
     }
 
@@ -81,7 +109,7 @@ public class LoggingFacade {
     public void entering() {
         if (isFinerEnabled()) {
             CallerDetails details = inferCaller();
-            logger.entering(details.clazz, details.method);
+            publish(() -> logger.entering(details.clazz, details.method));
         }
     }
 
@@ -96,7 +124,7 @@ public class LoggingFacade {
     public void entering(Object... params) {
         if (isFinerEnabled()) {
             CallerDetails details = inferCaller();
-            logger.entering(details.clazz, details.method, params);
+            publish(() -> logger.entering(details.clazz, details.method, params));
         }
     }
 
@@ -104,7 +132,7 @@ public class LoggingFacade {
     public void exiting() {
         if (isFinerEnabled()) {
             CallerDetails details = inferCaller();
-            logger.exiting(details.clazz, details.method);
+            publish(() -> logger.exiting(details.clazz, details.method));
         }
     }
 
@@ -116,7 +144,7 @@ public class LoggingFacade {
     public void exiting(Object result) {
         if (isFinerEnabled()) {
             CallerDetails details = inferCaller();
-            logger.exiting(details.clazz, details.method, result);
+            publish(() -> logger.exiting(details.clazz, details.method, result));
         }
     }
 
@@ -128,7 +156,7 @@ public class LoggingFacade {
     public void fine(String msg) {
         if (isFineEnabled()) {
             CallerDetails details = inferCaller();
-            logger.logp(Level.FINE, details.clazz, details.method, msg);
+            publish(() -> logger.logp(Level.FINE, details.clazz, details.method, msg));
         }
     }
 
@@ -141,7 +169,7 @@ public class LoggingFacade {
     public void fine(String msg, Object... params) {
         if (isFineEnabled()) {
             CallerDetails details = inferCaller();
-            logger.logp(Level.FINE, details.clazz, details.method, msg, params);
+            publish(() -> logger.logp(Level.FINE, details.clazz, details.method, msg, params));
         }
     }
 
@@ -154,7 +182,7 @@ public class LoggingFacade {
     public void fine(String msg, Throwable thrown) {
         if (isFineEnabled()) {
             CallerDetails details = inferCaller();
-            logger.logp(Level.FINE, details.clazz, details.method, msg, thrown);
+            publish(() -> logger.logp(Level.FINE, details.clazz, details.method, msg, thrown));
         }
     }
 
@@ -166,7 +194,7 @@ public class LoggingFacade {
     public void finer(String msg) {
         if (isFinerEnabled()) {
             CallerDetails details = inferCaller();
-            logger.logp(Level.FINER, details.clazz, details.method, msg);
+            publish(() -> logger.logp(Level.FINER, details.clazz, details.method, msg));
         }
     }
 
@@ -179,7 +207,7 @@ public class LoggingFacade {
     public void finer(String msg, Object... params) {
         if (isFinerEnabled()) {
             CallerDetails details = inferCaller();
-            logger.logp(Level.FINER, details.clazz, details.method, msg, params);
+            publish(() -> logger.logp(Level.FINER, details.clazz, details.method, msg, params));
         }
     }
 
@@ -192,7 +220,7 @@ public class LoggingFacade {
     public void finer(String msg, Throwable thrown) {
         if (isFinerEnabled()) {
             CallerDetails details = inferCaller();
-            logger.logp(Level.FINER, details.clazz, details.method, msg, thrown);
+            publish(() -> logger.logp(Level.FINER, details.clazz, details.method, msg, thrown));
         }
     }
 
@@ -206,7 +234,7 @@ public class LoggingFacade {
             CallerDetails details = inferCaller();
             StringBuilder builder = new StringBuilder();
             map.forEach((k, v) -> builder.append(k).append("=").append(v).append(";"));
-            logger.logp(Level.FINER, details.clazz, details.method, builder.toString());
+            publish(() -> logger.logp(Level.FINER, details.clazz, details.method, builder.toString()));
         }
     }
 
@@ -218,7 +246,7 @@ public class LoggingFacade {
     public void finest(Document msg) {
         if (isFinestEnabled()) {
             CallerDetails details = inferCaller();
-            logger.logp(Level.FINEST, details.clazz, details.method, XPathUtil.prettyPrint(msg));
+            publish(() -> logger.logp(Level.FINEST, details.clazz, details.method, XPathUtil.prettyPrint(msg)));
         }
     }
 
@@ -230,7 +258,7 @@ public class LoggingFacade {
     public void finest(String msg) {
         if (isFinestEnabled()) {
             CallerDetails details = inferCaller();
-            logger.logp(Level.FINEST, details.clazz, details.method, msg);
+            publish(() -> logger.logp(Level.FINEST, details.clazz, details.method, msg));
         }
     }
 
@@ -243,7 +271,7 @@ public class LoggingFacade {
     public void finest(String msg, Object... params) {
         if (isFinestEnabled()) {
             CallerDetails details = inferCaller();
-            logger.logp(Level.FINEST, details.clazz, details.method, msg, params);
+            publish(() -> logger.logp(Level.FINEST, details.clazz, details.method, msg, params));
         }
     }
 
@@ -256,7 +284,7 @@ public class LoggingFacade {
     public void finest(String msg, Throwable thrown) {
         if (isFinestEnabled()) {
             CallerDetails details = inferCaller();
-            logger.logp(Level.FINEST, details.clazz, details.method, msg, thrown);
+            publish(() -> logger.logp(Level.FINEST, details.clazz, details.method, msg, thrown));
         }
     }
 
@@ -307,7 +335,7 @@ public class LoggingFacade {
     public void info(String msg) {
         if (isInfoEnabled()) {
             CallerDetails details = inferCaller();
-            logger.logp(Level.INFO, details.clazz, details.method, msg);
+            publish(() -> logger.logp(Level.INFO, details.clazz, details.method, msg));
         }
     }
 
@@ -320,7 +348,7 @@ public class LoggingFacade {
     public void info(String msg, Object... params) {
         if (isInfoEnabled()) {
             CallerDetails details = inferCaller();
-            logger.logp(Level.INFO, details.clazz, details.method, msg, params);
+            publish(() -> logger.logp(Level.INFO, details.clazz, details.method, msg, params));
         }
     }
 
@@ -333,7 +361,7 @@ public class LoggingFacade {
     public void info(String msg, Throwable thrown) {
         if (isInfoEnabled()) {
             CallerDetails details = inferCaller();
-            logger.logp(Level.INFO, details.clazz, details.method, msg, thrown);
+            publish(() -> logger.logp(Level.INFO, details.clazz, details.method, msg, thrown));
         }
     }
 
@@ -420,7 +448,7 @@ public class LoggingFacade {
     public void log(Level level, String msg) {
         if (isLoggable(level)) {
             CallerDetails details = inferCaller();
-            logger.logp(level, details.clazz, details.method, msg);
+            publish(() -> logger.logp(level, details.clazz, details.method, msg));
         }
     }
 
@@ -437,7 +465,7 @@ public class LoggingFacade {
     public void log(Level level, String msg, Object... params) {
         if (isLoggable(level)) {
             CallerDetails details = inferCaller();
-            logger.logp(level, details.clazz, details.method, msg, params);
+            publish(() -> logger.logp(level, details.clazz, details.method, msg, params));
         }
     }
 
@@ -452,7 +480,7 @@ public class LoggingFacade {
     public void log(Level level, String msg, Throwable thrown) {
         if (isLoggable(level)) {
             CallerDetails details = inferCaller();
-            logger.logp(level, details.clazz, details.method, msg, thrown);
+            publish(() -> logger.logp(level, details.clazz, details.method, msg, thrown));
         }
     }
 
@@ -464,7 +492,7 @@ public class LoggingFacade {
     public void severe(String msg) {
         if (isSevereEnabled()) {
             CallerDetails details = inferCaller();
-            logger.logp(Level.SEVERE, details.clazz, details.method, msg);
+            publish(() -> logger.logp(Level.SEVERE, details.clazz, details.method, msg));
         }
     }
 
@@ -477,7 +505,7 @@ public class LoggingFacade {
     public void severe(String msg, Object... params) {
         if (isSevereEnabled()) {
             CallerDetails details = inferCaller();
-            logger.logp(Level.SEVERE, details.clazz, details.method, msg, params);
+            publish(() -> logger.logp(Level.SEVERE, details.clazz, details.method, msg, params));
         }
     }
 
@@ -490,7 +518,7 @@ public class LoggingFacade {
     public void severe(String msg, Throwable thrown) {
         if (isSevereEnabled()) {
             CallerDetails details = inferCaller();
-            logger.logp(Level.SEVERE, details.clazz, details.method, msg, thrown);
+            publish(() -> logger.logp(Level.SEVERE, details.clazz, details.method, msg, thrown));
         }
     }
 
@@ -502,7 +530,7 @@ public class LoggingFacade {
     public <T extends Throwable> T throwing(T pending) {
         if (isFinerEnabled()) {
             CallerDetails details = inferCaller();
-            logger.throwing(details.clazz, details.method, pending);
+            publish(() -> logger.throwing(details.clazz, details.method, pending));
         }
         return pending;
     }
@@ -515,7 +543,7 @@ public class LoggingFacade {
     public void warning(String msg) {
         if (isWarningEnabled()) {
             CallerDetails details = inferCaller();
-            logger.logp(Level.WARNING, details.clazz, details.method, msg);
+            publish(() -> logger.logp(Level.WARNING, details.clazz, details.method, msg));
         }
     }
 
@@ -528,7 +556,7 @@ public class LoggingFacade {
     public void warning(String msg, Object... params) {
         if (isWarningEnabled()) {
             CallerDetails details = inferCaller();
-            logger.logp(Level.WARNING, details.clazz, details.method, msg, params);
+            publish(() -> logger.logp(Level.WARNING, details.clazz, details.method, msg, params));
         }
     }
 
@@ -542,7 +570,7 @@ public class LoggingFacade {
     public void warning(String msg, Throwable thrown) {
         if (isWarningEnabled()) {
             CallerDetails details = inferCaller();
-            logger.logp(Level.WARNING, details.clazz, details.method, msg, thrown);
+            publish(() -> logger.logp(Level.WARNING, details.clazz, details.method, msg, thrown));
         }
     }
 
@@ -0,0 +1,46 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.util;
+
+import org.apache.hc.client5.http.HttpResponseException;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpResponse;
+
+/**
+ * An HTTP response with an unexpected status, with the wait that the server requested before the next request.
+ */
+public class HttpStatusException extends HttpResponseException {
+    private final long retryAfter;
+
+    /**
+     * Create an exception for an unexpected HTTP status.
+     * @param statusCode the HTTP status code
+     * @param reasonPhrase the reason phrase of the response
+     * @param retryAfter the wait in milliseconds requested by the server, or 0
+     */
+    public HttpStatusException(int statusCode, String reasonPhrase, long retryAfter) {
+        super(statusCode, reasonPhrase);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Create an exception for the status of a response, including the Retry-After header of the response.
+     * @param response the HTTP response
+     * @return the new exception
+     */
+    public static HttpStatusException of(HttpResponse response) {
+        Header header = response.getFirstHeader(HttpHeaders.RETRY_AFTER);
+        return new HttpStatusException(response.getCode(), response.getReasonPhrase(),
+            RetryPolicy.parseRetryAfter(header == null ? null : header.getValue()));
+    }
+
+    /**
+     * The wait requested by the server with a Retry-After header.
+     * @return the wait in milliseconds, or 0 if the server did not ask for a wait
+     */
+    public long getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -5,10 +5,13 @@ package com.oracle.weblogic.imagetool.util;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InterruptedIOException;
 import java.io.StringReader;
-import java.net.UnknownHostException;
-import javax.net.ssl.SSLException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -17,23 +20,27 @@ import javax.xml.parsers.ParserConfigurationException;
 import com.oracle.weblogic.imagetool.logging.LoggingFacade;
 import com.oracle.weblogic.imagetool.logging.LoggingFactory;
 import org.apache.hc.client5.http.ClientProtocolException;
-import org.apache.hc.client5.http.HttpRequestRetryStrategy;
 import org.apache.hc.client5.http.auth.AuthScope;
 import org.apache.hc.client5.http.auth.UsernamePasswordCredentials;
 import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.cookie.BasicCookieStore;
 import org.apache.hc.client5.http.cookie.StandardCookieSpec;
 import org.apache.hc.client5.http.entity.mime.MultipartEntityBuilder;
+import org.apache.hc.client5.http.fluent.Content;
+import org.apache.hc.client5.http.fluent.ContentResponseHandler;
 import org.apache.hc.client5.http.fluent.Executor;
 import org.apache.hc.client5.http.fluent.Request;
-import org.apache.hc.client5.http.impl.DefaultHttpRequestRetryStrategy;
 import org.apache.hc.client5.http.impl.auth.BasicCredentialsProvider;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
-import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.ClassicHttpResponse;
 import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.core5.http.HttpHost;
-import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.io.CloseMode;
 import org.apache.hc.core5.util.TimeValue;
 import org.apache.hc.core5.util.Timeout;
 import org.w3c.dom.Document;
@@ -44,6 +51,26 @@ public class HttpUtil {
 
     private static final LoggingFacade logger = LoggingFactory.getLogger(HttpUtil.class);
     private static final Timeout REQUEST_TIMEOUT = Timeout.ofSeconds(30);
+    private static final TimeValue IDLE_CONNECTION_TIMEOUT = TimeValue.ofSeconds(60);
+
+    public static final String MAX_CONNECTIONS_ENV = "WLSIMG_HTTP_MAX_CONNECTIONS";
+    private static final int DEFAULT_MAX_CONNECTIONS = 16;
+
+    // like the handler of returnContent(), but keeps the Retry-After of a failed response for the retry policy
+    private static final ContentResponseHandler CONTENT_HANDLER = new ContentResponseHandler() {
+        @Override
+        public Content handleResponse(ClassicHttpResponse response) throws IOException {
+            if (response.getCode() >= HttpStatus.SC_REDIRECTION) {
+                EntityUtils.consume(response.getEntity());
+                throw HttpStatusException.of(response);
+            }
+            return super.handleResponse(response);
+        }
+    };
+
+    // one client per set of credentials, so that connections and login cookies are reused between requests
+    private static final Map<String, CloseableHttpClient> sharedClients = new HashMap<>();
+    private static boolean shutdownHookAdded = false;
 
     private HttpUtil() {
         // utility class with static methods
@@ -56,7 +83,7 @@ public class HttpUtil {
      * @return a new instance of a DocumentBuilder
      * @throws ParserConfigurationException if the underlying JVM XML parser configuration throws an error
      */
-    public static DocumentBuilder documentBuilder() throws ParserConfigurationException {
+    public static synchronized DocumentBuilder documentBuilder() throws ParserConfigurationException {
         if (builderFactory == null) {
             builderFactory = DocumentBuilderFactory.newInstance();
             // Prevent XXE attacks
@@ -109,7 +136,7 @@ public class HttpUtil {
         logger.entering(url);
         String xmlString = getHttpExecutor(username, password)
             .execute(Request.get(url).connectTimeout(REQUEST_TIMEOUT).responseTimeout(REQUEST_TIMEOUT))
-            .returnContent().asString();
+            .handleResponse(CONTENT_HANDLER).asString();
         logger.finest(xmlString);
         logger.exiting();
         return parseXml(xmlString);
@@ -129,9 +156,20 @@ public class HttpUtil {
 
         BasicCookieStore cookieStore = new BasicCookieStore();
 
+        int maxConnections = Utils.getEnvironmentProperty(MAX_CONNECTIONS_ENV, DEFAULT_MAX_CONNECTIONS, 1);
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnPerRoute(maxConnections)
+            .setMaxConnTotal(maxConnections * 2)
+            .useSystemProperties()
+            .build();
+
         HttpClientBuilder builder = HttpClientBuilder.create()
             .setDefaultRequestConfig(config.build())
-            .setRetryStrategy(retryHandler())
+            .setConnectionManager(connectionManager)
+            .evictExpiredConnections()
+            .evictIdleConnections(IDLE_CONNECTION_TIMEOUT)
+            // failed requests are retried by the caller, using one retry policy for the whole operation
+            .disableAutomaticRetries()
             .setUserAgent("Wget/1.10")
             .setDefaultCookieStore(cookieStore).useSystemProperties();
 
@@ -147,6 +185,56 @@ public class HttpUtil {
         return result;
     }
 
+    /**
+     * Get the shared HTTP client for the credentials, creating it on first use.
+     * Reusing the client keeps connections to Oracle open between requests, instead of a new TCP connection and
+     * TLS handshake for every request.
+     * @param userId Oracle credential
+     * @param password Oracle credential
+     * @return the HTTP client for the credentials, which must not be closed by the caller
+     */
+    static CloseableHttpClient getSharedClient(String userId, String password) {
+        String key = clientKey(userId, password);
+        synchronized (sharedClients) {
+            CloseableHttpClient client = sharedClients.get(key);
+            if (client == null) {
+                if (sharedClients.isEmpty() && !shutdownHookAdded) {
+                    Runtime.getRuntime().addShutdownHook(new Thread(HttpUtil::closeClients, "http-client-close"));
+                    shutdownHookAdded = true;
+                }
+                client = getOraClient(userId, password);
+                sharedClients.put(key, client);
+            }
+            return client;
+        }
+    }
+
+    /**
+     * Close the shared HTTP clients and their open connections.
+     * A client is created again if another request is made after this call.
+     */
+    public static void closeClients() {
+        List<CloseableHttpClient> clients;
+        synchronized (sharedClients) {
+            clients = new ArrayList<>(sharedClients.values());
+            sharedClients.clear();
+        }
+        for (CloseableHttpClient client : clients) {
+            client.close(CloseMode.GRACEFUL);
+        }
+        logger.fine("Closed {0} HTTP clients", clients.size());
+    }
+
+    private static String clientKey(String userId, String password) {
+        if (userId == null || password == null) {
+            return "";
+        }
+        // avoid keeping another copy of the password in memory
+        MessageDigest digest = Utils.sha256Digest();
+        digest.update(password.getBytes(StandardCharsets.UTF_8));
+        return userId + ":" + Utils.toHex(digest.digest());
+    }
+
     /**
      * Return a Executor for http access.
      * @param supportUserName  oracle support username
@@ -160,7 +248,7 @@ public class HttpUtil {
         String proxyPassword = System.getProperty("https.proxyPassword");
         String proxyHost = System.getProperty("https.proxyHost");
         String proxyPort  = System.getProperty("https.proxyPort");
-        Executor executor = Executor.newInstance(getOraClient(supportUserName, supportPassword));
+        Executor executor = Executor.newInstance(getSharedClient(supportUserName, supportPassword));
 
 
         if (proxyHost != null) {
@@ -181,38 +269,6 @@ public class HttpUtil {
         return executor;
     }
 
-    private static HttpRequestRetryStrategy retryHandler() {
-        return new DefaultHttpRequestRetryStrategy(10, TimeValue.ofSeconds(2)) {
-            @Override
-            public boolean retryRequest(HttpRequest request, IOException exception, int executionCount,
-                                        org.apache.hc.core5.http.protocol.HttpContext context) {
-                if (exception instanceof InterruptedIOException) {
-                    return false;
-                }
-                if (exception instanceof UnknownHostException) {
-                    return false;
-                }
-                if (exception instanceof SSLException) {
-                    return false;
-                }
-                boolean retriable = !(request instanceof ClassicHttpRequest)
-                    || ((ClassicHttpRequest) request).getEntity() == null;
-                if (retriable) {
-                    long waitTime = executionCount < 5 ? 2 : 10;
-                    logger.warning("Connect failed, retrying in {0} seconds, attempts={1} ", waitTime, executionCount);
-                }
-                return retriable && super.retryRequest(request, exception, executionCount, context);
-            }
-
-            @Override
-            public TimeValue getRetryInterval(org.apache.hc.core5.http.HttpResponse response,
-                                              int execCount,
-                                              org.apache.hc.core5.http.protocol.HttpContext context) {
-                return execCount < 5 ? TimeValue.ofSeconds(2) : TimeValue.ofSeconds(10);
-            }
-        };
-    }
-
     /**
      * Check conflicts post method.
      *
@@ -236,43 +292,21 @@ public class HttpUtil {
 
         // Has to do search first, otherwise results in 302
         // MUST use the same httpExecutor to maintain session
-
-
-        boolean complete = false;
-        int count = 0;
-        String xmlString = null;
-
-        while (!complete) {
-            try {
-                httpExecutor
-                    .execute(Request.get(Constants.REL_URL).connectTimeout(REQUEST_TIMEOUT)
-                        .responseTimeout(REQUEST_TIMEOUT))
-                    .returnContent().asString();
-
-                HttpEntity entity = MultipartEntityBuilder.create()
-                    .addTextBody("request_xml", payload)
-                    .build();
-
-                xmlString =
-                    httpExecutor.execute(Request.post(url).connectTimeout(REQUEST_TIMEOUT)
-                        .responseTimeout(REQUEST_TIMEOUT)
-                        .body(entity))
-                        .returnContent().asString();
-                complete = true;
-            } catch (IOException ioe) {
-                if (++count > 10) {
-                    complete = true;
-                } else {
-                    logger.warning("Network connection failed, retrying in 10 seconds, attempts={0} ", count);
-                    try {
-                        Thread.sleep(10000);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
-                }
-
-            }
-        }
+        // A failed request is retried by the caller
+        httpExecutor
+            .execute(Request.get(Constants.REL_URL).connectTimeout(REQUEST_TIMEOUT)
+                .responseTimeout(REQUEST_TIMEOUT))
+            .handleResponse(CONTENT_HANDLER).asString();
+
+        HttpEntity entity = MultipartEntityBuilder.create()
+            .addTextBody("request_xml", payload)
+            .build();
+
+        String xmlString =
+            httpExecutor.execute(Request.post(url).connectTimeout(REQUEST_TIMEOUT)
+                .responseTimeout(REQUEST_TIMEOUT)
+                .body(entity))
+                .handleResponse(CONTENT_HANDLER).asString();
         logger.exiting();
         return parseXml(xmlString);
 
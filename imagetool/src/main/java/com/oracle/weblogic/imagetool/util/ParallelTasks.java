@@ -0,0 +1,149 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.oracle.weblogic.imagetool.logging.LoggingFacade;
+import com.oracle.weblogic.imagetool.logging.LoggingFactory;
+
+/**
+ * A bounded pool of worker threads for running independent tasks, like patch downloads, concurrently.
+ * Results are always collected in submission order so that callers can keep deterministic ordering.
+ */
+public class ParallelTasks implements AutoCloseable {
+    private static final LoggingFacade logger = LoggingFactory.getLogger(ParallelTasks.class);
+
+    private final ExecutorService executor;
+
+    /**
+     * Create a pool of worker threads.
+     * @param name prefix for the worker thread names
+     * @param parallelism the maximum number of tasks to run at the same time
+     */
+    public ParallelTasks(String name, int parallelism) {
+        AtomicInteger count = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Submit a task to the pool.
+     * @param task the task to run
+     * @param <T> the type of result returned by the task
+     * @return the Future for the submitted task
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        return executor.submit(task);
+    }
+
+    /**
+     * Cancel all tasks that have not finished, and interrupt the tasks that are running.
+     */
+    public void cancel() {
+        logger.fine("Cancelling outstanding tasks");
+        executor.shutdownNow();
+    }
+
+    /**
+     * Wait for the tasks that are running to finish, after the tasks were cancelled.
+     * @param timeout the longest time to wait, in milliseconds
+     * @return true if all tasks finished, false if the timeout elapsed first
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    public boolean awaitTermination(long timeout) throws InterruptedException {
+        return executor.awaitTermination(timeout, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Wait for all the provided tasks to finish, and return their results in the same order as the list of futures.
+     * This method does not return early when a task fails, so that every failure can be reported.
+     * The first failure is thrown, and all subsequent failures are added to it as suppressed exceptions.
+     *
+     * @param futures the tasks to wait for
+     * @param <T> the type of result returned by the tasks
+     * @return the results of the tasks in the order provided
+     * @throws ExecutionException if any of the tasks failed, the cause is the first failure in the list
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    public static <T> List<T> getAll(List<Future<T>> futures) throws ExecutionException, InterruptedException {
+        List<T> results = new ArrayList<>(futures.size());
+        ExecutionException failure = null;
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException | CancellationException e) {
+                Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+                if (failure == null) {
+                    failure = new ExecutionException(cause);
+                } else if (failure.getCause() != cause) {
+                    failure.getCause().addSuppressed(cause);
+                }
+                results.add(null);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return results;
+    }
+
+    /**
+     * Count the tasks that failed or were cancelled, after the tasks finished, like after {@link #getAll(List)}.
+     * Tasks that have not finished are not counted, so this method does not wait.
+     *
+     * @param futures the tasks to check
+     * @return the number of tasks that did not complete successfully
+     */
+    public static int countFailed(List<? extends Future<?>> futures) {
+        int failed = 0;
+        for (Future<?> future : futures) {
+            if (future.isCancelled()) {
+                failed++;
+            } else if (future.isDone()) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failed++;
+                } catch (InterruptedException e) {
+                    // the task is done, get() does not wait
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Throw the provided exception if it is an instance of the provided type.
+     * Allows callers to restore the checked exceptions thrown by the tasks that failed.
+     *
+     * @param error the failure to check
+     * @param type the type of exception to throw
+     * @param <E> the type of exception to throw
+     * @throws E if the error is an instance of the type provided
+     */
+    public static <E extends Throwable> void throwIfInstance(Throwable error, Class<E> type) throws E {
+        if (type.isInstance(error)) {
+            throw type.cast(error);
+        }
+    }
+}
@@ -0,0 +1,551 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.oracle.weblogic.imagetool.logging.LoggingFacade;
+import com.oracle.weblogic.imagetool.logging.LoggingFactory;
+import org.apache.hc.client5.http.fluent.Executor;
+import org.apache.hc.client5.http.fluent.Request;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.util.Timeout;
+
+/**
+ * Download a file over HTTP into a partial file, and move it to the target location only after it is complete.
+ * If the partial file already exists from an earlier attempt, the download continues where it left off using
+ * an HTTP Range request.  Large files can optionally be split into byte-range segments that are downloaded
+ * concurrently.  The progress of each segment is saved next to the partial file so that a segmented download
+ * can also be resumed.
+ */
+public class ResumableDownload {
+    private static final LoggingFacade logger = LoggingFactory.getLogger(ResumableDownload.class);
+
+    public static final String PART_SUFFIX = ".part";
+    public static final String SEGMENTS_SUFFIX = ".segments";
+    public static final String VALIDATOR_SUFFIX = ".validator";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long STATE_SAVE_INTERVAL = 8L * 1024 * 1024;
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes\\s+(\\*|(\\d+)-(\\d+))/(\\*|\\d+)");
+
+    private final Executor executor;
+    private final String url;
+    private final Path target;
+    private final Path partFile;
+    private final Path segmentsFile;
+    private final Path validatorFile;
+    private int segments = 1;
+    private long minimumSegmentSize = 32L * 1024 * 1024;
+    private Timeout timeout = Timeout.ofSeconds(30);
+    private String expectedSha256;
+    private MessageDigest digest;
+    private String sha256;
+    // the ETag or Last-Modified of the remote file when the partial file was started
+    private String validator;
+
+    /**
+     * Create a new download for the provided URL.
+     * @param executor the HTTP executor, with credentials, to use for all requests
+     * @param url the URL of the remote file
+     * @param target the local file to create when the download is complete
+     */
+    public ResumableDownload(Executor executor, String url, Path target) {
+        this.executor = executor;
+        this.url = url;
+        this.target = target;
+        this.partFile = Paths.get(target + PART_SUFFIX);
+        this.segmentsFile = Paths.get(target + PART_SUFFIX + SEGMENTS_SUFFIX);
+        this.validatorFile = Paths.get(target + PART_SUFFIX + VALIDATOR_SUFFIX);
+    }
+
+    /**
+     * The maximum number of concurrent byte-range segments to use for large files.
+     * @param value the number of segments, 1 to disable segmented downloads
+     * @return this
+     */
+    public ResumableDownload segments(int value) {
+        segments = Math.max(1, value);
+        return this;
+    }
+
+    /**
+     * The smallest segment size allowed.  Files smaller than twice this size are not split.
+     * @param value size in bytes
+     * @return this
+     */
+    public ResumableDownload minimumSegmentSize(long value) {
+        minimumSegmentSize = Math.max(1, value);
+        return this;
+    }
+
+    public ResumableDownload timeout(Timeout value) {
+        timeout = value;
+        return this;
+    }
+
+    /**
+     * The SHA-256 checksum published for the remote file, if known.
+     * When provided, the completed download is rejected if the checksum does not match.
+     * @param value hex string of the expected SHA-256 checksum, or null
+     * @return this
+     */
+    public ResumableDownload expectedSha256(String value) {
+        expectedSha256 = value;
+        return this;
+    }
+
+    public Path partFile() {
+        return partFile;
+    }
+
+    /**
+     * The SHA-256 checksum of the completed download.
+     * The checksum is calculated while the file is received, unless the download was resumed or segmented.
+     * @return lowercase hex string of the SHA-256 checksum, or null if the download has not completed
+     */
+    public String sha256() {
+        return sha256;
+    }
+
+    /**
+     * Remove the partial file and the saved progress of a download, so that it is not resumed.
+     * @param target the local file of the download
+     * @throws IOException if the files cannot be removed
+     */
+    public static void discard(Path target) throws IOException {
+        Files.deleteIfExists(Paths.get(target + PART_SUFFIX + SEGMENTS_SUFFIX));
+        Files.deleteIfExists(Paths.get(target + PART_SUFFIX + VALIDATOR_SUFFIX));
+        Files.deleteIfExists(Paths.get(target + PART_SUFFIX));
+    }
+
+    /**
+     * Download the file, continuing any partial download left by an earlier attempt.
+     * @return the path to the completed file
+     * @throws IOException if the download fails or is incomplete, the partial file is kept for the next attempt
+     */
+    public Path download() throws IOException {
+        logger.entering(url, target);
+        long expectedSize;
+        digest = null;
+        validator = Files.exists(partFile) && Files.exists(validatorFile)
+            ? new String(Files.readAllBytes(validatorFile), StandardCharsets.UTF_8).trim() : null;
+        if (Files.exists(segmentsFile) && Files.exists(partFile)) {
+            expectedSize = downloadSegments(loadSegments());
+        } else {
+            Files.deleteIfExists(segmentsFile);
+            long existing = Files.exists(partFile) ? Files.size(partFile) : 0;
+            if (existing == 0 && segments > 1) {
+                expectedSize = probeAndDownload();
+            } else {
+                expectedSize = downloadStream(existing);
+            }
+        }
+        verifySize(expectedSize);
+        verifyChecksum();
+        moveIntoPlace();
+        Files.deleteIfExists(validatorFile);
+        logger.exiting(target);
+        return target;
+    }
+
+    private Request newRequest() {
+        return Request.get(url).connectTimeout(timeout).responseTimeout(timeout);
+    }
+
+    /**
+     * A request for the rest of a partial file.  With If-Range, a server sends the whole file instead of the range
+     * if the file changed since the partial file was started, instead of a range of the new file.
+     */
+    private Request rangeRequest(long from, String to) {
+        Request request = newRequest().addHeader(HttpHeaders.RANGE, "bytes=" + from + "-" + to);
+        if (validator != null) {
+            request.addHeader(HttpHeaders.IF_RANGE, validator);
+        }
+        return request;
+    }
+
+    /**
+     * Save the validator of a response that starts a new partial file, for the requests that resume it later.
+     */
+    private void saveValidator(ClassicHttpResponse response) throws IOException {
+        Header etag = response.getFirstHeader(HttpHeaders.ETAG);
+        Header lastModified = response.getFirstHeader(HttpHeaders.LAST_MODIFIED);
+        // If-Range only accepts a strong ETag
+        if (etag != null && !etag.getValue().startsWith("W/")) {
+            validator = etag.getValue();
+        } else if (lastModified != null) {
+            validator = lastModified.getValue();
+        } else {
+            validator = null;
+        }
+        if (validator == null) {
+            Files.deleteIfExists(validatorFile);
+        } else {
+            Files.write(validatorFile, validator.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Ask the server for the first byte to learn the size of the file and whether it supports byte ranges.
+     * If the server ignores the range and sends the whole file, that response is used as the download.
+     */
+    private long probeAndDownload() throws IOException {
+        Request request = newRequest().addHeader(HttpHeaders.RANGE, "bytes=0-0");
+        ProbeResult probe = executor.execute(request).handleResponse(response -> {
+            if (response.getCode() == HttpStatus.SC_OK) {
+                logger.fine("Server does not support byte ranges, downloading {0} as a single stream", url);
+                saveValidator(response);
+                return new ProbeResult(writeBody(response, false), true);
+            }
+            checkStatus(response, HttpStatus.SC_PARTIAL_CONTENT);
+            saveValidator(response);
+            drain(response);
+            return new ProbeResult(totalFromContentRange(response), false);
+        });
+
+        if (probe.complete) {
+            return probe.size;
+        }
+        int count = (int) Math.min(segments, probe.size / minimumSegmentSize);
+        if (count < 2) {
+            return downloadStream(0);
+        }
+        return downloadSegments(createSegments(probe.size, count));
+    }
+
+    /**
+     * Download the file as a single stream, starting at the provided offset of the partial file.
+     */
+    private long downloadStream(long offset) throws IOException {
+        Request request;
+        if (offset > 0) {
+            logger.fine("Resuming download of {0} at byte {1}", url, offset);
+            request = rangeRequest(offset, "");
+        } else {
+            request = newRequest();
+        }
+        return executor.execute(request).handleResponse(response -> {
+            int status = response.getCode();
+            if (offset > 0 && status == HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE) {
+                // the partial file may already hold the whole file
+                long total = totalFromContentRange(response);
+                drain(response);
+                if (total != offset) {
+                    Files.deleteIfExists(partFile);
+                    throw new IOException(Utils.getMessage("IMG-0126", partFile, offset, total));
+                }
+                return total;
+            } else if (offset > 0 && status == HttpStatus.SC_PARTIAL_CONTENT) {
+                long start = startFromContentRange(response);
+                if (start != offset) {
+                    drain(response);
+                    Files.deleteIfExists(partFile);
+                    throw new IOException(Utils.getMessage("IMG-0126", partFile, offset, start));
+                }
+                writeBody(response, true);
+                return totalFromContentRange(response);
+            }
+            checkStatus(response, HttpStatus.SC_OK);
+            if (offset > 0) {
+                // the server does not support ranges, or the file changed since the partial file was started
+                logger.fine("Server sent the whole file instead of the byte range, restarting download of {0}", url);
+            }
+            saveValidator(response);
+            return writeBody(response, false);
+        });
+    }
+
+    /**
+     * Write the response body to the partial file.
+     * @return the size of the response body, or the number of bytes written if the size was not provided
+     */
+    private long writeBody(ClassicHttpResponse response, boolean append) throws IOException {
+        HttpEntity entity = response.getEntity();
+        long written = 0;
+        // the checksum can only be calculated while receiving the file if the download starts at the first byte
+        digest = append ? null : Utils.sha256Digest();
+        StandardOpenOption mode = append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING;
+        try (InputStream in = entity.getContent();
+             OutputStream out = Files.newOutputStream(partFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                 mode)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                checkInterrupted();
+                out.write(buffer, 0, read);
+                if (digest != null) {
+                    digest.update(buffer, 0, read);
+                }
+                written += read;
+            }
+        }
+        long length = entity.getContentLength();
+        if (length < 0 && !append && !entity.isChunked() && Utils.isEmptyString(expectedSha256)) {
+            // the body ends when the connection closes, so a dropped connection cannot be told apart from the end
+            throw new IOException(Utils.getMessage("IMG-0170", url, written));
+        }
+        return length >= 0 ? length : written;
+    }
+
+    private List<Segment> createSegments(long size, int count) throws IOException {
+        digest = null;
+        logger.fine("Downloading {0} bytes from {1} in {2} segments", size, url, count);
+        try (RandomAccessFile file = new RandomAccessFile(partFile.toFile(), "rw")) {
+            file.setLength(size);
+        }
+        List<Segment> result = new ArrayList<>(count);
+        long segmentSize = size / count;
+        for (int i = 0; i < count; i++) {
+            long start = i * segmentSize;
+            long end = i == count - 1 ? size - 1 : start + segmentSize - 1;
+            result.add(new Segment(start, end, 0));
+        }
+        saveSegments(result);
+        return result;
+    }
+
+    private List<Segment> loadSegments() throws IOException {
+        Properties state = new Properties();
+        try (InputStream in = Files.newInputStream(segmentsFile)) {
+            state.load(in);
+        }
+        List<Segment> result = new ArrayList<>();
+        try {
+            int count = Integer.parseInt(state.getProperty("segments", "0"));
+            for (int i = 0; i < count; i++) {
+                result.add(new Segment(Long.parseLong(state.getProperty(i + ".start")),
+                    Long.parseLong(state.getProperty(i + ".end")),
+                    Long.parseLong(state.getProperty(i + ".done"))));
+            }
+        } catch (RuntimeException e) {
+            // unreadable progress, start over
+            Files.deleteIfExists(segmentsFile);
+            Files.deleteIfExists(partFile);
+            throw new IOException(Utils.getMessage("IMG-0127", segmentsFile), e);
+        }
+        logger.fine("Resuming segmented download of {0}", url);
+        return result;
+    }
+
+    private synchronized void saveSegments(List<Segment> list) throws IOException {
+        Properties state = new Properties();
+        state.setProperty("url", url);
+        state.setProperty("segments", String.valueOf(list.size()));
+        for (int i = 0; i < list.size(); i++) {
+            Segment segment = list.get(i);
+            state.setProperty(i + ".start", String.valueOf(segment.start));
+            state.setProperty(i + ".end", String.valueOf(segment.end));
+            state.setProperty(i + ".done", String.valueOf(segment.done));
+        }
+        try (OutputStream out = Files.newOutputStream(segmentsFile)) {
+            state.store(out, null);
+        }
+    }
+
+    private long downloadSegments(List<Segment> list) throws IOException {
+        List<Future<Void>> results = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(partFile, StandardOpenOption.WRITE);
+             ParallelTasks pool = new ParallelTasks("download-segment", list.size())) {
+            for (Segment segment : list) {
+                if (!segment.isComplete()) {
+                    results.add(pool.submit(() -> {
+                        downloadSegment(segment, channel, list);
+                        return null;
+                    }));
+                }
+            }
+            ParallelTasks.getAll(results);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (ExecutionException e) {
+            ParallelTasks.throwIfInstance(e.getCause(), IOException.class);
+            ParallelTasks.throwIfInstance(e.getCause(), RuntimeException.class);
+            throw new IOException(e.getCause());
+        } finally {
+            saveSegments(list);
+        }
+        Files.delete(segmentsFile);
+        return list.get(list.size() - 1).end + 1;
+    }
+
+    private void downloadSegment(Segment segment, FileChannel channel, List<Segment> list) throws IOException {
+        long from = segment.start + segment.done;
+        Request request = rangeRequest(from, String.valueOf(segment.end));
+        executor.execute(request).handleResponse(response -> {
+            if (response.getCode() == HttpStatus.SC_OK && validator != null) {
+                // the file changed since the partial file was started, the segments already received are not valid
+                response.close();
+                discard(target);
+                throw new IOException(Utils.getMessage("IMG-0169", url, partFile));
+            }
+            checkStatus(response, HttpStatus.SC_PARTIAL_CONTENT);
+            long start = startFromContentRange(response);
+            if (start != from) {
+                drain(response);
+                // the partial file has the full size of the file, it cannot be resumed as a single stream
+                Files.deleteIfExists(segmentsFile);
+                Files.deleteIfExists(partFile);
+                throw new IOException(Utils.getMessage("IMG-0126", partFile, from, start));
+            }
+            long unsaved = 0;
+            try (InputStream in = response.getEntity().getContent()) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while (!segment.isComplete() && (read = in.read(buffer)) >= 0) {
+                    checkInterrupted();
+                    int length = (int) Math.min(read, segment.remaining());
+                    ByteBuffer data = ByteBuffer.wrap(buffer, 0, length);
+                    long position = segment.start + segment.done;
+                    while (data.hasRemaining()) {
+                        position += channel.write(data, position);
+                    }
+                    segment.done += length;
+                    unsaved += length;
+                    if (unsaved >= STATE_SAVE_INTERVAL) {
+                        saveSegments(list);
+                        unsaved = 0;
+                    }
+                }
+            }
+            if (!segment.isComplete()) {
+                throw new IOException(Utils.getMessage("IMG-0128", url, segment.start, segment.end));
+            }
+            return null;
+        });
+    }
+
+    private void verifySize(long expectedSize) throws IOException {
+        long actual = Files.size(partFile);
+        if (actual != expectedSize) {
+            // keep the partial file so that the next attempt can resume
+            throw new IOException(Utils.getMessage("IMG-0129", url, actual, expectedSize));
+        }
+    }
+
+    private void verifyChecksum() throws IOException {
+        sha256 = digest != null ? Utils.toHex(digest.digest()) : Utils.sha256(partFile);
+        if (!Utils.isEmptyString(expectedSha256) && !expectedSha256.equalsIgnoreCase(sha256)) {
+            // the partial file cannot be resumed, the next attempt must start over
+            Files.deleteIfExists(partFile);
+            Files.deleteIfExists(validatorFile);
+            throw new IOException(Utils.getMessage("IMG-0130", url, expectedSha256, sha256));
+        }
+    }
+
+    private void moveIntoPlace() throws IOException {
+        try {
+            Files.move(partFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(partFile, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void checkInterrupted() throws InterruptedIOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Download interrupted");
+        }
+    }
+
+    private static void checkStatus(ClassicHttpResponse response, int expected) throws IOException {
+        if (response.getCode() != expected) {
+            drain(response);
+            throw HttpStatusException.of(response);
+        }
+    }
+
+    private static void drain(ClassicHttpResponse response) throws IOException {
+        if (response.getEntity() != null) {
+            try (InputStream in = response.getEntity().getContent()) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                while (in.read(buffer) >= 0) {
+                    checkInterrupted();
+                }
+            }
+        }
+    }
+
+    private static Matcher contentRange(ClassicHttpResponse response) throws IOException {
+        Header header = response.getFirstHeader(HttpHeaders.CONTENT_RANGE);
+        if (header != null) {
+            Matcher matcher = CONTENT_RANGE.matcher(header.getValue());
+            if (matcher.find()) {
+                return matcher;
+            }
+        }
+        throw new IOException("Missing or invalid Content-Range in response: " + header);
+    }
+
+    private static long startFromContentRange(ClassicHttpResponse response) throws IOException {
+        Matcher matcher = contentRange(response);
+        if (matcher.group(2) == null) {
+            throw new IOException("Missing byte range in Content-Range: " + matcher.group());
+        }
+        return Long.parseLong(matcher.group(2));
+    }
+
+    private static long totalFromContentRange(ClassicHttpResponse response) throws IOException {
+        Matcher matcher = contentRange(response);
+        if ("*".equals(matcher.group(4))) {
+            throw new IOException("Unknown file size in Content-Range: " + matcher.group());
+        }
+        return Long.parseLong(matcher.group(4));
+    }
+
+    private static class ProbeResult {
+        private final long size;
+        private final boolean complete;
+
+        ProbeResult(long size, boolean complete) {
+            this.size = size;
+            this.complete = complete;
+        }
+    }
+
+    private static class Segment {
+        private final long start;
+        private final long end;
+        private volatile long done;
+
+        Segment(long start, long end, long done) {
+            this.start = start;
+            this.end = end;
+            this.done = done;
+        }
+
+        long remaining() {
+            return end - start + 1 - done;
+        }
+
+        boolean isComplete() {
+            return remaining() <= 0;
+        }
+    }
+}
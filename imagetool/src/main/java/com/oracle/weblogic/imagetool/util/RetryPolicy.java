@@ -0,0 +1,184 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.util;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.oracle.weblogic.imagetool.logging.LoggingFacade;
+import com.oracle.weblogic.imagetool.logging.LoggingFactory;
+
+/**
+ * When and how often to retry a failed request to Oracle.
+ * The wait between attempts doubles after each failure, up to a maximum, and a random part of each wait spreads
+ * out the retries of concurrent builds. A Retry-After from the server is used when it asks for a longer wait.
+ * Retries stop when the attempts are used up, or when the next retry would pass the time limit.
+ */
+public class RetryPolicy {
+    private static final LoggingFacade logger = LoggingFactory.getLogger(RetryPolicy.class);
+
+    private static final long MAX_DELAY = TimeUnit.SECONDS.toMillis(30);
+    private static RetryPolicy defaultPolicy;
+
+    private final int maxAttempts;
+    private final long initialDelay;
+    private final long maxDelay;
+    private final long timeout;
+    private final AtomicInteger retries = new AtomicInteger();
+    private final AtomicLong waitTime = new AtomicLong();
+
+    /**
+     * Create a retry policy.
+     * @param maxAttempts the maximum number of attempts, including the first attempt
+     * @param initialDelay the wait in milliseconds before the first retry
+     * @param maxDelay the longest wait in milliseconds between two attempts
+     * @param timeout the time in milliseconds after the first failure when no more retries are started, or 0
+     */
+    public RetryPolicy(int maxAttempts, long initialDelay, long maxDelay, long timeout) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialDelay = Math.max(0, initialDelay);
+        this.maxDelay = Math.max(this.initialDelay, maxDelay);
+        this.timeout = Math.max(0, timeout);
+    }
+
+    /**
+     * The retry policy for requests to Oracle, configured with WLSIMG_REST_RETRY_MAX, WLSIMG_REST_RETRY_INTERVAL,
+     * and WLSIMG_REST_RETRY_TIMEOUT.
+     * @return the shared retry policy
+     */
+    public static synchronized RetryPolicy getDefault() {
+        if (defaultPolicy == null) {
+            defaultPolicy = new RetryPolicy(
+                Utils.getEnvironmentProperty("WLSIMG_REST_RETRY_MAX", 10, 1),
+                Utils.getEnvironmentProperty("WLSIMG_REST_RETRY_INTERVAL", 500, 0),
+                MAX_DELAY,
+                TimeUnit.SECONDS.toMillis(Utils.getEnvironmentProperty("WLSIMG_REST_RETRY_TIMEOUT", 300, 0)));
+        }
+        return defaultPolicy;
+    }
+
+    /**
+     * Log the number of retries and the time spent waiting, if any requests to Oracle were retried.
+     */
+    public static synchronized void logStatistics() {
+        if (defaultPolicy != null && defaultPolicy.getRetryCount() > 0) {
+            logger.info("IMG-0139", defaultPolicy.getRetryCount(),
+                TimeUnit.MILLISECONDS.toSeconds(defaultPolicy.getWaitTime()));
+        }
+    }
+
+    /**
+     * The maximum number of attempts for one request, including the first attempt.
+     * @return the maximum number of attempts
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * The number of retries started with this policy.
+     * @return the number of retries
+     */
+    public int getRetryCount() {
+        return retries.get();
+    }
+
+    /**
+     * The total time, in milliseconds, spent waiting before retries started with this policy.
+     * @return the wait time in milliseconds
+     */
+    public long getWaitTime() {
+        return waitTime.get();
+    }
+
+    /**
+     * The wait before a retry.
+     * Half of the exponential backoff is fixed and half is random, so that retries still back off while concurrent
+     * clients do not retry at the same moment.
+     * @param retry the retry number, starting at 1
+     * @param retryAfter the wait in milliseconds requested by the server, or 0
+     * @return the wait in milliseconds
+     */
+    public long getDelay(int retry, long retryAfter) {
+        // stop doubling before the shift can overflow, the result is limited by maxDelay anyway
+        long backoff = Math.min(maxDelay, initialDelay << Math.min(Math.max(0, retry - 1), 30));
+        long delay = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        return Math.max(delay, retryAfter);
+    }
+
+    /**
+     * Start tracking the attempts for one request.
+     * @return a new set of attempts
+     */
+    public Attempts start() {
+        return new Attempts();
+    }
+
+    /**
+     * Get the wait requested by the value of a Retry-After response header.
+     * @param value the number of seconds to wait, or an HTTP date
+     * @return the wait in milliseconds, or 0 if the value is missing or not valid
+     */
+    public static long parseRetryAfter(String value) {
+        if (Utils.isEmptyString(value)) {
+            return 0;
+        }
+        try {
+            return Math.max(0, TimeUnit.SECONDS.toMillis(Long.parseLong(value.trim())));
+        } catch (NumberFormatException notSeconds) {
+            try {
+                ZonedDateTime date = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(ZonedDateTime.now(date.getZone()), date).toMillis());
+            } catch (DateTimeParseException notDate) {
+                logger.fine("Ignoring invalid Retry-After value {0}", value);
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * The failed attempts for one request.
+     */
+    public class Attempts {
+        private long firstFailure;
+        private int failures;
+
+        /**
+         * Record a failed attempt, and decide if the request should be retried.
+         * @param retryAfter the wait in milliseconds requested by the server, or 0
+         * @return the wait in milliseconds before the next attempt, or -1 if the request should not be retried
+         */
+        public long failed(long retryAfter) {
+            long now = System.nanoTime();
+            if (failures++ == 0) {
+                firstFailure = now;
+            }
+            if (failures >= maxAttempts) {
+                return -1;
+            }
+            long delay = getDelay(failures, retryAfter);
+            if (timeout > 0 && TimeUnit.NANOSECONDS.toMillis(now - firstFailure) + delay > timeout) {
+                logger.fine("Not retrying, the retry time limit of {0} ms would be exceeded", timeout);
+                return -1;
+            }
+            retries.incrementAndGet();
+            waitTime.addAndGet(delay);
+            return delay;
+        }
+
+        /**
+         * The number of failed attempts.
+         * @return the number of failed attempts
+         */
+        public int getFailures() {
+            return failures;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+
+import com.oracle.weblogic.imagetool.logging.LoggingFacade;
+import com.oracle.weblogic.imagetool.logging.LoggingFactory;
+
+/**
+ * How files from the cache are placed into the build context.
+ * The build engine only reads the files in the build context, so a hard link or a copy-on-write clone of the
+ * cached file is sufficient and avoids copying installers and patches that can be several gigabytes in size.
+ */
+public enum StagingMode {
+    /**
+     * Try a hard link, then a copy-on-write clone, and copy the file if neither is supported.
+     */
+    AUTO,
+    /**
+     * Create a hard link to the cached file.  Requires the build context to be on the same file system as the cache.
+     */
+    HARDLINK,
+    /**
+     * Create a copy-on-write clone of the cached file.  Requires a file system that supports reflinks,
+     * such as Btrfs or XFS.
+     */
+    REFLINK,
+    /**
+     * Copy the cached file.
+     */
+    COPY,
+    /**
+     * Create a symbolic link to the cached file.  Only valid when the build context is streamed to the build engine,
+     * which follows the links when the context is written.  Falls back to AUTO if links cannot be created.
+     */
+    SYMLINK;
+
+    private static final LoggingFacade logger = LoggingFactory.getLogger(StagingMode.class);
+
+    /**
+     * Place a file into the build context using this staging mode.
+     * @param source the file to stage
+     * @param target the new file in the build context, which must not exist
+     * @return the path to the new file
+     * @throws FileAlreadyExistsException if the target file already exists
+     * @throws IOException if the file could not be staged using this mode
+     */
+    public Path stage(Path source, Path target) throws IOException {
+        if (Files.exists(target, LinkOption.NOFOLLOW_LINKS)) {
+            throw new FileAlreadyExistsException(target.toString());
+        }
+
+        switch (this) {
+            case HARDLINK:
+                return hardLink(source, target);
+            case REFLINK:
+                return reflink(source, target);
+            case COPY:
+                return Files.copy(source, target);
+            case SYMLINK:
+                return symbolicLink(source, target);
+            default:
+                return stageAuto(source, target);
+        }
+    }
+
+    private static Path stageAuto(Path source, Path target) throws IOException {
+        try {
+            return hardLink(source, target);
+        } catch (FileAlreadyExistsException e) {
+            throw e;
+        } catch (IOException e) {
+            logger.fine("Unable to create hard link for {0}: {1}", source, e.getMessage());
+        }
+
+        try {
+            return reflink(source, target);
+        } catch (InterruptedIOException e) {
+            throw e;
+        } catch (IOException e) {
+            logger.fine("Unable to clone {0}: {1}", source, e.getMessage());
+        }
+
+        return Files.copy(source, target);
+    }
+
+    private static Path symbolicLink(Path source, Path target) throws IOException {
+        try {
+            return Files.createSymbolicLink(target, source.toAbsolutePath());
+        } catch (FileAlreadyExistsException e) {
+            throw e;
+        } catch (IOException | UnsupportedOperationException e) {
+            // for example, Windows users without the privilege to create symbolic links
+            logger.fine("Unable to create symbolic link for {0}: {1}", source, e.getMessage());
+        }
+
+        if (Files.isDirectory(source)) {
+            Utils.copyLocalDirectory(source, target);
+            return target;
+        }
+        return stageAuto(source, target);
+    }
+
+    private static Path hardLink(Path source, Path target) throws IOException {
+        try {
+            Path result = Files.createLink(target, source);
+            logger.fine("Created hard link {0} to {1}", target, source);
+            return result;
+        } catch (UnsupportedOperationException e) {
+            throw new IOException(Utils.getMessage("IMG-0135", HARDLINK, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Java does not provide an API for copy-on-write clones, so use the cp command from GNU coreutils.
+     * With --reflink=always, cp fails instead of silently copying when the file system cannot clone the file.
+     */
+    private static Path reflink(Path source, Path target) throws IOException {
+        ProcessBuilder processBuilder = new ProcessBuilder("cp", "--reflink=always",
+            source.toAbsolutePath().toString(), target.toAbsolutePath().toString());
+        processBuilder.redirectErrorStream(true);
+        Process process = processBuilder.start();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (InputStream in = process.getInputStream()) {
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+            int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                Files.deleteIfExists(target);
+                throw new IOException(Utils.getMessage("IMG-0135", REFLINK,
+                    new String(output.toByteArray(), StandardCharsets.UTF_8).trim()));
+            }
+        } catch (InterruptedException e) {
+            process.destroy();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        }
+        logger.fine("Created copy-on-write clone {0} of {1}", target, source);
+        return target;
+    }
+}
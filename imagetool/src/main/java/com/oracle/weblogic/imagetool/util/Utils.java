@@ -9,15 +9,19 @@ import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.StringWriter;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -41,6 +45,8 @@ import java.util.stream.Stream;
 import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
 import com.github.mustachejava.MustacheFactory;
+import com.oracle.weblogic.imagetool.inspect.ImageProbeCache;
+import com.oracle.weblogic.imagetool.inspect.ProbeTier;
 import com.oracle.weblogic.imagetool.logging.LoggingFacade;
 import com.oracle.weblogic.imagetool.logging.LoggingFactory;
 import org.jetbrains.annotations.NonNls;
@@ -426,7 +432,7 @@ public class Utils {
      * @param builder       the binary to create the container (like docker)
      * @param dockerImage   the name of the Docker image to be run
      * @param imagePlatform the platform of the Docker image to be run
-     * @param script        the script resource (path to the script in the JAR)
+     * @param tiers         the information to collect, the environment is always collected
      * @param contextDir    the image build context folder
      * @return The key/value pairs representing the ENV of the Docker image
      * @throws IOException          when the Docker command fails
@@ -435,15 +441,31 @@ public class Utils {
     public static Properties getBaseImageProperties(String builder,
                                                     String dockerImage,
                                                     String imagePlatform,
-                                                    String script,
+                                                    Set<ProbeTier> tiers,
                                                     String contextDir) throws IOException, InterruptedException {
-        logger.entering(builder, dockerImage, imagePlatform, script, contextDir);
+        logger.entering(builder, dockerImage, imagePlatform, tiers, contextDir);
         final String scriptToRun = "test-env.sh";
-        Utils.copyResourceAsFile(script, contextDir + File.separator + scriptToRun);
-        List<String> imageEnvCmd = Utils.getDockerRunCmd(builder, imagePlatform,
-            contextDir + File.separator + scriptToRun, dockerImage);
+        Path scriptFile = Paths.get(contextDir, scriptToRun);
+        Files.write(scriptFile, ProbeTier.script(tiers).getBytes(StandardCharsets.UTF_8));
+
+        // the result only depends on the image content, reuse the result from an earlier inspection of the image
+        ImageProbeCache probeCache = ImageProbeCache.open();
+        String probeKey = probeCache.key(builder, dockerImage, imagePlatform, scriptFile);
+        Properties result = probeCache.get(probeKey);
+        if (result != null) {
+            logger.info("IMG-0159", dockerImage);
+            logger.exiting(result);
+            return result;
+        }
+
+        List<String> imageEnvCmd = Utils.getDockerRunCmd(builder, imagePlatform, scriptFile.toString(), dockerImage);
         logger.info("IMG-0097", dockerImage);
-        Properties result = Utils.runDockerCommand(imageEnvCmd);
+        result = Utils.runDockerCommand(imageEnvCmd);
+        if (probeKey == null) {
+            // the image was pulled by the run command
+            probeKey = probeCache.key(builder, dockerImage, imagePlatform, scriptFile);
+        }
+        probeCache.put(probeKey, result);
         logger.exiting(result);
         return result;
     }
@@ -574,6 +596,78 @@ public class Utils {
         return result;
     }
 
+    /**
+     * Get the named integer property from system environment or Java system property.
+     * Values that are not integers, or are less than the minimum, are logged and ignored.
+     *
+     * @param name the name of the environment variable, or Java property
+     * @param defaultValue the value to use when the property is not set or is not valid
+     * @param minimum the smallest value allowed for this property
+     * @return the value defined in the env or system property, or the default value
+     */
+    public static int getEnvironmentProperty(String name, int defaultValue, int minimum) {
+        String value = getEnvironmentProperty(name, () -> null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int result = Integer.parseInt(value.trim());
+            if (result < minimum) {
+                logger.severe("IMG-0109", name, value, minimum, defaultValue);
+                return defaultValue;
+            }
+            logger.fine("{0} set to {1}", name, result);
+            return result;
+        } catch (NumberFormatException nfe) {
+            logger.warning("IMG-0108", name, value);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Create a new SHA-256 message digest.
+     * @return a new MessageDigest for SHA-256
+     */
+    public static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Calculate the SHA-256 checksum of a file.
+     * @param file the file to read
+     * @return lowercase hex string of the SHA-256 checksum
+     * @throws IOException if the file cannot be read
+     */
+    public static String sha256(Path file) throws IOException {
+        MessageDigest digest = sha256Digest();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Convert bytes to a lowercase hex string.
+     * @param bytes the bytes to convert
+     * @return hex string
+     */
+    public static String toHex(byte[] bytes) {
+        StringBuilder result = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            result.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return result.toString();
+    }
+
     /**
      * returns the working dir for docker build.
      *
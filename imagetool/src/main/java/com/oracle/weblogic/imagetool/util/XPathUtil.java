@@ -1,10 +1,12 @@
-// Copyright (c) 2019, 2021, Oracle and/or its affiliates.
+// Copyright (c) 2019, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.util;
 
 import java.io.StringWriter;
 import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import javax.xml.XMLConstants;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
@@ -14,6 +16,7 @@ import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
@@ -29,6 +32,17 @@ public class XPathUtil {
 
     private static XPathFactory factory = null;
 
+    // XPath and XPathExpression objects are not thread-safe, so each thread compiles and keeps its own
+    private static final int MAX_CACHED_EXPRESSIONS = 128;
+    private static final ThreadLocal<XPath> xpath = ThreadLocal.withInitial(() -> factory().newXPath());
+    private static final ThreadLocal<Map<String, XPathExpression>> compiled =
+        ThreadLocal.withInitial(() -> new LinkedHashMap<String, XPathExpression>(32, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+                return size() > MAX_CACHED_EXPRESSIONS;
+            }
+        });
+
     private XPathUtil() {
         // static utility class.
     }
@@ -40,6 +54,23 @@ public class XPathUtil {
         return factory;
     }
 
+    /**
+     * Get the compiled expression from the cache of the current thread, or compile and cache it.
+     *
+     * @param expression xpath expression
+     * @return compiled expression that can only be used by the current thread
+     * @throws XPathExpressionException if the expression is not valid
+     */
+    private static XPathExpression compile(String expression) throws XPathExpressionException {
+        Map<String, XPathExpression> cache = compiled.get();
+        XPathExpression result = cache.get(expression);
+        if (result == null) {
+            result = xpath.get().compile(expression);
+            cache.put(expression, result);
+        }
+        return result;
+    }
+
     /**
      * Apply XPath and return the results as nodelist.
      *
@@ -49,8 +80,7 @@ public class XPathUtil {
      * @throws XPathExpressionException when xpath failed
      */
     public static NodeList nodelist(Node node, String expression) throws XPathExpressionException {
-        XPath xpath = factory().newXPath();
-        return (NodeList) xpath.evaluate(expression, node, XPathConstants.NODESET);
+        return (NodeList) compile(expression).evaluate(node, XPathConstants.NODESET);
     }
 
     /**
@@ -62,8 +92,7 @@ public class XPathUtil {
      * @throws XPathExpressionException when xpath failed
      */
     public static String string(Document doc, String expression) throws XPathExpressionException {
-        XPath xpath = factory().newXPath();
-        return (String) xpath.evaluate(expression, doc, XPathConstants.STRING);
+        return (String) compile(expression).evaluate(doc, XPathConstants.STRING);
     }
 
     /**
@@ -75,8 +104,66 @@ public class XPathUtil {
      * @throws XPathExpressionException when xpath failed
      */
     public static String string(Node doc, String expression) throws XPathExpressionException {
-        XPath xpath = factory().newXPath();
-        return (String) xpath.evaluate(expression, doc, XPathConstants.STRING);
+        return (String) compile(expression).evaluate(doc, XPathConstants.STRING);
+    }
+
+    /**
+     * Create a reusable expression, for expressions that are evaluated many times, like once per node.
+     * The expression is compiled once per thread, on first use.
+     *
+     * @param expression xpath expression
+     * @return reusable expression that can be shared by threads
+     */
+    public static Expression expression(String expression) {
+        return new Expression(expression);
+    }
+
+    /**
+     * A fixed XPath expression, compiled once for each thread that evaluates it.
+     */
+    public static final class Expression {
+        private final String text;
+        private final ThreadLocal<XPathExpression> compiledExpression = new ThreadLocal<>();
+
+        private Expression(String text) {
+            this.text = text;
+        }
+
+        private XPathExpression get() throws XPathExpressionException {
+            XPathExpression result = compiledExpression.get();
+            if (result == null) {
+                result = xpath.get().compile(text);
+                compiledExpression.set(result);
+            }
+            return result;
+        }
+
+        /**
+         * Apply this expression and return the results as nodelist.
+         *
+         * @param node node to evaluate the expression against
+         * @return nodelist result
+         * @throws XPathExpressionException when xpath failed
+         */
+        public NodeList nodelist(Node node) throws XPathExpressionException {
+            return (NodeList) get().evaluate(node, XPathConstants.NODESET);
+        }
+
+        /**
+         * Apply this expression and return the results as string.
+         *
+         * @param node node to evaluate the expression against
+         * @return string result
+         * @throws XPathExpressionException when xpath failed
+         */
+        public String string(Node node) throws XPathExpressionException {
+            return (String) get().evaluate(node, XPathConstants.STRING);
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
     }
 
     /**
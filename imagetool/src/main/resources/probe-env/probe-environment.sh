@@ -53,18 +53,6 @@ fi
 
 if [ -n "$ORACLE_HOME" ]; then
   echo oracleHome="$ORACLE_HOME"
-
-  if [ -n "$JAVA_HOME" ]; then
-    echo wlsVersion="$("$JAVA_HOME"/bin/java -cp "$ORACLE_HOME"/wlserver/server/lib/weblogic.jar weblogic.version 2> /dev/null | grep -oE -m 1 '([[:digit:]\.]+)' | head -1)"
-  fi
-
-  echo oracleHomeUser="$(stat -c '%U' "$ORACLE_HOME")"
-  echo oracleHomeGroup="$(stat -c '%G' "$ORACLE_HOME")"
-
-  echo oracleInstalledProducts="$(
-    sed -n 's/.*<distribution [^>]*name=\"\([^\"]*\)\".*/\1/p' "$ORACLE_HOME"/inventory/registry.xml |
-    awk 'BEGIN { sep="" } { printf "%s%s", sep, $0; sep="," } END { print "" }'
-  )"
 fi
 
 echo __OS__arch="$(uname -m)"
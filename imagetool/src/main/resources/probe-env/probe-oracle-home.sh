@@ -0,0 +1,21 @@
+#
+#Copyright (c) 2021, 2026, Oracle and/or its affiliates.
+#
+#Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+#
+# The version, owner, and installed products of the Oracle Home.  Starts a JVM to get the WebLogic version.
+#
+
+if [ -n "$ORACLE_HOME" ]; then
+  if [ -n "$JAVA_HOME" ]; then
+    echo wlsVersion="$("$JAVA_HOME"/bin/java -cp "$ORACLE_HOME"/wlserver/server/lib/weblogic.jar weblogic.version 2> /dev/null | grep -oE -m 1 '([[:digit:]\.]+)' | head -1)"
+  fi
+
+  echo oracleHomeUser="$(stat -c '%U' "$ORACLE_HOME")"
+  echo oracleHomeGroup="$(stat -c '%G' "$ORACLE_HOME")"
+
+  echo oracleInstalledProducts="$(
+    sed -n 's/.*<distribution [^>]*name=\"\([^\"]*\)\".*/\1/p' "$ORACLE_HOME"/inventory/registry.xml |
+    awk 'BEGIN { sep="" } { printf "%s%s", sep, $0; sep="," } END { print "" }'
+  )"
+fi
@@ -0,0 +1,36 @@
+#
+#Copyright (c) 2021, 2026, Oracle and/or its affiliates.
+#
+#Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+#
+# The OPatch version and the installed patches.  Starts OPatch, and runs opatch lsinventory when the inventory XML
+# does not have a patch list.
+#
+
+if [ -n "$ORACLE_HOME" ]; then
+  echo opatchVersion="$("$ORACLE_HOME"/OPatch/opatch version 2> /dev/null | grep -oE -m 1 '([[:digit:]\.]+)')"
+  # read the patches from the inventory XML, and only run opatch lsinventory when the inventory has no patch list
+  compsXml="$ORACLE_HOME"/inventory/ContentsXML/comps.xml
+  if [ -f "$compsXml" ] && grep -q '<ONEOFF_LIST' "$compsXml"; then
+    echo oracleInventory="$(sed -n '/<ONEOFF_LIST *\/>/{p;q;}; /<ONEOFF_LIST/,/<\/ONEOFF_LIST>/p' "$compsXml" | base64 | tr -d '\n')"
+  else
+    echo oraclePatches="$("$ORACLE_HOME"/OPatch/opatch lsinventory |
+    awk 'BEGIN { ORS=";" }
+        /^Unique Patch ID/ { print $4 }
+        /^Patch description/ {
+          x = substr($0, 21)
+          print x
+          descriptionNeeded = 0
+        }
+        /^Patch\s*[0-9]+/ {
+          if (descriptionNeeded)
+            print "None"
+          print $2
+          descriptionNeeded = 1
+        }
+        END {
+          if (descriptionNeeded)
+            print "None"
+        }' | sed 's/;$//')"
+  fi
+fi
@@ -0,0 +1,153 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.aru;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import com.oracle.weblogic.imagetool.util.XPathUtil;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Document;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag("unit")
+class AruMetadataCacheTest {
+    private static final String ETAG = "\"v1\"";
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger notModified = new AtomicInteger();
+    private String body =
+        "<results><release id=\"600000000073715\">Oracle WebLogic Server 12.2.1.4.0</release></results>";
+
+    @TempDir
+    Path cacheDir;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/releases", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        exchange.getResponseHeaders().add("ETag", ETAG);
+        if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            notModified.incrementAndGet();
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        byte[] content = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, content.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(content);
+        }
+    }
+
+    private String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/releases";
+    }
+
+    private String releaseId(Document document) throws Exception {
+        return XPathUtil.string(document, "string(/results/release/@id)");
+    }
+
+    @Test
+    void cachedWithinTtl() throws Exception {
+        AruMetadataCache cache = new AruMetadataCache(cacheDir, TimeUnit.HOURS.toMillis(1));
+        assertEquals("600000000073715", releaseId(cache.get(url(), "user", "pass", d -> { })));
+        assertEquals("600000000073715", releaseId(cache.get(url(), "user", "pass", d -> { })));
+        assertEquals(1, requests.get());
+
+        // a new instance, like the next imagetool invocation, uses the document saved on disk
+        AruMetadataCache nextRun = new AruMetadataCache(cacheDir, TimeUnit.HOURS.toMillis(1));
+        assertEquals("600000000073715", releaseId(nextRun.get(url(), "user", "pass", d -> { })));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void revalidatedWhenExpired() throws Exception {
+        AruMetadataCache cache = new AruMetadataCache(cacheDir, 0);
+        cache.get(url(), "user", "pass", d -> { });
+        assertEquals("600000000073715", releaseId(cache.get(url(), "user", "pass", d -> { })));
+        assertEquals(2, requests.get());
+        assertEquals(1, notModified.get());
+    }
+
+    @Test
+    void forceRefresh() throws Exception {
+        AruMetadataCache cache = new AruMetadataCache(cacheDir, TimeUnit.HOURS.toMillis(1));
+        cache.get(url(), "user", "pass", d -> { });
+        body = "<results><release id=\"2\">Oracle WebLogic Server 14.1.1.0.0</release></results>";
+        cache.forceRefresh(true);
+        assertEquals("2", releaseId(cache.get(url(), "user", "pass", d -> { })));
+        assertEquals(0, notModified.get());
+
+        // the refreshed document replaces the cached document
+        cache.forceRefresh(false);
+        assertEquals("2", releaseId(cache.get(url(), "user", "pass", d -> { })));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void rejectedDocumentNotCached() throws Exception {
+        AruMetadataCache cache = new AruMetadataCache(cacheDir, TimeUnit.HOURS.toMillis(1));
+        assertThrows(AruException.class, () -> cache.get(url(), "user", "pass", d -> {
+            throw new AruException("error response");
+        }));
+        cache.get(url(), "user", "pass", d -> { });
+        assertEquals(2, requests.get());
+        assertEquals(0, notModified.get());
+    }
+
+    @Test
+    void savedResults() {
+        AruMetadataCache cache = new AruMetadataCache(cacheDir, TimeUnit.HOURS.toMillis(1));
+        assertNull(cache.getResult("conflicts-1"));
+        cache.putResult("conflicts-1", Arrays.asList("1,2", "3,4"));
+        assertEquals(Arrays.asList("1,2", "3,4"), cache.getResult("conflicts-1"));
+
+        cache.forceRefresh(true);
+        assertNull(cache.getResult("conflicts-1"));
+
+        // expired results are not used
+        assertNull(new AruMetadataCache(cacheDir, 0).getResult("conflicts-1"));
+    }
+
+    @Test
+    void failedWriteLeavesNoTempFile() throws IOException {
+        // a directory in place of the result cannot be replaced
+        Files.createDirectories(cacheDir.resolve("conflicts-2.txt").resolve("busy"));
+        AruMetadataCache cache = new AruMetadataCache(cacheDir, TimeUnit.HOURS.toMillis(1));
+        cache.putResult("conflicts-2", Arrays.asList("1,2"));
+        assertNull(cache.getResult("conflicts-2"));
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            assertEquals(0, files.filter(f -> f.toString().endsWith(".tmp")).count());
+        }
+    }
+}
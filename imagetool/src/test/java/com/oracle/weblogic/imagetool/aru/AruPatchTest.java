@@ -3,10 +3,21 @@
 
 package com.oracle.weblogic.imagetool.aru;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.oracle.weblogic.imagetool.ResourceUtils;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @Tag("unit")
@@ -18,4 +29,39 @@ class AruPatchTest {
         assertFalse(new AruPatch().description("WEBLOGIC SERVER PATCH FOR BUG 38792523").isStackPatchBundle());
         assertFalse(new AruPatch().isStackPatchBundle());
     }
+
+    private static String fields(AruPatch patch) {
+        return String.join("|", patch.patchId(), patch.version(), patch.release(), patch.releaseName(),
+            patch.description(), patch.product(), patch.psuBundle(), patch.access(), patch.downloadUrl(),
+            patch.fileName(), String.valueOf(patch.platform()), String.valueOf(patch.sha256()));
+    }
+
+    @Test
+    void streamingParserMatchesDocumentParser() throws Exception {
+        String[] resources = {"recommended-patches.xml", "recommended-patches-304.xml", "patch-11100001.xml",
+            "patch-11100007.xml", "patch-28186730.xml", "patch-2818673x.xml", "patch-38256237.xml"};
+        for (String resource : resources) {
+            String path = "/patches/" + resource;
+            List<String> expected = AruPatch.getPatches(ResourceUtils.getXmlFromResource(path))
+                .map(AruPatchTest::fields).collect(Collectors.toList());
+            List<String> actual;
+            try (InputStream in = Files.newInputStream(ResourceUtils.resourcePath(path))) {
+                actual = AruPatch.getPatches(in).map(AruPatchTest::fields).collect(Collectors.toList());
+            }
+            assertFalse(expected.isEmpty(), resource);
+            assertEquals(expected, actual, resource);
+        }
+    }
+
+    @Test
+    void streamingParserReportsErrors() throws IOException {
+        try (InputStream in = Files.newInputStream(ResourceUtils.resourcePath("/patches/no-patches.xml"))) {
+            assertThrows(NoPatchesFoundException.class, () -> AruPatch.getPatches(in));
+        }
+        String error = "<results><error><id>10-001</id><message>Bad request</message></error></results>";
+        AruException e = assertThrows(AruException.class,
+            () -> AruPatch.getPatches(new ByteArrayInputStream(error.getBytes(StandardCharsets.UTF_8))));
+        assertEquals("Bad request", e.getMessage());
+        assertFalse(e instanceof NoPatchesFoundException);
+    }
 }
@@ -1,24 +1,44 @@
-// Copyright (c) 2020, 2024, Oracle and/or its affiliates.
+// Copyright (c) 2020, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.aru;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.xml.xpath.XPathExpressionException;
 
 import com.oracle.weblogic.imagetool.ResourceUtils;
 import com.oracle.weblogic.imagetool.installer.FmwInstallerType;
 import com.oracle.weblogic.imagetool.test.annotations.ReduceTestLogging;
 import com.oracle.weblogic.imagetool.util.Architecture;
+import com.oracle.weblogic.imagetool.util.HttpStatusException;
+import com.oracle.weblogic.imagetool.util.HttpUtil;
+import com.oracle.weblogic.imagetool.util.RetryPolicy;
+import com.sun.net.httpserver.HttpServer;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.w3c.dom.Document;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -41,23 +61,20 @@ class AruUtilTest {
      */
     public static class TestAruUtil extends MockAruUtil {
         @Override
-        Document getRecommendedPatchesMetadata(AruProduct product, String releaseNumber, String userId,
-                                               String password) {
-            Document result;
-            try {
-                // these release numbers are fake test data from the fake releases.xml found in test/resources
-                if (releaseNumber.equals("336")) {  // 336 == 12.2.1.3.0 (GA release)
-                    result = ResourceUtils.getXmlFromResource("/patches/recommended-patches.xml");
-                } else if (releaseNumber.equals("304")) { // 304 == 12.2.1.3.200624 (PSU overlay)
-                    result = ResourceUtils.getXmlFromResource("/patches/recommended-patches-304.xml");
-                } else {
-                    result = ResourceUtils.getXmlFromResource("/patches/no-patches.xml");
-                }
-            } catch (IOException e) {
-                e.printStackTrace();
-                throw new RuntimeException("failed to load resources XML", e);
+        List<AruPatch> getRecommendedPatchesMetadata(AruProduct product, String releaseNumber, String userId,
+                                                     String password) throws IOException, AruException {
+            String resource;
+            // these release numbers are fake test data from the fake releases.xml found in test/resources
+            if (releaseNumber.equals("336")) {  // 336 == 12.2.1.3.0 (GA release)
+                resource = "/patches/recommended-patches.xml";
+            } else if (releaseNumber.equals("304")) { // 304 == 12.2.1.3.200624 (PSU overlay)
+                resource = "/patches/recommended-patches-304.xml";
+            } else {
+                resource = "/patches/no-patches.xml";
+            }
+            try (InputStream in = Files.newInputStream(ResourceUtils.resourcePath(resource))) {
+                return AruPatch.getPatches(in).collect(Collectors.toList());
             }
-            return result;
         }
 
         @Override
@@ -107,6 +124,25 @@ class AruUtilTest {
         assertTrue(bugs.contains("31535411"));
     }
 
+    @Test
+    void testConcurrentLookupKeepsProductOrder() throws Exception {
+        List<String> concurrent = AruUtil.rest()
+            .getRecommendedPatches(FmwInstallerType.FMW, "12.2.1.3.0", Architecture.AMD64, "x", "x")
+            .stream().map(AruPatch::patchId).collect(Collectors.toList());
+
+        List<String> sequential;
+        System.setProperty("WLSIMG_PARALLEL_ARU_QUERIES", "1");
+        try {
+            sequential = new TestAruUtil()
+                .getRecommendedPatches(FmwInstallerType.FMW, "12.2.1.3.0", Architecture.AMD64, "x", "x")
+                .stream().map(AruPatch::patchId).collect(Collectors.toList());
+        } finally {
+            System.clearProperty("WLSIMG_PARALLEL_ARU_QUERIES");
+        }
+        assertFalse(concurrent.isEmpty());
+        assertEquals(sequential, concurrent);
+    }
+
     @Test
     void testReleaseNotFound() throws Exception {
         // should not throw an exception, and return no patches when release does not exist
@@ -120,6 +156,150 @@ class AruUtilTest {
         assertEquals(0, recommendedPatches.size());
     }
 
+    @Test
+    void testConcurrentPatchSearch() throws Exception {
+        // each search waits until all searches have started, which only completes if they run concurrently
+        CountDownLatch started = new CountDownLatch(3);
+        AruUtil searchUtil = new TestAruUtil() {
+            @Override
+            public Stream<AruPatch> getPatches(String bugNumber, String user, String password)
+                throws IOException, XPathExpressionException {
+                started.countDown();
+                try {
+                    assertTrue(started.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return super.getPatches(bugNumber, user, password);
+            }
+        };
+        try (AruUtil.PatchSearch search =
+                 searchUtil.searchPatches(Arrays.asList("11100001", "11100002", "11100003"), "x", "x")) {
+            assertEquals("11100002", search.getPatches("11100002").findFirst().map(AruPatch::patchId).orElse(null));
+            assertEquals("11100001", search.getPatches("11100001").findFirst().map(AruPatch::patchId).orElse(null));
+            assertEquals("11100003", search.getPatches("11100003").findFirst().map(AruPatch::patchId).orElse(null));
+        }
+    }
+
+    @Test
+    void testCachedConflictCheck(@TempDir Path cacheDir) throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        AruMetadataCache cache = new AruMetadataCache(cacheDir, TimeUnit.HOURS.toMillis(1));
+        AruUtil cachingUtil = new TestAruUtil() {
+            @Override
+            AruMetadataCache metadataCache() {
+                return cache;
+            }
+
+            @Override
+            Document patchConflictCheck(String payload, String userId, String password) throws IOException {
+                requests.incrementAndGet();
+                return super.patchConflictCheck(payload, userId, password);
+            }
+        };
+        List<AruPatch> patches = Arrays.asList(new AruPatch().patchId("1").release("336"),
+            new AruPatch().patchId("2").release("336"));
+        List<AruPatch> reversed = Arrays.asList(patches.get(1), patches.get(0));
+
+        assertThrows(PatchConflictException.class,
+            () -> cachingUtil.validatePatches(new ArrayList<>(), patches, "x", "x"));
+        // the same patches in a different order use the saved result
+        assertThrows(PatchConflictException.class,
+            () -> cachingUtil.validatePatches(new ArrayList<>(), reversed, "x", "x"));
+        assertEquals(1, requests.get());
+
+        cache.forceRefresh(true);
+        assertThrows(PatchConflictException.class,
+            () -> cachingUtil.validatePatches(new ArrayList<>(), patches, "x", "x"));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void testRetryAfterHonored() throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        RetryPolicy policy = new RetryPolicy(3, 0, 0, 0);
+        AruUtil busyUtil = new TestAruUtil() {
+            @Override
+            RetryPolicy retryPolicy() {
+                return policy;
+            }
+
+            @Override
+            Document patchConflictCheck(String payload, String userId, String password) throws IOException {
+                if (requests.incrementAndGet() == 1) {
+                    throw new HttpStatusException(503, "Service Unavailable", 300);
+                }
+                return super.patchConflictCheck(payload, userId, password);
+            }
+        };
+        MockAruUtil.insertMockAruInstance(busyUtil);
+        try {
+            long start = System.nanoTime();
+            busyUtil.validatePatches(new ArrayList<>(), new ArrayList<>(), "x", "x");
+            // the policy does not wait between attempts, only the server asked for a wait
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 300);
+            assertEquals(2, requests.get());
+            assertEquals(1, policy.getRetryCount());
+            assertEquals(300, policy.getWaitTime());
+        } finally {
+            MockAruUtil.insertMockAruInstance(new TestAruUtil());
+        }
+    }
+
+    @Test
+    void testDownloadRetryAfterHonored(@TempDir Path tempDir) throws Exception {
+        byte[] content = "patch content".getBytes(StandardCharsets.UTF_8);
+        AtomicInteger requests = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/patch.zip", exchange -> {
+            if (requests.incrementAndGet() == 1) {
+                exchange.getResponseHeaders().add("Retry-After", "1");
+                exchange.sendResponseHeaders(503, -1);
+            } else {
+                exchange.sendResponseHeaders(200, content.length);
+                exchange.getResponseBody().write(content);
+            }
+            exchange.close();
+        });
+        server.start();
+        RetryPolicy policy = new RetryPolicy(3, 0, 0, 0);
+        AruUtil busyUtil = new TestAruUtil() {
+            @Override
+            RetryPolicy retryPolicy() {
+                return policy;
+            }
+        };
+        MockAruUtil.insertMockAruInstance(busyUtil);
+        try {
+            AruPatch patch = new AruPatch().patchId("12345678").version("12.2.1.4.0").fileName("patch.zip")
+                .downloadHost("http://127.0.0.1:" + server.getAddress().getPort()).downloadPath("/patch.zip");
+            String file = busyUtil.downloadAruPatch(patch, tempDir.toString(), "x", "x");
+            assertEquals("patch content", new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8));
+            assertEquals(2, requests.get());
+            // the policy does not wait between attempts, only the server asked for a wait
+            assertEquals(1000, policy.getWaitTime());
+        } finally {
+            MockAruUtil.insertMockAruInstance(new TestAruUtil());
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void testReleaseIndex() throws IOException {
+        Document releases = HttpUtil.parseXml("<results>"
+            + "<release id=\"1\"><![CDATA[Oracle Coherence 12.2.1.4.0 Linux]]></release>"
+            + "<release id=\"2\"><![CDATA[Oracle WebLogic Server 12.2.1.4.0]]></release>"
+            + "<release id=\"3\"><![CDATA[Oracle WebLogic Server 12.2.1.4.0]]></release>"
+            + "<release id=\"4\"><![CDATA[Oracle WebLogic Server 12.2.1.4.210330]]></release>"
+            + "</results>");
+        Map<String, String> index = AruUtil.indexReleases(releases);
+        assertEquals("1", index.get("Oracle Coherence 12.2.1.4.0"));
+        // the first matching release in the document is used, like the XPath lookup it replaced
+        assertEquals("2", index.get("Oracle WebLogic Server 12.2.1.4.0"));
+        assertEquals("4", index.get("Oracle WebLogic Server 12.2.1.4.210330"));
+        assertNull(index.get("Oracle WebLogic Server 12.2.1.4"));
+    }
+
     @Test
     void testPatchConflictSets() throws IOException {
         Document value = ResourceUtils.getXmlFromResource("/conflict-check/simple-conflict.xml");
@@ -1,15 +1,20 @@
-// Copyright (c) 2022, Oracle and/or its affiliates.
+// Copyright (c) 2022, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.aru;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
+import java.util.Properties;
 
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.fail;
 
 @Tag("unit")
@@ -32,6 +37,24 @@ class InstalledPatchTest {
         }
     }
 
+    @Test
+    void getPatchesFromInventoryTest() throws IOException {
+        String patchList = "<ONEOFF_LIST><ONEOFF REF_ID=\"32698246\" UNIQ_ID=\"24165861\">"
+            + "<DESC>WLS PATCH SET UPDATE 12.2.1.4.210330</DESC></ONEOFF></ONEOFF_LIST>";
+        Properties probeData = new Properties();
+        probeData.setProperty("oracleInventory",
+            Base64.getEncoder().encodeToString(patchList.getBytes(StandardCharsets.UTF_8)));
+        List<InstalledPatch> installedPatches = InstalledPatch.getPatchList(probeData);
+        assertEquals("24165861", installedPatches.get(0).uniquePatchNumber());
+        assertEquals("12.2.1.4.210330", InstalledPatch.getPsuVersion(installedPatches));
+
+        // the inventory was not found in the image, and OPatch was used
+        probeData = new Properties();
+        probeData.setProperty("oraclePatches", "32698246;24165861;None");
+        assertEquals("None", InstalledPatch.getPatchList(probeData).get(0).patchDescription());
+        assertNull(InstalledPatch.getPatchList(new Properties()));
+    }
+
     @Test
     void getPsuVersionTest() {
         String probeData = "1234567;11111111;\"WLS PATCH SET UPDATE 12.2.1.4.191220\";";
@@ -1,10 +1,11 @@
-// Copyright (c) 2022, Oracle and/or its affiliates.
+// Copyright (c) 2022, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.aru;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.nio.file.Paths;
 import java.util.stream.Stream;
 import javax.xml.xpath.XPathExpressionException;
 
@@ -26,6 +27,12 @@ public class MockAruUtil extends AruUtil {
         }
     }
 
+    @Override
+    AruMetadataCache metadataCache() {
+        // a time-to-live of zero disables cached results, so that every test calls the intercepted methods
+        return new AruMetadataCache(Paths.get("target", "aru-metadata"), 0);
+    }
+
     @Override
     public Stream<AruPatch> getPatches(String bugNumber, String user, String password)
         throws IOException, XPathExpressionException {
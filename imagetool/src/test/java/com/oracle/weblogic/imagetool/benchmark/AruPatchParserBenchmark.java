@@ -0,0 +1,111 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.xml.xpath.XPathExpressionException;
+
+import com.oracle.weblogic.imagetool.aru.AruException;
+import com.oracle.weblogic.imagetool.aru.AruPatch;
+import com.oracle.weblogic.imagetool.util.HttpUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the streaming StAX parser of ARU patch search results with the DOM and XPath parser, using a large
+ * recommended patches document built from the patches in the test resources.
+ * The benchmark is not run by the unit tests. Build the test classes, and run it with the test class path:
+ * <pre>
+ * mvn -pl imagetool test-compile dependency:build-classpath -Dmdep.outputFile=target/test.classpath
+ * java -cp imagetool/target/test-classes:imagetool/target/classes:$(cat imagetool/target/test.classpath) \
+ *     org.openjdk.jmh.Main AruPatchParserBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AruPatchParserBenchmark {
+    private static final Pattern PATCH = Pattern.compile("<patch\\b.*?</patch>", Pattern.DOTALL);
+
+    @Param({"100", "500"})
+    public int patchCount;
+
+    private byte[] document;
+
+    /**
+     * Build a search result with the requested number of patches, by repeating the patches of the test resource.
+     * @throws IOException if the test resource cannot be read
+     */
+    @Setup
+    public void createDocument() throws IOException {
+        List<String> patches = new ArrayList<>();
+        Matcher matcher = PATCH.matcher(readResource("/patches/recommended-patches.xml"));
+        while (matcher.find()) {
+            patches.add(matcher.group());
+        }
+        StringBuilder result = new StringBuilder("<results>\n");
+        for (int i = 0; i < patchCount; i++) {
+            result.append(patches.get(i % patches.size())).append('\n');
+        }
+        document = result.append("</results>\n").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parse the document into a DOM tree, and select the patches with XPath expressions.
+     * @return the patches
+     * @throws IOException if the document is not valid XML
+     * @throws XPathExpressionException if the document is not the expected format from ARU
+     */
+    @Benchmark
+    public List<AruPatch> domAndXpath() throws IOException, XPathExpressionException {
+        return AruPatch.getPatches(HttpUtil.parseXml(document)).collect(Collectors.toList());
+    }
+
+    /**
+     * Read the patches from the document with the streaming parser.
+     * @return the patches
+     * @throws IOException if the document cannot be read
+     * @throws AruException if the document is not the expected format from ARU
+     */
+    @Benchmark
+    public List<AruPatch> stax() throws IOException, AruException {
+        return AruPatch.getPatches(new ByteArrayInputStream(document)).collect(Collectors.toList());
+    }
+
+    private static String readResource(String name) throws IOException {
+        try (InputStream in = AruPatchParserBenchmark.class.getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IOException("Missing test resource " + name);
+            }
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                content.write(buffer, 0, read);
+            }
+            return new String(content.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -1,4 +1,4 @@
-// Copyright (c) 2021, 2024, Oracle and/or its affiliates.
+// Copyright (c) 2021, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.builder;
@@ -100,4 +100,14 @@ class BuilderTest {
                 BUILD_CONTEXT),
             cmd.toString());
     }
+
+    @Test
+    void testStreamContext() {
+        BuildCommand cmd = new BuildCommand(BUILD_ENGINE, BUILD_CONTEXT)
+            .tag("img:5")
+            .streamContext(true);
+
+        // the context folder is streamed on stdin, so "-" replaces the context folder
+        assertEquals(String.format("%s build --tag img:5 -", BUILD_ENGINE), cmd.toString());
+    }
 }
@@ -0,0 +1,119 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.builder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+class ContextArchiveTest {
+
+    /**
+     * Minimal tar reader for the entries written by ContextArchive.
+     * Returns the content of each entry by name, directories have an empty content.
+     */
+    private static Map<String, byte[]> readTar(byte[] tar) {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        int offset = 0;
+        String paxPath = null;
+        while (offset + 512 <= tar.length) {
+            byte[] header = Arrays.copyOfRange(tar, offset, offset + 512);
+            if (Arrays.equals(header, new byte[512])) {
+                break;
+            }
+            assertEquals(parseOctal(header, 148, 8), checksum(header), "header checksum");
+            String name = new String(header, 0, 100, StandardCharsets.UTF_8).replace("\0", "");
+            int size = (int) parseOctal(header, 124, 12);
+            byte[] content = Arrays.copyOfRange(tar, offset + 512, offset + 512 + size);
+            offset += 512 + (size + 511) / 512 * 512;
+            if (header[156] == 'x') {
+                String record = new String(content, StandardCharsets.UTF_8);
+                paxPath = record.substring(record.indexOf("path=") + 5, record.length() - 1);
+                assertEquals(content.length, Integer.parseInt(record.substring(0, record.indexOf(' '))));
+                continue;
+            }
+            entries.put(paxPath == null ? name : paxPath, content);
+            paxPath = null;
+        }
+        return entries;
+    }
+
+    private static long parseOctal(byte[] header, int offset, int length) {
+        String value = new String(header, offset, length, StandardCharsets.US_ASCII).replace("\0", "").trim();
+        return Long.parseLong(value, 8);
+    }
+
+    private static long checksum(byte[] header) {
+        long sum = 0;
+        for (int i = 0; i < header.length; i++) {
+            sum += (i >= 148 && i < 156) ? ' ' : header[i] & 0xff;
+        }
+        return sum;
+    }
+
+    @Test
+    void writesFilesAndFollowsLinks(@TempDir Path tempDir) throws IOException {
+        Path cache = Files.createDirectory(tempDir.resolve("cache"));
+        byte[] installer = new byte[1500];
+        Arrays.fill(installer, (byte) 'w');
+        Path cachedInstaller = Files.write(cache.resolve("wls.zip"), installer);
+
+        Path context = Files.createDirectory(tempDir.resolve("context"));
+        Files.write(context.resolve("Dockerfile"), "FROM scratch\n".getBytes(StandardCharsets.UTF_8));
+        Files.createSymbolicLink(context.resolve("wls.zip"), cachedInstaller);
+        Path patches = Files.createDirectory(context.resolve("patches"));
+        Files.write(patches.resolve("dummy.txt"), new byte[0]);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ContextArchive(context).writeTo(out);
+        assertEquals(0, out.size() % 512);
+
+        Map<String, byte[]> entries = readTar(out.toByteArray());
+        assertArrayEquals("FROM scratch\n".getBytes(StandardCharsets.UTF_8), entries.get("Dockerfile"));
+        assertArrayEquals(installer, entries.get("wls.zip"));
+        assertNotNull(entries.get("patches/"));
+        assertArrayEquals(new byte[0], entries.get("patches/dummy.txt"));
+        assertEquals(4, entries.size());
+    }
+
+    @Test
+    void longNamesUsePaxHeader(@TempDir Path tempDir) throws IOException {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 15; i++) {
+            name.append("directory");
+        }
+        Path dir = Files.createDirectory(tempDir.resolve(name.toString()));
+        Files.write(dir.resolve("model.yaml"), "domainInfo:\n".getBytes(StandardCharsets.UTF_8));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ContextArchive(tempDir).writeTo(out);
+
+        Map<String, byte[]> entries = readTar(out.toByteArray());
+        assertTrue(entries.containsKey(name + "/"));
+        assertArrayEquals("domainInfo:\n".getBytes(StandardCharsets.UTF_8), entries.get(name + "/model.yaml"));
+    }
+
+    @Test
+    void paxRecordLength() {
+        // the length prefix counts its own digits, so a record of 9 characters plus one digit becomes 11
+        assertEquals("7 a=bc\n", ContextArchive.paxRecord("a", "bc"));
+        assertEquals("9 a=bcde\n", ContextArchive.paxRecord("a", "bcde"));
+        assertEquals("11 a=bcdef\n", ContextArchive.paxRecord("a", "bcdef"));
+    }
+}
@@ -0,0 +1,176 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.cachestore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import uk.org.webcompere.systemstubs.jupiter.SystemStub;
+import uk.org.webcompere.systemstubs.jupiter.SystemStubsExtension;
+import uk.org.webcompere.systemstubs.properties.SystemProperties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+@ExtendWith(SystemStubsExtension.class)
+class CachePrunerTest {
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+    private static final String PSU_2307 = "35557681_12.2.1.4.0";
+    private static final String PSU_2310 = "35893811_12.2.1.4.0";
+    private static final String PSU_2401 = "36178496_12.2.1.4.0";
+
+    @TempDir
+    Path tempDir;
+
+    @SystemStub
+    private SystemProperties properties;
+
+    private FileCacheStore cache;
+    private Path cacheDir;
+
+    @BeforeEach
+    void createCache() throws IOException {
+        cacheDir = Files.createDirectory(tempDir.resolve("cache"));
+        properties.set(FileCacheStore.CACHE_DIR_ENV, cacheDir.toString());
+        cache = new FileCacheStore();
+
+        // an installer added by the user is outside the cache directory
+        Path installer = Files.write(tempDir.resolve("wls.zip"), new byte[4096]);
+        cache.addToCache("wls_12.2.1.4.0", installer.toString());
+        cache.updateUsage("wls_12.2.1.4.0", u -> u.accessed(now(-100), 4096));
+
+        addPatch("11111111_12.2.1.4.0", 1000, now(-40), null);
+        addPatch("22222222_12.2.1.4.0", 1000, now(-1), null);
+        // the keys of PSUs have the release version, like other patches, the PSU version is in the usage record
+        addPatch(PSU_2307, 2000, now(-60), "12.2.1.4.230702");
+        addPatch(PSU_2310, 2000, now(-30), "12.2.1.4.231010");
+        addPatch(PSU_2401, 2000, now(-2), "12.2.1.4.240104");
+        addPatch("66666666_12.2.1.4.0", 1000, now(-90), null);
+        cache.updateUsage("66666666_12.2.1.4.0", u -> u.pinned(true));
+    }
+
+    private static long now(int days) {
+        return System.currentTimeMillis() + days * DAY;
+    }
+
+    private void addPatch(String key, int size, long lastAccess, String psuVersion) throws IOException {
+        Path file = Files.write(cacheDir.resolve("p" + key + ".zip"), new byte[size]);
+        cache.addToCache(key, file.toString());
+        String psuProduct = psuVersion == null ? null : "15991";
+        cache.updateUsage(key, u -> new CacheEntryUsage(lastAccess, size, false, psuProduct, psuVersion));
+    }
+
+    private void assertRemoved(List<String> removed, String... keys) {
+        assertEquals(Arrays.asList(keys), removed);
+        for (String key : keys) {
+            assertFalse(cache.containsKey(key), key);
+            assertFalse(Files.exists(cacheDir.resolve("p" + key + ".zip")), key);
+        }
+    }
+
+    @Test
+    void maxAge() throws IOException {
+        assertRemoved(new CachePruner().maxAge(35).prune(cache), "11111111_12.2.1.4.0", PSU_2307);
+        // pinned entries and files outside the cache directory are kept
+        assertTrue(cache.containsKey("66666666_12.2.1.4.0"));
+        assertTrue(cache.containsKey("wls_12.2.1.4.0"));
+        assertTrue(Files.exists(tempDir.resolve("wls.zip")));
+    }
+
+    @Test
+    void keepLatestPsu() throws IOException {
+        assertRemoved(new CachePruner().keepLatestPsu(2).prune(cache), PSU_2307);
+        assertRemoved(new CachePruner().keepLatestPsu(1).prune(cache), PSU_2310);
+        assertTrue(cache.containsKey(PSU_2401));
+    }
+
+    @Test
+    void keepLatestPsuByVersion() throws IOException {
+        // a PSU with a lower bug number than an older PSU, the PSU version decides which PSU is the latest
+        addPatch("30000000_12.2.1.4.0", 2000, now(-1), "12.2.1.4.240416");
+        assertRemoved(new CachePruner().keepLatestPsu(1).prune(cache), PSU_2401, PSU_2310, PSU_2307);
+        assertTrue(cache.containsKey("30000000_12.2.1.4.0"));
+    }
+
+    @Test
+    void psuWithoutVersionKept() throws IOException {
+        // entries recorded before the PSU version was saved are not ordered, and not removed by keepLatestPsu
+        cache.updateUsage(PSU_2307, u -> new CacheEntryUsage(u.lastAccess(), u.size(), false, "15991"));
+        assertRemoved(new CachePruner().keepLatestPsu(1).prune(cache), PSU_2310);
+        assertNull(CacheEntryUsage.parse("1,2,false,15991").psuVersion());
+    }
+
+    @Test
+    void maxSize() throws IOException {
+        // 9000 bytes in the cache directory, the least recently used entries are removed first
+        CachePruner pruner = new CachePruner().maxSize(5000);
+        assertRemoved(pruner.prune(cache), PSU_2307, "11111111_12.2.1.4.0", PSU_2310);
+        assertEquals(5000, pruner.freedSpace());
+    }
+
+    @Test
+    void dryRun() throws IOException {
+        CachePruner pruner = new CachePruner().maxAge(0).dryRun(true);
+        assertEquals(5, pruner.prune(cache).size());
+        assertEquals(8000, pruner.freedSpace());
+        assertEquals(7, cache.getCacheItems().size());
+    }
+
+    @Test
+    void recentlyUsedEntryKept() throws IOException {
+        // a build used the entry
+        cache.recordAccess("11111111_12.2.1.4.0");
+        assertTrue(cache.getUsage("11111111_12.2.1.4.0").lastAccess() > now(-1));
+        assertRemoved(new CachePruner().maxAge(35).prune(cache), PSU_2307);
+
+        // the limits do not remove an entry that a running build may still place in its build context
+        assertRemoved(new CachePruner().maxSize(0).prune(cache), PSU_2310, PSU_2401, "22222222_12.2.1.4.0");
+        assertTrue(cache.containsKey("11111111_12.2.1.4.0"));
+    }
+
+    @Test
+    void entryUsedDuringPruneKept() throws IOException {
+        String inUse = "11111111_12.2.1.4.0";
+        FileCacheStore pruning = new FileCacheStore() {
+            @Override
+            public Closeable lock(String key) throws IOException {
+                if (key.equals(inUse)) {
+                    // another build resolves the entry after the pruner selected it
+                    cache.recordAccess(key);
+                }
+                return super.lock(key);
+            }
+        };
+        CachePruner pruner = new CachePruner().maxAge(35);
+        assertEquals(Collections.singletonList(PSU_2307), pruner.prune(pruning));
+        assertFalse(pruning.containsKey(PSU_2307));
+        assertTrue(pruning.containsKey(inUse));
+        assertTrue(Files.exists(cacheDir.resolve("p" + inUse + ".zip")));
+        assertEquals(2000, pruner.freedSpace());
+    }
+
+    @Test
+    void parseSize() {
+        assertEquals(1024, CachePruner.parseSize("1k"));
+        assertEquals(20L << 30, CachePruner.parseSize(" 20G "));
+        assertEquals(500, CachePruner.parseSize("500"));
+        assertThrows(IllegalArgumentException.class, () -> CachePruner.parseSize("lots"));
+        assertThrows(IllegalArgumentException.class, () -> CachePruner.parseSize("-1M"));
+    }
+}
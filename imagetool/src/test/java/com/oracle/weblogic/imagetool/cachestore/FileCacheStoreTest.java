@@ -1,9 +1,20 @@
-// Copyright (c) 2019, 2024, Oracle and/or its affiliates.
+// Copyright (c) 2019, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.cachestore;
 
+import java.io.Closeable;
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.MethodOrderer;
@@ -16,6 +27,7 @@ import org.junit.jupiter.api.io.TempDir;
 import static com.oracle.weblogic.imagetool.cachestore.CacheStoreFactory.cache;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -78,4 +90,74 @@ class FileCacheStoreTest {
                 assertEquals(0, cache().getCacheItems().size(), "Get cache items should never be null"),
             "getCacheItems threw an exception");
     }
+
+    @Test
+    @Order(5)
+    void checksumRecordedWithEntry() throws IOException {
+        Path file = Paths.get(cache().getCacheDir(), "installer.zip");
+        Files.write(file, "original content".getBytes(StandardCharsets.UTF_8));
+        FileChecksum checksum = FileChecksum.compute(file);
+        cache().addToCache(TEST_KEY, file.toString(), checksum);
+        assertEquals(checksum, cache().getChecksum(TEST_KEY));
+        assertTrue(cache().verify(TEST_KEY, VerifyMode.FAST));
+        assertTrue(cache().verify(TEST_KEY, VerifyMode.FULL));
+    }
+
+    @Test
+    @Order(6)
+    void changedFileFailsVerification() throws IOException {
+        Path file = Paths.get(cache().getValueFromCache(TEST_KEY));
+        // same size, different content, different modification time
+        Files.write(file, "modified content".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(cache().getChecksum(TEST_KEY).lastModified() + 5000));
+        assertTrue(cache().verify(TEST_KEY, VerifyMode.NONE));
+        assertFalse(cache().verify(TEST_KEY, VerifyMode.FAST));
+        assertFalse(cache().verify(TEST_KEY, VerifyMode.FULL));
+    }
+
+    @Test
+    @Order(7)
+    void touchedFilePassesVerification() throws IOException {
+        Path file = Paths.get(cache().getValueFromCache(TEST_KEY));
+        Files.write(file, "original content".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(cache().getChecksum(TEST_KEY).lastModified() + 5000));
+        // content is unchanged, the new modification time is recorded after the checksum is compared
+        assertTrue(cache().verify(TEST_KEY, VerifyMode.FAST));
+        assertEquals(Files.getLastModifiedTime(file).toMillis(), cache().getChecksum(TEST_KEY).lastModified());
+    }
+
+    @Test
+    @Order(8)
+    void checksumRemovedWithEntry() throws CacheStoreException {
+        cache().addToCache(TEST_KEY, TEST_VAL);
+        assertNull(cache().getChecksum(TEST_KEY), "checksum should be removed when the value changes");
+        cache().deleteFromCache(TEST_KEY);
+        assertNull(cache().getChecksum(TEST_KEY));
+    }
+
+    @Test
+    @Order(9)
+    void lockWaitsForOtherDownload() throws Exception {
+        // another build that shares the cache directory
+        FileCacheStore other = new FileCacheStore();
+        String key = "28186730_13.9.4.2.8";
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> waiting;
+            try (Closeable downloading = other.lock(key)) {
+                waiting = executor.submit(() -> {
+                    try (Closeable lock = cache().lock(key)) {
+                        return cache().getValueFromCache(key);
+                    }
+                });
+                Thread.sleep(200);
+                assertFalse(waiting.isDone(), "the lock should wait for the other download");
+                other.addToCache(key, "/cache/p28186730_139428_Generic.zip");
+            }
+            assertEquals("/cache/p28186730_139428_Generic.zip", waiting.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+            cache().deleteFromCache(key);
+        }
+    }
 }
@@ -0,0 +1,121 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.cachestore;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+class JournaledPropertiesTest {
+    @TempDir
+    Path cacheDir;
+
+    private JournaledProperties open() throws IOException {
+        JournaledProperties result = new JournaledProperties(cacheDir.resolve(".metadata"));
+        result.load();
+        return result;
+    }
+
+    private Properties snapshot() throws IOException {
+        Properties result = new Properties();
+        try (InputStream in = Files.newInputStream(cacheDir.resolve(".metadata"))) {
+            result.load(in);
+        }
+        return result;
+    }
+
+    @Test
+    void changesReplayedFromJournal() throws IOException {
+        JournaledProperties metadata = open();
+        metadata.put("wls_12.2.1.4.0", "/cache/wls.zip");
+        metadata.put("jdk_8u202", "/cache/jdk\ttab\\n.tar.gz");
+        metadata.put("28186730_13.9.4.2.8", "/cache/opatch.zip");
+        assertEquals("/cache/opatch.zip", metadata.remove("28186730_13.9.4.2.8"));
+        assertNull(metadata.remove("28186730_13.9.4.2.8"));
+
+        // the snapshot is not rewritten for each change
+        assertTrue(snapshot().isEmpty());
+        assertEquals(4, Files.readAllLines(cacheDir.resolve(".metadata.journal")).size());
+
+        JournaledProperties reloaded = open();
+        assertEquals("/cache/wls.zip", reloaded.get("wls_12.2.1.4.0"));
+        assertEquals("/cache/jdk\ttab\\n.tar.gz", reloaded.get("jdk_8u202"));
+        assertFalse(reloaded.containsKey("28186730_13.9.4.2.8"));
+    }
+
+    @Test
+    void incompleteRecordIgnored() throws IOException {
+        JournaledProperties metadata = open();
+        metadata.put("wls_12.2.1.4.0", "/cache/wls.zip");
+        // a process stopped while it was writing a record
+        Files.write(cacheDir.resolve(".metadata.journal"), "put\tjdk_8u202\t/cache/j".getBytes(StandardCharsets.UTF_8),
+            StandardOpenOption.APPEND);
+
+        JournaledProperties reloaded = open();
+        assertEquals(1, reloaded.entries().size());
+        assertEquals("/cache/wls.zip", reloaded.get("wls_12.2.1.4.0"));
+
+        // the next record starts on a new line
+        reloaded.put("fmw_12.2.1.4.0", "/cache/fmw.zip");
+        assertEquals("/cache/fmw.zip", open().get("fmw_12.2.1.4.0"));
+    }
+
+    @Test
+    void compactedIntoSnapshot() throws IOException {
+        JournaledProperties metadata = open();
+        for (int i = 0; i < 150; i++) {
+            metadata.put("key" + (i % 10), "value" + i);
+        }
+        // the journal grew larger than the number of entries, and was merged into the snapshot
+        Properties snapshot = snapshot();
+        assertEquals(10, snapshot.size());
+        assertEquals("value100", snapshot.getProperty("key0"));
+        assertTrue(Files.readAllLines(cacheDir.resolve(".metadata.journal")).size() < 100);
+
+        JournaledProperties reloaded = open();
+        assertEquals(metadata.entries(), reloaded.entries());
+        assertEquals("value149", reloaded.get("key9"));
+    }
+
+    @Test
+    void concurrentProcessesKeepEntries() throws IOException {
+        // two builds sharing the cache directory
+        JournaledProperties first = open();
+        JournaledProperties second = open();
+        first.put("wls_12.2.1.4.0", "/cache/wls.zip");
+        second.put("jdk_8u202", "/cache/jdk.tar.gz");
+        second.compact();
+        first.put("fmw_12.2.1.4.0", "/cache/fmw.zip");
+
+        JournaledProperties next = open();
+        assertEquals(3, next.entries().size());
+        // compacting reads the changes made by the other process
+        assertEquals("/cache/wls.zip", second.get("wls_12.2.1.4.0"));
+        assertEquals(2, snapshot().size());
+    }
+
+    @Test
+    void clearedSnapshot() throws IOException {
+        JournaledProperties metadata = open();
+        metadata.put("wls_12.2.1.4.0", "/cache/wls.zip");
+        metadata.clear();
+        assertTrue(snapshot().isEmpty());
+        assertFalse(Files.exists(cacheDir.resolve(".metadata.journal")));
+        assertTrue(open().entries().isEmpty());
+    }
+}
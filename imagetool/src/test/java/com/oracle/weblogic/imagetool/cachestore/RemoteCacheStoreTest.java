@@ -0,0 +1,212 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.cachestore;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import uk.org.webcompere.systemstubs.jupiter.SystemStub;
+import uk.org.webcompere.systemstubs.jupiter.SystemStubsExtension;
+import uk.org.webcompere.systemstubs.properties.SystemProperties;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+@ExtendWith(SystemStubsExtension.class)
+class RemoteCacheStoreTest {
+    private static final String PATCH_KEY = "28186730_13.9.4.2.8";
+
+    @TempDir
+    Path tempDir;
+
+    // a stand-in for an artifact repository or object store
+    private HttpServer server;
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private String requiredAuthorization;
+    private int failureStatus;
+
+    @SystemStub
+    private SystemProperties properties;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/shared", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        String path = exchange.getRequestURI().getRawPath();
+        if (failureStatus > 0) {
+            reply(exchange, failureStatus, "failed".getBytes(StandardCharsets.UTF_8));
+        } else if (requiredAuthorization != null
+            && !requiredAuthorization.equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+            reply(exchange, 401, "unauthorized".getBytes(StandardCharsets.UTF_8));
+        } else if ("PUT".equals(exchange.getRequestMethod())) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            try (InputStream in = exchange.getRequestBody()) {
+                byte[] buffer = new byte[8192];
+                for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                    body.write(buffer, 0, read);
+                }
+            }
+            objects.put(path, body.toByteArray());
+            reply(exchange, 200, "stored".getBytes(StandardCharsets.UTF_8));
+        } else if (objects.containsKey(path)) {
+            reply(exchange, 200, objects.get(path));
+        } else {
+            reply(exchange, 404, "not found".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void reply(HttpExchange exchange, int status, byte[] content) throws IOException {
+        exchange.sendResponseHeaders(status, content.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(content);
+        }
+    }
+
+    private String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/shared/";
+    }
+
+    private RemoteCacheStore agent(String name, String url) throws IOException {
+        Path cacheDir = Files.createDirectory(tempDir.resolve(name));
+        properties.set(FileCacheStore.CACHE_DIR_ENV, cacheDir.toString());
+        return new RemoteCacheStore(new FileCacheStore(), url);
+    }
+
+    private byte[] downloadPatch(CacheStore cache) throws IOException {
+        byte[] content = "patch content".getBytes(StandardCharsets.UTF_8);
+        Path file = Files.write(Paths.get(cache.getCacheDir(), "p28186730_139428_Generic.zip"), content);
+        cache.addToCache(PATCH_KEY, file.toString(), FileChecksum.compute(file));
+        cache.publish(PATCH_KEY);
+        cache.flush();
+        return content;
+    }
+
+    @Test
+    void downloadedOnceForAllAgents() throws IOException {
+        byte[] content = downloadPatch(agent("first", url()));
+        assertTrue(objects.containsKey("/shared/" + PATCH_KEY + ".entry"));
+
+        RemoteCacheStore second = agent("second", url());
+        String value = second.fetch(PATCH_KEY);
+        assertNotNull(value);
+        assertEquals(Paths.get(second.getCacheDir(), "p28186730_139428_Generic.zip"), Paths.get(value));
+        assertArrayEquals(content, Files.readAllBytes(Paths.get(value)));
+        assertTrue(second.verify(PATCH_KEY, VerifyMode.FULL));
+
+        // the file is now in the local tier
+        int before = requests.get();
+        assertEquals(value, second.getValueFromCache(PATCH_KEY));
+        assertEquals(before, requests.get());
+    }
+
+    @Test
+    void lookupOnlyInLocalCache() throws IOException {
+        downloadPatch(agent("first", url()));
+        RemoteCacheStore second = agent("second", url());
+        int before = requests.get();
+        assertNull(second.getValueFromCache(PATCH_KEY));
+        assertFalse(second.containsKey(PATCH_KEY));
+        assertEquals(before, requests.get());
+    }
+
+    @Test
+    void psuVersionShared() throws IOException {
+        RemoteCacheStore first = agent("first", url());
+        byte[] content = "psu content".getBytes(StandardCharsets.UTF_8);
+        Path file = Files.write(Paths.get(first.getCacheDir(), "p36574636_122140_Generic.zip"), content);
+        first.addToCache("36574636_12.2.1.4.0", file.toString(), FileChecksum.compute(file));
+        first.updateUsage("36574636_12.2.1.4.0", usage -> usage.psu("15991", "12.2.1.4.240614"));
+        first.publish("36574636_12.2.1.4.0");
+        first.flush();
+
+        RemoteCacheStore second = agent("second", url());
+        assertNotNull(second.fetch("36574636_12.2.1.4.0"));
+        CacheEntryUsage usage = second.getUsage("36574636_12.2.1.4.0");
+        assertEquals("15991", usage.psuProduct());
+        assertEquals("12.2.1.4.240614", usage.psuVersion());
+    }
+
+    @Test
+    void missNotRequestedAgain() throws IOException {
+        RemoteCacheStore cache = agent("agent", url());
+        assertNull(cache.fetch("wls_12.2.1.4.0"));
+        int before = requests.get();
+        assertNull(cache.fetch("wls_12.2.1.4.0"));
+        assertEquals(before, requests.get());
+    }
+
+    @Test
+    void corruptFileRejected() throws IOException {
+        downloadPatch(agent("first", url()));
+        objects.put("/shared/" + PATCH_KEY + "/p28186730_139428_Generic.zip",
+            "changed content".getBytes(StandardCharsets.UTF_8));
+
+        RemoteCacheStore second = agent("second", url());
+        assertNull(second.fetch(PATCH_KEY));
+        assertFalse(second.containsKey(PATCH_KEY));
+        assertFalse(Files.exists(Paths.get(second.getCacheDir(), "p28186730_139428_Generic.zip")));
+    }
+
+    @Test
+    void credentialsFromUrl() throws IOException {
+        requiredAuthorization = "Basic "
+            + Base64.getEncoder().encodeToString("builder:s3cret".getBytes(StandardCharsets.UTF_8));
+        String url = url().replace("http://", "http://builder:s3cret@");
+        downloadPatch(agent("first", url));
+        assertNotNull(agent("second", url).fetch(PATCH_KEY));
+    }
+
+    @Test
+    void forbiddenDisablesSharedCache() throws IOException {
+        failureStatus = 403;
+        RemoteCacheStore cache = agent("agent", url());
+        assertNull(cache.fetch(PATCH_KEY));
+        int before = requests.get();
+        assertNull(cache.fetch("wls_12.2.1.4.0"));
+        assertEquals(before, requests.get());
+    }
+
+    @Test
+    void failedRequestNotRetried() throws IOException {
+        failureStatus = 503;
+        RemoteCacheStore cache = agent("agent", url());
+        assertNull(cache.fetch(PATCH_KEY));
+        assertEquals(1, requests.get());
+    }
+}
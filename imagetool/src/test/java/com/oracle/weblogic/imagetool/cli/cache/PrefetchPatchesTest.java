@@ -0,0 +1,177 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.cli.cache;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.oracle.weblogic.imagetool.api.model.CommandResponse;
+import com.oracle.weblogic.imagetool.aru.AruPatch;
+import com.oracle.weblogic.imagetool.aru.AruUtil;
+import com.oracle.weblogic.imagetool.aru.MockAruUtil;
+import com.oracle.weblogic.imagetool.cachestore.CacheStore;
+import com.oracle.weblogic.imagetool.cachestore.CacheStoreFactory;
+import com.oracle.weblogic.imagetool.installer.FmwInstallerType;
+import com.oracle.weblogic.imagetool.util.Architecture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import picocli.CommandLine;
+import uk.org.webcompere.systemstubs.jupiter.SystemStub;
+import uk.org.webcompere.systemstubs.jupiter.SystemStubsExtension;
+import uk.org.webcompere.systemstubs.properties.SystemProperties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+@ExtendWith(SystemStubsExtension.class)
+class PrefetchPatchesTest {
+    @TempDir
+    Path cacheDir;
+
+    private final List<String> downloads = Collections.synchronizedList(new ArrayList<>());
+    private final Set<String> unavailable = ConcurrentHashMap.newKeySet();
+    private Field storeField;
+    private Object previousStore;
+
+    @SystemStub
+    private SystemProperties properties;
+
+    /**
+     * Intercept the ARU lookups and downloads.
+     */
+    private class PrefetchAruUtil extends AruUtil {
+        @Override
+        public boolean checkCredentials(String username, String password) {
+            return true;
+        }
+
+        @Override
+        public List<AruPatch> getRecommendedPatches(FmwInstallerType type, String version, Architecture arch,
+                                                    String userId, String password) {
+            return Arrays.asList(
+                new AruPatch().patchId("36574636").version("12.2.1.4.0").product("15991")
+                    .psuBundle("Oracle WebLogic Server 12.2.1.4.240614")
+                    .fileName("p36574636_122140_Generic.zip"),
+                new AruPatch().patchId("36426672").version("12.2.1.4.0")
+                    .fileName("p36426672_122140_Generic.zip"));
+        }
+
+        @Override
+        public List<AruPatch> getLatestPsu(FmwInstallerType type, String version, Architecture arch,
+                                           String userId, String password) {
+            return getRecommendedPatches(type, version, arch, userId, password).subList(0, 1);
+        }
+
+        @Override
+        public String downloadAruPatch(AruPatch aruPatch, String targetDir, String username, String password)
+            throws IOException {
+            if (unavailable.contains(aruPatch.patchId())) {
+                throw new FileNotFoundException("not available");
+            }
+            downloads.add(aruPatch.patchId());
+            Path file = Paths.get(targetDir, aruPatch.fileName());
+            Files.write(file, aruPatch.patchId().getBytes(StandardCharsets.UTF_8));
+            return file.toString();
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties.set("WLSIMG_CACHEDIR", cacheDir.toString());
+        storeField = CacheStoreFactory.class.getDeclaredField("store");
+        storeField.setAccessible(true);
+        previousStore = storeField.get(null);
+        storeField.set(null, null);
+        MockAruUtil.insertMockAruInstance(new PrefetchAruUtil());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        MockAruUtil.removeMockAruInstance();
+        storeField.set(null, previousStore);
+    }
+
+    private static CommandResponse prefetch(String... args) {
+        CommandLine cmd = new CommandLine(new PrefetchPatches());
+        StringWriter sw = new StringWriter();
+        cmd.setOut(new PrintWriter(sw));
+        cmd.setErr(new PrintWriter(sw));
+        cmd.execute(args);
+        return cmd.getExecutionResult();
+    }
+
+    @Test
+    void credentialsRequired() {
+        assertEquals(1, prefetch("--version", "12.2.1.4.0").getStatus());
+        assertTrue(downloads.isEmpty());
+    }
+
+    @Test
+    void patchesDownloadedOnce() throws IOException {
+        CommandResponse response = prefetch("--type", "WLS,FMW", "--version", "12.2.1.4.0", "--user", "user",
+            "--password=secret", "--skipOpatchUpdate");
+        assertEquals(0, response.getStatus(), response.getMessage());
+        // both installer types have the same patches
+        assertEquals(2, downloads.size());
+        CacheStore cache = CacheStoreFactory.cache();
+        assertTrue(new File(cache.getValueFromCache("36574636_12.2.1.4.0")).isFile());
+        assertTrue(new File(cache.getValueFromCache("36426672_12.2.1.4.0")).isFile());
+        // registered like a download during a build
+        assertEquals("15991", cache.getUsage("36574636_12.2.1.4.0").psuProduct());
+        assertEquals("12.2.1.4.240614", cache.getUsage("36574636_12.2.1.4.0").psuVersion());
+
+        // the next run finds the patches in the cache
+        assertEquals(0, prefetch("--version", "12.2.1.4.0", "--user", "user", "--password=secret",
+            "--skipOpatchUpdate").getStatus());
+        assertEquals(2, downloads.size());
+    }
+
+    @Test
+    void latestPsuOnly() {
+        assertEquals(0, prefetch("--version", "12.2.1.4.0", "--latestPSU", "--user", "user",
+            "--password=secret", "--skipOpatchUpdate").getStatus());
+        assertEquals(Collections.singletonList("36574636"), downloads);
+    }
+
+    @Test
+    void failedDownloadReported() throws IOException {
+        unavailable.add("36426672");
+        CommandResponse response = prefetch("--version", "12.2.1.4.0", "--user", "user", "--password=secret",
+            "--skipOpatchUpdate");
+        assertEquals(1, response.getStatus());
+        // the other patch is still downloaded
+        assertEquals(Collections.singletonList("36574636"), downloads);
+        assertFalse(CacheStoreFactory.cache().containsKey("36426672_12.2.1.4.0"));
+    }
+
+    @Test
+    void everyFailedDownloadCounted() {
+        unavailable.add("36426672");
+        unavailable.add("36574636");
+        CommandResponse response = prefetch("--version", "12.2.1.4.0", "--user", "user", "--password=secret",
+            "--skipOpatchUpdate");
+        assertEquals(1, response.getStatus());
+        assertTrue(response.getMessage().startsWith("2 of 2 "), response.getMessage());
+    }
+}
@@ -1,4 +1,4 @@
-// Copyright (c) 2020, 2024, Oracle and/or its affiliates.
+// Copyright (c) 2020, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.cli.menu;
@@ -22,6 +22,7 @@ import com.oracle.weblogic.imagetool.logging.LoggingFacade;
 import com.oracle.weblogic.imagetool.logging.LoggingFactory;
 import com.oracle.weblogic.imagetool.test.annotations.ReduceTestLogging;
 import com.oracle.weblogic.imagetool.util.DockerfileOptions;
+import com.oracle.weblogic.imagetool.util.StagingMode;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -29,6 +30,7 @@ import picocli.CommandLine;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -244,4 +246,16 @@ class CommonOptionsTest {
         assertEquals(2, dockerfile.buildArgs().size());
         assertEquals("something", dockerfile.buildArgs().get(0));
     }
+
+    @Test
+    void stagingModeWithStreamContext() throws Exception {
+        CreateImage createImage = new CreateImage();
+        new CommandLine(createImage).parseArgs("--tag", "tag:1", "--streamContext", "--stagingMode", "COPY");
+        assertThrows(IllegalArgumentException.class, createImage::initializeOptions);
+
+        CreateImage symlinks = new CreateImage();
+        new CommandLine(symlinks).parseArgs("--tag", "tag:1", "--streamContext", "--stagingMode", "SYMLINK");
+        symlinks.initializeOptions();
+        assertEquals(StagingMode.SYMLINK, symlinks.stagingMode());
+    }
 }
@@ -1,12 +1,20 @@
-// Copyright (c) 2022, 2024, Oracle and/or its affiliates.
+// Copyright (c) 2022, 2026, Oracle and/or its affiliates.
 // Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
 
 package com.oracle.weblogic.imagetool.cli.menu;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.xml.xpath.XPathExpressionException;
 
 import com.oracle.weblogic.imagetool.aru.AruException;
@@ -15,19 +23,24 @@ import com.oracle.weblogic.imagetool.aru.AruUtil;
 import com.oracle.weblogic.imagetool.aru.InvalidCredentialException;
 import com.oracle.weblogic.imagetool.aru.InvalidPatchNumberException;
 import com.oracle.weblogic.imagetool.aru.MockAruUtil;
+import com.oracle.weblogic.imagetool.aru.PatchConflictException;
 import com.oracle.weblogic.imagetool.aru.PatchVersionException;
 import com.oracle.weblogic.imagetool.installer.FmwInstallerType;
 import com.oracle.weblogic.imagetool.test.annotations.ReduceTestLogging;
 import com.oracle.weblogic.imagetool.util.Architecture;
 import com.oracle.weblogic.imagetool.util.InvalidPatchIdFormatException;
+import com.oracle.weblogic.imagetool.util.ResumableDownload;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import picocli.CommandLine;
 
+import static com.oracle.weblogic.imagetool.cachestore.CacheStoreFactory.cache;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -300,4 +313,63 @@ class CommonPatchingOptionsTest {
         assertEquals("11100004", results.get(1).patchId());
         assertEquals("12.2.1.3.211222", results.get(1).version());
     }
+
+    private static AruPatch downloadOnlyPatch(String patchId) {
+        return new AruPatch().patchId(patchId).version("12.2.1.4.0").platform("2000")
+            .fileName("p" + patchId + "_122140_Generic.zip");
+    }
+
+    @Test
+    void conflictCancelsDownloads(@TempDir Path patchesFolder) throws Exception {
+        String cacheDir = cache().getCacheDir();
+        List<AruPatch> patches = Arrays.asList(downloadOnlyPatch("90000001"), downloadOnlyPatch("90000002"));
+        CountDownLatch downloading = new CountDownLatch(patches.size());
+        CountDownLatch stopped = new CountDownLatch(patches.size());
+        TestAruUtil.insertMockAruInstance(new TestAruUtil() {
+            @Override
+            public String downloadAruPatch(AruPatch aruPatch, String targetDir, String username, String password)
+                throws IOException {
+                Files.write(Paths.get(targetDir, aruPatch.fileName() + ResumableDownload.PART_SUFFIX), new byte[16]);
+                downloading.countDown();
+                try {
+                    // a download that only ends when it is cancelled
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                    throw new IOException("The download was not cancelled");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Download interrupted");
+                } finally {
+                    stopped.countDown();
+                }
+            }
+        });
+        try {
+            CreateImage createImage = new CreateImage();
+            new CommandLine(createImage).parseArgs("--tag", "tag:1", "--user", "derek", "--password", "xxx");
+            createImage.initializeOptions();
+            AtomicBoolean overlapped = new AtomicBoolean();
+            PatchConflictException conflict =
+                new PatchConflictException(Collections.singletonList(Arrays.asList("90000001", "90000002")));
+
+            AruException reported = assertThrows(AruException.class,
+                () -> createImage.downloadPatches(patches, patchesFolder, () -> {
+                    // the conflict check runs while the patches are downloaded
+                    try {
+                        overlapped.set(downloading.await(10, TimeUnit.SECONDS));
+                    } catch (InterruptedException e) {
+                        throw new InterruptedIOException("Conflict check interrupted");
+                    }
+                    throw conflict;
+                }));
+            assertSame(conflict, reported);
+            assertTrue(overlapped.get(), "The conflict check did not run while the patches were downloaded");
+            // the downloads stopped instead of running to completion
+            assertEquals(0, stopped.getCount());
+            for (AruPatch patch : patches) {
+                assertFalse(Files.exists(Paths.get(cacheDir, patch.fileName() + ResumableDownload.PART_SUFFIX)));
+            }
+        } finally {
+            TestAruUtil.insertMockAruInstance(new TestAruUtil());
+        }
+    }
 }
@@ -0,0 +1,47 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.cli.menu;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import com.oracle.weblogic.imagetool.api.model.CommandResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import picocli.CommandLine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+class InspectImageTest {
+
+    @Test
+    void readImageList(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("images.txt");
+        Files.write(file, Arrays.asList("# nightly audit", "wls:12.2.1.4", "", "  wls:14.1.1.0  ", "#fmw:12.2.1.4"),
+            StandardCharsets.UTF_8);
+        assertEquals(Arrays.asList("wls:12.2.1.4", "wls:14.1.1.0"), InspectImage.readImageList(file));
+    }
+
+    @Test
+    void archiveWithImages() throws Exception {
+        InspectImage inspect = new InspectImage();
+        new CommandLine(inspect).parseArgs("--archive", "image.tar", "--image", "wls:12.2.1.4,wls:14.1.1.0");
+        CommandResponse response = inspect.call();
+        assertEquals(1, response.getStatus());
+        assertTrue(response.getMessage().contains("--imageFile"));
+    }
+
+    @Test
+    void noImage() throws Exception {
+        InspectImage inspect = new InspectImage();
+        new CommandLine(inspect).parseArgs("--patches");
+        assertEquals(1, inspect.call().getStatus());
+    }
+}
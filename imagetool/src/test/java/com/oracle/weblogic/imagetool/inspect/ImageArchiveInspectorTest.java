@@ -0,0 +1,286 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.inspect;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.zip.GZIPOutputStream;
+
+import com.oracle.weblogic.imagetool.util.Utils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag("unit")
+class ImageArchiveInspectorTest {
+    private static final String REGISTRY = "<registry home=\"/u01/oracle\"><distributions>"
+        + "<distribution status=\"installed\" name=\"WebLogic Server\" version=\"12.2.1.4.0\"/>"
+        + "</distributions></registry>";
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Write tar archives in the ustar format, like the layers of an image.
+     */
+    private static class TarBuilder {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        TarBuilder file(String name, String content) {
+            return file(name, content.getBytes(StandardCharsets.UTF_8), 0, 0);
+        }
+
+        TarBuilder file(String name, byte[] content, int uid, int gid) {
+            header(name, '0', content.length, uid, gid, "");
+            out.write(content, 0, content.length);
+            int padding = (512 - content.length % 512) % 512;
+            out.write(new byte[padding], 0, padding);
+            return this;
+        }
+
+        TarBuilder directory(String name, int uid, int gid) {
+            header(name, '5', 0, uid, gid, "");
+            return this;
+        }
+
+        TarBuilder symlink(String name, String target) {
+            header(name, '2', 0, 0, 0, target);
+            return this;
+        }
+
+        private void header(String name, char type, long size, int uid, int gid, String linkName) {
+            byte[] header = new byte[512];
+            put(header, 0, name);
+            put(header, 100, "0000644");
+            put(header, 108, String.format("%07o", uid));
+            put(header, 116, String.format("%07o", gid));
+            put(header, 124, String.format("%011o", size));
+            put(header, 136, "00000000000");
+            header[156] = (byte) type;
+            put(header, 157, linkName);
+            put(header, 257, "ustar");
+            put(header, 263, "00");
+            for (int i = 148; i < 156; i++) {
+                header[i] = ' ';
+            }
+            int checksum = 0;
+            for (byte b : header) {
+                checksum += b & 0xff;
+            }
+            put(header, 148, String.format("%06o", checksum));
+            out.write(header, 0, header.length);
+        }
+
+        private static void put(byte[] header, int offset, String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            System.arraycopy(bytes, 0, header, offset, bytes.length);
+        }
+
+        byte[] build() {
+            out.write(new byte[1024], 0, 1024);
+            return out.toByteArray();
+        }
+    }
+
+    private static String config(String architecture) {
+        return "{\"architecture\":\"" + architecture + "\",\"os\":\"linux\",\"config\":{\"Env\":["
+            + "\"PATH=/usr/local/sbin:/usr/local/bin:/usr/sbin:/usr/bin:/sbin:/bin\","
+            + "\"JAVA_HOME=/u01/jdk\",\"ORACLE_HOME=/u01/oracle\",\"DOMAIN_HOME=/u01/domains/base_domain\"]}}";
+    }
+
+    private static byte[] baseLayer() {
+        return new TarBuilder()
+            .directory("etc/", 0, 0)
+            .symlink("etc/os-release", "../usr/lib/os-release")
+            .file("etc/passwd", "root:x:0:0:root:/root:/bin/bash\noracle:x:1000:1000::/home/oracle:/bin/bash\n")
+            .file("etc/group", "root:x:0:\noinstall:x:1000:\n")
+            .file("usr/lib/os-release", "NAME=\"Oracle Linux Server\"\nVERSION=\"8.10\"\nID=\"ol\"\n")
+            .file("usr/bin/dnf", "#!/usr/bin/python3")
+            .build();
+    }
+
+    private static byte[] oracleLayer() {
+        return new TarBuilder()
+            .file("usr/bin/.wh.dnf", "")
+            .file("usr/bin/microdnf", new byte[100], 0, 0)
+            .file("u01/jdk/release", "JAVA_VERSION=\"1.8.0_202\"\n")
+            .directory("u01/oracle/", 1000, 1000)
+            .file("u01/oracle/inventory/registry.xml", REGISTRY.getBytes(StandardCharsets.UTF_8), 1000, 1000)
+            .file("u01/oracle/OPatch/version.txt", "OPATCH_VERSION:13.9.4.2.14\n")
+            .file("u01/oracle/inventory/ContentsXML/comps.xml", "<PRD_LIST><ONEOFF_LIST>"
+                + "<ONEOFF REF_ID=\"36574636\" UNIQ_ID=\"25697349\"><DESC>WLS PATCH SET UPDATE 12.2.1.4.240614</DESC>"
+                + "</ONEOFF></ONEOFF_LIST></PRD_LIST>")
+            .build();
+    }
+
+    private Path dockerSave() throws IOException {
+        Path archive = tempDir.resolve("image.tar");
+        Files.write(archive, new TarBuilder()
+            .file("manifest.json", "[{\"Config\":\"abc.json\",\"RepoTags\":[\"wls:12.2.1.4\"],"
+                + "\"Layers\":[\"l1/layer.tar\",\"l2/layer.tar\"]}]")
+            .file("abc.json", config("amd64"))
+            .file("l1/layer.tar", baseLayer(), 0, 0)
+            .file("l2/layer.tar", oracleLayer(), 0, 0)
+            .build());
+        return archive;
+    }
+
+    private static void assertImage(Properties properties) {
+        assertEquals("MICRODNF", properties.getProperty("packageManager"));
+        assertEquals("/u01/jdk", properties.getProperty("javaHome"));
+        assertEquals("1.8.0_202", properties.getProperty("javaVersion"));
+        assertEquals("/u01/oracle", properties.getProperty("oracleHome"));
+        assertEquals("oracle", properties.getProperty("oracleHomeUser"));
+        assertEquals("oinstall", properties.getProperty("oracleHomeGroup"));
+        assertEquals("12.2.1.4.0", properties.getProperty("wlsVersion"));
+        assertEquals("WebLogic Server", properties.getProperty("oracleInstalledProducts"));
+        assertEquals("true", properties.getProperty("wdtModelOnly"));
+        assertEquals("\"ol\"", properties.getProperty("__OS__ID"));
+        assertEquals("\"8.10\"", properties.getProperty("__OS__VERSION"));
+    }
+
+    @Test
+    void dockerSaveArchive() throws IOException {
+        Properties properties = new ImageArchiveInspector(dockerSave()).inspect();
+        assertImage(properties);
+        assertEquals("x86_64", properties.getProperty("__OS__arch"));
+        // only with --patches, like the patches probe tier
+        assertNull(properties.getProperty("opatchVersion"));
+    }
+
+    @Test
+    void compressedArchive() throws IOException {
+        Path compressed = tempDir.resolve("image.tar.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+            out.write(Files.readAllBytes(dockerSave()));
+        }
+        Properties properties = new ImageArchiveInspector(compressed).includePatches(true).inspect();
+        assertImage(properties);
+        assertEquals("13.9.4.2.14", properties.getProperty("opatchVersion"));
+        List<InventoryPatch> patches = OracleInventory.getPatches(properties);
+        assertEquals(1, patches.size());
+        assertEquals("WLS PATCH SET UPDATE 12.2.1.4.240614", patches.get(0).description());
+    }
+
+    @Test
+    void compressedArchiveLayersOutOfOrder() throws IOException {
+        // docker save sorts the files, so the layers may be before the manifest, and not in the order of the image
+        byte[] linkLayer = new TarBuilder().symlink("u01/jdk", "../opt/jdk").build();
+        byte[] directoryLayer = new TarBuilder().directory("u01/jdk/", 0, 0).build();
+        Path compressed = tempDir.resolve("sorted.tar.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+            out.write(new TarBuilder()
+                .file("l4/layer.tar", oracleLayer(), 0, 0)
+                .file("l3/layer.tar", directoryLayer, 0, 0)
+                .file("l2/layer.tar", linkLayer, 0, 0)
+                .file("l1/layer.tar", baseLayer(), 0, 0)
+                .file("abc.json", config("amd64"))
+                .file("manifest.json", "[{\"Config\":\"abc.json\",\"RepoTags\":[\"wls:12.2.1.4\"],"
+                    + "\"Layers\":[\"l1/layer.tar\",\"l2/layer.tar\",\"l3/layer.tar\",\"l4/layer.tar\"]}]")
+                .build());
+        }
+        // the directory in the third layer replaces the link in the second layer
+        assertImage(new ImageArchiveInspector(compressed).inspect());
+    }
+
+    @Test
+    void linkTargetsReadFromTheirLayers() throws IOException {
+        byte[] jdkLayer = new TarBuilder().file("u01/jdk1.8/release", "JAVA_VERSION=\"1.8.0_202\"\n").build();
+        byte[] linkLayer = new TarBuilder().symlink("u01/jdk", "jdk1.8").build();
+        LayeredFilesystem.Selection selection = new LayeredFilesystem.Selection();
+        selection.files.add("/etc/passwd");
+        selection.files.add("/u01/jdk/release");
+        LayeredFilesystem filesystem = new LayeredFilesystem(selection);
+        filesystem.addLayer(new ByteArrayInputStream(baseLayer()));
+        filesystem.addLayer(new ByteArrayInputStream(jdkLayer));
+        filesystem.addLayer(new ByteArrayInputStream(linkLayer));
+        assertNull(filesystem.content("/u01/jdk/release"));
+
+        LayeredFilesystem.Selection targets = selection.resolved(filesystem);
+        assertEquals(Collections.singleton("/u01/jdk1.8/release"), targets.files);
+        BitSet layers = filesystem.layersContaining(targets);
+        // only the layer with the target of the link
+        assertEquals(1, layers.cardinality());
+        assertEquals(1, layers.nextSetBit(0));
+
+        LayeredFilesystem linked = new LayeredFilesystem(targets);
+        linked.addLayer(new ByteArrayInputStream(jdkLayer));
+        filesystem.addAll(linked);
+        assertEquals("JAVA_VERSION=\"1.8.0_202\"\n",
+            new String(filesystem.content("/u01/jdk/release"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void ociLayout() throws IOException {
+        Path layout = Files.createDirectories(tempDir.resolve("layout"));
+        String amdConfig = blob(layout, config("amd64").getBytes(StandardCharsets.UTF_8));
+        String armConfig = blob(layout, config("arm64").getBytes(StandardCharsets.UTF_8));
+        String base = blob(layout, gzip(baseLayer()));
+        String oracle = blob(layout, gzip(oracleLayer()));
+        String layers = ",\"layers\":[{\"digest\":\"" + base + "\"},{\"digest\":\"" + oracle + "\"}]}";
+        String amdManifest = blob(layout,
+            ("{\"config\":{\"digest\":\"" + amdConfig + "\"}" + layers).getBytes(StandardCharsets.UTF_8));
+        String armManifest = blob(layout,
+            ("{\"config\":{\"digest\":\"" + armConfig + "\"}" + layers).getBytes(StandardCharsets.UTF_8));
+        String index = blob(layout, ("{\"manifests\":["
+            + "{\"digest\":\"" + amdManifest + "\",\"platform\":{\"os\":\"linux\",\"architecture\":\"amd64\"}},"
+            + "{\"digest\":\"" + armManifest + "\",\"platform\":{\"os\":\"linux\",\"architecture\":\"arm64\"}}]}")
+            .getBytes(StandardCharsets.UTF_8));
+        Files.write(layout.resolve("index.json"), ("{\"manifests\":[{\"mediaType\":"
+            + "\"application/vnd.oci.image.index.v1+json\",\"digest\":\"" + index + "\"}]}")
+            .getBytes(StandardCharsets.UTF_8));
+
+        Properties properties = new ImageArchiveInspector(layout).platform("linux/arm64").inspect();
+        assertImage(properties);
+        assertEquals("aarch64", properties.getProperty("__OS__arch"));
+
+        assertThrows(IOException.class, () -> new ImageArchiveInspector(layout).platform("linux/s390x").inspect());
+    }
+
+    @Test
+    void notAnImage() throws IOException {
+        Path archive = tempDir.resolve("files.tar");
+        Files.write(archive, new TarBuilder().file("readme.txt", "not an image").build());
+        assertThrows(IOException.class, () -> new ImageArchiveInspector(archive).inspect());
+    }
+
+    @Test
+    void ownerName() {
+        byte[] passwd = "root:x:0:0:root:/root:/bin/bash\n".getBytes(StandardCharsets.UTF_8);
+        assertEquals("root", ImageArchiveInspector.ownerName(passwd, 0, null));
+        assertEquals("oracle", ImageArchiveInspector.ownerName(passwd, 1000, "oracle"));
+        assertEquals("UNKNOWN", ImageArchiveInspector.ownerName(null, 1000, ""));
+    }
+
+    private static String blob(Path layout, byte[] content) throws IOException {
+        MessageDigest digest = Utils.sha256Digest();
+        String hex = Utils.toHex(digest.digest(content));
+        Path file = layout.resolve("blobs").resolve("sha256").resolve(hex);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content);
+        return "sha256:" + hex;
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(result)) {
+            out.write(content);
+        }
+        return result.toByteArray();
+    }
+}
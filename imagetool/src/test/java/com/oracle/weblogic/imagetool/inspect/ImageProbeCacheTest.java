@@ -0,0 +1,70 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.inspect;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+class ImageProbeCacheTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void savedResult() throws IOException {
+        ImageProbeCache cache = new ImageProbeCache(tempDir.resolve("probes"));
+        assertNull(cache.get("0123abcd"));
+
+        Properties result = new Properties();
+        result.setProperty("javaHome", "/u01/jdk");
+        result.setProperty("oracleHome", "/u01/oracle");
+        cache.put("0123abcd", result);
+        assertEquals(result, cache.get("0123abcd"));
+        // no temporary files are left behind
+        assertEquals(1, Files.list(tempDir.resolve("probes")).count());
+    }
+
+    @Test
+    void unknownImage() throws IOException {
+        ImageProbeCache cache = new ImageProbeCache(tempDir);
+        cache.put(null, new Properties());
+        assertNull(cache.get(null));
+        assertEquals(0, Files.list(tempDir).count());
+    }
+
+    @Test
+    void disabled() throws InterruptedException {
+        assertNull(new ImageProbeCache(null).key("docker", "oraclelinux:8", null, tempDir.resolve("test-env.sh")));
+    }
+
+    @Test
+    void parseIdentity() {
+        assertArrayEquals(new String[] {"sha256:9f2c41", "linux/amd64"},
+            ImageProbeCache.parseIdentity("sha256:9f2c41 linux/amd64\n"));
+        assertNull(ImageProbeCache.parseIdentity(null));
+        assertNull(ImageProbeCache.parseIdentity(""));
+        assertNull(ImageProbeCache.parseIdentity("Error: No such image: oraclelinux:8"));
+    }
+
+    @Test
+    void platformMatches() {
+        assertTrue(ImageProbeCache.platformMatches(null, "linux/amd64"));
+        assertTrue(ImageProbeCache.platformMatches("linux/amd64", "linux/amd64"));
+        assertTrue(ImageProbeCache.platformMatches("linux/arm64/v8", "linux/arm64"));
+        assertTrue(ImageProbeCache.platformMatches("arm64", "linux/arm64"));
+        assertFalse(ImageProbeCache.platformMatches("linux/arm64", "linux/amd64"));
+    }
+}
@@ -0,0 +1,60 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.inspect;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag("unit")
+class JsonWriterTest {
+
+    private static void writeSample(JsonWriter json) throws IOException {
+        json.beginObject()
+            .name("patches").beginArray()
+            .beginObject().member("patch", "123").endObject()
+            .endArray()
+            .name("empty").beginArray().endArray()
+            .member("name", "value")
+            .member("missing", null)
+            .endObject();
+    }
+
+    @Test
+    void compact() throws IOException {
+        StringWriter out = new StringWriter();
+        writeSample(new JsonWriter(out, false));
+        assertEquals("{\"patches\":[{\"patch\":\"123\"}],\"empty\":[],\"name\":\"value\",\"missing\":null}",
+            out.toString());
+    }
+
+    @Test
+    void pretty() throws IOException {
+        StringWriter out = new StringWriter();
+        writeSample(new JsonWriter(out, true));
+        assertEquals("{\n  \"patches\" : [\n    {\n      \"patch\" : \"123\"\n    }\n  ],\n  \"empty\" : [\n  ],\n"
+            + "  \"name\" : \"value\",\n  \"missing\" : null\n}", out.toString());
+    }
+
+    @Test
+    void escapes() throws IOException {
+        StringWriter out = new StringWriter();
+        new JsonWriter(out, false).beginArray().value("a \"quoted\" \\ path\n\t\u0001").endArray();
+        assertEquals("[\"a \\\"quoted\\\" \\\\ path\\n\\t\\u0001\"]", out.toString());
+    }
+
+    @Test
+    void invalidNesting() throws IOException {
+        JsonWriter json = new JsonWriter(new StringWriter(), false);
+        assertThrows(IllegalStateException.class, () -> json.name("outside"));
+        json.beginObject();
+        assertThrows(IllegalStateException.class, () -> json.value("no name"));
+        assertThrows(IllegalStateException.class, json::endArray);
+    }
+}
@@ -0,0 +1,81 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.inspect;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Base64;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+class OracleInventoryTest {
+    private static final Path COMPS_XML = Paths.get("src/test/resources/inspect/comps.xml");
+
+    private static void assertPatches(List<InventoryPatch> patches) {
+        assertEquals(2, patches.size());
+        assertEquals("36574636", patches.get(0).bug());
+        assertEquals("25697349", patches.get(0).uid());
+        assertEquals("WLS PATCH SET UPDATE 12.2.1.4.240614", patches.get(0).description());
+        // like opatch lsinventory
+        assertEquals("None", patches.get(1).description());
+    }
+
+    @Test
+    void readCompsXml() throws IOException {
+        try (InputStream in = Files.newInputStream(COMPS_XML)) {
+            assertPatches(OracleInventory.readPatches(in));
+        }
+    }
+
+    @Test
+    void patchListFromImage() throws IOException {
+        // the same as the image inspection script
+        String patchList = OracleInventory.extractPatchList(
+            new String(Files.readAllBytes(COMPS_XML), StandardCharsets.UTF_8));
+        Properties properties = new Properties();
+        properties.setProperty(OracleInventory.INVENTORY_KEY,
+            Base64.getEncoder().encodeToString(patchList.getBytes(StandardCharsets.UTF_8)));
+        assertPatches(OracleInventory.getPatches(properties));
+    }
+
+    @Test
+    void emptyPatchList() throws IOException {
+        assertEquals("<ONEOFF_LIST/>", OracleInventory.extractPatchList("<PRD_LIST><ONEOFF_LIST/></PRD_LIST>"));
+        assertNull(OracleInventory.extractPatchList("<PRD_LIST><TL_LIST/></PRD_LIST>"));
+        assertTrue(OracleInventory.readPatches(
+            new ByteArrayInputStream("<ONEOFF_LIST/>".getBytes(StandardCharsets.UTF_8))).isEmpty());
+
+        Properties properties = new Properties();
+        assertNull(OracleInventory.getPatches(properties));
+        properties.setProperty(OracleInventory.INVENTORY_KEY, "");
+        assertTrue(OracleInventory.getPatches(properties).isEmpty());
+    }
+
+    @Test
+    void opatchOutput() throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(OracleInventory.PATCHES_KEY, "30319071;23384603;\"One-off\"");
+        assertEquals("30319071", OracleInventory.getPatches(properties).get(0).bug());
+    }
+
+    @Test
+    void invalidXml() {
+        assertThrows(IOException.class, () -> OracleInventory.readPatches(
+            new ByteArrayInputStream("<ONEOFF_LIST><ONEOFF".getBytes(StandardCharsets.UTF_8))));
+    }
+}
@@ -0,0 +1,46 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.inspect;
+
+import java.io.IOException;
+import java.util.EnumSet;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+class ProbeTierTest {
+
+    @Test
+    void environmentOnly() throws IOException {
+        String script = ProbeTier.script(EnumSet.of(ProbeTier.ENVIRONMENT));
+        assertTrue(script.startsWith("#!/bin/sh"));
+        assertTrue(script.contains("packageManager="));
+        assertTrue(script.contains("oracleHome="));
+        // no JVM or OPatch for the environment
+        assertFalse(script.contains("weblogic.version"));
+        assertFalse(script.contains("opatch"));
+    }
+
+    @Test
+    void patchesWithoutOracleHome() throws IOException {
+        // the environment is always included, in front of the other tiers
+        String script = ProbeTier.script(EnumSet.of(ProbeTier.PATCHES));
+        assertTrue(script.startsWith("#!/bin/sh"));
+        assertTrue(script.contains("opatch lsinventory"));
+        assertFalse(script.contains("weblogic.version"));
+    }
+
+    @Test
+    void upTo() throws IOException {
+        assertEquals(EnumSet.of(ProbeTier.ENVIRONMENT, ProbeTier.ORACLE_HOME), ProbeTier.upTo(ProbeTier.ORACLE_HOME));
+        String script = ProbeTier.script(ProbeTier.upTo(ProbeTier.PATCHES));
+        assertTrue(script.indexOf("__OS__arch") < script.indexOf("weblogic.version"));
+        assertTrue(script.indexOf("weblogic.version") < script.indexOf("opatchVersion"));
+    }
+}
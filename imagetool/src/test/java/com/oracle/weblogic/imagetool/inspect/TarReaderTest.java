@@ -0,0 +1,106 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.inspect;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag("unit")
+class TarReaderTest {
+    private final ByteArrayOutputStream archive = new ByteArrayOutputStream();
+
+    private void entry(String name, char type, long size, byte[] content) {
+        byte[] header = new byte[512];
+        put(header, 0, name);
+        put(header, 124, String.format("%011o", size));
+        header[156] = (byte) type;
+        put(header, 257, "ustar");
+        archive.write(header, 0, header.length);
+        archive.write(content, 0, content.length);
+        int padding = (512 - content.length % 512) % 512;
+        archive.write(new byte[padding], 0, padding);
+    }
+
+    private void pax(String records) {
+        byte[] content = records.getBytes(StandardCharsets.UTF_8);
+        entry("PaxHeaders/entry", 'x', content.length, content);
+    }
+
+    private static void put(byte[] header, int offset, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(bytes, 0, header, offset, bytes.length);
+    }
+
+    private TarReader reader() {
+        archive.write(new byte[1024], 0, 1024);
+        return new TarReader(new ByteArrayInputStream(archive.toByteArray()));
+    }
+
+    @Test
+    void paxRecordsUseLengthPrefix() throws IOException {
+        // the value of the first record contains a newline, and the second record is a path
+        Map<String, String> records = TarReader.paxRecords(
+            "15 comment=a\nb\n21 path=u01/oracle/a\n".getBytes(StandardCharsets.UTF_8));
+        assertEquals("a\nb", records.get("comment"));
+        assertEquals("u01/oracle/a", records.get("path"));
+    }
+
+    @Test
+    void invalidPaxRecordLength() {
+        assertThrows(IOException.class, () -> TarReader.paxRecords("99 path=a\n".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(IOException.class, () -> TarReader.paxRecords("x path=a\n".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void paxSizeOverridesHeader() throws IOException {
+        byte[] content = "0123456789".getBytes(StandardCharsets.UTF_8);
+        pax("11 size=10\n31 path=u01/oracle/version.txt\n");
+        entry("short-name", '0', 0, content);
+        entry("next", '0', 0, new byte[0]);
+
+        TarReader reader = reader();
+        TarReader.Entry entry = reader.next();
+        assertEquals("u01/oracle/version.txt", entry.name);
+        assertEquals(10, entry.size);
+        assertArrayEquals(content, reader.readContent(100));
+        assertEquals("next", reader.next().name);
+        assertNull(reader.next());
+    }
+
+    @Test
+    void largeExtendedHeaderRejected() {
+        entry("././@LongLink", 'L', 2L * 1024 * 1024, new byte[0]);
+        TarReader reader = reader();
+        assertThrows(IOException.class, reader::next);
+    }
+
+    @Test
+    void skipStopsAtEndOfEntry() throws IOException {
+        entry("first", '0', 10, "0123456789".getBytes(StandardCharsets.UTF_8));
+        entry("second", '0', 3, "abc".getBytes(StandardCharsets.UTF_8));
+
+        TarReader reader = reader();
+        reader.next();
+        InputStream content = reader.content();
+        assertEquals(10, content.available());
+        assertEquals(10, content.skip(1000));
+        assertEquals(0, content.available());
+        assertEquals(-1, content.read());
+        TarReader.Entry second = reader.next();
+        assertEquals("second", second.name);
+        assertArrayEquals("abc".getBytes(StandardCharsets.UTF_8), reader.readContent(100));
+    }
+}
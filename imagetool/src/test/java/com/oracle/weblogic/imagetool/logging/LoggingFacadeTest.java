@@ -0,0 +1,73 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.logging;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+class LoggingFacadeTest {
+
+    private static class RecordingHandler extends Handler {
+        final List<LogRecord> records = new ArrayList<>();
+
+        @Override
+        public void publish(LogRecord logRecord) {
+            records.add(logRecord);
+        }
+
+        @Override
+        public void flush() {
+            // nothing to flush
+        }
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+    }
+
+    @Test
+    void deferredMessagesAtEveryLevel() {
+        Logger logger = Logger.getLogger(LoggingFacadeTest.class.getName() + ".deferred");
+        logger.setUseParentHandlers(false);
+        logger.setLevel(Level.ALL);
+        RecordingHandler handler = new RecordingHandler();
+        handler.setLevel(Level.ALL);
+        logger.addHandler(handler);
+        LoggingFacade facade = new LoggingFacade(logger);
+
+        List<Runnable> held = new ArrayList<>();
+        LoggingFacade.deferMessages(held);
+        try {
+            facade.info("info");
+            facade.warning("warning {0}", "param");
+            facade.fine("fine");
+            facade.severe("severe", new IllegalStateException());
+            facade.entering();
+        } finally {
+            LoggingFacade.endDeferral();
+        }
+        assertTrue(handler.records.isEmpty());
+
+        facade.info("after");
+        held.forEach(Runnable::run);
+        assertEquals(Arrays.asList("after", "info", "warning {0}", "fine", "severe", "ENTRY"),
+            handler.records.stream().map(LogRecord::getMessage).collect(Collectors.toList()));
+        // the caller is the code that logged the message, not the code that reported it
+        assertEquals("deferredMessagesAtEveryLevel", handler.records.get(1).getSourceMethodName());
+    }
+}
@@ -0,0 +1,94 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag("unit")
+class HttpUtilTest {
+    private HttpServer server;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger busyResponses = new AtomicInteger();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/results", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        HttpUtil.closeClients();
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        // each connection from the client uses a different local port
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        requests.incrementAndGet();
+        int status = 200;
+        byte[] content = "<results/>".getBytes(StandardCharsets.UTF_8);
+        if (busyResponses.getAndDecrement() > 0) {
+            status = 503;
+            content = "busy".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Retry-After", "1");
+        }
+        exchange.sendResponseHeaders(status, content.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(content);
+        }
+    }
+
+    @Test
+    void sharedClientPerCredentials() {
+        assertSame(HttpUtil.getSharedClient("user", "pass"), HttpUtil.getSharedClient("user", "pass"));
+        assertNotSame(HttpUtil.getSharedClient("user", "pass"), HttpUtil.getSharedClient("user", "other"));
+        assertNotSame(HttpUtil.getSharedClient("user", "pass"), HttpUtil.getSharedClient(null, null));
+    }
+
+    @Test
+    void connectionReused() throws IOException {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/results";
+        for (int i = 0; i < 5; i++) {
+            assertEquals("results", HttpUtil.getXMLContent(url, null, null).getDocumentElement().getNodeName());
+        }
+        assertEquals(1, clientPorts.size());
+
+        // a closed client is replaced by a new client with new connections
+        HttpUtil.closeClients();
+        HttpUtil.getXMLContent(url, null, null);
+        assertEquals(2, clientPorts.size());
+    }
+
+    @Test
+    void busyServerNotRetriedByClient() {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/results";
+        busyResponses.set(1);
+        HttpStatusException e = assertThrows(HttpStatusException.class, () -> HttpUtil.getXMLContent(url, null, null));
+        // the caller retries with its own policy, using the wait requested by the server
+        assertEquals(503, e.getStatusCode());
+        assertEquals(1000, e.getRetryAfter());
+        assertEquals(1, requests.get());
+    }
+}
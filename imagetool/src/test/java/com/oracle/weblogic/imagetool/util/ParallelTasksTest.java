@@ -0,0 +1,77 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+class ParallelTasksTest {
+
+    @Test
+    void resultsInSubmissionOrder() throws Exception {
+        List<Future<String>> futures = new ArrayList<>();
+        try (ParallelTasks pool = new ParallelTasks("test", 3)) {
+            for (int i = 5; i > 0; i--) {
+                final int delay = i;
+                // earlier tasks take longer to finish than later tasks
+                futures.add(pool.submit(() -> {
+                    Thread.sleep(delay * 10L);
+                    return "task" + delay;
+                }));
+            }
+            assertEquals(Arrays.asList("task5", "task4", "task3", "task2", "task1"), ParallelTasks.getAll(futures));
+        }
+    }
+
+    @Test
+    void allFailuresReported() {
+        List<Future<String>> futures = new ArrayList<>();
+        try (ParallelTasks pool = new ParallelTasks("test", 2)) {
+            futures.add(pool.submit(() -> {
+                throw new IOException("first");
+            }));
+            futures.add(pool.submit(() -> "ok"));
+            futures.add(pool.submit(() -> {
+                throw new IllegalStateException("second");
+            }));
+            ExecutionException e = assertThrows(ExecutionException.class, () -> ParallelTasks.getAll(futures));
+            assertTrue(e.getCause() instanceof IOException);
+            assertEquals("first", e.getCause().getMessage());
+            assertEquals(1, e.getCause().getSuppressed().length);
+            assertEquals("second", e.getCause().getSuppressed()[0].getMessage());
+            assertThrows(IOException.class, () -> ParallelTasks.throwIfInstance(e.getCause(), IOException.class));
+        }
+    }
+
+    @Test
+    void failedTasksCounted() throws Exception {
+        List<Future<String>> futures = new ArrayList<>();
+        IOException shared = new IOException("same failure");
+        // a failure that already has suppressed exceptions, like a failed close in try-with-resources
+        shared.addSuppressed(new IOException("close failed"));
+        try (ParallelTasks pool = new ParallelTasks("test", 2)) {
+            futures.add(pool.submit(() -> {
+                throw shared;
+            }));
+            futures.add(pool.submit(() -> "ok"));
+            futures.add(pool.submit(() -> {
+                throw shared;
+            }));
+            assertThrows(ExecutionException.class, () -> ParallelTasks.getAll(futures));
+            assertEquals(2, ParallelTasks.countFailed(futures));
+        }
+    }
+}
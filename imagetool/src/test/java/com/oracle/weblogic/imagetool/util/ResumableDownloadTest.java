@@ -0,0 +1,273 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+class ResumableDownloadTest {
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d*)");
+
+    private final byte[] content = new byte[300 * 1024];
+    private final AtomicInteger requests = new AtomicInteger();
+    private HttpServer server;
+    private boolean supportRanges = true;
+    private int truncateAfter = -1;
+    private String etag;
+    private String lastIfRange;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        new Random(42).nextBytes(content);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/patch.zip", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        String ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+        lastIfRange = ifRange;
+        if (etag != null) {
+            exchange.getResponseHeaders().add("ETag", etag);
+        }
+        int start = 0;
+        int end = content.length - 1;
+        int status = 200;
+        // a range request with If-Range gets the whole file if the file changed
+        if (supportRanges && range != null && (ifRange == null || ifRange.equals(etag))) {
+            Matcher matcher = RANGE.matcher(range);
+            assertTrue(matcher.matches());
+            start = Integer.parseInt(matcher.group(1));
+            if (!matcher.group(2).isEmpty()) {
+                end = Math.min(end, Integer.parseInt(matcher.group(2)));
+            }
+            if (start >= content.length) {
+                exchange.getResponseHeaders().add("Content-Range", "bytes */" + content.length);
+                exchange.sendResponseHeaders(416, -1);
+                exchange.close();
+                return;
+            }
+            exchange.getResponseHeaders().add("Content-Range", "bytes " + start + "-" + end + "/" + content.length);
+            status = 206;
+        }
+        int length = end - start + 1;
+        exchange.sendResponseHeaders(status, length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            if (truncateAfter >= 0) {
+                out.write(content, start, truncateAfter);
+                out.flush();
+                truncateAfter = -1;
+                // drop the connection before the full body is sent
+                exchange.getHttpContext().getServer().stop(0);
+                return;
+            }
+            out.write(content, start, length);
+        }
+    }
+
+    private String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/patch.zip";
+    }
+
+    private ResumableDownload download(Path target) {
+        return new ResumableDownload(HttpUtil.getHttpExecutor(null, null), url(), target);
+    }
+
+    @Test
+    void singleStream(@TempDir Path tempDir) throws IOException {
+        Path target = tempDir.resolve("patch.zip");
+        download(target).download();
+        assertArrayEquals(content, Files.readAllBytes(target));
+        assertFalse(Files.exists(tempDir.resolve("patch.zip.part")));
+    }
+
+    @Test
+    void resumeFromPartialFile(@TempDir Path tempDir) throws IOException {
+        Path target = tempDir.resolve("patch.zip");
+        Files.write(tempDir.resolve("patch.zip.part"), Arrays.copyOf(content, 1000));
+        download(target).download();
+        assertArrayEquals(content, Files.readAllBytes(target));
+    }
+
+    @Test
+    void partialFileAlreadyComplete(@TempDir Path tempDir) throws IOException {
+        Path target = tempDir.resolve("patch.zip");
+        Files.write(tempDir.resolve("patch.zip.part"), content);
+        download(target).download();
+        assertArrayEquals(content, Files.readAllBytes(target));
+    }
+
+    @Test
+    void serverIgnoresRange(@TempDir Path tempDir) throws IOException {
+        supportRanges = false;
+        Path target = tempDir.resolve("patch.zip");
+        Files.write(tempDir.resolve("patch.zip.part"), Arrays.copyOf(content, 1000));
+        download(target).segments(4).download();
+        assertArrayEquals(content, Files.readAllBytes(target));
+    }
+
+    @Test
+    void segmentedDownload(@TempDir Path tempDir) throws IOException {
+        Path target = tempDir.resolve("patch.zip");
+        download(target).segments(4).minimumSegmentSize(64 * 1024).download();
+        assertArrayEquals(content, Files.readAllBytes(target));
+        // one probe request and four segments
+        assertEquals(5, requests.get());
+        assertFalse(Files.exists(tempDir.resolve("patch.zip.part.segments")));
+    }
+
+    @Test
+    void smallFileNotSegmented(@TempDir Path tempDir) throws IOException {
+        Path target = tempDir.resolve("patch.zip");
+        download(target).segments(4).download();
+        assertArrayEquals(content, Files.readAllBytes(target));
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void resumeAfterDroppedConnection(@TempDir Path tempDir) throws IOException {
+        Path target = tempDir.resolve("patch.zip");
+        truncateAfter = 100 * 1024;
+        assertThrows(IOException.class, () -> download(target).download());
+        assertFalse(Files.exists(target));
+        assertTrue(Files.exists(tempDir.resolve("patch.zip.part")));
+
+        startServer();
+        requests.set(0);
+        download(target).download();
+        assertArrayEquals(content, Files.readAllBytes(target));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void checksumCalculatedDuringDownload(@TempDir Path tempDir) throws IOException {
+        Path target = tempDir.resolve("patch.zip");
+        Files.write(tempDir.resolve("expected"), content);
+        String expected = Utils.sha256(tempDir.resolve("expected"));
+        ResumableDownload download = download(target).expectedSha256(expected.toUpperCase());
+        download.download();
+        assertEquals(expected, download.sha256());
+    }
+
+    @Test
+    void checksumMismatch(@TempDir Path tempDir) {
+        Path target = tempDir.resolve("patch.zip");
+        assertThrows(IOException.class, () -> download(target).expectedSha256("0123456789abcdef").download());
+        assertFalse(Files.exists(target));
+        assertFalse(Files.exists(tempDir.resolve("patch.zip.part")));
+    }
+
+    @Test
+    void resumeSendsIfRange(@TempDir Path tempDir) throws IOException {
+        etag = "\"v1\"";
+        Path target = tempDir.resolve("patch.zip");
+        truncateAfter = 100 * 1024;
+        assertThrows(IOException.class, () -> download(target).download());
+        assertTrue(Files.exists(tempDir.resolve("patch.zip.part.validator")));
+
+        startServer();
+        download(target).download();
+        assertEquals(etag, lastIfRange);
+        assertArrayEquals(content, Files.readAllBytes(target));
+        assertFalse(Files.exists(tempDir.resolve("patch.zip.part.validator")));
+    }
+
+    @Test
+    void changedFileRestarts(@TempDir Path tempDir) throws IOException {
+        etag = "\"v1\"";
+        Path target = tempDir.resolve("patch.zip");
+        truncateAfter = 100 * 1024;
+        assertThrows(IOException.class, () -> download(target).download());
+
+        startServer();
+        // the file on the server is replaced before the download is resumed
+        new Random(7).nextBytes(content);
+        etag = "\"v2\"";
+        requests.set(0);
+        download(target).download();
+        assertArrayEquals(content, Files.readAllBytes(target));
+        assertEquals(1, requests.get());
+    }
+
+    /**
+     * Serve the content without a Content-Length, the end of the body is when the connection is closed.
+     */
+    private ServerSocket serveWithoutLength() throws IOException {
+        ServerSocket socket = new ServerSocket(0, 0, InetAddress.getByName("127.0.0.1"));
+        Thread thread = new Thread(() -> {
+            while (!socket.isClosed()) {
+                try (Socket connection = socket.accept()) {
+                    BufferedReader in = new BufferedReader(
+                        new InputStreamReader(connection.getInputStream(), StandardCharsets.US_ASCII));
+                    for (String line = in.readLine(); line != null && !line.isEmpty(); line = in.readLine()) {
+                        // ignore the request headers
+                    }
+                    OutputStream out = connection.getOutputStream();
+                    out.write("HTTP/1.1 200 OK\r\nConnection: close\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+                    out.write(content);
+                } catch (IOException e) {
+                    // the socket was closed by the test
+                }
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return socket;
+    }
+
+    @Test
+    void unknownSizeRequiresChecksum(@TempDir Path tempDir) throws IOException {
+        Path target = tempDir.resolve("patch.zip");
+        try (ServerSocket socket = serveWithoutLength()) {
+            String url = "http://127.0.0.1:" + socket.getLocalPort() + "/patch.zip";
+            ResumableDownload unverified = new ResumableDownload(HttpUtil.getHttpExecutor(null, null), url, target);
+            assertThrows(IOException.class, unverified::download);
+            assertFalse(Files.exists(target));
+
+            Files.write(tempDir.resolve("expected"), content);
+            String expected = Utils.sha256(tempDir.resolve("expected"));
+            Files.deleteIfExists(tempDir.resolve("patch.zip.part"));
+            new ResumableDownload(HttpUtil.getHttpExecutor(null, null), url, target)
+                .expectedSha256(expected)
+                .download();
+            assertArrayEquals(content, Files.readAllBytes(target));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.util;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+class RetryPolicyTest {
+
+    @Test
+    void exponentialBackoffWithJitter() {
+        RetryPolicy policy = new RetryPolicy(10, 1000, 8000, 0);
+        for (int i = 0; i < 20; i++) {
+            long first = policy.getDelay(1, 0);
+            assertTrue(first >= 500 && first <= 1000, "first retry " + first);
+            long third = policy.getDelay(3, 0);
+            assertTrue(third >= 2000 && third <= 4000, "third retry " + third);
+            // the backoff stops growing at the maximum delay
+            long later = policy.getDelay(50, 0);
+            assertTrue(later >= 4000 && later <= 8000, "later retry " + later);
+        }
+        // a longer wait requested by the server is used
+        assertEquals(60000, policy.getDelay(1, 60000));
+    }
+
+    @Test
+    void attemptsAndCounters() {
+        RetryPolicy policy = new RetryPolicy(3, 100, 1000, 0);
+        RetryPolicy.Attempts attempts = policy.start();
+        assertTrue(attempts.failed(0) >= 50);
+        assertTrue(attempts.failed(0) >= 100);
+        assertEquals(-1, attempts.failed(0));
+        assertEquals(3, attempts.getFailures());
+        assertEquals(2, policy.getRetryCount());
+        assertTrue(policy.getWaitTime() >= 150 && policy.getWaitTime() <= 300);
+    }
+
+    @Test
+    void timeLimit() {
+        RetryPolicy policy = new RetryPolicy(10, 100, 1000, 5000);
+        RetryPolicy.Attempts attempts = policy.start();
+        assertTrue(attempts.failed(0) > 0);
+        // the server asks for a wait that is longer than the time left for retries
+        assertEquals(-1, attempts.failed(10000));
+        assertEquals(1, policy.getRetryCount());
+    }
+
+    @Test
+    void retryAfter() {
+        assertEquals(120000, RetryPolicy.parseRetryAfter("120"));
+        assertEquals(0, RetryPolicy.parseRetryAfter(null));
+        assertEquals(0, RetryPolicy.parseRetryAfter("soon"));
+        assertEquals(0, RetryPolicy.parseRetryAfter("Wed, 21 Oct 2015 07:28:00 GMT"));
+        String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusMinutes(5));
+        long wait = RetryPolicy.parseRetryAfter(date);
+        assertTrue(wait > 240000 && wait <= 300000, "wait " + wait);
+    }
+}
@@ -0,0 +1,82 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+class StagingModeTest {
+    private static final byte[] CONTENT = "installer contents".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path tempDir;
+    private Path source;
+
+    @BeforeEach
+    void createSource() throws IOException {
+        source = Files.write(tempDir.resolve("installer.zip"), CONTENT);
+        Files.createDirectory(tempDir.resolve("context"));
+    }
+
+    private Path target() {
+        return tempDir.resolve("context").resolve("installer.zip");
+    }
+
+    @Test
+    void copy() throws IOException {
+        Path result = StagingMode.COPY.stage(source, target());
+        assertEquals(target(), result);
+        assertArrayEquals(CONTENT, Files.readAllBytes(result));
+        assertFalse(Files.isSameFile(source, result));
+    }
+
+    @Test
+    void hardLink() throws IOException {
+        Path result = StagingMode.HARDLINK.stage(source, target());
+        assertArrayEquals(CONTENT, Files.readAllBytes(result));
+        assertTrue(Files.isSameFile(source, result));
+    }
+
+    @Test
+    void autoPrefersHardLink() throws IOException {
+        Path result = StagingMode.AUTO.stage(source, target());
+        assertArrayEquals(CONTENT, Files.readAllBytes(result));
+        assertTrue(Files.isSameFile(source, result));
+    }
+
+    @Test
+    void reflinkFailureLeavesNoFile() {
+        // most test file systems do not support reflinks, either outcome is valid but must not leave a partial file
+        try {
+            Path result = StagingMode.REFLINK.stage(source, target());
+            assertArrayEquals(CONTENT, Files.readAllBytes(result));
+        } catch (IOException e) {
+            assertFalse(Files.exists(target()));
+        }
+    }
+
+    @Test
+    void targetExists() throws IOException {
+        Files.write(target(), new byte[0]);
+        for (StagingMode mode : StagingMode.values()) {
+            assertThrows(FileAlreadyExistsException.class, () -> mode.stage(source, target()), mode.name());
+        }
+        assertEquals(0, Files.size(target()));
+    }
+}
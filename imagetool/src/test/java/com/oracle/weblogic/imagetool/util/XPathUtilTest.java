@@ -0,0 +1,59 @@
+// Copyright (c) 2026, Oracle and/or its affiliates.
+// Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl.
+
+package com.oracle.weblogic.imagetool.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import javax.xml.xpath.XPathExpressionException;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag("unit")
+class XPathUtilTest {
+    private static final String XML = "<results>"
+        + "<patch><name>1</name><release id=\"336\">Oracle WebLogic Server 12.2.1.3.0</release></patch>"
+        + "<patch><name>2</name><release id=\"600\">Oracle WebLogic Server 12.2.1.4.0</release></patch>"
+        + "</results>";
+
+    @Test
+    void cachedExpressions() throws Exception {
+        Document document = HttpUtil.parseXml(XML);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(2, XPathUtil.nodelist(document, "/results/patch").getLength());
+            assertEquals("336", XPathUtil.string(document, "string(/results/patch/release/@id)"));
+        }
+        assertThrows(XPathExpressionException.class, () -> XPathUtil.string(document, "/results/["));
+    }
+
+    @Test
+    void sharedExpressionAcrossThreads() throws Exception {
+        XPathUtil.Expression patches = XPathUtil.expression("/results/patch");
+        XPathUtil.Expression release = XPathUtil.expression("./release/@id");
+        List<Future<String>> futures = new ArrayList<>();
+        try (ParallelTasks tasks = new ParallelTasks("xpath-test", 4)) {
+            for (int i = 0; i < 16; i++) {
+                futures.add(tasks.submit(() -> {
+                    // each task has its own document, like concurrent ARU lookups
+                    Document document = HttpUtil.parseXml(XML);
+                    NodeList nodes = patches.nodelist(document);
+                    StringBuilder result = new StringBuilder();
+                    for (int j = 0; j < nodes.getLength(); j++) {
+                        result.append(release.string(nodes.item(j))).append(' ');
+                    }
+                    return result.toString();
+                }));
+            }
+            for (String result : ParallelTasks.getAll(futures)) {
+                assertEquals("336 600 ", result);
+            }
+        }
+    }
+}